@@ -0,0 +1,111 @@
+package com.eduhub.util;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels built on the incubating Vector API (jdk.incubator.vector).
+ * Lanes accumulate in float and are reduced to double at the end, which keeps
+ * results within VectorUtils.KERNEL_EPSILON of the scalar kernels.
+ *
+ * Compiled only by the simd Maven profile and loaded reflectively by
+ * VectorUtils when the module is present.
+ */
+final class SimdVectorKernel implements VectorKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public double dot(float[] a, float[] b) {
+        int bound = SPECIES.loopBound(a.length);
+        FloatVector acc = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(SPECIES, a, i);
+            FloatVector vb = FloatVector.fromArray(SPECIES, b, i);
+            acc = va.mul(vb).add(acc);
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            sum += (double) a[i] * b[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public double squaredL2(float[] a, float[] b) {
+        int bound = SPECIES.loopBound(a.length);
+        FloatVector acc = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector diff = FloatVector.fromArray(SPECIES, a, i)
+                    .sub(FloatVector.fromArray(SPECIES, b, i));
+            acc = diff.mul(diff).add(acc);
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            double diff = (double) a[i] - b[i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    @Override
+    public double cosine(float[] a, float[] b) {
+        int bound = SPECIES.loopBound(a.length);
+        FloatVector dotAcc = FloatVector.zero(SPECIES);
+        FloatVector normAAcc = FloatVector.zero(SPECIES);
+        FloatVector normBAcc = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(SPECIES, a, i);
+            FloatVector vb = FloatVector.fromArray(SPECIES, b, i);
+            dotAcc = va.mul(vb).add(dotAcc);
+            normAAcc = va.mul(va).add(normAAcc);
+            normBAcc = vb.mul(vb).add(normBAcc);
+        }
+        double dotProduct = dotAcc.reduceLanes(VectorOperators.ADD);
+        double normA = normAAcc.reduceLanes(VectorOperators.ADD);
+        double normB = normBAcc.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            double x = a[i];
+            double y = b[i];
+            dotProduct += x * y;
+            normA += x * x;
+            normB += y * y;
+        }
+        return VectorUtils.cosineFromParts(dotProduct, normA, normB);
+    }
+
+    @Override
+    public void cosineMany(float[] query, float[][] candidates, double[] out) {
+        double queryNorm = dot(query, query);
+        int bound = SPECIES.loopBound(query.length);
+        for (int c = 0; c < candidates.length; c++) {
+            float[] candidate = candidates[c];
+            FloatVector dotAcc = FloatVector.zero(SPECIES);
+            FloatVector normAcc = FloatVector.zero(SPECIES);
+            int i = 0;
+            for (; i < bound; i += SPECIES.length()) {
+                FloatVector vq = FloatVector.fromArray(SPECIES, query, i);
+                FloatVector vc = FloatVector.fromArray(SPECIES, candidate, i);
+                dotAcc = vq.mul(vc).add(dotAcc);
+                normAcc = vc.mul(vc).add(normAcc);
+            }
+            double dotProduct = dotAcc.reduceLanes(VectorOperators.ADD);
+            double norm = normAcc.reduceLanes(VectorOperators.ADD);
+            for (; i < query.length; i++) {
+                double y = candidate[i];
+                dotProduct += query[i] * y;
+                norm += y * y;
+            }
+            out[c] = VectorUtils.cosineFromParts(dotProduct, queryNorm, norm);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "simd-" + SPECIES.vectorBitSize() + "bit";
+    }
+}
@@ -0,0 +1,53 @@
+package com.eduhub.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * In-process caches. Each cache is registered with its own bounds so that
+ * entries of very different size and lifetime do not share one eviction policy.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** Course summaries per student id, evicted on enroll/unenroll. */
+    public static final String STUDENT_COURSES = "studentCourses";
+
+    /** User entities by id, for endpoints that need more than the JWT principal. */
+    public static final String USERS = "users";
+
+    @Value("${app.cache.student-courses.max-size:10000}")
+    private long studentCoursesMaxSize;
+
+    @Value("${app.cache.student-courses.ttl-minutes:10}")
+    private long studentCoursesTtlMinutes;
+
+    @Value("${app.cache.users.max-size:10000}")
+    private long usersMaxSize;
+
+    @Value("${app.cache.users.ttl-seconds:60}")
+    private long usersTtlSeconds;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(STUDENT_COURSES, Caffeine.newBuilder()
+                .maximumSize(studentCoursesMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(studentCoursesTtlMinutes))
+                .build());
+        cacheManager.registerCustomCache(USERS, Caffeine.newBuilder()
+                .maximumSize(usersMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(usersTtlSeconds))
+                .build());
+        return cacheManager;
+    }
+}
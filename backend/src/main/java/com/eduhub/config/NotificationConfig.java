@@ -0,0 +1,24 @@
+package com.eduhub.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.eduhub.service.NotificationTransport;
+import com.eduhub.service.impl.LoggingNotificationTransport;
+
+/**
+ * Falls back to the logging transport when the application declares no
+ * NotificationTransport of its own. The condition sees scanned components
+ * and beans from configuration classes processed before this one; a transport
+ * declared elsewhere should be a @Component or be marked @Primary.
+ */
+@Configuration
+public class NotificationConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(NotificationTransport.class)
+    public NotificationTransport notificationTransport() {
+        return new LoggingNotificationTransport();
+    }
+}
@@ -0,0 +1,87 @@
+package com.eduhub.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Schema steps that must run before Hibernate starts, since ddl-auto=update
+ * only adds missing objects and never moves an existing sequence.
+ */
+@Configuration
+public class SchemaConfig {
+
+    /** Bean name the entity manager factory waits for. */
+    static final String ANSWER_SEQUENCE = "answerSequenceInitializer";
+
+    @Bean(ANSWER_SEQUENCE)
+    public AnswerSequenceInitializer answerSequenceInitializer(DataSource dataSource) {
+        return new AnswerSequenceInitializer(dataSource);
+    }
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor answerSequenceDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor(ANSWER_SEQUENCE);
+    }
+
+    /**
+     * Creates answers_seq and moves it past the highest answer id, as
+     * V6__answers_sequence.sql does, so a database upgraded without running
+     * that script does not hand out ids that already exist. It runs before
+     * any insert can happen on this replica, and a failure stops startup.
+     *
+     * The table is locked while the sequence is compared and moved, so
+     * replicas that start together align it once. The sequence is only ever
+     * moved forward, never past blocks other replicas already allocated.
+     * Only PostgreSQL is handled; other databases (H2 in tests) get the
+     * sequence from ddl-auto on an empty schema.
+     */
+    public static class AnswerSequenceInitializer implements InitializingBean {
+
+        private static final Logger logger = LoggerFactory.getLogger(AnswerSequenceInitializer.class);
+
+        private final DataSource dataSource;
+
+        AnswerSequenceInitializer(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public void afterPropertiesSet() throws SQLException {
+            try (Connection connection = dataSource.getConnection()) {
+                if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                    return;
+                }
+            }
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status -> {
+                jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS answers_seq START WITH 1 INCREMENT BY 50");
+                Boolean tableExists = jdbcTemplate.queryForObject(
+                        "SELECT to_regclass('answers') IS NOT NULL", Boolean.class);
+                if (!Boolean.TRUE.equals(tableExists)) {
+                    return;
+                }
+                jdbcTemplate.execute("LOCK TABLE answers IN SHARE ROW EXCLUSIVE MODE");
+                List<Long> moved = jdbcTemplate.queryForList(
+                        "SELECT setval('answers_seq', m.max_id) "
+                        + "FROM (SELECT MAX(id) AS max_id FROM answers) m, answers_seq s "
+                        + "WHERE m.max_id >= s.last_value", Long.class);
+                if (!moved.isEmpty()) {
+                    logger.warn("Moved answers_seq past existing answer id {}", moved.get(0));
+                }
+            });
+        }
+    }
+}
@@ -6,10 +6,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.eduhub.dto.BackfillProgress;
+import com.eduhub.dto.EmbeddingCacheStats;
+import com.eduhub.dto.EmbeddingQueueMetrics;
+import com.eduhub.dto.NotificationMetrics;
 import com.eduhub.service.AdminService;
+import com.eduhub.service.AnswerService;
+import com.eduhub.service.CachingEmbeddingService;
+import com.eduhub.service.EmbeddingBackfillService;
+import com.eduhub.service.NotificationService;
+import com.eduhub.service.QuestionEmbeddingQueue;
 import com.eduhub.model.*;
 import java.util.List;
 
@@ -20,6 +30,21 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private AnswerService answerService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private EmbeddingBackfillService embeddingBackfillService;
+
+    @Autowired
+    private QuestionEmbeddingQueue questionEmbeddingQueue;
+
+    @Autowired
+    private CachingEmbeddingService cachingEmbeddingService;
+
     @GetMapping("/stats")
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<Map<String, Long>> getSystemStats() {
@@ -49,4 +74,57 @@ public class AdminController {
     public ResponseEntity<List<Answer>> getAllAnswers() {
         return ResponseEntity.ok(adminService.getAllAnswers());
     }
+
+    /**
+     * Rebuilds the per-question answer counters from the answers table.
+     * Returns the number of questions whose counters were wrong.
+     */
+    @PostMapping("/maintenance/answer-counts")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> repairAnswerCounts() {
+        return ResponseEntity.ok(Map.of("repaired", answerService.repairAnswerCounts()));
+    }
+
+    @GetMapping("/notifications/metrics")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<NotificationMetrics> getNotificationMetrics() {
+        return ResponseEntity.ok(notificationService.getMetrics());
+    }
+
+    @GetMapping("/embeddings/backfill")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<BackfillProgress> getBackfillProgress() {
+        return ResponseEntity.ok(embeddingBackfillService.getProgress());
+    }
+
+    /**
+     * Starts an embedding backfill pass unless one is already running on this replica.
+     */
+    @PostMapping("/embeddings/backfill")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<BackfillProgress> startBackfill() {
+        embeddingBackfillService.start();
+        return ResponseEntity.ok(embeddingBackfillService.getProgress());
+    }
+
+    @GetMapping("/embeddings/queue")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<EmbeddingQueueMetrics> getEmbeddingQueueMetrics() {
+        return ResponseEntity.ok(questionEmbeddingQueue.getMetrics());
+    }
+
+    /**
+     * Queues the dead-lettered questions of this replica for another try.
+     */
+    @PostMapping("/embeddings/queue/retry")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> retryDeadLetters() {
+        return ResponseEntity.ok(Map.of("queued", questionEmbeddingQueue.retryDeadLetters()));
+    }
+
+    @GetMapping("/embeddings/cache")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<EmbeddingCacheStats> getEmbeddingCacheStats() {
+        return ResponseEntity.ok(cachingEmbeddingService.getStats());
+    }
 }
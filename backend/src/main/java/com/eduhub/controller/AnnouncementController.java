@@ -7,13 +7,13 @@ import com.eduhub.model.Course;
 import com.eduhub.model.User;
 import com.eduhub.service.AnnouncementService;
 import com.eduhub.service.CourseService;
-import com.eduhub.service.NotificationService;
 import com.eduhub.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -33,9 +33,6 @@ public class AnnouncementController {
     @Autowired
     private UserService userService;
 
-    @Autowired
-    private NotificationService notificationService;
-
     @GetMapping
     public ResponseEntity<List<AnnouncementResponse>> getAnnouncementsByCourse(@PathVariable Integer courseId) {
         List<Announcement> announcements = announcementService.getAnnouncementsByCourseId(courseId);
@@ -57,10 +54,10 @@ public class AnnouncementController {
     public ResponseEntity<?> createAnnouncement(
             @PathVariable Integer courseId,
             @Valid @RequestBody AnnouncementRequest request,
-            Authentication authentication) {
+            @AuthenticationPrincipal User user) {
         
-        String email = authentication.getName();
-        User professor = userService.findByEmail(email)
+        // Full entity (short-TTL cache): the response includes the professor's name
+        User professor = userService.findById(user.getId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         Course course = courseService.getCourseById(courseId)
@@ -78,12 +75,9 @@ public class AnnouncementController {
                 professor
         );
 
+        // Students are notified through the outbox written in the same transaction
         Announcement saved = announcementService.createAnnouncement(announcement);
 
-        // Notify all students in the course about the new announcement
-        notificationService.notifyStudentsInCourse(course, 
-            "New announcement: " + saved.getTitle());
-
         AnnouncementResponse response = new AnnouncementResponse(
                 saved.getId(),
                 saved.getTitle(),
@@ -121,11 +115,7 @@ public class AnnouncementController {
     public ResponseEntity<?> deleteAnnouncement(
             @PathVariable Integer courseId,
             @PathVariable Long announcementId,
-            Authentication authentication) {
-        
-        String email = authentication.getName();
-        User professor = userService.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+            @AuthenticationPrincipal User professor) {
 
         Course course = courseService.getCourseById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
@@ -1,9 +1,8 @@
 package com.eduhub.controller;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -18,11 +17,9 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.eduhub.dto.AnswerRequest;
 import com.eduhub.model.Answer;
-import com.eduhub.model.Question;
 import com.eduhub.model.User;
-import com.eduhub.repository.AnswerRepository;
-import com.eduhub.repository.QuestionRepository;
-import com.eduhub.repository.UserRepository;
+import com.eduhub.service.AnswerService;
+import com.eduhub.service.CourseEventStream.Activity;
 
 import jakarta.validation.Valid;
 
@@ -73,22 +70,18 @@ public class AnswerController {
         }
     }
 
-    private final AnswerRepository answerRepository;
-    private final QuestionRepository questionRepository;
-    private final UserRepository userRepository;
+    private final AnswerService answerService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public AnswerController(AnswerRepository answerRepository,
-            QuestionRepository questionRepository,
-            UserRepository userRepository) {
-        this.answerRepository = answerRepository;
-        this.questionRepository = questionRepository;
-        this.userRepository = userRepository;
+    public AnswerController(AnswerService answerService, ApplicationEventPublisher eventPublisher) {
+        this.answerService = answerService;
+        this.eventPublisher = eventPublisher;
     }
 
     @GetMapping("/question/{questionId}")
     @PreAuthorize("hasAnyRole('PROFESSOR', 'STUDENT')")
     public ResponseEntity<List<Answer>> getAnswersByQuestion(@PathVariable Long questionId) {
-        List<Answer> answers = answerRepository.findByQuestionIdOrderByVerifiedDescCreatedAtAsc(questionId);
+        List<Answer> answers = answerService.getAnswersByQuestion(questionId);
         return ResponseEntity.ok(answers);
     }
 
@@ -98,15 +91,10 @@ public class AnswerController {
             @Valid @RequestBody AnswerRequest request,
             @AuthenticationPrincipal User user) {
 
-        Question question = questionRepository.findById(Objects.requireNonNull(request.getQuestionId()))
-                .orElseThrow(() -> new RuntimeException("Question not found"));
-
-        User author = userRepository.findById(Objects.requireNonNull(user.getId()))
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        Answer answer = new Answer(request.getContent(), author, question);
-        answer.setAnonymous(request.isAnonymous());
-        return ResponseEntity.ok(answerRepository.save(answer));
+        Answer answer = answerService.createAnswer(
+                request.getQuestionId(), request.getContent(), request.isAnonymous(), user);
+        eventPublisher.publishEvent(Activity.answerCreated(answer));
+        return ResponseEntity.ok(answer);
     }
 
     /**
@@ -133,38 +121,10 @@ public class AnswerController {
             return ResponseEntity.badRequest().build();
         }
 
-        User author = userRepository.findById(Objects.requireNonNull(user.getId()))
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        List<Answer> createdAnswers = new ArrayList<>();
-
-        for (Long questionId : request.getQuestionIds()) {
-            if (questionId == null)
-                continue;
-            Question question = questionRepository.findById(questionId)
-                    .orElse(null);
-
-            if (question == null) {
-                continue; // Skip invalid question IDs
-            }
-
-            // Verify professor teaches this course
-            if (!question.getCourse().getProfessor().getId().equals(user.getId())) {
-                continue; // Skip questions from courses the professor doesn't teach
-            }
-
-            Answer answer = new Answer(request.getContent(), author, question);
-            answer.setAnonymous(request.isAnonymous());
-
-            // Auto-verify if requested (professor's own answer)
-            if (request.isAutoVerify()) {
-                answer.setVerified(true);
-            }
-
-            createdAnswers.add(answerRepository.save(answer));
-        }
-
-        return ResponseEntity.ok(createdAnswers);
+        List<Answer> answers = answerService.createBatchAnswers(request.getQuestionIds(), request.getContent(),
+                request.isAutoVerify(), request.isAnonymous(), user);
+        answers.forEach(answer -> eventPublisher.publishEvent(Activity.answerCreated(answer)));
+        return ResponseEntity.ok(answers);
     }
 
     @PutMapping("/{id}/verify")
@@ -173,48 +133,18 @@ public class AnswerController {
             @PathVariable Long id,
             @AuthenticationPrincipal User user) {
 
-        Answer answer = answerRepository.findById(Objects.requireNonNull(id))
-                .orElseThrow(() -> new RuntimeException("Answer not found"));
-
-        // Verify the professor teaches this course
-        Question question = answer.getQuestion();
-        if (!question.getCourse().getProfessor().getId().equals(user.getId())) {
-            return ResponseEntity.status(403).build();
-        }
-
-        answer.setVerified(!answer.isVerified());
-        return ResponseEntity.ok(answerRepository.save(answer));
+        Answer answer = answerService.toggleVerified(id, user);
+        eventPublisher.publishEvent(Activity.answerVerified(answer));
+        return ResponseEntity.ok(answer);
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyRole('PROFESSOR', 'STUDENT', 'ADMIN')")
-    @org.springframework.transaction.annotation.Transactional
     public ResponseEntity<Void> deleteAnswer(
             @PathVariable Long id,
             @AuthenticationPrincipal User user) {
 
-        Answer answer = answerRepository.findById(Objects.requireNonNull(id))
-                .orElseThrow(() -> new RuntimeException("Answer not found"));
-
-        // Permission check: Author OR Course Professor OR Admin
-        boolean isAuthor = answer.getAuthor().getId().equals(user.getId());
-        boolean isAdmin = user.getRole().name().equals("ADMIN");
-        boolean isCourseProfessor = answer.getQuestion().getCourse().getProfessor().getId().equals(user.getId());
-
-        if (!isAuthor && !isCourseProfessor && !isAdmin) {
-            return ResponseEntity.status(403).build();
-        }
-
-        // Prevent resurrection by CascadeType.ALL/MERGE from parent Question
-        Question question = answer.getQuestion();
-        if (question != null) {
-            question.getAnswers().removeIf(a -> a.getId().equals(id));
-            // We don't save question explicitly, but if it's managed, this updates the
-            // collection
-        }
-
-        answerRepository.delete(answer);
-        answerRepository.flush();
+        answerService.deleteAnswer(id, user);
         return ResponseEntity.ok().build();
     }
 }
@@ -1,11 +1,13 @@
 package com.eduhub.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,13 +15,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.eduhub.dto.CourseChangesDto;
 import com.eduhub.dto.CourseRequest;
+import com.eduhub.dto.CourseSummaryDto;
+import com.eduhub.dto.RosterImportResult;
 import com.eduhub.model.Course;
 import com.eduhub.model.User;
+import com.eduhub.service.CourseEventStream;
 import com.eduhub.service.CourseService;
+import com.eduhub.service.CourseSyncService;
 import com.eduhub.service.UserService;
 
 import jakarta.validation.Valid;
@@ -34,11 +44,17 @@ public class CourseController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private CourseEventStream courseEventStream;
+
+    @Autowired
+    private CourseSyncService courseSyncService;
+
     @PostMapping
     @PreAuthorize("hasAuthority('PROFESSOR')")
-    public ResponseEntity<?> createCourse(@Valid @RequestBody CourseRequest request, Authentication authentication) {
-        String email = authentication.getName();
-        User professor = userService.findByEmail(email)
+    public ResponseEntity<?> createCourse(@Valid @RequestBody CourseRequest request, @AuthenticationPrincipal User user) {
+        // The principal only carries id, email and role; the response serializes the full professor
+        User professor = userService.findById(user.getId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         Course course = new Course();
@@ -64,32 +80,31 @@ public class CourseController {
 
     @GetMapping("/professor")
     @PreAuthorize("hasAuthority('PROFESSOR')")
-    public ResponseEntity<List<Course>> getProfessorCourses(Authentication authentication) {
-        String email = authentication.getName();
-        User professor = userService.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public ResponseEntity<List<Course>> getProfessorCourses(@AuthenticationPrincipal User professor) {
         List<Course> courses = courseService.getCoursesByProfessor(professor.getId());
         return ResponseEntity.ok(courses);
     }
 
     @PostMapping("/{id}/enroll")
     @PreAuthorize("hasAuthority('STUDENT')")
-    public ResponseEntity<String> enrollStudent(@PathVariable Integer id, Authentication authentication) {
-        String email = authentication.getName();
-        User student = userService.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public ResponseEntity<String> enrollStudent(@PathVariable Integer id, @AuthenticationPrincipal User student) {
 
         courseService.enrollStudent(id, student.getId());
         return ResponseEntity.ok("Enrolled successfully");
     }
 
+    @DeleteMapping("/{id}/enroll")
+    @PreAuthorize("hasAuthority('STUDENT')")
+    public ResponseEntity<String> unenrollStudent(@PathVariable Integer id, @AuthenticationPrincipal User student) {
+
+        courseService.unenrollStudent(id, student.getId());
+        return ResponseEntity.ok("Unenrolled successfully");
+    }
+
     @GetMapping("/student")
     @PreAuthorize("hasAuthority('STUDENT')")
-    public ResponseEntity<List<Course>> getStudentCourses(Authentication authentication) {
-        String email = authentication.getName();
-        User student = userService.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        List<Course> courses = courseService.getCoursesByStudent(student.getId());
+    public ResponseEntity<List<CourseSummaryDto>> getStudentCourses(@AuthenticationPrincipal User student) {
+        List<CourseSummaryDto> courses = courseService.getCoursesByStudent(student.getId());
         return ResponseEntity.ok(courses);
     }
 
@@ -98,11 +113,7 @@ public class CourseController {
     public ResponseEntity<Course> updateGradingInfo(
             @PathVariable Integer id,
             @RequestBody String gradingInfo,
-            Authentication authentication) {
-        String email = authentication.getName();
-        User professor = userService.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
+            @AuthenticationPrincipal User professor) {
         Course course = courseService.getCourseById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
         
@@ -112,21 +123,55 @@ public class CourseController {
         }
         
         course.setGradingInfo(gradingInfo);
-        Course updated = courseService.createCourse(course);
+        Course updated = courseService.updateCourse(course);
         return ResponseEntity.ok(updated);
     }
 
     @PostMapping("/enroll-by-code")
     @PreAuthorize("hasAuthority('STUDENT')")
-    public ResponseEntity<String> enrollByCode(@RequestBody String courseCode, Authentication authentication) {
-        String email = authentication.getName();
-        User student = userService.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        courseService.enrollStudentByCode(courseCode.trim(), student.getId());
+    public ResponseEntity<String> enrollByCode(@RequestBody String courseCode, @AuthenticationPrincipal User student) {
+        courseService.enrollStudentByCode(courseCode.trim(), student);
         return ResponseEntity.ok("Enrolled successfully");
     }
 
+    /**
+     * Bulk enrollment from a CSV roster of student emails, streamed from the request body.
+     */
+    @PostMapping(value = "/{id}/roster", consumes = {"text/csv", "text/plain"})
+    @PreAuthorize("hasAnyAuthority('PROFESSOR', 'ADMIN')")
+    public ResponseEntity<RosterImportResult> importRoster(
+            @PathVariable Integer id,
+            InputStream roster,
+            @AuthenticationPrincipal User user) throws IOException {
+        return ResponseEntity.ok(courseService.importRoster(id, roster, user));
+    }
+
+    /**
+     * Live course activity (new questions, answers, verifications, announcements)
+     * as Server-Sent Events. Clients resume with the Last-Event-ID header.
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @PathVariable Integer id,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @AuthenticationPrincipal User user) {
+        courseService.checkCourseAccess(id, user);
+        return courseEventStream.subscribe(id, lastEventId);
+    }
+
+    /**
+     * Questions, answers and announcements changed since a cursor, with
+     * tombstones for deletions. Call with since=0 to get a starting cursor.
+     */
+    @GetMapping("/{id}/changes")
+    public ResponseEntity<CourseChangesDto> getChanges(
+            @PathVariable Integer id,
+            @RequestParam(defaultValue = "0") long since,
+            @AuthenticationPrincipal User user) {
+        courseService.checkCourseAccess(id, user);
+        return ResponseEntity.ok(courseSyncService.getChanges(id, since));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('PROFESSOR', 'ADMIN')")
     public ResponseEntity<Void> deleteCourse(
@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.eduhub.dto.QuestionGroupDto;
+import com.eduhub.dto.QuestionGroupDto.SimilarQuestionDto;
 import com.eduhub.dto.QuestionRequest;
 import com.eduhub.model.Question;
 import com.eduhub.model.User;
@@ -36,14 +37,43 @@ public class QuestionController {
         this.questionService = questionService;
     }
 
+    /**
+     * List the questions of a course, newest first.
+     * Without limit/cursor the whole course is returned as a list; with either,
+     * the response is a QuestionPageDto whose nextCursor fetches the next page.
+     *
+     * @param filter Optional "answered" or "unanswered"
+     * @param view "detail" (default) returns questions with their answers,
+     *             "summary" returns QuestionSummaryDto rows with answer counts only
+     * @param limit Page size (1-100, default 50 when only a cursor is given)
+     * @param cursor nextCursor from the previous page
+     */
     @GetMapping("/course/{courseId}")
     @PreAuthorize("hasAnyRole('PROFESSOR', 'STUDENT')")
-    public ResponseEntity<List<Question>> getQuestionsByCourse(
+    public ResponseEntity<?> getQuestionsByCourse(
             @PathVariable Integer courseId,
-            @RequestParam(required = false) String filter) {
+            @RequestParam(required = false) String filter,
+            @RequestParam(required = false, defaultValue = "detail") String view,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
         
-        List<Question> questions = questionService.getQuestionsByCourse(courseId, filter);
-        return ResponseEntity.ok(questions);
+        if (!"detail".equals(view) && !"summary".equals(view)) {
+            throw new IllegalArgumentException("View must be 'detail' or 'summary'");
+        }
+
+        if (limit == null && cursor == null) {
+            return "summary".equals(view)
+                    ? ResponseEntity.ok(questionService.getQuestionSummariesByCourse(courseId, filter))
+                    : ResponseEntity.ok(questionService.getQuestionsByCourse(courseId, filter));
+        }
+
+        int pageSize = limit != null ? limit : 50;
+        if (pageSize < 1 || pageSize > 100) {
+            throw new IllegalArgumentException("Limit must be between 1 and 100");
+        }
+        return "summary".equals(view)
+                ? ResponseEntity.ok(questionService.getQuestionSummaryPage(courseId, filter, cursor, pageSize))
+                : ResponseEntity.ok(questionService.getQuestionPage(courseId, filter, cursor, pageSize));
     }
 
     @PostMapping
@@ -89,4 +119,25 @@ public class QuestionController {
         List<QuestionGroupDto> groups = questionService.getGroupedQuestions(courseId, threshold);
         return ResponseEntity.ok(groups);
     }
+
+    /**
+     * Get the questions in the same course most similar to the given one.
+     * Uses the pgvector index; empty when AI mode is disabled.
+     *
+     * @param id The question to find neighbours for
+     * @param limit Maximum number of results (1-50, default: 5)
+     * @return Similar questions with their similarity scores, most similar first
+     */
+    @GetMapping("/{id}/similar")
+    @PreAuthorize("hasAnyRole('PROFESSOR', 'STUDENT')")
+    public ResponseEntity<List<SimilarQuestionDto>> getSimilarQuestions(
+            @PathVariable Long id,
+            @RequestParam(required = false, defaultValue = "5") int limit) {
+
+        if (limit < 1 || limit > 50) {
+            throw new IllegalArgumentException("Limit must be between 1 and 50");
+        }
+
+        return ResponseEntity.ok(questionService.findSimilarQuestions(id, limit));
+    }
 }
@@ -0,0 +1,57 @@
+package com.eduhub.dto;
+
+import java.time.LocalDateTime;
+
+import com.eduhub.dto.QuestionSummaryDto.AuthorSummary;
+import com.eduhub.model.Role;
+
+/**
+ * An answer with its question id and author display fields, for responses
+ * that list answers outside their question (GET /api/courses/{id}/changes).
+ */
+public class AnswerSummaryDto {
+
+    private Long id;
+    private Long questionId;
+    private String content;
+    private boolean verified;
+    private boolean anonymous;
+    private LocalDateTime createdAt;
+    private AuthorSummary author;
+
+    public AnswerSummaryDto() {}
+
+    public AnswerSummaryDto(Long id, Long questionId, String content, boolean verified, boolean anonymous,
+                            LocalDateTime createdAt, Integer authorId, String authorFirstname,
+                            String authorLastname, Role authorRole) {
+        this.id = id;
+        this.questionId = questionId;
+        this.content = content;
+        this.verified = verified;
+        this.anonymous = anonymous;
+        this.createdAt = createdAt;
+        this.author = new AuthorSummary(authorId, authorFirstname, authorLastname, authorRole);
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getQuestionId() { return questionId; }
+    public void setQuestionId(Long questionId) { this.questionId = questionId; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+
+    public boolean isVerified() { return verified; }
+    public void setVerified(boolean verified) { this.verified = verified; }
+
+    public boolean isAnonymous() { return anonymous; }
+    public void setAnonymous(boolean anonymous) { this.anonymous = anonymous; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public AuthorSummary getAuthor() { return author; }
+    public void setAuthor(AuthorSummary author) { this.author = author; }
+}
@@ -0,0 +1,18 @@
+package com.eduhub.dto;
+
+/**
+ * State of the embedding backfill on this replica.
+ * Returned by GET /api/admin/embeddings/backfill.
+ *
+ * @param running           whether a pass is in progress
+ * @param remaining         questions without an embedding when the pass started
+ * @param processed         embeddings written by this replica's current or last pass
+ * @param failed            questions whose embedding could not be generated or stored
+ * @param chunks            chunks committed
+ * @param lastId            the checkpoint: last question id the pass has completed
+ * @param elapsedMs         duration of the current or last pass
+ * @param questionsPerSecond processed / elapsed
+ */
+public record BackfillProgress(boolean running, long remaining, long processed, long failed, long chunks,
+        long lastId, long elapsedMs, double questionsPerSecond) {
+}
@@ -0,0 +1,67 @@
+package com.eduhub.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response of GET /api/courses/{id}/changes: the current state of everything
+ * created or changed since the client's cursor, and the ids of what was deleted.
+ * When reset is true the cursor is too old (or absent); the client must reload
+ * the course and continue from the returned cursor.
+ */
+public class CourseChangesDto {
+
+    private long cursor;
+    private boolean hasMore;
+    private boolean reset;
+    private List<QuestionSummaryDto> questions = new ArrayList<>();
+    private List<AnswerSummaryDto> answers = new ArrayList<>();
+    private List<AnnouncementResponse> announcements = new ArrayList<>();
+    private Deleted deleted = new Deleted();
+
+    public CourseChangesDto() {}
+
+    public CourseChangesDto(long cursor) {
+        this.cursor = cursor;
+    }
+
+    // Getters and Setters
+    public long getCursor() { return cursor; }
+    public void setCursor(long cursor) { this.cursor = cursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public boolean isReset() { return reset; }
+    public void setReset(boolean reset) { this.reset = reset; }
+
+    public List<QuestionSummaryDto> getQuestions() { return questions; }
+    public void setQuestions(List<QuestionSummaryDto> questions) { this.questions = questions; }
+
+    public List<AnswerSummaryDto> getAnswers() { return answers; }
+    public void setAnswers(List<AnswerSummaryDto> answers) { this.answers = answers; }
+
+    public List<AnnouncementResponse> getAnnouncements() { return announcements; }
+    public void setAnnouncements(List<AnnouncementResponse> announcements) { this.announcements = announcements; }
+
+    public Deleted getDeleted() { return deleted; }
+    public void setDeleted(Deleted deleted) { this.deleted = deleted; }
+
+    /**
+     * Tombstones. Answers of a deleted question are not listed separately.
+     */
+    public static class Deleted {
+        private List<Long> questions = new ArrayList<>();
+        private List<Long> answers = new ArrayList<>();
+        private List<Long> announcements = new ArrayList<>();
+
+        public List<Long> getQuestions() { return questions; }
+        public void setQuestions(List<Long> questions) { this.questions = questions; }
+
+        public List<Long> getAnswers() { return answers; }
+        public void setAnswers(List<Long> answers) { this.answers = answers; }
+
+        public List<Long> getAnnouncements() { return announcements; }
+        public void setAnnouncements(List<Long> announcements) { this.announcements = announcements; }
+    }
+}
@@ -0,0 +1,47 @@
+package com.eduhub.dto;
+
+/**
+ * Course listing entry for a student's dashboard: the course's own display
+ * fields and its professor's name, without students, questions or grading info.
+ * Returned by GET /api/courses/student.
+ */
+public class CourseSummaryDto {
+
+    private Integer id;
+    private String name;
+    private String courseCode;
+    private String description;
+    private Integer professorId;
+    private String professorName;
+
+    public CourseSummaryDto() {}
+
+    public CourseSummaryDto(Integer id, String name, String courseCode, String description,
+                            Integer professorId, String professorFirstname, String professorLastname) {
+        this.id = id;
+        this.name = name;
+        this.courseCode = courseCode;
+        this.description = description;
+        this.professorId = professorId;
+        this.professorName = professorFirstname + " " + professorLastname;
+    }
+
+    // Getters and Setters
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getCourseCode() { return courseCode; }
+    public void setCourseCode(String courseCode) { this.courseCode = courseCode; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public Integer getProfessorId() { return professorId; }
+    public void setProfessorId(Integer professorId) { this.professorId = professorId; }
+
+    public String getProfessorName() { return professorName; }
+    public void setProfessorName(String professorName) { this.professorName = professorName; }
+}
@@ -0,0 +1,19 @@
+package com.eduhub.dto;
+
+/**
+ * Counters of the embedding cache since startup.
+ * Returned by GET /api/admin/embeddings/cache.
+ *
+ * @param hits             lookups answered from memory
+ * @param misses           lookups not in memory
+ * @param persistentHits   misses answered from the embedding_cache table
+ * @param computed         embeddings generated by the underlying service
+ * @param evictions        entries evicted from memory
+ * @param entries          entries in memory (estimate)
+ * @param weightBytes      approximate heap used by the entries
+ * @param maxBytes         app.ai.embedding-cache.max-bytes
+ * @param persistent       whether the table tier is enabled
+ */
+public record EmbeddingCacheStats(long hits, long misses, long persistentHits, long computed, long evictions,
+        long entries, long weightBytes, long maxBytes, boolean persistent) {
+}
@@ -0,0 +1,25 @@
+package com.eduhub.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Counters of the question embedding queue since startup.
+ * Returned by GET /api/admin/embeddings/queue.
+ *
+ * @param queued       questions accepted into the queue, retries included
+ * @param embedded     embeddings stored
+ * @param retried      failed attempts scheduled for another try
+ * @param deadLettered questions given up on after app.ai.embedding-queue.max-attempts
+ * @param rejected     questions not queued because the queue was full; the sweep picks them up
+ * @param batches      batches processed
+ * @param queueDepth   questions currently waiting
+ * @param inFlight     questions queued, being embedded or waiting for a retry
+ * @param deadLetters  the most recent dead letters, newest first
+ */
+public record EmbeddingQueueMetrics(long queued, long embedded, long retried, long deadLettered, long rejected,
+        long batches, int queueDepth, int inFlight, List<DeadLetter> deadLetters) {
+
+    public record DeadLetter(Long questionId, int attempts, String error, LocalDateTime failedAt) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.eduhub.dto;
+
+/**
+ * Counters of the notification engine since startup.
+ * Returned by GET /api/admin/notifications/metrics.
+ *
+ * @param queued       notifications accepted into the queue
+ * @param delivered    notifications handed to the transport successfully
+ * @param failed       notifications in batches the transport rejected
+ * @param rejected     notifications dropped because the queue stayed full
+ * @param batches      transport calls made
+ * @param queueDepth   notifications currently waiting
+ * @param workers      worker count
+ * @param virtualThreads whether workers run on virtual threads
+ */
+public record NotificationMetrics(long queued, long delivered, long failed, long rejected, long batches,
+        int queueDepth, int workers, boolean virtualThreads) {
+}
@@ -0,0 +1,42 @@
+package com.eduhub.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a course's question feed, ordered by (createdAt, id) descending.
+ * Sent to clients as an opaque URL-safe string.
+ */
+public record QuestionCursor(LocalDateTime createdAt, Long id) {
+
+    /**
+     * Sorts before every real question, so it is used to fetch the first page.
+     */
+    public static final QuestionCursor START = new QuestionCursor(LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE);
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor from a previous page, or returns START for null/blank.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static QuestionCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new QuestionCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
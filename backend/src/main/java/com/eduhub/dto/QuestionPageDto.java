@@ -0,0 +1,27 @@
+package com.eduhub.dto;
+
+import java.util.List;
+
+/**
+ * One page of a course's question feed. {@code nextCursor} is passed back
+ * as {@code cursor} to fetch the following page and is null on the last page.
+ */
+public class QuestionPageDto<T> {
+
+    private List<T> items;
+    private String nextCursor;
+
+    public QuestionPageDto() {}
+
+    public QuestionPageDto(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
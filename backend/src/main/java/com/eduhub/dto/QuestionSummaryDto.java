@@ -0,0 +1,95 @@
+package com.eduhub.dto;
+
+import java.time.LocalDateTime;
+
+import com.eduhub.model.Role;
+
+/**
+ * Lightweight question listing entry: the question's own fields, its author's
+ * display fields and answer counts, without the answers themselves.
+ * Returned by GET /api/questions/course/{courseId}?view=summary.
+ */
+public class QuestionSummaryDto {
+
+    private Long id;
+    private String title;
+    private String content;
+    private boolean anonymous;
+    private LocalDateTime createdAt;
+    private AuthorSummary author;
+    private long answerCount;
+    private long verifiedAnswerCount;
+
+    public QuestionSummaryDto() {}
+
+    public QuestionSummaryDto(Long id, String title, String content, boolean anonymous, LocalDateTime createdAt,
+                              Integer authorId, String authorFirstname, String authorLastname, Role authorRole,
+                              int answerCount, int verifiedAnswerCount) {
+        this.id = id;
+        this.title = title;
+        this.content = content;
+        this.anonymous = anonymous;
+        this.createdAt = createdAt;
+        this.author = authorId != null
+                ? new AuthorSummary(authorId, authorFirstname, authorLastname, authorRole)
+                : null;
+        this.answerCount = answerCount;
+        this.verifiedAnswerCount = verifiedAnswerCount;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+
+    public boolean isAnonymous() { return anonymous; }
+    public void setAnonymous(boolean anonymous) { this.anonymous = anonymous; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public AuthorSummary getAuthor() { return author; }
+    public void setAuthor(AuthorSummary author) { this.author = author; }
+
+    public long getAnswerCount() { return answerCount; }
+    public void setAnswerCount(long answerCount) { this.answerCount = answerCount; }
+
+    public long getVerifiedAnswerCount() { return verifiedAnswerCount; }
+    public void setVerifiedAnswerCount(long verifiedAnswerCount) { this.verifiedAnswerCount = verifiedAnswerCount; }
+
+    /**
+     * The author fields the question list displays.
+     */
+    public static class AuthorSummary {
+        private Integer id;
+        private String firstname;
+        private String lastname;
+        private Role role;
+
+        public AuthorSummary() {}
+
+        public AuthorSummary(Integer id, String firstname, String lastname, Role role) {
+            this.id = id;
+            this.firstname = firstname;
+            this.lastname = lastname;
+            this.role = role;
+        }
+
+        public Integer getId() { return id; }
+        public void setId(Integer id) { this.id = id; }
+
+        public String getFirstname() { return firstname; }
+        public void setFirstname(String firstname) { this.firstname = firstname; }
+
+        public String getLastname() { return lastname; }
+        public void setLastname(String lastname) { this.lastname = lastname; }
+
+        public Role getRole() { return role; }
+        public void setRole(Role role) { this.role = role; }
+    }
+}
@@ -0,0 +1,36 @@
+package com.eduhub.dto;
+
+/**
+ * Outcome of a CSV roster import. Skipped emails belong to students who were
+ * already enrolled or to accounts that are not registered students; invalid
+ * lines did not contain an email address.
+ */
+public class RosterImportResult {
+
+    private int emails;
+    private int enrolled;
+    private int skipped;
+    private int invalid;
+
+    public RosterImportResult() {}
+
+    public RosterImportResult(int emails, int enrolled, int invalid) {
+        this.emails = emails;
+        this.enrolled = enrolled;
+        this.skipped = emails - enrolled;
+        this.invalid = invalid;
+    }
+
+    // Getters and Setters
+    public int getEmails() { return emails; }
+    public void setEmails(int emails) { this.emails = emails; }
+
+    public int getEnrolled() { return enrolled; }
+    public void setEnrolled(int enrolled) { this.enrolled = enrolled; }
+
+    public int getSkipped() { return skipped; }
+    public void setSkipped(int skipped) { this.skipped = skipped; }
+
+    public int getInvalid() { return invalid; }
+    public void setInvalid(int invalid) { this.invalid = invalid; }
+}
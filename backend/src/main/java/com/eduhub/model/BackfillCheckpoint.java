@@ -0,0 +1,59 @@
+package com.eduhub.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a resumable backfill pass: the last id it completed and its
+ * counters. Updated in the same transaction as each chunk, so after a restart
+ * the pass continues where it stopped. The version makes replicas that run
+ * the same pass notice each other instead of writing the same chunk twice.
+ */
+@Entity
+@Table(name = "backfill_checkpoints")
+public class BackfillCheckpoint {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private long lastId = 0;
+
+    @Column(nullable = false)
+    private long processed = 0;
+
+    @Column(nullable = false)
+    private long failed = 0;
+
+    private LocalDateTime updatedAt;
+
+    @Version
+    private long version;
+
+    // Constructors
+    public BackfillCheckpoint() {}
+
+    public BackfillCheckpoint(String name) {
+        this.name = name;
+    }
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public long getLastId() { return lastId; }
+    public void setLastId(long lastId) { this.lastId = lastId; }
+
+    public long getProcessed() { return processed; }
+    public void setProcessed(long processed) { this.processed = processed; }
+
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+}
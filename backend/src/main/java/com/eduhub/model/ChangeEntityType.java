@@ -0,0 +1,5 @@
+package com.eduhub.model;
+
+public enum ChangeEntityType {
+    QUESTION, ANSWER, ANNOUNCEMENT
+}
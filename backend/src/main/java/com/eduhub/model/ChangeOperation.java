@@ -0,0 +1,5 @@
+package com.eduhub.model;
+
+public enum ChangeOperation {
+    UPSERT, DELETE
+}
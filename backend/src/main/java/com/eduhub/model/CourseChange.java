@@ -0,0 +1,70 @@
+package com.eduhub.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the per-course change log behind GET /api/courses/{id}/changes.
+ * The id is the sync cursor: it comes from an identity column, so it increases
+ * in insertion order across all replicas (a pooled sequence would not).
+ * Deletes are kept as tombstones until the log is purged.
+ * course_id is deliberately not a foreign key, like the notification outbox.
+ * Rows are written and read with JDBC by CourseChangeRepository.
+ */
+@Entity
+@Table(name = "course_changes", indexes = {
+        @Index(name = "idx_course_changes_course", columnList = "course_id, id")
+})
+public class CourseChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "course_id", nullable = false)
+    private Integer courseId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ChangeEntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private ChangeOperation operation;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    // Constructors
+    public CourseChange() {}
+
+    public CourseChange(Integer courseId, ChangeEntityType entityType, Long entityId, ChangeOperation operation) {
+        this.courseId = courseId;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.operation = operation;
+        this.changedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Integer getCourseId() { return courseId; }
+    public void setCourseId(Integer courseId) { this.courseId = courseId; }
+
+    public ChangeEntityType getEntityType() { return entityType; }
+    public void setEntityType(ChangeEntityType entityType) { this.entityType = entityType; }
+
+    public Long getEntityId() { return entityId; }
+    public void setEntityId(Long entityId) { this.entityId = entityId; }
+
+    public ChangeOperation getOperation() { return operation; }
+    public void setOperation(ChangeOperation operation) { this.operation = operation; }
+
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+}
@@ -0,0 +1,43 @@
+package com.eduhub.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A stored embedding in the persistent tier of CachingEmbeddingService, keyed
+ * by the SHA-256 of the cache namespace and the normalized text. The vector
+ * is kept in pgvector's binary form (VectorCodec) in a plain binary column.
+ */
+@Entity
+@Table(name = "embedding_cache")
+public class EmbeddingCacheEntry {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(nullable = false, length = 65536)
+    private byte[] embedding;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public EmbeddingCacheEntry() {}
+
+    public EmbeddingCacheEntry(String contentHash, byte[] embedding) {
+        this.contentHash = contentHash;
+        this.embedding = embedding;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+    public byte[] getEmbedding() { return embedding; }
+    public void setEmbedding(byte[] embedding) { this.embedding = embedding; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,9 @@
+package com.eduhub.model;
+
+/**
+ * Where a question's embedding stands. Questions created before the status
+ * existed, or while AI mode is off, have none.
+ */
+public enum EmbeddingStatus {
+    PENDING, READY, FAILED
+}
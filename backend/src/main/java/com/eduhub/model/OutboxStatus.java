@@ -0,0 +1,5 @@
+package com.eduhub.model;
+
+public enum OutboxStatus {
+    PENDING, SENT, FAILED
+}
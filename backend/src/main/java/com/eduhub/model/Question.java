@@ -4,25 +4,47 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.hibernate.annotations.Type;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "questions")
+@Table(name = "questions", indexes = {
+        @Index(name = "idx_questions_course_answer_counts",
+                columnList = "course_id, answer_count, verified_answer_count"),
+        @Index(name = "idx_questions_course_created", columnList = "course_id, created_at, id")
+})
+@NamedEntityGraph(name = "Question.detail",
+        attributeNodes = {
+                @NamedAttributeNode("author"),
+                @NamedAttributeNode(value = "course", subgraph = "course"),
+                @NamedAttributeNode(value = "answers", subgraph = "answers")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "course", attributeNodes = @NamedAttributeNode("professor")),
+                @NamedSubgraph(name = "answers", attributeNodes = @NamedAttributeNode("author"))
+        })
 public class Question {
 
     @Id
@@ -35,18 +57,21 @@ public class Question {
     @Column(nullable = false)
     private String content;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id")
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private User author;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private Course course;
 
     @Column(nullable = false)
     private boolean anonymous = false;
 
-    @OneToMany(mappedBy = "question", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "question", cascade = CascadeType.ALL)
+    @BatchSize(size = 50)
     @JsonManagedReference
     private List<Answer> answers = new ArrayList<>();
 
@@ -54,14 +79,29 @@ public class Question {
     private LocalDateTime createdAt;
 
     /**
-     * Vector embedding for semantic similarity search (1536 dimensions).
-     * Generated from title + content using the embedding service.
-     * Stored in PostgreSQL using pgvector.
+     * Denormalized number of answers, maintained by AnswerService so the
+     * answered/unanswered filters don't have to count answers per row.
      */
-    @Type(com.eduhub.model.types.VectorType.class)
-    @Column(name = "embedding", columnDefinition = "vector(1536)")
+    @Column(name = "answer_count", nullable = false)
+    @ColumnDefault("0")
     @JsonIgnore
-    private List<Double> embedding;
+    private int answerCount = 0;
+
+    /**
+     * Denormalized number of verified answers, maintained by AnswerService.
+     */
+    @Column(name = "verified_answer_count", nullable = false)
+    @ColumnDefault("0")
+    @JsonIgnore
+    private int verifiedAnswerCount = 0;
+
+    /**
+     * PENDING from creation until QuestionEmbeddingQueue has stored the
+     * question's embedding; clients can show the question right away.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "embedding_status", length = 16)
+    private EmbeddingStatus embeddingStatus;
 
     // Constructors
     public Question() {}
@@ -100,6 +140,12 @@ public class Question {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
-    public List<Double> getEmbedding() { return embedding; }
-    public void setEmbedding(List<Double> embedding) { this.embedding = embedding; }
+    public int getAnswerCount() { return answerCount; }
+    public void setAnswerCount(int answerCount) { this.answerCount = answerCount; }
+
+    public int getVerifiedAnswerCount() { return verifiedAnswerCount; }
+    public void setVerifiedAnswerCount(int verifiedAnswerCount) { this.verifiedAnswerCount = verifiedAnswerCount; }
+
+    public EmbeddingStatus getEmbeddingStatus() { return embeddingStatus; }
+    public void setEmbeddingStatus(EmbeddingStatus embeddingStatus) { this.embeddingStatus = embeddingStatus; }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.eduhub.model;
+
+import org.hibernate.annotations.ColumnTransformer;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.Type;
+
+import com.eduhub.model.types.EmbeddingVector;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+
+/**
+ * Vector embedding of a question, stored apart from the questions table so
+ * that listing questions never reads vectors. Shares the question's id and
+ * is removed by the database when its question is deleted.
+ */
+@Entity
+@Table(name = "question_embeddings")
+public class QuestionEmbedding {
+
+    @Id
+    @Column(name = "question_id")
+    private Long questionId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "question_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Question question;
+
+    /**
+     * Vector embedding for semantic similarity search (1536 dimensions).
+     * Generated from title + content using the embedding service.
+     * Stored in PostgreSQL using pgvector and read in its binary form,
+     * which avoids formatting and parsing ~20 KB of text per row.
+     */
+    @Type(com.eduhub.model.types.VectorType.class)
+    @Column(name = "embedding", nullable = false, columnDefinition = "vector(1536)")
+    @ColumnTransformer(read = "vector_send(embedding)")
+    private EmbeddingVector embedding;
+
+    // Constructors
+    public QuestionEmbedding() {}
+
+    public QuestionEmbedding(Question question, EmbeddingVector embedding) {
+        this.question = question;
+        this.embedding = embedding;
+    }
+
+    // Getters and Setters
+    public Long getQuestionId() { return questionId; }
+    public void setQuestionId(Long questionId) { this.questionId = questionId; }
+
+    public Question getQuestion() { return question; }
+    public void setQuestion(Question question) { this.question = question; }
+
+    public EmbeddingVector getEmbedding() { return embedding; }
+    public void setEmbedding(EmbeddingVector embedding) { this.embedding = embedding; }
+}
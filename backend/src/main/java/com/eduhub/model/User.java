@@ -1,6 +1,7 @@
 package com.eduhub.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,6 +13,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "users")
+@BatchSize(size = 50)
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class User implements UserDetails {
 
@@ -0,0 +1,274 @@
+package com.eduhub.model.types;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Compact embedding value backed by a primitive float array.
+ * A 1536-dimension embedding costs ~6 KB of heap, compared to ~40 KB
+ * for the equivalent List<Double> with one boxed Double per dimension.
+ *
+ * A vector is either dense or sparse. Sparse vectors keep only their
+ * non-zero components as sorted indices plus values, which is what the
+ * word-hashing embedder produces; model embeddings have no zeros and stay
+ * dense. {@link #compact(EmbeddingVector)} picks the cheaper form.
+ *
+ * Instances are immutable: to change an embedding, set a new vector.
+ * This lets Hibernate keep the loaded instance as its snapshot and
+ * dirty-check by reference instead of copying and comparing every component.
+ */
+public final class EmbeddingVector implements Serializable {
+
+    private static final long serialVersionUID = 2L;
+
+    /**
+     * Sparse form is used when at most this fraction of the components is
+     * non-zero. At 8 bytes per entry it is then at most half the dense size.
+     */
+    private static final int SPARSE_MAX_FILL_DIVISOR = 4;
+
+    private final int dimension;
+
+    /** Sorted indices of the non-zero components, null for a dense vector. */
+    private final int[] indices;
+
+    /** All components of a dense vector, or the non-zero ones of a sparse vector. */
+    private final float[] components;
+
+    /** Cached hash code, 0 until first computed. */
+    private transient int hash;
+
+    private EmbeddingVector(int dimension, int[] indices, float[] components) {
+        this.dimension = dimension;
+        this.indices = indices;
+        this.components = components;
+    }
+
+    /**
+     * Creates a vector from a copy of the given components.
+     */
+    public static EmbeddingVector of(float... values) {
+        if (values == null) {
+            throw new IllegalArgumentException("Vector values cannot be null");
+        }
+        return new EmbeddingVector(values.length, null, values.clone());
+    }
+
+    /**
+     * Wraps the given array without copying. The caller hands over ownership
+     * and must not modify the array afterwards.
+     */
+    public static EmbeddingVector wrap(float[] values) {
+        if (values == null) {
+            throw new IllegalArgumentException("Vector values cannot be null");
+        }
+        return new EmbeddingVector(values.length, null, values);
+    }
+
+    /**
+     * Wraps sparse components without copying. Indices must be strictly
+     * increasing and within the dimension; ownership of both arrays passes
+     * to the vector.
+     */
+    public static EmbeddingVector sparse(int dimension, int[] indices, float[] values) {
+        if (indices == null || values == null) {
+            throw new IllegalArgumentException("Vector values cannot be null");
+        }
+        if (indices.length != values.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Sparse vector has %d indices but %d values", indices.length, values.length));
+        }
+        int previous = -1;
+        for (int index : indices) {
+            if (index <= previous || index >= dimension) {
+                throw new IllegalArgumentException(String.format(
+                        "Sparse indices must be increasing and below %d, got %d after %d",
+                        dimension, index, previous));
+            }
+            previous = index;
+        }
+        return new EmbeddingVector(dimension, indices, values);
+    }
+
+    /**
+     * Creates an all-zero vector with the given number of dimensions.
+     */
+    public static EmbeddingVector zeros(int dimension) {
+        return new EmbeddingVector(dimension, null, new float[dimension]);
+    }
+
+    /**
+     * Returns the vector in sparse form if few enough of its components are
+     * non-zero, otherwise dense. Returns the given instance when it already
+     * has the right form.
+     */
+    public static EmbeddingVector compact(EmbeddingVector vector) {
+        if (vector == null || vector.dimension == 0) {
+            return vector;
+        }
+        int nonZero = vector.nonZeroCount();
+        boolean sparse = nonZero <= vector.dimension / SPARSE_MAX_FILL_DIVISOR;
+        if (sparse == vector.isSparse()) {
+            return vector;
+        }
+        if (!sparse) {
+            return wrap(vector.values());
+        }
+        float[] dense = vector.components;
+        int[] indices = new int[nonZero];
+        float[] values = new float[nonZero];
+        int n = 0;
+        for (int i = 0; i < dense.length; i++) {
+            if (dense[i] != 0.0f) {
+                indices[n] = i;
+                values[n++] = dense[i];
+            }
+        }
+        return new EmbeddingVector(vector.dimension, indices, values);
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    public boolean isEmpty() {
+        return dimension == 0;
+    }
+
+    public boolean isSparse() {
+        return indices != null;
+    }
+
+    /**
+     * Number of non-zero components.
+     */
+    public int nonZeroCount() {
+        if (indices != null) {
+            return indices.length;
+        }
+        int count = 0;
+        for (float v : components) {
+            if (v != 0.0f) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public float get(int index) {
+        if (indices == null) {
+            return components[index];
+        }
+        if (index < 0 || index >= dimension) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        int position = Arrays.binarySearch(indices, index);
+        return position >= 0 ? components[position] : 0.0f;
+    }
+
+    /**
+     * Direct access to every component, for dense vector kernels. A sparse
+     * vector is expanded into a new array on every call, so hot paths should
+     * check {@link #isSparse()} and use the sparse kernels in VectorUtils.
+     * Callers must treat the returned array as read-only.
+     */
+    public float[] values() {
+        if (indices == null) {
+            return components;
+        }
+        float[] dense = new float[dimension];
+        for (int i = 0; i < indices.length; i++) {
+            dense[indices[i]] = components[i];
+        }
+        return dense;
+    }
+
+    /**
+     * Sorted indices of the non-zero components of a sparse vector.
+     * Callers must treat the returned array as read-only.
+     *
+     * @throws IllegalStateException if the vector is dense
+     */
+    public int[] sparseIndices() {
+        if (indices == null) {
+            throw new IllegalStateException("Vector is dense");
+        }
+        return indices;
+    }
+
+    /**
+     * Non-zero components of a sparse vector, aligned with {@link #sparseIndices()}.
+     * Callers must treat the returned array as read-only.
+     *
+     * @throws IllegalStateException if the vector is dense
+     */
+    public float[] sparseValues() {
+        if (indices == null) {
+            throw new IllegalStateException("Vector is dense");
+        }
+        return components;
+    }
+
+    /**
+     * Returns a copy of the vector components.
+     */
+    public float[] toArray() {
+        return indices == null ? components.clone() : values();
+    }
+
+    /**
+     * Approximate heap cost of the components.
+     */
+    public int estimatedBytes() {
+        return indices == null
+                ? components.length * Float.BYTES
+                : indices.length * (Integer.BYTES + Float.BYTES);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof EmbeddingVector other))
+            return false;
+        if (dimension != other.dimension)
+            return false;
+        if (indices != null && other.indices != null) {
+            return Arrays.equals(indices, other.indices) && Arrays.equals(components, other.components);
+        }
+        return Arrays.equals(values(), other.values());
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            // Over the non-zero components only, so both forms of a vector hash alike
+            h = dimension;
+            if (indices != null) {
+                for (int i = 0; i < indices.length; i++) {
+                    if (components[i] != 0.0f) {
+                        h = 31 * h + indices[i];
+                        h = 31 * h + Float.floatToIntBits(components[i]);
+                    }
+                }
+            } else {
+                for (int i = 0; i < components.length; i++) {
+                    if (components[i] != 0.0f) {
+                        h = 31 * h + i;
+                        h = 31 * h + Float.floatToIntBits(components[i]);
+                    }
+                }
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return indices == null
+                ? "EmbeddingVector[dimension=" + dimension + "]"
+                : "EmbeddingVector[dimension=" + dimension + ", nonZero=" + indices.length + "]";
+    }
+}
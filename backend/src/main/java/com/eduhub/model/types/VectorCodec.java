@@ -0,0 +1,157 @@
+package com.eduhub.model.types;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes and decodes pgvector values.
+ *
+ * The binary form is what {@code vector_send} produces: a big-endian int16
+ * dimension count, an unused int16, then one big-endian float4 per dimension.
+ * The text form is the "[1.0,2.0,3.0]" literal.
+ *
+ * Sparse vectors are encoded like {@code sparsevec_send}: big-endian int32
+ * dimension, int32 non-zero count, an unused int32, the zero-based int32
+ * indices and then the float4 values. Its first two bytes are always zero,
+ * which in the dense form would only be valid for a 4-byte empty vector.
+ */
+public final class VectorCodec {
+
+    private static final int HEADER_BYTES = 4;
+    private static final int SPARSE_HEADER_BYTES = 12;
+
+    private VectorCodec() {
+    }
+
+    /**
+     * Decodes a column value that is either the binary form or the text literal.
+     * The text form always starts with '[' (0x5B), which as the high byte of a
+     * binary dimension count would exceed pgvector's 16000-dimension limit.
+     */
+    public static EmbeddingVector decode(byte[] bytes) {
+        if (bytes.length > 0 && bytes[0] == '[') {
+            return parseText(new String(bytes, StandardCharsets.US_ASCII));
+        }
+        return decodeBinary(bytes);
+    }
+
+    public static EmbeddingVector decodeBinary(byte[] bytes) {
+        if (bytes.length > HEADER_BYTES && bytes[0] == 0 && bytes[1] == 0) {
+            return decodeSparseBinary(bytes);
+        }
+        if (bytes.length < HEADER_BYTES) {
+            throw new IllegalArgumentException("Binary vector is shorter than its header");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.BIG_ENDIAN);
+        int dimension = buffer.getShort() & 0xFFFF;
+        buffer.getShort(); // unused
+        if (bytes.length != HEADER_BYTES + dimension * Float.BYTES) {
+            throw new IllegalArgumentException(String.format(
+                    "Binary vector of %d dimensions should be %d bytes, got %d",
+                    dimension, HEADER_BYTES + dimension * Float.BYTES, bytes.length));
+        }
+        float[] values = new float[dimension];
+        buffer.asFloatBuffer().get(values);
+        return EmbeddingVector.wrap(values);
+    }
+
+    private static EmbeddingVector decodeSparseBinary(byte[] bytes) {
+        if (bytes.length < SPARSE_HEADER_BYTES) {
+            throw new IllegalArgumentException("Binary sparse vector is shorter than its header");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.BIG_ENDIAN);
+        int dimension = buffer.getInt();
+        int nonZero = buffer.getInt();
+        buffer.getInt(); // unused
+        if (nonZero < 0 || bytes.length != SPARSE_HEADER_BYTES + (long) nonZero * (Integer.BYTES + Float.BYTES)) {
+            throw new IllegalArgumentException(String.format(
+                    "Binary sparse vector with %d entries has the wrong length %d", nonZero, bytes.length));
+        }
+        int[] indices = new int[nonZero];
+        float[] values = new float[nonZero];
+        buffer.asIntBuffer().get(indices);
+        buffer.position(buffer.position() + nonZero * Integer.BYTES);
+        buffer.asFloatBuffer().get(values);
+        return EmbeddingVector.sparse(dimension, indices, values);
+    }
+
+    /**
+     * Encodes a dense vector in the vector_send form and a sparse one in the
+     * sparsevec_send form, which takes 8 bytes per non-zero component.
+     */
+    public static byte[] encodeBinary(EmbeddingVector vector) {
+        if (vector.isSparse()) {
+            return encodeSparseBinary(vector);
+        }
+        float[] values = vector.values();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + values.length * Float.BYTES)
+                .order(ByteOrder.BIG_ENDIAN);
+        buffer.putShort((short) values.length);
+        buffer.putShort((short) 0);
+        buffer.asFloatBuffer().put(values);
+        return buffer.array();
+    }
+
+    private static byte[] encodeSparseBinary(EmbeddingVector vector) {
+        int[] indices = vector.sparseIndices();
+        float[] values = vector.sparseValues();
+        ByteBuffer buffer = ByteBuffer.allocate(SPARSE_HEADER_BYTES + indices.length * (Integer.BYTES + Float.BYTES))
+                .order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(vector.dimension());
+        buffer.putInt(indices.length);
+        buffer.putInt(0);
+        buffer.asIntBuffer().put(indices);
+        buffer.position(buffer.position() + indices.length * Integer.BYTES);
+        buffer.asFloatBuffer().put(values);
+        return buffer.array();
+    }
+
+    /**
+     * Parses the "[1.0,2.0,3.0]" literal in one pass, without intermediate arrays of substrings.
+     */
+    public static EmbeddingVector parseText(String text) {
+        int start = text.indexOf('[') + 1;
+        int end = text.lastIndexOf(']');
+        if (start <= 0 || end < start) {
+            throw new IllegalArgumentException("Not a vector literal: " + text);
+        }
+
+        int dimension = 0;
+        boolean blank = true;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == ',') {
+                dimension++;
+            } else if (c != ' ') {
+                blank = false;
+            }
+        }
+        if (blank) {
+            return EmbeddingVector.zeros(0);
+        }
+
+        float[] values = new float[dimension + 1];
+        int index = 0;
+        int tokenStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || text.charAt(i) == ',') {
+                values[index++] = Float.parseFloat(text.substring(tokenStart, i).trim());
+                tokenStart = i + 1;
+            }
+        }
+        return EmbeddingVector.wrap(values);
+    }
+
+    public static String toText(EmbeddingVector vector) {
+        float[] values = vector.values();
+        StringBuilder sb = new StringBuilder(values.length * 12 + 2).append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(values[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
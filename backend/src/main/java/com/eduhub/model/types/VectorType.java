@@ -5,19 +5,26 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
-import java.util.ArrayList;
-import java.util.List;
 
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.usertype.UserType;
 
 /**
  * Custom Hibernate UserType for PostgreSQL pgvector extension.
- * Maps between PostgreSQL's vector type and Java List<Double>.
- * 
+ * Maps between PostgreSQL's vector type and a float[]-backed EmbeddingVector.
+ *
+ * Reads accept pgvector's binary representation (as produced by vector_send)
+ * and fall back to the text literal. Writes bind the text literal, since the
+ * JDBC driver can only send extension types in binary with per-database OID
+ * configuration.
+ *
+ * The column stays a dense vector, since the pgvector index and the
+ * database grouping mode operate on it; loaded values are compacted, so
+ * word-hashing embeddings are held in sparse form in memory.
+ *
  * This allows JPA to persist and retrieve vector embeddings seamlessly.
  */
-public class VectorType implements UserType<List<Double>> {
+public class VectorType implements UserType<EmbeddingVector> {
 
     @Override
     public int getSqlType() {
@@ -26,99 +33,75 @@ public class VectorType implements UserType<List<Double>> {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
-    public Class<List<Double>> returnedClass() {
-        return (Class<List<Double>>) (Class<?>) List.class;
+    public Class<EmbeddingVector> returnedClass() {
+        return EmbeddingVector.class;
     }
 
+    /**
+     * Identity comparison: EmbeddingVector is immutable, so an unchanged
+     * property still holds the very instance that was loaded.
+     */
     @Override
-    public boolean equals(List<Double> x, List<Double> y) {
-        if (x == y)
-            return true;
-        if (x == null || y == null)
-            return false;
-        return x.equals(y);
+    public boolean equals(EmbeddingVector x, EmbeddingVector y) {
+        return x == y;
     }
 
     @Override
-    public int hashCode(List<Double> x) {
+    public int hashCode(EmbeddingVector x) {
         return x != null ? x.hashCode() : 0;
     }
 
     @Override
-    public List<Double> nullSafeGet(ResultSet rs, int position,
+    public EmbeddingVector nullSafeGet(ResultSet rs, int position,
             SharedSessionContractImplementor session,
             Object owner) throws SQLException {
-        String value = rs.getString(position);
+        // Binary when the column is read through vector_send (see QuestionEmbedding.embedding),
+        // the text literal otherwise
+        byte[] value = rs.getBytes(position);
         if (value == null) {
             return null;
         }
-        return parseVector(value);
+        return EmbeddingVector.compact(VectorCodec.decode(value));
     }
 
     @Override
-    public void nullSafeSet(PreparedStatement st, List<Double> value,
+    public void nullSafeSet(PreparedStatement st, EmbeddingVector value,
             int index, SharedSessionContractImplementor session)
             throws SQLException {
         if (value == null) {
             st.setNull(index, Types.OTHER);
         } else {
             // Use setObject for PostgreSQL compatibility
-            st.setObject(index, vectorToString(value), Types.OTHER);
+            st.setObject(index, toLiteral(value), Types.OTHER);
         }
     }
 
     @Override
-    public List<Double> deepCopy(List<Double> value) {
-        return value != null ? new ArrayList<>(value) : null;
+    public EmbeddingVector deepCopy(EmbeddingVector value) {
+        // Immutable, so the loaded instance can double as the snapshot
+        return value;
     }
 
     @Override
     public boolean isMutable() {
-        return true;
+        return false;
     }
 
     @Override
-    public Serializable disassemble(List<Double> value) {
-        return (Serializable) deepCopy(value);
+    public Serializable disassemble(EmbeddingVector value) {
+        return value;
     }
 
     @Override
-    @SuppressWarnings("unchecked")
-    public List<Double> assemble(Serializable cached, Object owner) {
-        return deepCopy((List<Double>) cached);
+    public EmbeddingVector assemble(Serializable cached, Object owner) {
+        return (EmbeddingVector) cached;
     }
 
     /**
-     * Parse PostgreSQL vector string format "[1.0, 2.0, 3.0]" to List<Double>
+     * Convert EmbeddingVector to PostgreSQL vector string format "[1.0, 2.0, 3.0]".
+     * Also used to bind query vectors in native pgvector queries.
      */
-    private List<Double> parseVector(String vectorString) {
-        List<Double> result = new ArrayList<>();
-        String cleaned = vectorString.replace("[", "").replace("]", "").trim();
-
-        if (cleaned.isEmpty()) {
-            return result;
-        }
-
-        String[] parts = cleaned.split(",");
-        for (String part : parts) {
-            result.add(Double.valueOf(part.trim()));
-        }
-        return result;
-    }
-
-    /**
-     * Convert List<Double> to PostgreSQL vector string format "[1.0, 2.0, 3.0]"
-     */
-    private String vectorToString(List<Double> vector) {
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < vector.size(); i++) {
-            sb.append(vector.get(i));
-            if (i < vector.size() - 1) {
-                sb.append(",");
-            }
-        }
-        sb.append("]");
-        return sb.toString();
+    public static String toLiteral(EmbeddingVector vector) {
+        return VectorCodec.toText(vector);
     }
 }
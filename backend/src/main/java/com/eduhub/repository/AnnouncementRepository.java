@@ -1,12 +1,17 @@
 package com.eduhub.repository;
 
 import com.eduhub.model.Announcement;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface AnnouncementRepository extends JpaRepository<Announcement, Long> {
     List<Announcement> findByCourseIdOrderByCreatedAtDesc(Integer courseId);
+
+    @EntityGraph(attributePaths = "professor")
+    List<Announcement> findByCourseIdAndIdIn(Integer courseId, Collection<Long> ids);
 }
\ No newline at end of file
@@ -1,11 +1,34 @@
 package com.eduhub.repository;
 
+import com.eduhub.dto.AnswerSummaryDto;
 import com.eduhub.model.Answer;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AnswerRepository extends JpaRepository<Answer, Long> {
+    @EntityGraph(attributePaths = "author")
     List<Answer> findByQuestionIdOrderByVerifiedDescCreatedAtAsc(Long questionId);
+
+    /**
+     * The answer, locked until the transaction ends, so a verify toggle or a
+     * delete computes its counter delta from a flag no one else can change.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Answer a WHERE a.id = :id")
+    Optional<Answer> findByIdForUpdate(Long id);
+
+    @Query("SELECT new com.eduhub.dto.AnswerSummaryDto("
+            + "a.id, q.id, a.content, a.verified, a.anonymous, a.createdAt, "
+            + "u.id, u.firstname, u.lastname, u.role) "
+            + "FROM Answer a JOIN a.question q JOIN a.author u "
+            + "WHERE q.course.id = :courseId AND a.id IN :ids")
+    List<AnswerSummaryDto> findSummariesByCourseIdAndIdIn(Integer courseId, Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.eduhub.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import com.eduhub.model.ChangeEntityType;
+import com.eduhub.model.ChangeOperation;
+import com.eduhub.model.CourseChange;
+
+/**
+ * JDBC access to the course_changes log. Inserts go out as one JDBC batch
+ * even though ids come from an identity column, which Hibernate would insert
+ * one row per statement; a batch of 50 answers logs 100 changes.
+ *
+ * On PostgreSQL, writers hold a per-course advisory lock from before their
+ * ids are allocated until commit, and readers take it shared. Within a course
+ * ids therefore commit in order, and a reader holding the lock sees every id
+ * that has been allocated for the course. Other databases (H2 in tests) take
+ * no lock.
+ */
+@Repository
+public class CourseChangeRepository {
+
+    private static final String INSERT = "INSERT INTO course_changes "
+            + "(course_id, entity_type, entity_id, operation, changed_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final RowMapper<CourseChange> ROW_MAPPER = (rs, rowNum) -> {
+        CourseChange change = new CourseChange();
+        change.setId(rs.getLong("id"));
+        change.setCourseId(rs.getInt("course_id"));
+        change.setEntityType(ChangeEntityType.valueOf(rs.getString("entity_type")));
+        change.setEntityId(rs.getLong("entity_id"));
+        change.setOperation(ChangeOperation.valueOf(rs.getString("operation")));
+        change.setChangedAt(rs.getTimestamp("changed_at").toLocalDateTime());
+        return change;
+    };
+
+    private static final String LOCK = "SELECT pg_advisory_xact_lock(hashtext('course_changes'), ?)";
+    private static final String LOCK_SHARED = "SELECT pg_advisory_xact_lock_shared(hashtext('course_changes'), ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public CourseChangeRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the changes; must run inside the transaction that made them.
+     */
+    public void saveAll(List<CourseChange> changes) {
+        // Ascending order, so two transactions touching the same courses cannot deadlock
+        changes.stream().map(CourseChange::getCourseId).distinct().sorted()
+                .forEach(courseId -> lock(LOCK, courseId));
+        jdbcTemplate.batchUpdate(INSERT, changes, changes.size(), (ps, change) -> {
+            ps.setInt(1, change.getCourseId());
+            ps.setString(2, change.getEntityType().name());
+            ps.setLong(3, change.getEntityId());
+            ps.setString(4, change.getOperation().name());
+            ps.setTimestamp(5, Timestamp.valueOf(change.getChangedAt()));
+        });
+    }
+
+    /**
+     * Waits until no transaction is writing changes for the course, and keeps
+     * new ones out until the current transaction ends.
+     */
+    public void lockForRead(Integer courseId) {
+        lock(LOCK_SHARED, courseId);
+    }
+
+    /**
+     * A course's log entries after {@code since}, oldest first.
+     */
+    public List<CourseChange> findByCourseIdAfter(Integer courseId, long since, int limit) {
+        return jdbcTemplate.query("SELECT * FROM course_changes WHERE course_id = ? AND id > ? ORDER BY id LIMIT ?",
+                ROW_MAPPER, courseId, since, limit);
+    }
+
+    public Long findMinId() {
+        return jdbcTemplate.queryForObject("SELECT MIN(id) FROM course_changes", Long.class);
+    }
+
+    public Long findMaxId() {
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM course_changes", Long.class);
+    }
+
+    /**
+     * Deletes entries older than the cutoff, but always keeps the newest entry
+     * so MIN(id) still shows where the purged range ends.
+     */
+    public int deleteChangedBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM course_changes WHERE changed_at < ? "
+                + "AND id < (SELECT MAX(id) FROM course_changes)", Timestamp.valueOf(cutoff));
+    }
+
+    private void lock(String sql, Integer courseId) {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        if (Boolean.TRUE.equals(postgres)) {
+            jdbcTemplate.query(sql, (ResultSetExtractor<Void>) rs -> null, courseId);
+        }
+    }
+}
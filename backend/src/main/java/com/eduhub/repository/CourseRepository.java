@@ -3,15 +3,46 @@ package com.eduhub.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.eduhub.dto.CourseSummaryDto;
 import com.eduhub.model.Course;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Integer> {
 
+    @EntityGraph(attributePaths = "professor")
     List<Course> findByProfessorId(Integer professorId);
     
     Optional<Course> findByCourseCode(String courseCode);
-}
\ No newline at end of file
+
+    @Query("SELECT c.id FROM Course c WHERE c.courseCode = :courseCode")
+    Optional<Integer> findIdByCourseCode(String courseCode);
+
+    @Query("SELECT c.id AS id, c.courseCode AS courseCode FROM Course c")
+    List<CourseCodeRow> findAllCourseCodes();
+
+    /**
+     * Whether the user teaches or is enrolled in the course.
+     */
+    @Query("SELECT COUNT(c) > 0 FROM Course c WHERE c.id = :courseId AND (c.professor.id = :userId "
+            + "OR EXISTS (SELECT 1 FROM Course e JOIN e.students s WHERE e.id = c.id AND s.id = :userId))")
+    boolean isMember(Integer courseId, Integer userId);
+
+    /**
+     * A student's courses, joined through course_students from the student side.
+     */
+    @Query("SELECT new com.eduhub.dto.CourseSummaryDto("
+            + "c.id, c.name, c.courseCode, c.description, p.id, p.firstname, p.lastname) "
+            + "FROM Course c JOIN c.students s JOIN c.professor p "
+            + "WHERE s.id = :studentId ORDER BY c.name, c.id")
+    List<CourseSummaryDto> findSummariesByStudentId(Integer studentId);
+
+    interface CourseCodeRow {
+        Integer getId();
+        String getCourseCode();
+    }
+}
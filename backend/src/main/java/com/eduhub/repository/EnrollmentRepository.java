@@ -0,0 +1,66 @@
+package com.eduhub.repository;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Set-based writes to the course_students join table. Enrolling through
+ * Course.getStudents() loads the whole class list, so these statements insert
+ * single rows directly and rely on the table's primary key for idempotency.
+ */
+@Repository
+public class EnrollmentRepository {
+
+    private static final String ENROLL_BY_ID = "INSERT INTO course_students (course_id, student_id) "
+            + "VALUES (?, ?) ON CONFLICT DO NOTHING";
+
+    // Resolves the email in the same statement, so unknown or non-student emails insert nothing.
+    private static final String ENROLL_BY_EMAIL = "INSERT INTO course_students (course_id, student_id) "
+            + "SELECT ?, u.id FROM users u WHERE u.email = ? AND u.role = 'STUDENT' "
+            + "ON CONFLICT DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EnrollmentRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Enrolls one student. Returns false if the student was already enrolled.
+     */
+    public boolean enroll(Integer courseId, Integer studentId) {
+        return jdbcTemplate.update(ENROLL_BY_ID, courseId, studentId) > 0;
+    }
+
+    /**
+     * Enrolls the students with the given emails as one JDBC batch and returns
+     * how many rows were inserted. Emails of unknown users, non-students and
+     * students already enrolled are skipped.
+     */
+    public int enrollByEmails(Integer courseId, List<String> emails) {
+        int[][] counts = jdbcTemplate.batchUpdate(ENROLL_BY_EMAIL, emails, emails.size(), (ps, email) -> {
+            ps.setInt(1, courseId);
+            ps.setString(2, email);
+        });
+        int inserted = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // Drivers that cannot report per-row counts return SUCCESS_NO_INFO (-2).
+                if (count > 0) {
+                    inserted += count;
+                }
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Removes one enrollment. Returns false if the student was not enrolled.
+     */
+    public boolean unenroll(Integer courseId, Integer studentId) {
+        return jdbcTemplate.update("DELETE FROM course_students WHERE course_id = ? AND student_id = ?",
+                courseId, studentId) > 0;
+    }
+}
@@ -0,0 +1,41 @@
+package com.eduhub.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.eduhub.model.NotificationOutboxEvent;
+import com.eduhub.model.OutboxStatus;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEvent, Long> {
+
+    /**
+     * Locks up to {@code limit} due events. Rows locked by another dispatcher are
+     * skipped rather than waited for, so replicas claim disjoint batches.
+     * Must run inside a transaction; the locks are held until it ends.
+     */
+    @Query(value = "SELECT * FROM notification_outbox "
+            + "WHERE status = 'PENDING' AND next_attempt_at <= :now "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<NotificationOutboxEvent> claimDue(LocalDateTime now, int limit);
+
+    @Modifying
+    @Query("UPDATE NotificationOutboxEvent e SET e.status = com.eduhub.model.OutboxStatus.SENT, "
+            + "e.processedAt = :processedAt, e.lastError = null WHERE e.id IN :ids")
+    int markSent(List<Long> ids, LocalDateTime processedAt);
+
+    @Modifying
+    @Query("UPDATE NotificationOutboxEvent e SET e.status = :status, e.nextAttemptAt = :nextAttemptAt, "
+            + "e.lastError = :lastError WHERE e.id = :id")
+    int markFailedAttempt(Long id, OutboxStatus status, LocalDateTime nextAttemptAt, String lastError);
+
+    @Modifying
+    @Query("DELETE FROM NotificationOutboxEvent e WHERE e.status = com.eduhub.model.OutboxStatus.SENT "
+            + "AND e.processedAt < :cutoff")
+    int deleteSentBefore(LocalDateTime cutoff);
+}
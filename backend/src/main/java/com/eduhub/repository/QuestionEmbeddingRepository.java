@@ -0,0 +1,79 @@
+package com.eduhub.repository;
+
+import com.eduhub.model.QuestionEmbedding;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface QuestionEmbeddingRepository extends JpaRepository<QuestionEmbedding, Long> {
+
+    @Query("SELECT e FROM QuestionEmbedding e WHERE e.question.course.id = :courseId")
+    List<QuestionEmbedding> findByCourseId(Integer courseId);
+
+    @Query("SELECT e.questionId FROM QuestionEmbedding e WHERE e.question.course.id = :courseId")
+    List<Long> findQuestionIdsByCourseId(Integer courseId);
+
+    @Query("SELECT e.questionId FROM QuestionEmbedding e WHERE e.questionId IN :questionIds")
+    List<Long> findExistingIds(Collection<Long> questionIds);
+
+    /**
+     * A question id with its cosine similarity to some query vector.
+     */
+    interface SimilarQuestionRow {
+        Long getId();
+        Double getSimilarity();
+    }
+
+    /**
+     * A pair of questions in the same course and their cosine similarity.
+     */
+    interface SimilarPairRow {
+        Long getQuestionId();
+        Long getNeighbourId();
+        Double getSimilarity();
+    }
+
+    // pgvector queries: '<=>' is cosine distance, so similarity = 1 - distance.
+    // Ordering by the raw distance expression lets PostgreSQL use question_embeddings_embedding_idx.
+
+    @Query(value = "SELECT e.question_id AS \"id\", 1 - (e.embedding <=> CAST(:embedding AS vector)) AS \"similarity\" "
+            + "FROM question_embeddings e JOIN questions q ON q.id = e.question_id "
+            + "WHERE q.course_id = :courseId "
+            + "ORDER BY e.embedding <=> CAST(:embedding AS vector) "
+            + "LIMIT :limit", nativeQuery = true)
+    List<SimilarQuestionRow> findNearestByEmbedding(Integer courseId, String embedding, int limit);
+
+    @Query(value = "SELECT e.question_id AS \"id\", 1 - (e.embedding <=> CAST(:embedding AS vector)) AS \"similarity\" "
+            + "FROM question_embeddings e JOIN questions q ON q.id = e.question_id "
+            + "WHERE q.course_id = :courseId "
+            + "AND e.embedding <=> CAST(:embedding AS vector) <= :maxDistance "
+            + "ORDER BY e.embedding <=> CAST(:embedding AS vector) "
+            + "LIMIT :limit", nativeQuery = true)
+    List<SimilarQuestionRow> findWithinDistance(Integer courseId, String embedding, double maxDistance, int limit);
+
+    /**
+     * For every question in the course, its nearest {@code neighbours} other
+     * questions whose similarity is at least {@code minSimilarity}.
+     */
+    @Query(value = "SELECT e.question_id AS \"questionId\", n.id AS \"neighbourId\", n.similarity AS \"similarity\" "
+            + "FROM question_embeddings e JOIN questions q ON q.id = e.question_id "
+            + "CROSS JOIN LATERAL ("
+            + "  SELECT oe.question_id AS id, 1 - (oe.embedding <=> e.embedding) AS similarity "
+            + "  FROM question_embeddings oe JOIN questions o ON o.id = oe.question_id "
+            + "  WHERE o.course_id = q.course_id AND oe.question_id <> e.question_id "
+            + "  ORDER BY oe.embedding <=> e.embedding "
+            + "  LIMIT :neighbours"
+            + ") n "
+            + "WHERE q.course_id = :courseId "
+            + "AND n.similarity >= :minSimilarity", nativeQuery = true)
+    List<SimilarPairRow> findSimilarPairs(Integer courseId, double minSimilarity, int neighbours);
+
+    /**
+     * Sets ivfflat.probes for the current transaction only.
+     */
+    @Query(value = "SELECT set_config('ivfflat.probes', :probes, true)", nativeQuery = true)
+    String setIvfflatProbes(String probes);
+}
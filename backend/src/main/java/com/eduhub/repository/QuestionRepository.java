@@ -1,18 +1,153 @@
 package com.eduhub.repository;
 
+import com.eduhub.dto.QuestionCursor;
+import com.eduhub.dto.QuestionSummaryDto;
+import com.eduhub.model.EmbeddingStatus;
 import com.eduhub.model.Question;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface QuestionRepository extends JpaRepository<Question, Long> {
+
+    /**
+     * Everything the question list serializes, loaded in one statement.
+     */
+    String DETAIL_GRAPH = "Question.detail";
+
+    @EntityGraph(DETAIL_GRAPH)
     List<Question> findByCourseIdOrderByCreatedAtDesc(Integer courseId);
     
-    @Query("SELECT q FROM Question q WHERE q.course.id = :courseId AND SIZE(q.answers) = 0 ORDER BY q.createdAt DESC")
+    @EntityGraph(DETAIL_GRAPH)
+    @Query("SELECT q FROM Question q WHERE q.course.id = :courseId AND q.answerCount = 0 ORDER BY q.createdAt DESC")
     List<Question> findUnansweredQuestionsByCourseId(Integer courseId);
     
-    @Query("SELECT q FROM Question q WHERE q.course.id = :courseId AND SIZE(q.answers) > 0 ORDER BY q.createdAt DESC")
+    @EntityGraph(DETAIL_GRAPH)
+    @Query("SELECT q FROM Question q WHERE q.course.id = :courseId AND q.answerCount > 0 ORDER BY q.createdAt DESC")
     List<Question> findAnsweredQuestionsByCourseId(Integer courseId);
-}
\ No newline at end of file
+
+    // Summary projections: one row per question with its answer counters.
+
+    String SUMMARY_SELECT = "SELECT new com.eduhub.dto.QuestionSummaryDto("
+            + "q.id, q.title, q.content, q.anonymous, q.createdAt, "
+            + "a.id, a.firstname, a.lastname, a.role, "
+            + "q.answerCount, q.verifiedAnswerCount) "
+            + "FROM Question q LEFT JOIN q.author a "
+            + "WHERE q.course.id = :courseId ";
+
+    @Query(SUMMARY_SELECT + "ORDER BY q.createdAt DESC")
+    List<QuestionSummaryDto> findSummariesByCourseId(Integer courseId);
+
+    @Query(SUMMARY_SELECT + "AND q.id IN :ids")
+    List<QuestionSummaryDto> findSummariesByCourseIdAndIdIn(Integer courseId, Collection<Long> ids);
+
+    @Query(SUMMARY_SELECT + "AND q.answerCount = 0 ORDER BY q.createdAt DESC")
+    List<QuestionSummaryDto> findUnansweredSummariesByCourseId(Integer courseId);
+
+    @Query(SUMMARY_SELECT + "AND q.answerCount > 0 ORDER BY q.createdAt DESC")
+    List<QuestionSummaryDto> findAnsweredSummariesByCourseId(Integer courseId);
+
+    // Keyset pagination over (createdAt, id) descending, served by idx_questions_course_created.
+    // The filter is expressed as an answer_count range: [0, 0] unanswered, [1, max] answered.
+    // The redundant createdAt <= bound gives the planner a seek key past course_id, so a deep
+    // page starts at the cursor instead of scanning down from the newest question.
+
+    String KEYSET_PAGE = "AND q.answerCount BETWEEN :minAnswers AND :maxAnswers "
+            + "AND q.createdAt <= :createdAt "
+            + "AND (q.createdAt < :createdAt OR (q.createdAt = :createdAt AND q.id < :id)) "
+            + "ORDER BY q.createdAt DESC, q.id DESC";
+
+    @Query("SELECT new com.eduhub.dto.QuestionCursor(q.createdAt, q.id) FROM Question q "
+            + "WHERE q.course.id = :courseId " + KEYSET_PAGE)
+    List<QuestionCursor> findPageKeys(Integer courseId, int minAnswers, int maxAnswers,
+            LocalDateTime createdAt, Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + KEYSET_PAGE)
+    List<QuestionSummaryDto> findSummaryPage(Integer courseId, int minAnswers, int maxAnswers,
+            LocalDateTime createdAt, Long id, Limit limit);
+
+    @EntityGraph(DETAIL_GRAPH)
+    @Query("SELECT q FROM Question q WHERE q.id IN :ids ORDER BY q.createdAt DESC, q.id DESC")
+    List<Question> findDetailsByIdIn(List<Long> ids);
+
+    /**
+     * Questions with their course and professor, for in-memory ownership checks.
+     */
+    @EntityGraph(attributePaths = {"course", "course.professor"})
+    @Query("SELECT q FROM Question q WHERE q.id IN :ids")
+    List<Question> findWithCourseByIdIn(Collection<Long> ids);
+
+    // Embedding backfill: keyset pages of questions that have no question_embeddings row.
+
+    String WITHOUT_EMBEDDING = "NOT EXISTS (SELECT e.questionId FROM QuestionEmbedding e WHERE e.questionId = q.id)";
+
+    @Query("SELECT q.id AS id, q.course.id AS courseId, q.title AS title, q.content AS content "
+            + "FROM Question q WHERE q.id > :afterId AND " + WITHOUT_EMBEDDING + " ORDER BY q.id")
+    List<EmbeddingSourceRow> findWithoutEmbeddingAfter(Long afterId, Limit limit);
+
+    @Query("SELECT COUNT(q) FROM Question q WHERE q.id > :afterId AND " + WITHOUT_EMBEDDING)
+    long countWithoutEmbeddingAfter(Long afterId);
+
+    @Query("SELECT q.id AS id, q.course.id AS courseId, q.title AS title, q.content AS content "
+            + "FROM Question q WHERE q.id IN :ids")
+    List<EmbeddingSourceRow> findEmbeddingSourcesByIdIn(Collection<Long> ids);
+
+    // Asynchronous embedding: questions still waiting, and their status once done.
+
+    @Query("SELECT q.id FROM Question q WHERE q.embeddingStatus = :status AND q.createdAt < :createdBefore "
+            + "ORDER BY q.id")
+    List<Long> findIdsByEmbeddingStatus(EmbeddingStatus status, LocalDateTime createdBefore, Limit limit);
+
+    /**
+     * Locks the questions that still exist among the ids until the transaction
+     * ends, in id order. Taken before storing embeddings so the backfill and
+     * the embedding queue never insert the same row, and a question cannot be
+     * deleted under them.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT q.id FROM Question q WHERE q.id IN :ids ORDER BY q.id")
+    List<Long> lockExistingIds(Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Question q SET q.embeddingStatus = :status WHERE q.id IN :ids")
+    int updateEmbeddingStatus(Collection<Long> ids, EmbeddingStatus status);
+
+    interface EmbeddingSourceRow {
+        Long getId();
+        Integer getCourseId();
+        String getTitle();
+        String getContent();
+    }
+
+    // Answer counters: incremented in the database so concurrent answers cannot lose updates.
+
+    @Modifying
+    @Query("UPDATE Question q SET q.answerCount = q.answerCount + :answers, "
+            + "q.verifiedAnswerCount = q.verifiedAnswerCount + :verified WHERE q.id = :questionId")
+    int adjustAnswerCounts(Long questionId, int answers, int verified);
+
+    @Modifying
+    @Query("UPDATE Question q SET q.answerCount = q.answerCount + :answers, "
+            + "q.verifiedAnswerCount = q.verifiedAnswerCount + :verified WHERE q.id IN :questionIds")
+    int adjustAnswerCounts(List<Long> questionIds, int answers, int verified);
+
+    /**
+     * Recomputes both counters from the answers table where they have drifted.
+     */
+    @Modifying
+    @Query("UPDATE Question q SET "
+            + "q.answerCount = (SELECT COUNT(a) FROM Answer a WHERE a.question = q), "
+            + "q.verifiedAnswerCount = (SELECT COUNT(a) FROM Answer a WHERE a.question = q AND a.verified = true) "
+            + "WHERE q.answerCount <> (SELECT COUNT(a) FROM Answer a WHERE a.question = q) "
+            + "OR q.verifiedAnswerCount <> (SELECT COUNT(a) FROM Answer a WHERE a.question = q AND a.verified = true)")
+    int repairAnswerCounts();
+}
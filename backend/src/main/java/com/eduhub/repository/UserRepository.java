@@ -2,10 +2,26 @@ package com.eduhub.repository;
 
 import com.eduhub.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
 
     Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Contact details of every student enrolled in a course, without loading the entities.
+     */
+    @Query("SELECT s.id AS id, s.email AS email, s.firstname AS firstname, s.lastname AS lastname "
+            + "FROM Course c JOIN c.students s WHERE c.id = :courseId")
+    List<RecipientRow> findRecipientsByCourseId(Integer courseId);
+
+    interface RecipientRow {
+        Integer getId();
+        String getEmail();
+        String getFirstname();
+        String getLastname();
+    }
+}
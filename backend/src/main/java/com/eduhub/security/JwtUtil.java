@@ -1,5 +1,7 @@
 package com.eduhub.security;
 
+import com.eduhub.model.Role;
+import com.eduhub.model.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
@@ -13,9 +15,9 @@ public class JwtUtil {
     private static final String SECRET = "mySecretKeyForJwtTokenGenerationThatIsLongEnough";
     private static final long EXPIRATION_TIME = 86400000; // 1 day
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes());
-    }
+    // Built once: both are immutable and thread-safe
+    private final Key signingKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
 
     public String generateToken(String email, String role, Integer userId) {
         return Jwts.builder()
@@ -24,26 +26,51 @@ public class JwtUtil {
                 .claim("userId", userId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiration and returns the claims.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Builds the request principal from the token's claims without loading the user.
+     * Only id, email and role are set; load the entity when other fields are needed.
+     *
+     * @throws JwtException if the claims do not identify a user
+     */
+    public User toPrincipal(Claims claims) {
+        Integer userId = claims.get("userId", Integer.class);
+        String role = claims.get("role", String.class);
+        if (userId == null || role == null || claims.getSubject() == null) {
+            throw new MalformedJwtException("Token is missing user claims");
+        }
+        try {
+            return new User(userId, null, null, claims.getSubject(), null, Role.valueOf(role));
+        } catch (IllegalArgumentException e) {
+            throw new MalformedJwtException("Unknown role: " + role);
+        }
+    }
+
     public String extractEmail(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return parseClaims(token).getSubject();
     }
 
     public String extractRole(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build()
-                .parseClaimsJws(token).getBody().get("role", String.class);
+        return parseClaims(token).get("role", String.class);
     }
 
     public boolean isTokenExpired(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build()
-                .parseClaimsJws(token).getBody().getExpiration().before(new Date());
+        return parseClaims(token).getExpiration().before(new Date());
     }
 
     public boolean validateToken(String token, String email) {
-        return (email.equals(extractEmail(token)) && !isTokenExpired(token));
+        return email.equals(extractEmail(token));
     }
-}
\ No newline at end of file
+}
@@ -13,6 +13,8 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -41,6 +43,7 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/**").permitAll()  // Open Login/Register
                 .requestMatchers("/h2-console/**").permitAll() // Open Database
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // SSE completion; checked on the initial request
                 .anyRequest().authenticated()                  // Lock everything else
             )
             
@@ -1,9 +1,14 @@
 package com.eduhub.service;
 
 import com.eduhub.model.Announcement;
+import com.eduhub.model.ChangeEntityType;
+import com.eduhub.model.NotificationOutboxEvent;
 import com.eduhub.repository.AnnouncementRepository;
+import com.eduhub.repository.NotificationOutboxRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
@@ -12,14 +17,35 @@ import java.util.Optional;
 @Service
 public class AnnouncementService {
 
+    public static final String ANNOUNCEMENT_CREATED = "ANNOUNCEMENT_CREATED";
+
     @Autowired
     private AnnouncementRepository announcementRepository;
 
     @Autowired
     private AnnouncementDataExporter exporter;
 
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CourseSyncService courseSyncService;
+
+    /**
+     * Saves the announcement and, in the same transaction, queues the
+     * notification to the course's students in the outbox.
+     */
+    @Transactional
     public Announcement createAnnouncement(Announcement announcement) {
-        return announcementRepository.save(Objects.requireNonNull(announcement));
+        Announcement saved = announcementRepository.save(Objects.requireNonNull(announcement));
+        outboxRepository.save(new NotificationOutboxEvent(ANNOUNCEMENT_CREATED,
+                saved.getCourse().getId(), "New announcement: " + saved.getTitle()));
+        courseSyncService.recordUpsert(saved.getCourse().getId(), ChangeEntityType.ANNOUNCEMENT, saved.getId());
+        eventPublisher.publishEvent(CourseEventStream.Activity.announcementCreated(saved));
+        return saved;
     }
 
     public List<Announcement> getAnnouncementsByCourseId(Integer courseId) {
@@ -35,7 +61,11 @@ public class AnnouncementService {
         exporter.exportToJson(announcements, filePath);
     }
 
+    @Transactional
     public void deleteAnnouncement(Long id) {
-        announcementRepository.deleteById(Objects.requireNonNull(id));
+        announcementRepository.findById(Objects.requireNonNull(id)).ifPresent(announcement -> {
+            announcementRepository.delete(announcement);
+            courseSyncService.recordDelete(announcement.getCourse().getId(), ChangeEntityType.ANNOUNCEMENT, id);
+        });
     }
 }
\ No newline at end of file
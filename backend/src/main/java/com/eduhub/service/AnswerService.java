@@ -0,0 +1,205 @@
+package com.eduhub.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.eduhub.exception.UnauthorizedActionException;
+import com.eduhub.model.Answer;
+import com.eduhub.model.ChangeEntityType;
+import com.eduhub.model.Question;
+import com.eduhub.model.User;
+import com.eduhub.repository.AnswerRepository;
+import com.eduhub.repository.QuestionRepository;
+import com.eduhub.repository.UserRepository;
+
+/**
+ * Service layer for Answer management.
+ * Every change to answers also updates the question's answer_count and
+ * verified_answer_count in the same transaction, using in-database increments
+ * so concurrent answers cannot lose updates.
+ */
+@Service
+public class AnswerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnswerService.class);
+
+    private final AnswerRepository answerRepository;
+    private final QuestionRepository questionRepository;
+    private final UserRepository userRepository;
+    private final CourseSyncService courseSyncService;
+
+    public AnswerService(AnswerRepository answerRepository,
+            QuestionRepository questionRepository,
+            UserRepository userRepository,
+            CourseSyncService courseSyncService) {
+        this.answerRepository = answerRepository;
+        this.questionRepository = questionRepository;
+        this.userRepository = userRepository;
+        this.courseSyncService = courseSyncService;
+    }
+
+    public List<Answer> getAnswersByQuestion(Long questionId) {
+        return answerRepository.findByQuestionIdOrderByVerifiedDescCreatedAtAsc(questionId);
+    }
+
+    @Transactional
+    public Answer createAnswer(Long questionId, String content, boolean anonymous, User currentUser) {
+        Question question = questionRepository.findById(Objects.requireNonNull(questionId))
+                .orElseThrow(() -> new RuntimeException("Question not found"));
+
+        User author = userRepository.findById(Objects.requireNonNull(currentUser.getId()))
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Answer answer = new Answer(content, author, question);
+        answer.setAnonymous(anonymous);
+        Answer saved = answerRepository.save(answer);
+        questionRepository.adjustAnswerCounts(question.getId(), 1, 0);
+        courseSyncService.recordAnswerUpserts(List.of(saved));
+        return saved;
+    }
+
+    /**
+     * Creates the same answer for multiple questions at once, atomically.
+     * All questions are loaded with their course and professor in one query and
+     * the answers are written with JDBC batch inserts.
+     * Unknown questions and questions from courses the professor doesn't teach are skipped.
+     */
+    @Transactional
+    public List<Answer> createBatchAnswers(List<Long> questionIds, String content, boolean autoVerify,
+            boolean anonymous, User currentUser) {
+        User author = userRepository.findById(Objects.requireNonNull(currentUser.getId()))
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        // Deduplicate so a repeated id neither gets two answers nor skews the counters
+        Set<Long> uniqueIds = new LinkedHashSet<>(questionIds);
+        uniqueIds.remove(null);
+        if (uniqueIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Question> questions = new HashMap<>();
+        for (Question question : questionRepository.findWithCourseByIdIn(uniqueIds)) {
+            questions.put(question.getId(), question);
+        }
+
+        List<Answer> answers = new ArrayList<>();
+        List<Long> answeredIds = new ArrayList<>();
+
+        for (Long questionId : uniqueIds) {
+            Question question = questions.get(questionId);
+            if (question == null) {
+                continue; // Skip invalid question IDs
+            }
+
+            // Verify professor teaches this course
+            if (!question.getCourse().getProfessor().getId().equals(currentUser.getId())) {
+                continue; // Skip questions from courses the professor doesn't teach
+            }
+
+            Answer answer = new Answer(content, author, question);
+            answer.setAnonymous(anonymous);
+
+            // Auto-verify if requested (professor's own answer)
+            if (autoVerify) {
+                answer.setVerified(true);
+            }
+
+            answers.add(answer);
+            answeredIds.add(questionId);
+        }
+
+        if (answers.isEmpty()) {
+            return List.of();
+        }
+        List<Answer> createdAnswers = answerRepository.saveAll(answers);
+        questionRepository.adjustAnswerCounts(answeredIds, 1, autoVerify ? 1 : 0);
+        courseSyncService.recordAnswerUpserts(createdAnswers);
+        return createdAnswers;
+    }
+
+    /**
+     * Toggles the verified flag of an answer. Only the course's professor may do this.
+     * The answer row is locked first, so concurrent toggles apply one after the
+     * other and each counter delta matches the flag it actually wrote.
+     */
+    @Transactional
+    public Answer toggleVerified(Long answerId, User currentUser) {
+        Answer answer = answerRepository.findByIdForUpdate(Objects.requireNonNull(answerId))
+                .orElseThrow(() -> new RuntimeException("Answer not found"));
+
+        // Verify the professor teaches this course
+        Question question = answer.getQuestion();
+        if (!question.getCourse().getProfessor().getId().equals(currentUser.getId())) {
+            throw new UnauthorizedActionException("Only the course professor can verify answers");
+        }
+
+        answer.setVerified(!answer.isVerified());
+        Answer saved = answerRepository.save(answer);
+        questionRepository.adjustAnswerCounts(question.getId(), 0, answer.isVerified() ? 1 : -1);
+        courseSyncService.recordAnswerUpserts(List.of(saved));
+        return saved;
+    }
+
+    /**
+     * Deletes an answer if the user is its author, the course professor or an admin.
+     */
+    @Transactional
+    public void deleteAnswer(Long answerId, User currentUser) {
+        Answer answer = answerRepository.findByIdForUpdate(Objects.requireNonNull(answerId))
+                .orElseThrow(() -> new RuntimeException("Answer not found"));
+
+        // Permission check: Author OR Course Professor OR Admin
+        boolean isAuthor = answer.getAuthor().getId().equals(currentUser.getId());
+        boolean isAdmin = currentUser.getRole().name().equals("ADMIN");
+        boolean isCourseProfessor = answer.getQuestion().getCourse().getProfessor().getId().equals(currentUser.getId());
+
+        if (!isAuthor && !isCourseProfessor && !isAdmin) {
+            throw new UnauthorizedActionException("Only the answer author, course professor or admin can delete");
+        }
+
+        // Prevent resurrection by CascadeType.ALL/MERGE from parent Question
+        Question question = answer.getQuestion();
+        if (question != null) {
+            question.getAnswers().removeIf(a -> a.getId().equals(answerId));
+            // We don't save question explicitly, but if it's managed, this updates the
+            // collection
+        }
+
+        answerRepository.delete(answer);
+        answerRepository.flush();
+        questionRepository.adjustAnswerCounts(question.getId(), -1, answer.isVerified() ? -1 : 0);
+        Integer courseId = question.getCourse().getId();
+        courseSyncService.recordDelete(courseId, ChangeEntityType.ANSWER, answerId);
+        courseSyncService.recordUpsert(courseId, ChangeEntityType.QUESTION, question.getId());
+    }
+
+    /**
+     * Rebuilds answer_count and verified_answer_count from the answers table
+     * for every question whose counters have drifted.
+     * Runs nightly (app.answers.count-repair-cron) and on demand from the admin API.
+     *
+     * @return the number of questions that were corrected
+     */
+    @Scheduled(cron = "${app.answers.count-repair-cron:0 30 3 * * *}")
+    @Transactional
+    public int repairAnswerCounts() {
+        int repaired = questionRepository.repairAnswerCounts();
+        if (repaired > 0) {
+            logger.warn("Repaired answer counters on {} questions", repaired);
+        } else {
+            logger.info("Answer counters are consistent");
+        }
+        return repaired;
+    }
+}
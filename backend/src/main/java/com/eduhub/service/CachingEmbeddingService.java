@@ -0,0 +1,259 @@
+package com.eduhub.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eduhub.dto.EmbeddingCacheStats;
+import com.eduhub.model.EmbeddingCacheEntry;
+import com.eduhub.model.types.EmbeddingVector;
+import com.eduhub.model.types.VectorCodec;
+import com.eduhub.repository.EmbeddingCacheRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Caches embeddings by content, in front of the embedding model. Question
+ * creation, demo loading and the backfill all inject this service, so
+ * identical text (students pasting the assignment) is embedded once.
+ *
+ * Text is normalized (Unicode NFC, whitespace collapsed and trimmed) and
+ * keyed by SHA-256 together with app.ai.embedding-cache.namespace, which
+ * defaults to the provider, remote model and dimensions so it changes
+ * whenever the model does. Entries live in a Caffeine cache bounded by
+ * app.ai.embedding-cache.max-bytes, weighted by vector size. With
+ * app.ai.embedding-cache.persistent the embedding_cache table is consulted on
+ * a miss and written after computing, so the cache survives restarts.
+ *
+ * The model behind the cache is the "embeddingModel" bean chosen by
+ * app.ai.embedding.provider. Batches are looked up entry by entry and only
+ * the distinct missing texts are passed on, in one batch.
+ */
+@Service
+@Primary
+public class CachingEmbeddingService implements EmbeddingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingEmbeddingService.class);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /** Rough heap cost of an entry besides the vector: key string, node and wrapper objects. */
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final EmbeddingService delegate;
+    private final EmbeddingCacheRepository cacheRepository;
+    private final TransactionTemplate writeTransaction;
+    private final Cache<String, EmbeddingVector> cache;
+    private final String namespace;
+    private final long maxBytes;
+    private final boolean persistent;
+
+    private final AtomicLong persistentHits = new AtomicLong();
+    private final AtomicLong computed = new AtomicLong();
+
+    public CachingEmbeddingService(@Qualifier("embeddingModel") EmbeddingService delegate,
+            EmbeddingCacheRepository cacheRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.ai.embedding-cache.namespace:${app.ai.embedding.provider:simple}-"
+                    + "${app.ai.embedding.remote.model:text-embedding-3-small}-"
+                    + "${app.ai.embedding.remote.dimensions:1536}}") String namespace,
+            @Value("${app.ai.embedding-cache.max-bytes:67108864}") long maxBytes,
+            @Value("${app.ai.embedding-cache.persistent:false}") boolean persistent) {
+        this.delegate = delegate;
+        this.cacheRepository = cacheRepository;
+        this.namespace = namespace;
+        this.maxBytes = maxBytes;
+        this.persistent = persistent;
+        // Own transaction, so a failed write cannot roll back the caller's
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, EmbeddingVector vector) -> ENTRY_OVERHEAD_BYTES + vector.estimatedBytes())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public EmbeddingVector generateEmbedding(String text) {
+        String normalized = normalize(text);
+        String key = key(normalized);
+        EmbeddingVector embedding = cache.getIfPresent(key);
+        if (embedding != null) {
+            return embedding;
+        }
+
+        embedding = persistent ? load(key) : null;
+        if (embedding != null) {
+            persistentHits.incrementAndGet();
+        } else {
+            embedding = delegate.generateEmbedding(normalized);
+            computed.incrementAndGet();
+            if (persistent) {
+                store(key, embedding);
+            }
+        }
+        cache.put(key, embedding);
+        return embedding;
+    }
+
+    @Override
+    public List<EmbeddingVector> generateEmbeddings(List<String> texts) {
+        EmbeddingVector[] embeddings = new EmbeddingVector[texts.size()];
+        // Distinct missing keys, each with its normalized text and the positions waiting for it
+        Map<String, String> missingTexts = new LinkedHashMap<>();
+        Map<String, List<Integer>> missingPositions = new HashMap<>();
+        for (int i = 0; i < embeddings.length; i++) {
+            String normalized = normalize(texts.get(i));
+            String key = key(normalized);
+            embeddings[i] = cache.getIfPresent(key);
+            if (embeddings[i] == null) {
+                missingTexts.putIfAbsent(key, normalized);
+                missingPositions.computeIfAbsent(key, k -> new ArrayList<>(1)).add(i);
+            }
+        }
+        if (missingTexts.isEmpty()) {
+            return List.of(embeddings);
+        }
+
+        Map<String, EmbeddingVector> resolved = persistent ? loadAll(missingTexts.keySet()) : new HashMap<>();
+        persistentHits.addAndGet(resolved.size());
+        List<String> keys = new ArrayList<>(missingTexts.size() - resolved.size());
+        List<String> toCompute = new ArrayList<>(missingTexts.size() - resolved.size());
+        for (Map.Entry<String, String> entry : missingTexts.entrySet()) {
+            if (!resolved.containsKey(entry.getKey())) {
+                keys.add(entry.getKey());
+                toCompute.add(entry.getValue());
+            }
+        }
+        if (!toCompute.isEmpty()) {
+            List<EmbeddingVector> computedEmbeddings = delegate.generateEmbeddings(toCompute);
+            computed.addAndGet(toCompute.size());
+            for (int i = 0; i < keys.size(); i++) {
+                resolved.put(keys.get(i), computedEmbeddings.get(i));
+            }
+            if (persistent) {
+                storeAll(keys, computedEmbeddings);
+            }
+        }
+
+        for (Map.Entry<String, EmbeddingVector> entry : resolved.entrySet()) {
+            cache.put(entry.getKey(), entry.getValue());
+            for (int position : missingPositions.get(entry.getKey())) {
+                embeddings[position] = entry.getValue();
+            }
+        }
+        return List.of(embeddings);
+    }
+
+    public EmbeddingCacheStats getStats() {
+        CacheStats stats = cache.stats();
+        long weight = cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+        return new EmbeddingCacheStats(stats.hitCount(), stats.missCount(), persistentHits.get(), computed.get(),
+                stats.evictionCount(), cache.estimatedSize(), weight, maxBytes, persistent);
+    }
+
+    /**
+     * Drops the in-memory tier, e.g. after switching models without a restart.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    private EmbeddingVector load(String key) {
+        try {
+            return cacheRepository.findById(key)
+                    .map(entry -> VectorCodec.decodeBinary(entry.getEmbedding()))
+                    .orElse(null);
+        } catch (DataAccessException | IllegalArgumentException e) {
+            logger.warn("Embedding cache lookup failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<String, EmbeddingVector> loadAll(Iterable<String> keys) {
+        Map<String, EmbeddingVector> loaded = new HashMap<>();
+        try {
+            for (EmbeddingCacheEntry entry : cacheRepository.findAllById(keys)) {
+                loaded.put(entry.getContentHash(), VectorCodec.decodeBinary(entry.getEmbedding()));
+            }
+        } catch (DataAccessException | IllegalArgumentException e) {
+            logger.warn("Embedding cache lookup failed: {}", e.getMessage());
+            loaded.clear();
+        }
+        return loaded;
+    }
+
+    private void store(String key, EmbeddingVector embedding) {
+        try {
+            writeTransaction.executeWithoutResult(status -> {
+                if (!cacheRepository.existsById(key)) {
+                    cacheRepository.save(new EmbeddingCacheEntry(key, VectorCodec.encodeBinary(embedding)));
+                }
+            });
+        } catch (DataAccessException e) {
+            // Most likely another thread or replica stored the same text first
+            logger.debug("Embedding cache write skipped: {}", e.getMessage());
+        }
+    }
+
+    private void storeAll(List<String> keys, List<EmbeddingVector> embeddings) {
+        try {
+            writeTransaction.executeWithoutResult(status -> {
+                Set<String> existing = new HashSet<>();
+                cacheRepository.findAllById(keys).forEach(entry -> existing.add(entry.getContentHash()));
+                List<EmbeddingCacheEntry> entries = new ArrayList<>(keys.size());
+                for (int i = 0; i < keys.size(); i++) {
+                    if (!existing.contains(keys.get(i))) {
+                        entries.add(new EmbeddingCacheEntry(keys.get(i), VectorCodec.encodeBinary(embeddings.get(i))));
+                    }
+                }
+                cacheRepository.saveAll(entries);
+            });
+        } catch (DataAccessException e) {
+            // Another thread or replica stored some of the same texts first
+            logger.debug("Embedding cache batch write skipped: {}", e.getMessage());
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(Normalizer.normalize(text, Normalizer.Form.NFC)).replaceAll(" ").trim();
+    }
+
+    private String key(String normalized) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(namespace.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
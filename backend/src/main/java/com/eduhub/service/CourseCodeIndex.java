@@ -0,0 +1,116 @@
+package com.eduhub.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.eduhub.repository.CourseRepository;
+
+/**
+ * In-memory course code to course id index, so enroll-by-code and course code
+ * generation do not query the database. It is loaded at startup, kept current
+ * by createCourse/deleteCourse on this replica and by {@link ReplicaChannel}
+ * for the others, and fully reloaded periodically as a safety net.
+ *
+ * The index is a cache: lookups that miss fall back to the database, and the
+ * unique constraint on course_code remains the final guard against collisions.
+ */
+@Service
+public class CourseCodeIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseCodeIndex.class);
+
+    private final CourseRepository courseRepository;
+    private final ReplicaChannel channel;
+    private final Map<String, Integer> idsByCode = new ConcurrentHashMap<>();
+
+    public CourseCodeIndex(CourseRepository courseRepository, ReplicaChannel channel) {
+        this.courseRepository = courseRepository;
+        this.channel = channel;
+    }
+
+    /**
+     * Course id for a code, from the index or, on a miss, from the database.
+     */
+    public Optional<Integer> resolve(String code) {
+        Integer courseId = idsByCode.get(code);
+        if (courseId != null) {
+            return Optional.of(courseId);
+        }
+        Optional<Integer> loaded = courseRepository.findIdByCourseCode(code);
+        loaded.ifPresent(id -> idsByCode.put(code, id));
+        return loaded;
+    }
+
+    /**
+     * Whether a code is known to be in use. Only consults the index.
+     */
+    public boolean contains(String code) {
+        return idsByCode.containsKey(code);
+    }
+
+    public int size() {
+        return idsByCode.size();
+    }
+
+    /**
+     * Records a newly committed course and tells the other replicas.
+     */
+    public void register(String code, Integer courseId) {
+        idsByCode.put(code, courseId);
+        channel.publish(new ReplicaChannel.CourseCodeChanged(code, courseId));
+    }
+
+    /**
+     * Forgets a deleted course and tells the other replicas.
+     */
+    public void unregister(String code) {
+        idsByCode.remove(code);
+        channel.publish(new ReplicaChannel.CourseCodeChanged(code, null));
+    }
+
+    /**
+     * Drops a code on this replica only, e.g. after finding its course gone.
+     */
+    public void evict(String code) {
+        idsByCode.remove(code);
+    }
+
+    @EventListener
+    public void onChange(ReplicaChannel.CourseCodeChanged change) {
+        if (change.courseId() != null) {
+            idsByCode.put(change.code(), change.courseId());
+        } else {
+            idsByCode.remove(change.code());
+        }
+    }
+
+    @EventListener({ApplicationReadyEvent.class, ReplicaChannel.Resync.class})
+    @Scheduled(fixedDelayString = "${app.courses.code-index.resync-ms:300000}",
+            initialDelayString = "${app.courses.code-index.resync-ms:300000}")
+    public void reload() {
+        long start = System.currentTimeMillis();
+        // Codes registered while the query runs are not in its result, so only
+        // entries that existed beforehand and still map to the same course are dropped
+        Map<String, Integer> before = new HashMap<>(idsByCode);
+        Map<String, Integer> fresh = new HashMap<>();
+        for (CourseRepository.CourseCodeRow row : courseRepository.findAllCourseCodes()) {
+            fresh.put(row.getCourseCode(), row.getId());
+        }
+        idsByCode.putAll(fresh);
+        before.forEach((code, courseId) -> {
+            if (!fresh.containsKey(code)) {
+                idsByCode.remove(code, courseId);
+            }
+        });
+        logger.debug("Loaded {} course codes in {} ms", fresh.size(), System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,340 @@
+package com.eduhub.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.eduhub.model.Announcement;
+import com.eduhub.model.Answer;
+import com.eduhub.model.Question;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes course activity to subscribed clients as Server-Sent Events, so the
+ * frontend does not have to re-fetch question, answer and announcement lists
+ * to notice changes.
+ *
+ * Services publish an {@link Activity} as an application event; it is sent
+ * after the surrounding transaction commits. Each subscriber has its own
+ * buffer of at most app.courses.events.buffer-size events, drained by a small
+ * sender pool one subscriber at a time, so publishers never block on clients,
+ * a slow client only holds up itself and idle connections cost no threads.
+ * A client that falls a full buffer behind is disconnected; it reconnects
+ * with Last-Event-ID like any other. Each course keeps its most recent events
+ * so a client reconnecting with Last-Event-ID gets what it missed; if that is
+ * no longer possible it receives a "resync" event and should reload the course.
+ *
+ * Events only reach clients connected to the replica that published them.
+ */
+@Service
+public class CourseEventStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseEventStream.class);
+
+    public static final String QUESTION_CREATED = "question-created";
+    public static final String ANSWER_CREATED = "answer-created";
+    public static final String ANSWER_VERIFIED = "answer-verified";
+    public static final String ANNOUNCEMENT_CREATED = "announcement-created";
+    public static final String RESYNC = "resync";
+
+    /**
+     * Something happened in a course. The data names the affected entities so
+     * clients can fetch just those.
+     */
+    public record Activity(Integer courseId, String type, Map<String, Object> data) {
+
+        public static Activity questionCreated(Question question) {
+            return new Activity(question.getCourse().getId(), QUESTION_CREATED,
+                    Map.of("questionId", question.getId()));
+        }
+
+        public static Activity answerCreated(Answer answer) {
+            return new Activity(answer.getQuestion().getCourse().getId(), ANSWER_CREATED,
+                    Map.of("questionId", answer.getQuestion().getId(), "answerId", answer.getId()));
+        }
+
+        public static Activity answerVerified(Answer answer) {
+            return new Activity(answer.getQuestion().getCourse().getId(), ANSWER_VERIFIED,
+                    Map.of("questionId", answer.getQuestion().getId(), "answerId", answer.getId(),
+                            "verified", answer.isVerified()));
+        }
+
+        public static Activity announcementCreated(Announcement announcement) {
+            return new Activity(announcement.getCourse().getId(), ANNOUNCEMENT_CREATED,
+                    Map.of("announcementId", announcement.getId()));
+        }
+    }
+
+    private record Sent(long id, Activity activity) {}
+
+    /**
+     * Recent events of one course; guarded by its own monitor, which is also
+     * held while an event gets its id and is handed to subscribers, so every
+     * subscriber sees a course's events in id order.
+     */
+    private static final class History {
+        final Deque<Sent> events = new ArrayDeque<>();
+        long evictedUpTo;
+    }
+
+    /**
+     * One client connection with its own bounded buffer. At most one sender
+     * task drains it at a time, so its events stay in order.
+     */
+    private final class Subscriber {
+        final Integer courseId;
+        final SseEmitter emitter;
+        private final Deque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        Subscriber(Integer courseId, SseEmitter emitter) {
+            this.courseId = courseId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            String dropReason = enqueue(event);
+            // Completing outside the monitor: a sender may hold the emitter while it waits for ours
+            if (dropReason != null) {
+                drop(dropReason);
+            }
+        }
+
+        /**
+         * Buffers an event without blocking. Returns why the subscriber has to
+         * be dropped, or null; the caller drops it once it holds no locks.
+         */
+        String enqueue(SseEmitter.SseEventBuilder event) {
+            String dropReason = null;
+            synchronized (this) {
+                if (closed) {
+                    return null;
+                }
+                if (pending.size() >= bufferSize) {
+                    closed = true;
+                    dropReason = "fell " + bufferSize + " events behind";
+                } else {
+                    pending.addLast(event);
+                    if (!draining) {
+                        draining = true;
+                        try {
+                            sender.execute(this::drain);
+                        } catch (RejectedExecutionException e) {
+                            closed = true;
+                            dropReason = "sender queue is full";
+                        }
+                    }
+                }
+            }
+            return dropReason;
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    event = closed ? null : pending.pollFirst();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away or the emitter already completed
+                    synchronized (this) {
+                        closed = true;
+                    }
+                    drop(e.getMessage());
+                    return;
+                }
+            }
+        }
+
+        private void drop(String reason) {
+            logger.debug("Dropping course {} subscriber: {}", courseId, reason);
+            remove(this);
+            emitter.complete();
+        }
+    }
+
+    private final Map<Integer, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Map<Integer, History> histories = new ConcurrentHashMap<>();
+
+    // Ids start at the boot time so ids from before a restart are always older
+    private final long firstId = System.currentTimeMillis() * 1000;
+    private final AtomicLong sequence = new AtomicLong(firstId);
+
+    private ThreadPoolExecutor sender;
+
+    @Value("${app.courses.events.timeout-ms:1800000}")
+    private long timeoutMs = 1_800_000;
+
+    @Value("${app.courses.events.replay-size:100}")
+    private int replaySize = 100;
+
+    @Value("${app.courses.events.buffer-size:64}")
+    private int bufferSize = 64;
+
+    @Value("${app.courses.events.sender-threads:4}")
+    private int senderThreads = 4;
+
+    @Value("${app.courses.events.sender-queue:10000}")
+    private int senderQueue = 10_000;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        sender = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(senderQueue), runnable -> {
+                    Thread thread = new Thread(runnable, "course-events-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        sender.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Registers a client for a course. Events after {@code lastEventId} that
+     * are still buffered are replayed first.
+     */
+    public SseEmitter subscribe(Integer courseId, String lastEventId) {
+        SseEmitter emitter = createEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(courseId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove(subscriber));
+
+        Long resumeFrom = parseId(lastEventId);
+        if (resumeFrom == null) {
+            register(subscriber);
+            return emitter;
+        }
+        History history = histories.computeIfAbsent(courseId, id -> new History());
+        String dropReason = null;
+        synchronized (history) {
+            // Events are published under the same lock, so every event is
+            // either in the replay or sent live afterwards, never both
+            register(subscriber);
+            if (resumeFrom < firstId || resumeFrom < history.evictedUpTo) {
+                Map<String, Object> data = new LinkedHashMap<>();
+                data.put("courseId", courseId);
+                dropReason = subscriber.enqueue(SseEmitter.event().name(RESYNC).data(data));
+            } else {
+                for (Sent event : history.events) {
+                    if (event.id() > resumeFrom && dropReason == null) {
+                        dropReason = subscriber.enqueue(toSse(event));
+                    }
+                }
+            }
+        }
+        if (dropReason != null) {
+            subscriber.drop(dropReason);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivity(Activity activity) {
+        History history = histories.computeIfAbsent(activity.courseId(), id -> new History());
+        Map<Subscriber, String> dropped = new LinkedHashMap<>();
+        synchronized (history) {
+            // The id is taken under the lock so a course's history and each
+            // subscriber's buffer receive ids in increasing order
+            Sent event = new Sent(sequence.incrementAndGet(), activity);
+            history.events.addLast(event);
+            while (history.events.size() > replaySize) {
+                history.evictedUpTo = history.events.removeFirst().id();
+            }
+            Set<Subscriber> course = subscribers.get(activity.courseId());
+            if (course != null) {
+                for (Subscriber subscriber : course) {
+                    String dropReason = subscriber.enqueue(toSse(event));
+                    if (dropReason != null) {
+                        dropped.put(subscriber, dropReason);
+                    }
+                }
+            }
+        }
+        dropped.forEach(Subscriber::drop);
+    }
+
+    /**
+     * Keeps idle connections open through proxies and finds dead ones.
+     */
+    @Scheduled(fixedDelayString = "${app.courses.events.heartbeat-ms:20000}")
+    public void heartbeat() {
+        subscribers.values().forEach(course -> course.forEach(
+                subscriber -> subscriber.offer(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void stop() {
+        sender.shutdownNow();
+        subscribers.values().forEach(course -> course.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+    }
+
+    SseEmitter createEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    private void register(Subscriber subscriber) {
+        subscribers.compute(subscriber.courseId, (id, course) -> {
+            Set<Subscriber> set = course != null ? course : ConcurrentHashMap.<Subscriber>newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.courseId, (id, course) -> {
+            course.remove(subscriber);
+            return course.isEmpty() ? null : course;
+        });
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(Sent event) {
+        return SseEmitter.event()
+                .id(Long.toString(event.id()))
+                .name(event.activity().type())
+                .data(event.activity().data());
+    }
+
+    private static Long parseId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+}
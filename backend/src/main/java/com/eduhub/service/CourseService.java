@@ -1,18 +1,34 @@
 package com.eduhub.service;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import com.eduhub.config.CacheConfig;
+import com.eduhub.dto.CourseSummaryDto;
+import com.eduhub.dto.RosterImportResult;
 import com.eduhub.exception.CourseNotFoundException;
 import com.eduhub.exception.UnauthorizedActionException;
 import com.eduhub.model.Course;
 import com.eduhub.model.User;
 import com.eduhub.repository.CourseRepository;
+import com.eduhub.repository.EnrollmentRepository;
 import com.eduhub.repository.UserRepository;
 
 @Service
@@ -24,8 +40,26 @@ public class CourseService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private QuestionIndexService questionIndexService;
+
+    @Autowired
+    private CourseCodeIndex courseCodeIndex;
+
+    @Autowired
+    private ReplicaChannel replicaChannel;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private static final int ROSTER_BATCH_SIZE = 500;
+
     private static final String CODE_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
     private static final int CODE_LENGTH = 8;
+    private static final int CODE_ATTEMPTS = 5;
     private final SecureRandom random = new SecureRandom();
 
     private String generateUniqueCourseCode() {
@@ -36,12 +70,35 @@ public class CourseService {
                 sb.append(CODE_CHARS.charAt(random.nextInt(CODE_CHARS.length())));
             }
             code = sb.toString();
-        } while (courseRepository.findByCourseCode(code).isPresent());
+        } while (courseCodeIndex.contains(code));
         return code;
     }
 
+    /**
+     * Saves a new course under a fresh course code. The index can miss a code
+     * another replica registered moments ago, so a code the unique constraint
+     * rejects is looked up (which also adds it to the index) and a new one drawn.
+     */
     public Course createCourse(Course course) {
-        course.setCourseCode(generateUniqueCourseCode());
+        for (int attempt = 1; ; attempt++) {
+            String code = generateUniqueCourseCode();
+            course.setCourseCode(code);
+            try {
+                Course saved = courseRepository.save(course);
+                courseCodeIndex.register(saved.getCourseCode(), saved.getId());
+                return saved;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= CODE_ATTEMPTS || courseCodeIndex.resolve(code).isEmpty()) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Saves changes to an existing course, keeping its course code.
+     */
+    public Course updateCourse(Course course) {
         return courseRepository.save(course);
     }
 
@@ -57,54 +114,143 @@ public class CourseService {
         return courseRepository.findByProfessorId(professorId);
     }
 
-    public List<Course> getCoursesByStudent(Integer studentId) {
-        User student = userRepository.findById(Objects.requireNonNull(studentId))
-                .orElseThrow(() -> new UnauthorizedActionException("Student not found"));
-        return courseRepository.findAll().stream()
-                .filter(course -> course.getStudents().contains(student))
-                .toList();
+    /**
+     * Courses the student is enrolled in, cached per student until their
+     * enrollments change. Changes evict the entry on this replica right away
+     * and on every replica through {@link ReplicaChannel}.
+     */
+    @Cacheable(cacheNames = CacheConfig.STUDENT_COURSES, key = "#studentId")
+    public List<CourseSummaryDto> getCoursesByStudent(Integer studentId) {
+        return courseRepository.findSummariesByStudentId(Objects.requireNonNull(studentId));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.STUDENT_COURSES, key = "#studentId")
     public void enrollStudent(Integer courseId, Integer studentId) {
-        Optional<Course> courseOpt = courseRepository.findById(Objects.requireNonNull(courseId));
-        if (courseOpt.isEmpty()) {
+        if (!courseRepository.existsById(Objects.requireNonNull(courseId))) {
             throw new CourseNotFoundException("Course not found");
         }
-        Optional<User> studentOpt = userRepository.findById(Objects.requireNonNull(studentId));
-        if (studentOpt.isEmpty()) {
-            throw new UnauthorizedActionException("Student not found");
+        User student = userRepository.findById(Objects.requireNonNull(studentId))
+                .orElseThrow(() -> new UnauthorizedActionException("Student not found"));
+        enroll(courseId, student);
+        studentCoursesChanged(studentId);
+    }
+
+    /**
+     * Enrolls the authenticated student by course code. The code is resolved
+     * through the in-memory {@link CourseCodeIndex}, so the only query is the insert.
+     */
+    @CacheEvict(cacheNames = CacheConfig.STUDENT_COURSES, key = "#student.id")
+    public void enrollStudentByCode(String courseCode, User student) {
+        Integer courseId = courseCodeIndex.resolve(courseCode)
+                .orElseThrow(() -> new CourseNotFoundException("Invalid course code"));
+        try {
+            enroll(courseId, student);
+        } catch (DataIntegrityViolationException e) {
+            // The course was deleted after the code was indexed.
+            courseCodeIndex.evict(courseCode);
+            throw new CourseNotFoundException("Invalid course code");
         }
-        Course course = courseOpt.get();
-        User student = studentOpt.get();
+        studentCoursesChanged(student.getId());
+    }
+
+    /**
+     * Inserts the enrollment row directly; enrolling twice is a no-op.
+     */
+    private void enroll(Integer courseId, User student) {
         if (student.getRole() != com.eduhub.model.Role.STUDENT) {
             throw new UnauthorizedActionException("Only students can enroll");
         }
-        course.getStudents().add(student);
-        courseRepository.save(course);
+        enrollmentRepository.enroll(courseId, student.getId());
     }
 
-    public void enrollStudentByCode(String courseCode, Integer studentId) {
-        Optional<Course> courseOpt = courseRepository.findByCourseCode(courseCode);
-        if (courseOpt.isEmpty()) {
-            throw new CourseNotFoundException("Invalid course code");
+    @CacheEvict(cacheNames = CacheConfig.STUDENT_COURSES, key = "#studentId")
+    public void unenrollStudent(Integer courseId, Integer studentId) {
+        if (!courseRepository.existsById(Objects.requireNonNull(courseId))) {
+            throw new CourseNotFoundException("Course not found");
         }
-        Optional<User> studentOpt = userRepository.findById(Objects.requireNonNull(studentId));
-        if (studentOpt.isEmpty()) {
-            throw new UnauthorizedActionException("Student not found");
+        if (!enrollmentRepository.unenroll(courseId, studentId)) {
+            throw new UnauthorizedActionException("Student is not enrolled in this course");
         }
-        Course course = courseOpt.get();
-        User student = studentOpt.get();
-        if (student.getRole() != com.eduhub.model.Role.STUDENT) {
-            throw new UnauthorizedActionException("Only students can enroll");
+        studentCoursesChanged(studentId);
+    }
+
+    /**
+     * Enrolls every student listed in a CSV roster (one email per line, first column;
+     * a header line is skipped). The stream is read line by line and inserted in
+     * JDBC batches of {@link #ROSTER_BATCH_SIZE}, each committed on its own, so a
+     * failed import can simply be re-run. Only the course owner or an admin may import.
+     */
+    @CacheEvict(cacheNames = CacheConfig.STUDENT_COURSES, allEntries = true)
+    public RosterImportResult importRoster(Integer courseId, InputStream csv, User currentUser) throws IOException {
+        Course course = courseRepository.findById(Objects.requireNonNull(courseId))
+                .orElseThrow(() -> new CourseNotFoundException("Course not found"));
+
+        boolean isOwner = course.getProfessor().getId().equals(currentUser.getId());
+        boolean isAdmin = "ADMIN".equals(currentUser.getRole().name());
+
+        if (!isOwner && !isAdmin) {
+            throw new UnauthorizedActionException("Only course owner or admin can import a roster");
+        }
+
+        int emails = 0;
+        int enrolled = 0;
+        int invalid = 0;
+        List<String> batch = new ArrayList<>(ROSTER_BATCH_SIZE);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        boolean firstLine = true;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String email = firstColumn(line);
+            boolean header = firstLine;
+            firstLine = false;
+            if (email.indexOf('@') < 1) {
+                if (!header) {
+                    invalid++;
+                }
+                continue;
+            }
+            batch.add(email);
+            if (batch.size() == ROSTER_BATCH_SIZE) {
+                enrolled += enrollmentRepository.enrollByEmails(courseId, batch);
+                emails += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            enrolled += enrollmentRepository.enrollByEmails(courseId, batch);
+            emails += batch.size();
+        }
+        studentCoursesChanged(null);
+        return new RosterImportResult(emails, enrolled, invalid);
+    }
+
+    private static String firstColumn(String line) {
+        int comma = line.indexOf(',');
+        String column = (comma >= 0 ? line.substring(0, comma) : line).trim();
+        if (column.length() >= 2 && column.startsWith("\"") && column.endsWith("\"")) {
+            column = column.substring(1, column.length() - 1).trim();
+        }
+        return column;
+    }
+
+    /**
+     * Throws unless the user teaches or attends the course, or is an admin.
+     */
+    public void checkCourseAccess(Integer courseId, User currentUser) {
+        boolean isAdmin = "ADMIN".equals(currentUser.getRole().name());
+        if (!isAdmin && !courseRepository.isMember(courseId, currentUser.getId())) {
+            throw new UnauthorizedActionException("Only members of the course can follow its activity");
         }
-        course.getStudents().add(student);
-        courseRepository.save(course);
     }
 
     /**
      * Deletes a course if user has permission (course owner or ADMIN).
      * Related questions, answers, and announcements are deleted via cascade.
      */
+    @CacheEvict(cacheNames = CacheConfig.STUDENT_COURSES, allEntries = true)
     public void deleteCourse(Integer courseId, User currentUser) {
         Course course = courseRepository.findById(Objects.requireNonNull(courseId))
                 .orElseThrow(() -> new CourseNotFoundException("Course not found"));
@@ -117,5 +263,42 @@ public class CourseService {
         }
 
         courseRepository.delete(course);
+        questionIndexService.evict(courseId);
+        courseCodeIndex.unregister(course.getCourseCode());
+        studentCoursesChanged(null);
+    }
+
+    /**
+     * Drops cached course lists when any replica, this one included, reports
+     * an enrollment change.
+     */
+    @EventListener
+    public void onStudentCoursesChanged(ReplicaChannel.StudentCoursesChanged change) {
+        Cache cache = cacheManager.getCache(CacheConfig.STUDENT_COURSES);
+        if (cache == null) {
+            return;
+        }
+        if (change.studentId() != null) {
+            cache.evict(change.studentId());
+        } else {
+            cache.clear();
+        }
+    }
+
+    /**
+     * The channel reconnected and may have missed changes, so no cached list can be trusted.
+     */
+    @EventListener(ReplicaChannel.Resync.class)
+    public void onChannelResync() {
+        onStudentCoursesChanged(new ReplicaChannel.StudentCoursesChanged(null));
+    }
+
+    /**
+     * Tells the other replicas to drop their cached course lists for a student,
+     * or for everyone when studentId is null. The local entry is already
+     * evicted by @CacheEvict.
+     */
+    private void studentCoursesChanged(Integer studentId) {
+        replicaChannel.publish(new ReplicaChannel.StudentCoursesChanged(studentId));
     }
 }
\ No newline at end of file
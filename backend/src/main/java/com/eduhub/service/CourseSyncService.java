@@ -0,0 +1,168 @@
+package com.eduhub.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.eduhub.dto.AnnouncementResponse;
+import com.eduhub.dto.CourseChangesDto;
+import com.eduhub.model.Answer;
+import com.eduhub.model.ChangeEntityType;
+import com.eduhub.model.ChangeOperation;
+import com.eduhub.model.CourseChange;
+import com.eduhub.model.Question;
+import com.eduhub.repository.AnnouncementRepository;
+import com.eduhub.repository.AnswerRepository;
+import com.eduhub.repository.CourseChangeRepository;
+import com.eduhub.repository.QuestionRepository;
+
+/**
+ * Delta sync for course clients. Services record every question, answer and
+ * announcement change in the course_changes log, in the same transaction as
+ * the change; {@link #getChanges} turns the log after a cursor into the
+ * current state of the changed rows plus tombstones for deleted ones.
+ *
+ * Log ids are assigned at insert but become visible at commit. Writers hold
+ * the course's change log lock from insert to commit and getChanges takes it
+ * shared (see {@link CourseChangeRepository}), so a course's ids become
+ * visible in order and the cursor can move past everything it read.
+ */
+@Service
+public class CourseSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseSyncService.class);
+
+    private final CourseChangeRepository courseChangeRepository;
+    private final QuestionRepository questionRepository;
+    private final AnswerRepository answerRepository;
+    private final AnnouncementRepository announcementRepository;
+
+    @Value("${app.sync.max-changes:500}")
+    private int maxChanges = 500;
+
+    @Value("${app.sync.retention-days:30}")
+    private long retentionDays = 30;
+
+    public CourseSyncService(CourseChangeRepository courseChangeRepository,
+            QuestionRepository questionRepository,
+            AnswerRepository answerRepository,
+            AnnouncementRepository announcementRepository) {
+        this.courseChangeRepository = courseChangeRepository;
+        this.questionRepository = questionRepository;
+        this.answerRepository = answerRepository;
+        this.announcementRepository = announcementRepository;
+    }
+
+    public void recordUpsert(Integer courseId, ChangeEntityType type, Long entityId) {
+        courseChangeRepository.saveAll(List.of(new CourseChange(courseId, type, entityId, ChangeOperation.UPSERT)));
+    }
+
+    public void recordDelete(Integer courseId, ChangeEntityType type, Long entityId) {
+        courseChangeRepository.saveAll(List.of(new CourseChange(courseId, type, entityId, ChangeOperation.DELETE)));
+    }
+
+    /**
+     * Records created or changed answers; their questions' answer counters changed too.
+     */
+    public void recordAnswerUpserts(List<Answer> answers) {
+        List<CourseChange> changes = new ArrayList<>(answers.size() * 2);
+        for (Answer answer : answers) {
+            Question question = answer.getQuestion();
+            Integer courseId = question.getCourse().getId();
+            changes.add(new CourseChange(courseId, ChangeEntityType.ANSWER, answer.getId(), ChangeOperation.UPSERT));
+            changes.add(new CourseChange(courseId, ChangeEntityType.QUESTION, question.getId(), ChangeOperation.UPSERT));
+        }
+        courseChangeRepository.saveAll(changes);
+    }
+
+    /**
+     * Everything that changed in a course after {@code since}, at most
+     * app.sync.max-changes log entries per call (hasMore asks for another).
+     * A since of 0 only returns a starting cursor.
+     */
+    @Transactional(readOnly = true)
+    public CourseChangesDto getChanges(Integer courseId, long since) {
+        courseChangeRepository.lockForRead(courseId);
+
+        Long oldest = courseChangeRepository.findMinId();
+        // Rows between the cursor and the oldest retained entry may have been purged
+        if (since <= 0 || (oldest != null && since < oldest - 1)) {
+            Long latest = courseChangeRepository.findMaxId();
+            CourseChangesDto reset = new CourseChangesDto(latest != null ? latest : 0);
+            reset.setReset(true);
+            return reset;
+        }
+
+        List<CourseChange> log = courseChangeRepository.findByCourseIdAfter(courseId, since, maxChanges + 1);
+        boolean truncated = log.size() > maxChanges;
+        if (truncated) {
+            log = log.subList(0, maxChanges);
+        }
+
+        long cursor = since;
+        Map<ChangeEntityType, Map<Long, ChangeOperation>> latestOps = new LinkedHashMap<>();
+        for (CourseChange change : log) {
+            cursor = change.getId();
+            latestOps.computeIfAbsent(change.getEntityType(), type -> new LinkedHashMap<>())
+                    .put(change.getEntityId(), change.getOperation());
+        }
+
+        CourseChangesDto changes = new CourseChangesDto(cursor);
+        changes.setHasMore(truncated);
+
+        List<Long> questionIds = ids(latestOps, ChangeEntityType.QUESTION, ChangeOperation.UPSERT);
+        if (!questionIds.isEmpty()) {
+            changes.setQuestions(questionRepository.findSummariesByCourseIdAndIdIn(courseId, questionIds));
+        }
+        List<Long> answerIds = ids(latestOps, ChangeEntityType.ANSWER, ChangeOperation.UPSERT);
+        if (!answerIds.isEmpty()) {
+            changes.setAnswers(answerRepository.findSummariesByCourseIdAndIdIn(courseId, answerIds));
+        }
+        List<Long> announcementIds = ids(latestOps, ChangeEntityType.ANNOUNCEMENT, ChangeOperation.UPSERT);
+        if (!announcementIds.isEmpty()) {
+            changes.setAnnouncements(announcementRepository.findByCourseIdAndIdIn(courseId, announcementIds)
+                    .stream()
+                    .map(a -> new AnnouncementResponse(a.getId(), a.getTitle(), a.getContent(), a.getCreatedAt(),
+                            courseId, a.getProfessor().getFirstname() + " " + a.getProfessor().getLastname()))
+                    .toList());
+        }
+
+        CourseChangesDto.Deleted deleted = changes.getDeleted();
+        deleted.setQuestions(ids(latestOps, ChangeEntityType.QUESTION, ChangeOperation.DELETE));
+        deleted.setAnswers(ids(latestOps, ChangeEntityType.ANSWER, ChangeOperation.DELETE));
+        deleted.setAnnouncements(ids(latestOps, ChangeEntityType.ANNOUNCEMENT, ChangeOperation.DELETE));
+        return changes;
+    }
+
+    /**
+     * Drops log entries older than app.sync.retention-days. Clients whose
+     * cursor falls into the purged range are told to reload.
+     */
+    @Scheduled(cron = "${app.sync.cleanup-cron:0 15 4 * * *}")
+    @Transactional
+    public int purgeChanges() {
+        int deleted = courseChangeRepository.deleteChangedBefore(LocalDateTime.now().minusDays(retentionDays));
+        logger.info("Purged {} course change log entries", deleted);
+        return deleted;
+    }
+
+    private static List<Long> ids(Map<ChangeEntityType, Map<Long, ChangeOperation>> latestOps,
+            ChangeEntityType type, ChangeOperation operation) {
+        List<Long> ids = new ArrayList<>();
+        latestOps.getOrDefault(type, Map.of()).forEach((id, op) -> {
+            if (op == operation) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+}
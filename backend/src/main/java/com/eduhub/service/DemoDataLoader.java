@@ -12,6 +12,7 @@ import org.springframework.stereotype.Component;
 
 import com.eduhub.model.Announcement;
 import com.eduhub.model.Course;
+import com.eduhub.model.Question;
 import com.eduhub.model.Role;
 import com.eduhub.model.User;
 import com.eduhub.repository.CourseRepository;
@@ -104,46 +105,51 @@ public class DemoDataLoader implements CommandLineRunner {
         }
 
         private void generateSampleQuestions(Course course, User student, User professor) {
+                // Collected first so that all questions are embedded in one batch
+                List<Question> questions = new ArrayList<>();
+
                 // Group 1: Inheritance-related (should cluster together with high similarity)
-                createQuestion("What is inheritance in OOP?",
+                addQuestion(questions, "What is inheritance in OOP?",
                                 "I need help understanding inheritance basics. How does it work?",
                                 course, student);
 
-                createQuestion("Explain inheritance in object oriented programming",
+                addQuestion(questions, "Explain inheritance in object oriented programming",
                                 "How does class inheritance work? When should I use it?",
                                 course, student);
 
-                createQuestion("Difference between inheritance and composition",
+                addQuestion(questions, "Difference between inheritance and composition",
                                 "When should I use inheritance vs composition in my design?",
                                 course, student);
 
                 // Group 2: Polymorphism-related (should cluster together)
-                createQuestion("Polymorphism examples in Java",
+                addQuestion(questions, "Polymorphism examples in Java",
                                 "Looking for real-world polymorphism examples with code",
                                 course, student);
 
-                createQuestion("How does polymorphism work?",
+                addQuestion(questions, "How does polymorphism work?",
                                 "Explain runtime polymorphism vs compile-time polymorphism",
                                 course, professor);
 
                 // Group 3: Unrelated questions (should be standalone)
-                createQuestion("Java installation error",
+                addQuestion(questions, "Java installation error",
                                 "JDK install fails with path environment variable error",
                                 course, student);
 
-                createQuestion("How to debug in IntelliJ IDEA?",
+                addQuestion(questions, "How to debug in IntelliJ IDEA?",
                                 "Setting breakpoints and step through debugging tutorial",
                                 course, student);
 
-                createQuestion("Maven vs Gradle build tools",
+                addQuestion(questions, "Maven vs Gradle build tools",
                                 "Which build tool should I use for my Java project?",
                                 course, professor);
 
+                for (Question question : questionService.createQuestionsDirect(questions)) {
+                        logger.info("Created question: {}", question.getTitle());
+                }
                 logger.info("✅ Sample questions created successfully");
         }
 
-        private void createQuestion(String title, String content, Course course, User author) {
-                questionService.createQuestionDirect(title, content, author, course, false);
-                logger.info("Created question: {}", title);
+        private void addQuestion(List<Question> questions, String title, String content, Course course, User author) {
+                questions.add(new Question(title, content, author, course, false));
         }
 }
@@ -0,0 +1,277 @@
+package com.eduhub.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eduhub.dto.BackfillProgress;
+import com.eduhub.model.BackfillCheckpoint;
+import com.eduhub.model.EmbeddingStatus;
+import com.eduhub.model.QuestionEmbedding;
+import com.eduhub.model.types.EmbeddingVector;
+import com.eduhub.repository.BackfillCheckpointRepository;
+import com.eduhub.repository.QuestionEmbeddingRepository;
+import com.eduhub.repository.QuestionRepository;
+import com.eduhub.repository.QuestionRepository.EmbeddingSourceRow;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Generates embeddings for questions that have none, in the background.
+ *
+ * The pass walks question ids in keyset chunks (app.ai.backfill.chunk-size),
+ * reading only id, course, title and content. Each chunk is embedded with one
+ * EmbeddingService.generateEmbeddings call, which spreads it over the model's
+ * worker pool (app.ai.embedding.parallelism), and written
+ * in one short transaction together with the checkpoint, so a restart resumes
+ * after the last committed chunk. When a pass reaches the end the checkpoint
+ * goes back to 0 and questions that failed are retried by the next pass.
+ */
+@Service
+public class EmbeddingBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddingBackfillService.class);
+
+    static final String CHECKPOINT = "question-embeddings";
+
+    private final QuestionRepository questionRepository;
+    private final QuestionEmbeddingRepository questionEmbeddingRepository;
+    private final BackfillCheckpointRepository checkpointRepository;
+    private final EmbeddingService embeddingService;
+    private final QuestionIndexService questionIndexService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.ai.backfill.chunk-size:500}")
+    private int chunkSize = 500;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopping;
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong chunks = new AtomicLong();
+    private final AtomicLong lastId = new AtomicLong();
+    private volatile long remaining;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private Thread runner;
+
+    public EmbeddingBackfillService(QuestionRepository questionRepository,
+            QuestionEmbeddingRepository questionEmbeddingRepository,
+            BackfillCheckpointRepository checkpointRepository,
+            EmbeddingService embeddingService,
+            QuestionIndexService questionIndexService,
+            PlatformTransactionManager transactionManager) {
+        this.questionRepository = questionRepository;
+        this.questionEmbeddingRepository = questionEmbeddingRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.embeddingService = embeddingService;
+        this.questionIndexService = questionIndexService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Starts a pass on a background thread.
+     *
+     * @return false if a pass is already running
+     */
+    public synchronized boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        stopping = false;
+        runner = new Thread(() -> {
+            try {
+                run();
+            } catch (RuntimeException e) {
+                logger.error("Embedding backfill stopped: {}", e.getMessage(), e);
+            } finally {
+                running.set(false);
+            }
+        }, "embedding-backfill");
+        runner.setDaemon(true);
+        runner.start();
+        return true;
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        stopping = true;
+        if (runner != null) {
+            runner.interrupt();
+        }
+    }
+
+    public BackfillProgress getProgress() {
+        long end = running.get() || finishedAt == 0 ? System.currentTimeMillis() : finishedAt;
+        long elapsed = startedAt == 0 ? 0 : end - startedAt;
+        long done = processed.get();
+        return new BackfillProgress(running.get(), remaining, done, failed.get(), chunks.get(), lastId.get(),
+                elapsed, elapsed > 0 ? done * 1000.0 / elapsed : 0);
+    }
+
+    /**
+     * Runs one pass on the calling thread.
+     */
+    void run() {
+        processed.set(0);
+        failed.set(0);
+        chunks.set(0);
+        startedAt = System.currentTimeMillis();
+        finishedAt = 0;
+
+        long from = checkpoint().getLastId();
+        lastId.set(from);
+        remaining = questionRepository.countWithoutEmbeddingAfter(from);
+        if (remaining == 0 && from == 0) {
+            logger.info("No legacy questions found - all embeddings are up to date ✓");
+            finishedAt = System.currentTimeMillis();
+            return;
+        }
+        logger.info("Backfilling embeddings for {} questions after id {}", remaining, from);
+
+        try {
+            while (!stopping) {
+                List<EmbeddingSourceRow> rows = questionRepository.findWithoutEmbeddingAfter(from, Limit.of(chunkSize));
+                if (rows.isEmpty()) {
+                    finishPass(from);
+                    break;
+                }
+                from = processChunk(from, rows);
+                lastId.set(from);
+            }
+        } finally {
+            finishedAt = System.currentTimeMillis();
+        }
+        logger.info("Embedding backfill {}: {} embedded, {} failed in {} ms ✓",
+                stopping ? "paused" : "completed", processed.get(), failed.get(), finishedAt - startedAt);
+    }
+
+    /**
+     * Embeds and stores one chunk and moves the checkpoint past it.
+     *
+     * @return the checkpoint to continue from
+     */
+    private long processChunk(long from, List<EmbeddingSourceRow> rows) {
+        List<EmbeddingSourceRow> embeddedRows = new ArrayList<>(rows.size());
+        List<EmbeddingVector> embeddings = new ArrayList<>(rows.size());
+        int chunkFailures = 0;
+        try {
+            embeddings.addAll(embeddingService.generateEmbeddings(rows.stream().map(EmbeddingBackfillService::text).toList()));
+            embeddedRows.addAll(rows);
+        } catch (RuntimeException batchFailure) {
+            // Retry one by one so a single bad text does not fail the chunk
+            logger.warn("Embedding chunk {}..{} failed, retrying per question: {}",
+                    from, rows.get(rows.size() - 1).getId(), batchFailure.getMessage());
+            for (EmbeddingSourceRow row : rows) {
+                try {
+                    embeddings.add(embeddingService.generateEmbedding(text(row)));
+                    embeddedRows.add(row);
+                } catch (RuntimeException e) {
+                    chunkFailures++;
+                    logger.warn("Failed to generate embedding for question ID {}: {}", row.getId(), e.getMessage());
+                }
+            }
+        }
+
+        long to = rows.get(rows.size() - 1).getId();
+        int failures = chunkFailures;
+        try {
+            Integer written = transactionTemplate.execute(status -> store(from, to, embeddedRows, embeddings, failures));
+            if (written == null) {
+                // Another replica moved the checkpoint; continue from where it is now
+                return checkpoint().getLastId();
+            }
+            processed.addAndGet(written);
+            failed.addAndGet(failures);
+            chunks.incrementAndGet();
+            return to;
+        } catch (RuntimeException e) {
+            // e.g. another replica's checkpoint update
+            logger.warn("Embedding backfill chunk {}..{} not stored: {}", from, to, e.getMessage());
+            long current = checkpoint().getLastId();
+            if (current != from) {
+                return current;
+            }
+            failed.addAndGet(rows.size());
+            transactionTemplate.executeWithoutResult(status -> advance(from, to, rows.size()));
+            return to;
+        }
+    }
+
+    private Integer store(long from, long to, List<EmbeddingSourceRow> rows, List<EmbeddingVector> embeddings,
+            int failures) {
+        BackfillCheckpoint checkpoint = checkpoint();
+        if (checkpoint.getLastId() != from) {
+            return null;
+        }
+        List<Long> ids = rows.stream().map(EmbeddingSourceRow::getId).toList();
+        // Questions deleted since the chunk was read, and ones embedded meanwhile by the queue
+        List<Long> present = ids.isEmpty() ? List.of() : questionRepository.lockExistingIds(ids);
+        Set<Long> existing = present.isEmpty() ? Set.of()
+                : new HashSet<>(questionEmbeddingRepository.findExistingIds(present));
+        Set<Long> live = new HashSet<>(present);
+
+        List<QuestionEmbedding> entities = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            EmbeddingSourceRow row = rows.get(i);
+            if (!live.contains(row.getId()) || existing.contains(row.getId())) {
+                continue;
+            }
+            entities.add(new QuestionEmbedding(questionRepository.getReferenceById(row.getId()), embeddings.get(i)));
+            questionIndexService.onQuestionSaved(row.getCourseId(), row.getId(), embeddings.get(i));
+        }
+        questionEmbeddingRepository.saveAll(entities);
+        if (!present.isEmpty()) {
+            questionRepository.updateEmbeddingStatus(present, EmbeddingStatus.READY);
+        }
+
+        checkpoint.setLastId(to);
+        checkpoint.setProcessed(checkpoint.getProcessed() + entities.size());
+        checkpoint.setFailed(checkpoint.getFailed() + failures);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+        return entities.size();
+    }
+
+    private void advance(long from, long to, int failures) {
+        BackfillCheckpoint checkpoint = checkpoint();
+        if (checkpoint.getLastId() == from) {
+            checkpoint.setLastId(to);
+            checkpoint.setFailed(checkpoint.getFailed() + failures);
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            checkpointRepository.save(checkpoint);
+        }
+    }
+
+    private void finishPass(long from) {
+        transactionTemplate.executeWithoutResult(status -> {
+            BackfillCheckpoint checkpoint = checkpoint();
+            if (checkpoint.getLastId() == from) {
+                checkpoint.setLastId(0);
+                checkpoint.setUpdatedAt(LocalDateTime.now());
+                checkpointRepository.save(checkpoint);
+            }
+        });
+    }
+
+    private BackfillCheckpoint checkpoint() {
+        return checkpointRepository.findById(CHECKPOINT).orElseGet(() -> new BackfillCheckpoint(CHECKPOINT));
+    }
+
+    private static String text(EmbeddingSourceRow row) {
+        String content = row.getContent();
+        return content != null && !content.isEmpty() ? row.getTitle() + " " + content : row.getTitle();
+    }
+}
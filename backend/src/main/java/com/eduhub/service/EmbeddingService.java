@@ -1,18 +1,39 @@
 package com.eduhub.service;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import com.eduhub.model.types.EmbeddingVector;
+
 /**
  * Service interface for generating vector embeddings from text.
  * Used to convert questions into semantic vectors for similarity search.
  */
 public interface EmbeddingService {
-    
+
     /**
      * Converts text into a vector embedding.
-     * 
+     *
      * @param text The input text to be embedded (e.g., question title + content)
      * @return A vector of 1536 dimensions (standard for OpenAI text-embedding-3-small)
      */
-    List<Double> generateEmbedding(String text);
+    EmbeddingVector generateEmbedding(String text);
+
+    /**
+     * Converts many texts at once. Implementations embed them in parallel or
+     * send them to the model in batched requests; this default embeds them
+     * one by one.
+     *
+     * @param texts The input texts
+     * @return One embedding per text, in the same order
+     * @throws RuntimeException if any text fails; callers that need to
+     *         isolate failures retry the texts with {@link #generateEmbedding(String)}
+     */
+    default List<EmbeddingVector> generateEmbeddings(List<String> texts) {
+        List<EmbeddingVector> embeddings = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            embeddings.add(generateEmbedding(text));
+        }
+        return embeddings;
+    }
 }
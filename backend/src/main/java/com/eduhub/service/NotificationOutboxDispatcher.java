@@ -0,0 +1,163 @@
+package com.eduhub.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eduhub.model.Course;
+import com.eduhub.model.NotificationOutboxEvent;
+import com.eduhub.model.OutboxStatus;
+import com.eduhub.repository.CourseRepository;
+import com.eduhub.repository.NotificationOutboxRepository;
+
+/**
+ * Drains the notification outbox into the {@link NotificationService}.
+ *
+ * Every replica runs the dispatcher. A batch is claimed in a short transaction
+ * with FOR UPDATE SKIP LOCKED, which also counts the attempt and leases the
+ * rows by pushing next_attempt_at forward, so no other replica picks them up.
+ * Delivery happens outside that transaction and goes straight to the transport
+ * rather than through the in-memory queue, which may reject work when full, so
+ * an event is only marked sent once every recipient's delivery succeeded. A
+ * second transaction then marks the batch sent or schedules retries with
+ * exponential backoff; a retry delivers to the whole course again. If a replica
+ * dies mid-batch the lease runs out and the rows are claimed again
+ * (at-least-once delivery). Events that keep failing end up FAILED after
+ * app.notifications.outbox.max-attempts.
+ */
+@Service
+public class NotificationOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxDispatcher.class);
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final CourseRepository courseRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.notifications.outbox.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${app.notifications.outbox.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${app.notifications.outbox.lease-seconds:300}")
+    private long leaseSeconds = 300;
+
+    @Value("${app.notifications.outbox.retention-days:7}")
+    private long retentionDays = 7;
+
+    public NotificationOutboxDispatcher(NotificationOutboxRepository outboxRepository,
+            CourseRepository courseRepository,
+            NotificationService notificationService,
+            PlatformTransactionManager transactionManager) {
+        this.outboxRepository = outboxRepository;
+        this.courseRepository = courseRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Dispatches due events batch by batch until fewer than a full batch is due.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.outbox.poll-ms:1000}")
+    public void dispatch() {
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+        } while (dispatched == batchSize);
+    }
+
+    /**
+     * Claims, delivers and settles one batch.
+     *
+     * @return the number of events claimed
+     */
+    public int dispatchBatch() {
+        List<NotificationOutboxEvent> batch = transactionTemplate.execute(status -> claim());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<Integer, Course> courses = courseRepository.findAllById(
+                batch.stream().map(NotificationOutboxEvent::getCourseId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+
+        List<Long> sent = new ArrayList<>(batch.size());
+        List<NotificationOutboxEvent> failed = new ArrayList<>();
+        for (NotificationOutboxEvent event : batch) {
+            Course course = courses.get(event.getCourseId());
+            try {
+                // A deleted course has nobody left to notify
+                if (course != null) {
+                    notificationService.deliverToStudentsInCourse(course, event.getMessage());
+                }
+                sent.add(event.getId());
+            } catch (RuntimeException e) {
+                event.setLastError(e.toString());
+                failed.add(event);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> settle(sent, failed));
+        if (!failed.isEmpty()) {
+            logger.warn("Notification outbox: {} of {} events failed", failed.size(), batch.size());
+        }
+        return batch.size();
+    }
+
+    @Scheduled(cron = "${app.notifications.outbox.cleanup-cron:0 0 4 * * *}")
+    public void purgeSent() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        Integer deleted = transactionTemplate.execute(status -> outboxRepository.deleteSentBefore(cutoff));
+        logger.info("Notification outbox: purged {} sent events", deleted);
+    }
+
+    private List<NotificationOutboxEvent> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutboxEvent> batch = outboxRepository.claimDue(now, batchSize);
+        for (NotificationOutboxEvent event : batch) {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setNextAttemptAt(now.plusSeconds(leaseSeconds));
+        }
+        return batch;
+    }
+
+    private void settle(List<Long> sent, List<NotificationOutboxEvent> failed) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!sent.isEmpty()) {
+            outboxRepository.markSent(sent, now);
+        }
+        for (NotificationOutboxEvent event : failed) {
+            boolean exhausted = event.getAttempts() >= maxAttempts;
+            outboxRepository.markFailedAttempt(event.getId(),
+                    exhausted ? OutboxStatus.FAILED : OutboxStatus.PENDING,
+                    exhausted ? now : now.plus(backoff(event.getAttempts())),
+                    truncate(event.getLastError()));
+        }
+    }
+
+    static Duration backoff(int attempts) {
+        Duration delay = Duration.ofSeconds(1L << Math.min(attempts, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
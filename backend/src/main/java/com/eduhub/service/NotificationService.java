@@ -1,11 +1,26 @@
 package com.eduhub.service;
 
+import com.eduhub.dto.NotificationMetrics;
 import com.eduhub.model.User;
 import com.eduhub.model.Course;
 
 public interface NotificationService {
 
-    void sendNotification(User user, String message);
+    /**
+     * @return false if the notification was rejected because the engine is saturated
+     */
+    boolean sendNotification(User user, String message);
 
-    void notifyStudentsInCourse(Course course, String message);
-}
\ No newline at end of file
+    /**
+     * @return the number of enrolled students whose notification was rejected
+     */
+    int notifyStudentsInCourse(Course course, String message);
+
+    /**
+     * Delivers to every enrolled student on the calling thread, bypassing the
+     * queue. Throws if the transport fails for any batch.
+     */
+    void deliverToStudentsInCourse(Course course, String message);
+
+    NotificationMetrics getMetrics();
+}
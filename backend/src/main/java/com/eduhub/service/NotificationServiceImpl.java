@@ -1,73 +1,262 @@
 package com.eduhub.service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.eduhub.dto.NotificationMetrics;
 import com.eduhub.model.Course;
 import com.eduhub.model.User;
+import com.eduhub.repository.UserRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 /**
- * Implementation of NotificationService interface.
- * This service handles sending notifications to users.
- * Currently logs notifications to console - can be extended to send emails,
- * push notifications, etc.
- * 
- * Methods are @Async to demonstrate asynchronous processing with threads.
- * Thread names are logged to prove async execution in background threads.
+ * Notification fan-out engine.
+ *
+ * Callers only enqueue: notifications go into a bounded queue that a fixed
+ * set of workers (virtual threads when the JVM has them) drain in batches.
+ * Each batch is grouped by recipient, so a student who gets several messages
+ * at once receives one delivery, and is handed to the {@link NotificationTransport}.
+ *
+ * When the queue is full, enqueueing waits up to app.notifications.enqueue-timeout-ms
+ * and then rejects the notification; a course fan-out stops waiting after the first
+ * rejection so a saturated engine never holds the caller for long, and returns
+ * how many recipients were rejected so the caller can retry. All outcomes are
+ * counted in {@link #getMetrics()}.
  */
 @Service
 public class NotificationServiceImpl implements NotificationService {
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationServiceImpl.class);
 
+    private record Notification(Integer recipientId, String email, String name, String message) {}
+
+    private final UserRepository userRepository;
+    private final NotificationTransport transport;
+    private final BlockingQueue<Notification> queue;
+    private final int workerCount;
+    private final int batchSize;
+    private final long enqueueTimeoutMs;
+    private final boolean preferVirtualThreads;
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+    private boolean virtualThreads;
+
+    public NotificationServiceImpl(UserRepository userRepository, NotificationTransport transport,
+            @Value("${app.notifications.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.notifications.workers:4}") int workerCount,
+            @Value("${app.notifications.batch-size:100}") int batchSize,
+            @Value("${app.notifications.enqueue-timeout-ms:200}") long enqueueTimeoutMs,
+            @Value("${app.notifications.virtual-threads:true}") boolean preferVirtualThreads) {
+        this.userRepository = userRepository;
+        this.transport = transport;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        this.preferVirtualThreads = preferVirtualThreads;
+    }
+
+    @PostConstruct
+    public void start() {
+        ThreadFactory threadFactory = createThreadFactory();
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = threadFactory.newThread(this::work);
+            workers.add(worker);
+            worker.start();
+        }
+        logger.info("Notification engine started with {} {} workers", workerCount,
+                virtualThreads ? "virtual" : "platform");
+    }
+
+    /**
+     * Stops accepting work and gives the workers a few seconds to drain the queue.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        long deadline = System.currentTimeMillis() + 5000;
+        for (Thread worker : workers) {
+            worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+        }
+        if (!queue.isEmpty()) {
+            logger.warn("Notification engine stopped with {} undelivered notifications", queue.size());
+        }
+    }
+
     @Override
-    @Async
-    public void sendNotification(User user, String message) {
-        // Log async thread execution
-        logger.debug("Async notification service running on thread: {}", Thread.currentThread().getName());
+    public boolean sendNotification(User user, String message) {
+        return enqueue(new Notification(user.getId(), user.getEmail(), displayName(user.getFirstname(), user.getLastname()),
+                message), true);
+    }
 
-        // Simulate slow operation (e.g., connecting to email server)
-        try {
-            Thread.sleep(1000); // 1 second delay
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.error("Thread interrupted while sending notification", e);
+    /**
+     * Queues one notification per enrolled student. Recipients are read with a
+     * single projection query, so the course's students collection is never loaded.
+     */
+    @Override
+    public int notifyStudentsInCourse(Course course, String message) {
+        String text = String.format("Course '%s': %s", course.getName(), message);
+        boolean wait = true;
+        int accepted = 0;
+        List<UserRepository.RecipientRow> recipients = userRepository.findRecipientsByCourseId(course.getId());
+        for (UserRepository.RecipientRow recipient : recipients) {
+            Notification notification = new Notification(recipient.getId(), recipient.getEmail(),
+                    displayName(recipient.getFirstname(), recipient.getLastname()), text);
+            if (enqueue(notification, wait)) {
+                accepted++;
+            } else {
+                wait = false;
+            }
         }
+        logger.info("Queued {} of {} notifications for course '{}' (ID: {})",
+                accepted, recipients.size(), course.getName(), course.getId());
+        return recipients.size() - accepted;
+    }
 
-        // Log notification - in production, this would send email/push notification
-        logger.info("Notification sent to user {} ({}): {}",
-                user.getEmail(),
-                user.getFirstname() + " " + user.getLastname(),
-                message);
+    /**
+     * Sends the course fan-out straight to the transport in batches of
+     * app.notifications.batch-size, for callers such as the outbox that must
+     * know whether delivery succeeded before recording it.
+     */
+    @Override
+    public void deliverToStudentsInCourse(Course course, String message) {
+        String text = String.format("Course '%s': %s", course.getName(), message);
+        List<UserRepository.RecipientRow> recipients = userRepository.findRecipientsByCourseId(course.getId());
+        for (int start = 0; start < recipients.size(); start += batchSize) {
+            List<NotificationTransport.Delivery> batch = new ArrayList<>();
+            for (UserRepository.RecipientRow recipient
+                    : recipients.subList(start, Math.min(start + batchSize, recipients.size()))) {
+                batch.add(new NotificationTransport.Delivery(recipient.getId(), recipient.getEmail(),
+                        displayName(recipient.getFirstname(), recipient.getLastname()), List.of(text)));
+            }
+            try {
+                transport.deliver(batch);
+                delivered.addAndGet(batch.size());
+            } catch (Exception e) {
+                failed.addAndGet(batch.size());
+                throw new IllegalStateException("Notification transport failed for course " + course.getId()
+                        + " after " + start + " of " + recipients.size() + " recipients: " + e.getMessage(), e);
+            } finally {
+                batches.incrementAndGet();
+            }
+        }
     }
 
     @Override
-    @Async
-    public void notifyStudentsInCourse(Course course, String message) {
-        // Log async thread execution
-        logger.debug("Async notification service running on thread: {} for course {}",
-                Thread.currentThread().getName(), course.getName());
+    public NotificationMetrics getMetrics() {
+        return new NotificationMetrics(queued.get(), delivered.get(), failed.get(), rejected.get(), batches.get(),
+                queue.size(), workerCount, virtualThreads);
+    }
 
-        // Simulate slow operation
+    private boolean enqueue(Notification notification, boolean wait) {
+        boolean accepted;
         try {
-            Thread.sleep(1000); // 1 second delay
+            accepted = running && (wait
+                    ? queue.offer(notification, enqueueTimeoutMs, TimeUnit.MILLISECONDS)
+                    : queue.offer(notification));
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            logger.error("Thread interrupted while notifying students", e);
+            accepted = false;
         }
+        if (accepted) {
+            queued.incrementAndGet();
+        } else {
+            rejected.incrementAndGet();
+        }
+        return accepted;
+    }
+
+    private void work() {
+        List<Notification> drained = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Notification first = queue.poll(250, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                drained.add(first);
+                queue.drainTo(drained, batchSize - 1);
+                deliver(drained);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                drained.clear();
+            }
+        }
+    }
 
-        // Log notification for all students in course
-        logger.info("Notification sent to all students in course '{}' (ID: {}): {}",
-                course.getName(),
-                course.getId(),
-                message);
-
-        // Notify each enrolled student
-        course.getStudents().forEach(student -> {
-            sendNotification(student,
-                    String.format("Course '%s': %s", course.getName(), message));
-        });
+    private void deliver(List<Notification> notifications) {
+        Map<Integer, List<Notification>> byRecipient = new LinkedHashMap<>();
+        for (Notification notification : notifications) {
+            byRecipient.computeIfAbsent(notification.recipientId(), id -> new ArrayList<>()).add(notification);
+        }
+        List<NotificationTransport.Delivery> batch = new ArrayList<>(byRecipient.size());
+        for (List<Notification> pending : byRecipient.values()) {
+            Notification first = pending.get(0);
+            batch.add(new NotificationTransport.Delivery(first.recipientId(), first.email(), first.name(),
+                    pending.stream().map(Notification::message).toList()));
+        }
+        try {
+            transport.deliver(batch);
+            delivered.addAndGet(notifications.size());
+        } catch (Exception e) {
+            failed.addAndGet(notifications.size());
+            logger.warn("Notification transport failed for {} recipients: {}", batch.size(), e.getMessage());
+        } finally {
+            batches.incrementAndGet();
+        }
+    }
+
+    private static String displayName(String firstname, String lastname) {
+        return (firstname + " " + lastname).trim();
+    }
+
+    /**
+     * Virtual threads via reflection, so the code still compiles and runs on Java 17.
+     */
+    private ThreadFactory createThreadFactory() {
+        if (preferVirtualThreads) {
+            try {
+                Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                builder = builderType.getMethod("name", String.class, long.class)
+                        .invoke(builder, "notification-", 0L);
+                ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+                virtualThreads = true;
+                return factory;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                logger.debug("Virtual threads unavailable, using platform threads: {}", e.toString());
+            }
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "notification-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 }
@@ -0,0 +1,21 @@
+package com.eduhub.service;
+
+import java.util.List;
+
+/**
+ * Delivers notifications to users, e.g. by email or push.
+ * The notification engine hands over batches in which every recipient
+ * appears once with all of its pending messages.
+ */
+public interface NotificationTransport {
+
+    /**
+     * One recipient's pending messages, in the order they were queued.
+     */
+    record Delivery(Integer recipientId, String email, String name, List<String> messages) {}
+
+    /**
+     * Delivers a batch. Throwing marks every delivery in the batch as failed.
+     */
+    void deliver(List<Delivery> batch) throws Exception;
+}
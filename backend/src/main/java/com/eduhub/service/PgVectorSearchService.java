@@ -0,0 +1,79 @@
+package com.eduhub.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.eduhub.model.types.EmbeddingVector;
+import com.eduhub.model.types.VectorType;
+import com.eduhub.repository.QuestionEmbeddingRepository;
+import com.eduhub.repository.QuestionEmbeddingRepository.SimilarPairRow;
+import com.eduhub.repository.QuestionEmbeddingRepository.SimilarQuestionRow;
+
+/**
+ * Similarity search executed inside PostgreSQL with pgvector.
+ * Queries order by cosine distance so the ivfflat index on question_embeddings
+ * is used, and only ids and scores travel back to the application.
+ *
+ * Each call runs in its own read-only transaction so that the ivfflat.probes
+ * setting (app.ai.pgvector.probes) applies to exactly that query.
+ */
+@Service
+public class PgVectorSearchService {
+
+    private final QuestionEmbeddingRepository questionEmbeddingRepository;
+
+    /**
+     * Number of ivfflat lists scanned per query. Higher values trade speed for recall;
+     * with lists = 100 (see V1__enable_pgvector.sql), 10 is a common starting point.
+     */
+    @Value("${app.ai.pgvector.probes:10}")
+    private int probes = 10;
+
+    /**
+     * Upper bound on neighbours fetched per question when grouping a whole course.
+     */
+    @Value("${app.ai.pgvector.max-neighbours:50}")
+    private int maxNeighbours = 50;
+
+    public PgVectorSearchService(QuestionEmbeddingRepository questionEmbeddingRepository) {
+        this.questionEmbeddingRepository = questionEmbeddingRepository;
+    }
+
+    /**
+     * k nearest questions in a course to the given embedding, most similar first.
+     */
+    @Transactional(readOnly = true)
+    public List<SimilarQuestionRow> findNearest(Integer courseId, EmbeddingVector embedding, int limit) {
+        applyProbes();
+        return questionEmbeddingRepository.findNearestByEmbedding(courseId, VectorType.toLiteral(embedding), limit);
+    }
+
+    /**
+     * Questions in a course with cosine similarity at or above the threshold,
+     * most similar first, capped at app.ai.pgvector.max-neighbours.
+     */
+    @Transactional(readOnly = true)
+    public List<SimilarQuestionRow> findWithinSimilarity(Integer courseId, EmbeddingVector embedding,
+            double threshold) {
+        applyProbes();
+        return questionEmbeddingRepository.findWithinDistance(courseId, VectorType.toLiteral(embedding),
+                1.0 - threshold, maxNeighbours);
+    }
+
+    /**
+     * All pairs of questions in a course at or above the threshold, limited to
+     * each question's nearest app.ai.pgvector.max-neighbours.
+     */
+    @Transactional(readOnly = true)
+    public List<SimilarPairRow> findSimilarPairs(Integer courseId, double threshold) {
+        applyProbes();
+        return questionEmbeddingRepository.findSimilarPairs(courseId, threshold, maxNeighbours);
+    }
+
+    private void applyProbes() {
+        questionEmbeddingRepository.setIvfflatProbes(Integer.toString(probes));
+    }
+}
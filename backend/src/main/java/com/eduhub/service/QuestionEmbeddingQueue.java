@@ -0,0 +1,380 @@
+package com.eduhub.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eduhub.dto.EmbeddingQueueMetrics;
+import com.eduhub.dto.EmbeddingQueueMetrics.DeadLetter;
+import com.eduhub.model.EmbeddingStatus;
+import com.eduhub.model.QuestionEmbedding;
+import com.eduhub.model.types.EmbeddingVector;
+import com.eduhub.repository.QuestionEmbeddingRepository;
+import com.eduhub.repository.QuestionRepository;
+import com.eduhub.repository.QuestionRepository.EmbeddingSourceRow;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Generates embeddings for new questions off the request path.
+ *
+ * createQuestion saves the question as PENDING and publishes a {@link Request};
+ * after commit the question id goes into a bounded queue that a worker drains
+ * in batches (app.ai.embedding-queue.batch-size). Each batch is embedded and
+ * then stored in one transaction, which also marks the questions READY and
+ * adds them to the course index.
+ *
+ * A failed question is retried with exponential backoff; after
+ * app.ai.embedding-queue.max-attempts it is marked FAILED and kept in a short
+ * dead-letter list for the admin endpoint. A full queue never blocks the
+ * caller: the question stays PENDING and a periodic sweep queues PENDING
+ * questions that have waited longer than app.ai.embedding-queue.sweep-ms,
+ * which also recovers work lost in a restart.
+ */
+@Service
+public class QuestionEmbeddingQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionEmbeddingQueue.class);
+
+    private static final int MAX_DEAD_LETTERS = 100;
+
+    /**
+     * Asks for a question's embedding once the surrounding transaction commits.
+     */
+    public record Request(Long questionId) {}
+
+    record Task(Long questionId, int attempts) {}
+
+    private final QuestionRepository questionRepository;
+    private final QuestionEmbeddingRepository questionEmbeddingRepository;
+    private final EmbeddingService embeddingService;
+    private final QuestionIndexService questionIndexService;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Task> queue;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryDelayMs;
+    private final long sweepMs;
+
+    // Questions queued, in a batch or waiting for a retry, so the sweep does not queue them twice
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final Deque<DeadLetter> deadLetters = new ArrayDeque<>();
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong embedded = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    private final ScheduledExecutorService retries = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "question-embeddings-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Thread worker;
+    private volatile boolean running;
+
+    public QuestionEmbeddingQueue(QuestionRepository questionRepository,
+            QuestionEmbeddingRepository questionEmbeddingRepository,
+            EmbeddingService embeddingService,
+            QuestionIndexService questionIndexService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.ai.embedding-queue.capacity:10000}") int capacity,
+            @Value("${app.ai.embedding-queue.batch-size:32}") int batchSize,
+            @Value("${app.ai.embedding-queue.max-attempts:5}") int maxAttempts,
+            @Value("${app.ai.embedding-queue.retry-delay-ms:1000}") long retryDelayMs,
+            @Value("${app.ai.embedding-queue.sweep-ms:60000}") long sweepMs) {
+        this.questionRepository = questionRepository;
+        this.questionEmbeddingRepository = questionEmbeddingRepository;
+        this.embeddingService = embeddingService;
+        this.questionIndexService = questionIndexService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMs = retryDelayMs;
+        this.sweepMs = sweepMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::work, "question-embeddings");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stops the worker; questions still queued stay PENDING for the next start.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        retries.shutdownNow();
+        if (worker != null) {
+            worker.join(5000);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequest(Request request) {
+        submit(request.questionId());
+    }
+
+    /**
+     * Queues a question unless it is already in flight. Never blocks.
+     *
+     * @return whether the question was queued
+     */
+    public boolean submit(Long questionId) {
+        if (!running || !inFlight.add(questionId)) {
+            return false;
+        }
+        if (!offer(new Task(questionId, 0))) {
+            rejected.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Queues PENDING questions that nobody is working on, e.g. ones rejected
+     * by a full queue or left over from before a restart.
+     */
+    @Scheduled(fixedDelayString = "${app.ai.embedding-queue.sweep-ms:60000}",
+            initialDelayString = "${app.ai.embedding-queue.sweep-ms:60000}")
+    public void sweep() {
+        int room = queue.remainingCapacity();
+        if (!running || room == 0) {
+            return;
+        }
+        LocalDateTime createdBefore = LocalDateTime.now().minusNanos(sweepMs * 1_000_000);
+        int submitted = 0;
+        for (Long questionId : questionRepository.findIdsByEmbeddingStatus(EmbeddingStatus.PENDING, createdBefore,
+                Limit.of(room))) {
+            if (submit(questionId)) {
+                submitted++;
+            }
+        }
+        if (submitted > 0) {
+            logger.info("Queued {} pending questions for embedding", submitted);
+        }
+    }
+
+    /**
+     * Puts dead-lettered questions back to PENDING and queues them again.
+     *
+     * @return how many were queued
+     */
+    public int retryDeadLetters() {
+        List<Long> ids;
+        synchronized (deadLetters) {
+            ids = deadLetters.stream().map(DeadLetter::questionId).distinct().toList();
+            deadLetters.clear();
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(
+                status -> questionRepository.updateEmbeddingStatus(ids, EmbeddingStatus.PENDING));
+        int submitted = 0;
+        for (Long id : ids) {
+            if (submit(id)) {
+                submitted++;
+            }
+        }
+        return submitted;
+    }
+
+    public EmbeddingQueueMetrics getMetrics() {
+        List<DeadLetter> letters;
+        synchronized (deadLetters) {
+            letters = List.copyOf(deadLetters);
+        }
+        return new EmbeddingQueueMetrics(queued.get(), embedded.get(), retried.get(), deadLettered.get(),
+                rejected.get(), batches.get(), queue.size(), inFlight.size(), letters);
+    }
+
+    private boolean offer(Task task) {
+        if (queue.offer(task)) {
+            queued.incrementAndGet();
+            return true;
+        }
+        inFlight.remove(task.questionId());
+        return false;
+    }
+
+    private void work() {
+        List<Task> drained = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Task first = queue.poll(250, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                drained.add(first);
+                queue.drainTo(drained, batchSize - 1);
+                process(drained);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Embedding batch failed: {}", e.getMessage(), e);
+            } finally {
+                drained.clear();
+            }
+        }
+    }
+
+    /**
+     * Embeds and stores one batch. Questions deleted meanwhile are dropped.
+     */
+    void process(List<Task> tasks) {
+        batches.incrementAndGet();
+        Map<Long, EmbeddingSourceRow> rows = new HashMap<>();
+        for (EmbeddingSourceRow row : questionRepository.findEmbeddingSourcesByIdIn(
+                tasks.stream().map(Task::questionId).toList())) {
+            rows.put(row.getId(), row);
+        }
+
+        List<Task> found = new ArrayList<>(tasks.size());
+        List<EmbeddingSourceRow> foundRows = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            EmbeddingSourceRow row = rows.get(task.questionId());
+            if (row == null) {
+                inFlight.remove(task.questionId());
+                continue;
+            }
+            found.add(task);
+            foundRows.add(row);
+        }
+
+        List<Task> done = new ArrayList<>(found.size());
+        List<EmbeddingSourceRow> embeddedRows = new ArrayList<>(found.size());
+        List<EmbeddingVector> embeddings = new ArrayList<>(found.size());
+        try {
+            embeddings.addAll(embeddingService.generateEmbeddings(foundRows.stream().map(QuestionEmbeddingQueue::text).toList()));
+            embeddedRows.addAll(foundRows);
+            done.addAll(found);
+        } catch (RuntimeException batchFailure) {
+            // Retry one by one so that only the failing questions are retried later
+            for (int i = 0; i < found.size(); i++) {
+                try {
+                    embeddings.add(embeddingService.generateEmbedding(text(foundRows.get(i))));
+                    embeddedRows.add(foundRows.get(i));
+                    done.add(found.get(i));
+                } catch (RuntimeException e) {
+                    fail(found.get(i), e);
+                }
+            }
+        }
+        if (done.isEmpty()) {
+            return;
+        }
+
+        try {
+            int stored = transactionTemplate.execute(status -> store(embeddedRows, embeddings));
+            embedded.addAndGet(stored);
+            done.forEach(task -> inFlight.remove(task.questionId()));
+        } catch (RuntimeException e) {
+            logger.warn("Storing {} question embeddings failed: {}", done.size(), e.getMessage());
+            done.forEach(task -> fail(task, e));
+        }
+    }
+
+    private int store(List<EmbeddingSourceRow> rows, List<EmbeddingVector> embeddings) {
+        List<Long> ids = rows.stream().map(EmbeddingSourceRow::getId).toList();
+        // Skip questions deleted meanwhile; the backfill may have got to the others first
+        List<Long> present = questionRepository.lockExistingIds(ids);
+        Set<Long> existing = present.isEmpty() ? Set.of()
+                : new HashSet<>(questionEmbeddingRepository.findExistingIds(present));
+        Set<Long> live = new HashSet<>(present);
+        List<QuestionEmbedding> entities = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            EmbeddingSourceRow row = rows.get(i);
+            if (!live.contains(row.getId()) || existing.contains(row.getId())) {
+                continue;
+            }
+            entities.add(new QuestionEmbedding(questionRepository.getReferenceById(row.getId()), embeddings.get(i)));
+            questionIndexService.onQuestionSaved(row.getCourseId(), row.getId(), embeddings.get(i));
+        }
+        questionEmbeddingRepository.saveAll(entities);
+        if (!present.isEmpty()) {
+            questionRepository.updateEmbeddingStatus(present, EmbeddingStatus.READY);
+        }
+        return entities.size();
+    }
+
+    private void fail(Task task, RuntimeException error) {
+        int attempts = task.attempts() + 1;
+        if (attempts < maxAttempts && running) {
+            retried.incrementAndGet();
+            Task retry = new Task(task.questionId(), attempts);
+            retries.schedule(() -> {
+                if (!offer(retry)) {
+                    rejected.incrementAndGet();
+                }
+            }, backoff(attempts), TimeUnit.MILLISECONDS);
+            return;
+        }
+        if (attempts < maxAttempts) {
+            // Shutting down; the question stays PENDING for the next start
+            inFlight.remove(task.questionId());
+            return;
+        }
+
+        logger.warn("Giving up on embedding for question ID {} after {} attempts: {}",
+                task.questionId(), attempts, error.getMessage());
+        deadLettered.incrementAndGet();
+        synchronized (deadLetters) {
+            deadLetters.addFirst(new DeadLetter(task.questionId(), attempts, error.getMessage(), LocalDateTime.now()));
+            while (deadLetters.size() > MAX_DEAD_LETTERS) {
+                deadLetters.removeLast();
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    questionRepository.updateEmbeddingStatus(List.of(task.questionId()), EmbeddingStatus.FAILED));
+        } catch (RuntimeException e) {
+            logger.warn("Could not mark question ID {} as failed: {}", task.questionId(), e.getMessage());
+        } finally {
+            inFlight.remove(task.questionId());
+        }
+    }
+
+    /**
+     * retry-delay-ms doubled per failed attempt, at most one minute.
+     */
+    private long backoff(int attempts) {
+        return Math.min(retryDelayMs << Math.min(attempts - 1, 16), 60_000);
+    }
+
+    private static String text(EmbeddingSourceRow row) {
+        return row.getTitle() + " " + row.getContent();
+    }
+}
@@ -0,0 +1,174 @@
+package com.eduhub.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.eduhub.model.QuestionEmbedding;
+import com.eduhub.model.types.EmbeddingVector;
+import com.eduhub.repository.QuestionEmbeddingRepository;
+import com.eduhub.util.HnswIndex;
+
+/**
+ * Keeps one in-memory HNSW index of question embeddings per course.
+ * Indexes are built lazily on the first grouping request for a course and
+ * then kept current by createQuestion/deleteQuestion, so grouping can use
+ * range queries instead of an all-pairs scan.
+ *
+ * The map holds one future per course. The thread that installs the future
+ * builds the index outside the map, so a slow build does not block other
+ * courses, and concurrent callers for the same course wait on the future.
+ * Updates that arrive during a build are applied once it completes. Removed
+ * and replaced questions leave tombstones in the graph; once they pass
+ * app.ai.index.max-deleted-fraction the index is dropped and rebuilt on next use.
+ */
+@Service
+public class QuestionIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionIndexService.class);
+
+    private final QuestionEmbeddingRepository questionEmbeddingRepository;
+    private final Map<Integer, CompletableFuture<HnswIndex>> indexes = new ConcurrentHashMap<>();
+
+    @Value("${app.ai.index.m:16}")
+    private int m = 16;
+
+    @Value("${app.ai.index.ef-construction:100}")
+    private int efConstruction = 100;
+
+    @Value("${app.ai.index.ef-search:64}")
+    private int efSearch = 64;
+
+    @Value("${app.ai.index.max-deleted-fraction:0.3}")
+    private double maxDeletedFraction = 0.3;
+
+    public QuestionIndexService(QuestionEmbeddingRepository questionEmbeddingRepository) {
+        this.questionEmbeddingRepository = questionEmbeddingRepository;
+    }
+
+    /**
+     * Returns the index for a course, building it from the database on first use.
+     */
+    public HnswIndex getIndex(Integer courseId) {
+        CompletableFuture<HnswIndex> future = indexes.get(courseId);
+        if (future == null) {
+            CompletableFuture<HnswIndex> building = new CompletableFuture<>();
+            future = indexes.putIfAbsent(courseId, building);
+            if (future == null) {
+                future = building;
+                try {
+                    building.complete(buildIndex(courseId));
+                } catch (RuntimeException e) {
+                    indexes.remove(courseId, building);
+                    building.completeExceptionally(e);
+                }
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Range query: all indexed questions in the course with cosine similarity
+     * at or above the threshold, most similar first.
+     */
+    public List<HnswIndex.Neighbor> findSimilar(Integer courseId, EmbeddingVector embedding, double threshold) {
+        return getIndex(courseId).searchRange(embedding, threshold, efSearch);
+    }
+
+    /**
+     * Adds any embedding from the given snapshot that is missing from the course
+     * index, e.g. one committed while the index was being built.
+     */
+    public void ensureIndexed(Integer courseId, List<QuestionEmbedding> embeddings) {
+        HnswIndex index = getIndex(courseId);
+        for (QuestionEmbedding embedding : embeddings) {
+            if (!embedding.getEmbedding().isEmpty() && !index.contains(embedding.getQuestionId())) {
+                index.add(embedding.getQuestionId(), embedding.getEmbedding());
+            }
+        }
+    }
+
+    /**
+     * Adds a saved question's embedding to its course index once the surrounding transaction
+     * commits. Courses without an index are skipped; they pick the question up
+     * when the index is first built.
+     */
+    public void onQuestionSaved(Integer courseId, Long questionId, EmbeddingVector embedding) {
+        if (embedding == null || embedding.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> update(courseId, index -> index.add(questionId, embedding)));
+    }
+
+    /**
+     * Removes a deleted question from its course index once the transaction commits.
+     */
+    public void onQuestionDeleted(Integer courseId, Long questionId) {
+        afterCommit(() -> update(courseId, index -> index.remove(questionId)));
+    }
+
+    /**
+     * Drops the cached index for a course; the next request rebuilds it.
+     */
+    public void evict(Integer courseId) {
+        indexes.remove(courseId);
+    }
+
+    /**
+     * Applies a change to the course index if one is built or being built,
+     * and drops the index once too much of it is tombstones.
+     */
+    private void update(Integer courseId, Consumer<HnswIndex> change) {
+        CompletableFuture<HnswIndex> future = indexes.get(courseId);
+        if (future == null) {
+            return;
+        }
+        future.thenAccept(index -> {
+            change.accept(index);
+            if (index.deletedFraction() > maxDeletedFraction && indexes.remove(courseId, future)) {
+                logger.info("Dropped HNSW index for course {}: {}% of nodes are removed, rebuilding on next use",
+                        courseId, Math.round(index.deletedFraction() * 100));
+            }
+        });
+    }
+
+    private HnswIndex buildIndex(Integer courseId) {
+        long start = System.currentTimeMillis();
+        HnswIndex index = new HnswIndex(m, efConstruction, courseId);
+        for (QuestionEmbedding embedding : questionEmbeddingRepository.findByCourseId(courseId)) {
+            if (!embedding.getEmbedding().isEmpty()) {
+                index.add(embedding.getQuestionId(), embedding.getEmbedding());
+            }
+        }
+        logger.info("Built HNSW index for course {} with {} questions in {} ms",
+                courseId, index.size(), System.currentTimeMillis() - start);
+        return index;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
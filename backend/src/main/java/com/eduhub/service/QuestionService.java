@@ -1,26 +1,42 @@
 package com.eduhub.service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.IntPredicate;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.eduhub.dto.QuestionGroupDto;
 import com.eduhub.dto.QuestionGroupDto.SimilarQuestionDto;
+import com.eduhub.dto.QuestionCursor;
+import com.eduhub.dto.QuestionPageDto;
 import com.eduhub.dto.QuestionRequest;
+import com.eduhub.dto.QuestionSummaryDto;
+import com.eduhub.model.ChangeEntityType;
 import com.eduhub.model.Course;
+import com.eduhub.model.EmbeddingStatus;
 import com.eduhub.model.Question;
+import com.eduhub.model.QuestionEmbedding;
 import com.eduhub.model.User;
+import com.eduhub.model.types.EmbeddingVector;
 import com.eduhub.repository.CourseRepository;
+import com.eduhub.repository.QuestionEmbeddingRepository;
+import com.eduhub.repository.QuestionEmbeddingRepository.SimilarPairRow;
+import com.eduhub.repository.QuestionEmbeddingRepository.SimilarQuestionRow;
 import com.eduhub.repository.QuestionRepository;
 import com.eduhub.repository.UserRepository;
+import com.eduhub.util.HnswIndex;
 import com.eduhub.util.VectorUtils;
 
 /**
@@ -33,26 +49,57 @@ public class QuestionService {
     private static final Logger logger = LoggerFactory.getLogger(QuestionService.class);
 
     private final QuestionRepository questionRepository;
+    private final QuestionEmbeddingRepository questionEmbeddingRepository;
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
     private final EmbeddingService embeddingService;
+    private final QuestionIndexService questionIndexService;
+    private final PgVectorSearchService pgVectorSearchService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CourseSyncService courseSyncService;
 
     @Value("${app.ai.enabled:false}")
     private boolean aiEnabled;
 
+    /**
+     * How getGroupedQuestions finds similar questions:
+     * "exact" compares all pairs, "index" uses the per-course HNSW index,
+     * "database" runs the search in PostgreSQL via pgvector.
+     */
+    @Value("${app.ai.grouping.mode:index}")
+    private String groupingMode = "index";
+
+    /**
+     * Courses smaller than this are grouped exactly even in "index" mode,
+     * since an all-pairs scan is cheap and has perfect recall.
+     */
+    @Value("${app.ai.grouping.index-min-questions:200}")
+    private int indexMinQuestions = 200;
+
     public QuestionService(QuestionRepository questionRepository,
+            QuestionEmbeddingRepository questionEmbeddingRepository,
             CourseRepository courseRepository,
             UserRepository userRepository,
-            EmbeddingService embeddingService) {
+            EmbeddingService embeddingService,
+            QuestionIndexService questionIndexService,
+            PgVectorSearchService pgVectorSearchService,
+            ApplicationEventPublisher eventPublisher,
+            CourseSyncService courseSyncService) {
         this.questionRepository = questionRepository;
+        this.questionEmbeddingRepository = questionEmbeddingRepository;
         this.courseRepository = courseRepository;
         this.userRepository = userRepository;
         this.embeddingService = embeddingService;
+        this.questionIndexService = questionIndexService;
+        this.pgVectorSearchService = pgVectorSearchService;
+        this.eventPublisher = eventPublisher;
+        this.courseSyncService = courseSyncService;
     }
 
     /**
-     * Creates a new question with semantic embedding.
-     * Combines title + content to generate a vector for similarity search.
+     * Creates a new question. In AI mode it is saved as embedding PENDING and
+     * its embedding is generated by {@link QuestionEmbeddingQueue} after commit,
+     * so posting never waits for the embedding model.
      */
     @Transactional
     public Question createQuestion(QuestionRequest request, User currentUser) {
@@ -73,29 +120,18 @@ public class QuestionService {
                 author,
                 course,
                 request.isAnonymous());
-
-        // Generate semantic embedding from title + content
-        // Only enabled when app.ai.enabled=true (PostgreSQL with pgvector)
         if (aiEnabled) {
-            try {
-                String textToEmbed = request.getTitle() + " " + request.getContent();
-                logger.debug("AI mode enabled - Generating embedding for combined text ({} chars)",
-                        textToEmbed.length());
-
-                List<Double> embedding = embeddingService.generateEmbedding(textToEmbed);
-                question.setEmbedding(embedding);
-
-                logger.info("Embedding generated successfully with {} dimensions", embedding.size());
-            } catch (Exception e) {
-                logger.error("Failed to generate embedding in AI mode: {}", e.getMessage(), e);
-            }
-        } else {
-            logger.debug("AI mode disabled - Skipping embedding generation");
+            question.setEmbeddingStatus(EmbeddingStatus.PENDING);
         }
 
         // Save to database
         Question savedQuestion = questionRepository.save(question);
-        logger.info("Question saved with ID: {} and embedding persisted", savedQuestion.getId());
+        if (aiEnabled) {
+            eventPublisher.publishEvent(new QuestionEmbeddingQueue.Request(savedQuestion.getId()));
+        }
+        logger.info("Question saved with ID: {}", savedQuestion.getId());
+        courseSyncService.recordUpsert(course.getId(), ChangeEntityType.QUESTION, savedQuestion.getId());
+        eventPublisher.publishEvent(CourseEventStream.Activity.questionCreated(savedQuestion));
 
         return savedQuestion;
     }
@@ -106,32 +142,63 @@ public class QuestionService {
      */
     @Transactional
     public Question createQuestionDirect(String title, String content, User author, Course course, boolean anonymous) {
-        logger.info("Creating demo question: {}", title);
+        return createQuestionsDirect(List.of(new Question(title, content, author, course, anonymous))).get(0);
+    }
 
-        // Create question entity
-        Question question = new Question(title, content, author, course, anonymous);
+    /**
+     * Saves unsaved questions directly (for demo data), embedding all of
+     * them with one batch call when AI mode is enabled. If embedding fails the
+     * questions are saved without embeddings, like the single-question path.
+     */
+    @Transactional
+    public List<Question> createQuestionsDirect(List<Question> questions) {
+        logger.info("Creating {} demo questions", questions.size());
 
-        // Generate semantic embedding if AI is enabled
-        if (aiEnabled) {
+        // Generate semantic embeddings if AI is enabled
+        List<EmbeddingVector> embeddings = null;
+        if (aiEnabled && !questions.isEmpty()) {
             try {
-                String textToEmbed = title + " " + content;
-                logger.debug("AI mode enabled - Generating embedding for combined text ({} chars)",
-                        textToEmbed.length());
-
-                List<Double> embedding = embeddingService.generateEmbedding(textToEmbed);
-                question.setEmbedding(embedding);
-
-                logger.info("Embedding generated successfully with {} dimensions", embedding.size());
+                embeddings = embeddingService.generateEmbeddings(questions.stream()
+                        .map(q -> q.getTitle() + " " + q.getContent())
+                        .toList());
+                logger.info("Generated {} embeddings", embeddings.size());
             } catch (Exception e) {
-                logger.error("Failed to generate embedding: {}", e.getMessage(), e);
+                logger.error("Failed to generate embeddings: {}", e.getMessage(), e);
             }
         }
 
-        return questionRepository.save(question);
+        List<Question> saved = new ArrayList<>(questions.size());
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = questions.get(i);
+            EmbeddingVector embedding = embeddings != null ? embeddings.get(i) : null;
+            if (embedding != null) {
+                question.setEmbeddingStatus(EmbeddingStatus.READY);
+            }
+            Question savedQuestion = questionRepository.save(question);
+            saveEmbedding(savedQuestion, embedding);
+            courseSyncService.recordUpsert(savedQuestion.getCourse().getId(), ChangeEntityType.QUESTION,
+                    savedQuestion.getId());
+            saved.add(savedQuestion);
+        }
+        return saved;
+    }
+
+    /**
+     * Stores the embedding of a newly saved question in question_embeddings
+     * and queues it for the course's in-memory index.
+     */
+    private void saveEmbedding(Question question, EmbeddingVector embedding) {
+        if (embedding == null) {
+            return;
+        }
+        questionEmbeddingRepository.save(new QuestionEmbedding(question, embedding));
+        questionIndexService.onQuestionSaved(question.getCourse().getId(), question.getId(), embedding);
     }
 
     /**
      * Retrieves questions by course ID with optional filtering.
+     * Detail mode: each question with its author, course and answers (with
+     * their authors), fetched through the Question.detail entity graph.
      */
     public List<Question> getQuestionsByCourse(Integer courseId, String filter) {
         logger.debug("Fetching questions for course ID: {} with filter: {}", courseId, filter);
@@ -143,6 +210,80 @@ public class QuestionService {
         };
     }
 
+    /**
+     * Retrieves questions by course ID with optional filtering.
+     * Summary mode: one projection row per question with answer counts,
+     * without loading answers or entities.
+     */
+    public List<QuestionSummaryDto> getQuestionSummariesByCourse(Integer courseId, String filter) {
+        logger.debug("Fetching question summaries for course ID: {} with filter: {}", courseId, filter);
+
+        return switch (filter == null ? "" : filter) {
+            case "unanswered" -> questionRepository.findUnansweredSummariesByCourseId(courseId);
+            case "answered" -> questionRepository.findAnsweredSummariesByCourseId(courseId);
+            default -> questionRepository.findSummariesByCourseId(courseId);
+        };
+    }
+
+    /**
+     * One page of a course's questions in detail mode, newest first.
+     * Uses keyset pagination on (createdAt, id), so the cost of a page does not
+     * depend on how far into the feed the cursor points.
+     *
+     * @param cursor nextCursor of the previous page, or null for the first page
+     */
+    public QuestionPageDto<Question> getQuestionPage(Integer courseId, String filter, String cursor, int limit) {
+        QuestionCursor position = QuestionCursor.decode(cursor);
+        int[] answers = answerCountRange(filter);
+
+        // Page over keys first; fetching the answers collection in the same query
+        // would make Hibernate apply the limit in memory.
+        List<QuestionCursor> keys = questionRepository.findPageKeys(courseId, answers[0], answers[1],
+                position.createdAt(), position.id(), Limit.of(limit + 1));
+        boolean hasMore = keys.size() > limit;
+        List<QuestionCursor> page = hasMore ? keys.subList(0, limit) : keys;
+        List<Question> questions = page.isEmpty()
+                ? List.of()
+                : questionRepository.findDetailsByIdIn(page.stream().map(QuestionCursor::id).toList());
+
+        // The cursor comes from the key page, since questions deleted after it was
+        // read are missing from the details
+        String nextCursor = hasMore ? page.get(limit - 1).encode() : null;
+        return new QuestionPageDto<>(questions, nextCursor);
+    }
+
+    /**
+     * One page of a course's questions in summary mode, newest first.
+     *
+     * @param cursor nextCursor of the previous page, or null for the first page
+     */
+    public QuestionPageDto<QuestionSummaryDto> getQuestionSummaryPage(Integer courseId, String filter,
+            String cursor, int limit) {
+        QuestionCursor position = QuestionCursor.decode(cursor);
+        int[] answers = answerCountRange(filter);
+
+        List<QuestionSummaryDto> rows = new ArrayList<>(questionRepository.findSummaryPage(courseId,
+                answers[0], answers[1], position.createdAt(), position.id(), Limit.of(limit + 1)));
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows.subList(limit, rows.size()).clear();
+            QuestionSummaryDto last = rows.get(limit - 1);
+            nextCursor = new QuestionCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new QuestionPageDto<>(rows, nextCursor);
+    }
+
+    /**
+     * The answer_count range matching a list filter.
+     */
+    private static int[] answerCountRange(String filter) {
+        return switch (filter == null ? "" : filter) {
+            case "unanswered" -> new int[] { 0, 0 };
+            case "answered" -> new int[] { 1, Integer.MAX_VALUE };
+            default -> new int[] { 0, Integer.MAX_VALUE };
+        };
+    }
+
     /**
      * Deletes a question if user has permission (author, professor, or admin).
      */
@@ -164,6 +305,8 @@ public class QuestionService {
         }
 
         questionRepository.delete(question);
+        questionIndexService.onQuestionDeleted(question.getCourse().getId(), questionId);
+        courseSyncService.recordDelete(question.getCourse().getId(), ChangeEntityType.QUESTION, questionId);
         logger.info("Question ID: {} deleted successfully", questionId);
     }
 
@@ -171,6 +314,9 @@ public class QuestionService {
      * Groups similar questions using cosine similarity on embeddings.
      * Uses greedy clustering: each ungrouped question becomes a group leader,
      * and all questions above the similarity threshold join its group.
+     *
+     * Candidates come from an exact all-pairs scan, from range queries against
+     * the course's HNSW index, or from pgvector (see app.ai.grouping.mode).
      */
     public List<QuestionGroupDto> getGroupedQuestions(Integer courseId, double similarityThreshold) {
         logger.info("Grouping questions for course ID: {} with threshold: {}", courseId, similarityThreshold);
@@ -184,57 +330,101 @@ public class QuestionService {
         // Get all questions for the course
         List<Question> allQuestions = questionRepository.findByCourseIdOrderByCreatedAtDesc(courseId);
 
+        // Database mode only needs to know which questions have embeddings;
+        // the other modes load the vectors themselves
+        String mode = groupingMode.toLowerCase();
+        boolean database = "database".equals(mode);
+        List<QuestionEmbedding> embeddings = database
+                ? List.of()
+                : questionEmbeddingRepository.findByCourseId(courseId);
+        Map<Long, EmbeddingVector> vectorsById = new HashMap<>();
+        for (QuestionEmbedding embedding : embeddings) {
+            if (!embedding.getEmbedding().isEmpty()) {
+                vectorsById.put(embedding.getQuestionId(), embedding.getEmbedding());
+            }
+        }
+        Set<Long> embeddedIds = database
+                ? new HashSet<>(questionEmbeddingRepository.findQuestionIdsByCourseId(courseId))
+                : vectorsById.keySet();
+
         // Filter questions that have embeddings
         List<Question> questionsWithEmbeddings = allQuestions.stream()
-                .filter(q -> q.getEmbedding() != null && !q.getEmbedding().isEmpty())
+                .filter(q -> embeddedIds.contains(q.getId()))
+                .toList();
+
+        // Questions whose embedding is still being generated are listed on their own
+        List<QuestionGroupDto> pending = allQuestions.stream()
+                .filter(q -> q.getEmbeddingStatus() == EmbeddingStatus.PENDING && !embeddedIds.contains(q.getId()))
+                .map(q -> new QuestionGroupDto(q, List.of()))
                 .toList();
 
-        logger.info("Found {} questions with embeddings out of {} total",
-                questionsWithEmbeddings.size(), allQuestions.size());
+        logger.info("Found {} questions with embeddings and {} pending out of {} total",
+                questionsWithEmbeddings.size(), pending.size(), allQuestions.size());
 
         if (questionsWithEmbeddings.isEmpty()) {
             logger.warn("No questions with embeddings found. Cannot perform grouping.");
-            return List.of();
+            return pending;
+        }
+
+        if (!database && questionsWithEmbeddings.size() < indexMinQuestions) {
+            mode = "exact";
+        }
+        EmbeddingVector[] vectors = new EmbeddingVector[questionsWithEmbeddings.size()];
+        if (!database) {
+            for (int i = 0; i < vectors.length; i++) {
+                vectors[i] = vectorsById.get(questionsWithEmbeddings.get(i).getId());
+            }
+        }
+        SimilarityFinder finder = switch (mode) {
+            case "database" -> databaseFinder(courseId, questionsWithEmbeddings, similarityThreshold);
+            case "index" -> indexFinder(courseId, questionsWithEmbeddings, vectors, embeddings,
+                    similarityThreshold);
+            default -> exactFinder(questionsWithEmbeddings, vectors, similarityThreshold);
+        };
+        logger.debug("Using {} similarity search for course ID: {}", mode, courseId);
+
+        List<QuestionGroupDto> groups = groupGreedily(questionsWithEmbeddings, finder);
+        if (pending.isEmpty()) {
+            return groups;
         }
+        // Pending questions are the newest, so they lead the newest-first list
+        List<QuestionGroupDto> all = new ArrayList<>(pending.size() + groups.size());
+        all.addAll(pending);
+        all.addAll(groups);
+        return all;
+    }
+
+    /**
+     * Finds candidates for a group leader. Returns similar questions at or above
+     * the threshold among positions accepted by {@code eligible}.
+     */
+    @FunctionalInterface
+    private interface SimilarityFinder {
+        List<SimilarQuestionDto> findSimilar(int leader, IntPredicate eligible);
+    }
 
+    private List<QuestionGroupDto> groupGreedily(List<Question> questions, SimilarityFinder finder) {
         List<QuestionGroupDto> groups = new ArrayList<>();
-        Set<Long> processedQuestionIds = new HashSet<>();
+        boolean[] processed = new boolean[questions.size()];
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < questions.size(); i++) {
+            positions.put(questions.get(i).getId(), i);
+        }
 
         // Greedy clustering: iterate through questions in chronological order
-        for (Question mainQuestion : questionsWithEmbeddings) {
+        for (int leader = 0; leader < questions.size(); leader++) {
             // Skip if already grouped
-            if (processedQuestionIds.contains(mainQuestion.getId())) {
+            if (processed[leader]) {
                 continue;
             }
-
-            List<SimilarQuestionDto> similarQuestions = new ArrayList<>();
-
-            // Find all similar questions
-            for (Question otherQuestion : questionsWithEmbeddings) {
-                // Skip self and already processed questions
-                if (otherQuestion.getId().equals(mainQuestion.getId()) ||
-                        processedQuestionIds.contains(otherQuestion.getId())) {
-                    continue;
-                }
-
-                // Calculate cosine similarity
-                try {
-                    double similarity = VectorUtils.cosineSimilarity(
-                            mainQuestion.getEmbedding(),
-                            otherQuestion.getEmbedding());
-
-                    logger.debug("Similarity between Q{} and Q{}: {}",
-                            mainQuestion.getId(), otherQuestion.getId(), similarity);
-
-                    // If above threshold, add to similar group
-                    if (similarity >= similarityThreshold) {
-                        similarQuestions.add(new SimilarQuestionDto(otherQuestion, similarity));
-                        processedQuestionIds.add(otherQuestion.getId());
-                    }
-                } catch (Exception e) {
-                    logger.error("Error calculating similarity between Q{} and Q{}: {}",
-                            mainQuestion.getId(), otherQuestion.getId(), e.getMessage());
-                }
+            Question mainQuestion = questions.get(leader);
+            final int self = leader;
+
+            // Find all similar questions that are not yet grouped
+            List<SimilarQuestionDto> similarQuestions = finder.findSimilar(leader,
+                    position -> position != self && !processed[position]);
+            for (SimilarQuestionDto similar : similarQuestions) {
+                processed[positions.get(similar.getQuestion().getId())] = true;
             }
 
             // Only create a group if there are similar questions
@@ -257,15 +447,137 @@ public class QuestionService {
             }
 
             // Mark main question as processed
-            processedQuestionIds.add(mainQuestion.getId());
+            processed[leader] = true;
         }
 
         logger.info("Grouping complete: {} groups created from {} questions",
-                groups.size(), questionsWithEmbeddings.size());
+                groups.size(), questions.size());
 
         return groups;
     }
 
+    /**
+     * All-pairs scan: compares the leader with every eligible question.
+     * The leader is expanded to a dense array once, and sparse candidates
+     * are compared by reading it at their non-zero indices only.
+     */
+    private SimilarityFinder exactFinder(List<Question> questions, EmbeddingVector[] vectors, double threshold) {
+        double[] norms = new double[vectors.length];
+        for (int i = 0; i < vectors.length; i++) {
+            norms[i] = Math.sqrt(VectorUtils.squaredNorm(vectors[i]));
+        }
+        return (leader, eligible) -> {
+            List<SimilarQuestionDto> similar = new ArrayList<>();
+            float[] leaderValues = vectors[leader].values();
+            for (int other = 0; other < vectors.length; other++) {
+                EmbeddingVector candidate = vectors[other];
+                if (!eligible.test(other) || candidate.dimension() != leaderValues.length) {
+                    continue;
+                }
+                double dot = candidate.isSparse()
+                        ? VectorUtils.sparseDenseDot(candidate.sparseIndices(), candidate.sparseValues(), leaderValues)
+                        : VectorUtils.dot(leaderValues, candidate.values());
+                double norm = norms[leader] * norms[other];
+                double similarity = norm == 0.0 ? 0.0 : dot / norm;
+                if (similarity >= threshold) {
+                    similar.add(new SimilarQuestionDto(questions.get(other), similarity));
+                }
+            }
+            return similar;
+        };
+    }
+
+    /**
+     * Range queries against the course's HNSW index. Approximate: a true
+     * neighbour can occasionally be missed, in exchange for sub-quadratic cost.
+     */
+    private SimilarityFinder indexFinder(Integer courseId, List<Question> questions, EmbeddingVector[] vectors,
+            List<QuestionEmbedding> embeddings, double threshold) {
+        questionIndexService.ensureIndexed(courseId, embeddings);
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < questions.size(); i++) {
+            positions.put(questions.get(i).getId(), i);
+        }
+        return (leader, eligible) -> {
+            List<SimilarQuestionDto> similar = new ArrayList<>();
+            for (HnswIndex.Neighbor neighbor : questionIndexService.findSimilar(courseId, vectors[leader], threshold)) {
+                Integer position = positions.get(neighbor.id());
+                // Ignore index entries for questions not visible in this snapshot
+                if (position != null && eligible.test(position)) {
+                    similar.add(new SimilarQuestionDto(questions.get(position), neighbor.similarity()));
+                }
+            }
+            return similar;
+        };
+    }
+
+    /**
+     * Similar pairs computed by PostgreSQL in a single query. Only ids and scores
+     * are returned; each question's neighbours are capped at
+     * app.ai.pgvector.max-neighbours.
+     */
+    private SimilarityFinder databaseFinder(Integer courseId, List<Question> questions, double threshold) {
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < questions.size(); i++) {
+            positions.put(questions.get(i).getId(), i);
+        }
+        Map<Long, List<SimilarPairRow>> neighbours = new HashMap<>();
+        for (SimilarPairRow row : pgVectorSearchService.findSimilarPairs(courseId, threshold)) {
+            neighbours.computeIfAbsent(row.getQuestionId(), id -> new ArrayList<>()).add(row);
+        }
+        return (leader, eligible) -> {
+            List<SimilarQuestionDto> similar = new ArrayList<>();
+            for (SimilarPairRow row : neighbours.getOrDefault(questions.get(leader).getId(), List.of())) {
+                Integer position = positions.get(row.getNeighbourId());
+                if (position != null && eligible.test(position)) {
+                    similar.add(new SimilarQuestionDto(questions.get(position), row.getSimilarity()));
+                }
+            }
+            return similar;
+        };
+    }
+
+    /**
+     * Finds the questions in the same course most similar to the given one,
+     * using the pgvector index. Returns an empty list if AI mode is disabled
+     * or the question has no embedding.
+     */
+    public List<SimilarQuestionDto> findSimilarQuestions(Long questionId, int limit) {
+        Question question = questionRepository.findById(Objects.requireNonNull(questionId))
+                .orElseThrow(() -> new RuntimeException("Question not found with ID: " + questionId));
+
+        if (!aiEnabled) {
+            return List.of();
+        }
+        EmbeddingVector embedding = questionEmbeddingRepository.findById(questionId)
+                .map(QuestionEmbedding::getEmbedding)
+                .orElse(null);
+        if (embedding == null || embedding.isEmpty()) {
+            return List.of();
+        }
+
+        // Fetch one extra row since the question itself is its own nearest neighbour
+        List<SimilarQuestionRow> rows = pgVectorSearchService.findNearest(
+                question.getCourse().getId(), embedding, limit + 1);
+        List<Long> ids = rows.stream()
+                .map(SimilarQuestionRow::getId)
+                .filter(id -> !id.equals(questionId))
+                .limit(limit)
+                .toList();
+
+        Map<Long, Question> byId = new HashMap<>();
+        questionRepository.findAllById(ids).forEach(q -> byId.put(q.getId(), q));
+
+        List<SimilarQuestionDto> similar = new ArrayList<>();
+        for (SimilarQuestionRow row : rows) {
+            Question match = byId.get(row.getId());
+            if (match != null) {
+                similar.add(new SimilarQuestionDto(match, row.getSimilarity()));
+            }
+        }
+        return similar;
+    }
+
     /**
      * Overloaded method with default similarity threshold of 0.85 (85% similarity).
      * This is a good default for semantic similarity with embedding models.
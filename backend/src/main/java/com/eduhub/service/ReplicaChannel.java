@@ -0,0 +1,201 @@
+package com.eduhub.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Relays changes that invalidate per-replica caches to every replica over
+ * PostgreSQL LISTEN/NOTIFY. Each kind of change has its own NOTIFY channel and
+ * event type: {@link CourseCodeChanged} for {@link CourseCodeIndex} and
+ * {@link StudentCoursesChanged} for the cached student course lists. Every
+ * replica, including the sender, receives each change and republishes it
+ * locally as an application event, so this class only carries changes and
+ * knows nothing about the caches that consume them. On databases other than
+ * PostgreSQL the channel stays disabled and publish is a no-op.
+ *
+ * LISTEN holds its connection for the life of the application, so the listener
+ * opens its own connection outside the pool instead of keeping a pooled one.
+ */
+@Component
+public class ReplicaChannel {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaChannel.class);
+
+    static final String COURSE_CODES_CHANNEL = "course_codes";
+    static final String STUDENT_COURSES_CHANNEL = "student_courses";
+    private static final int POLL_TIMEOUT_MS = 10_000;
+    private static final long RECONNECT_DELAY_MS = 5_000;
+
+    /**
+     * A course code was added (courseId set) or removed (courseId null).
+     */
+    public record CourseCodeChanged(String code, Integer courseId) {
+
+        String toPayload() {
+            return code + ":" + (courseId != null ? courseId : "");
+        }
+
+        static CourseCodeChanged fromPayload(String payload) {
+            int colon = payload.lastIndexOf(':');
+            String id = payload.substring(colon + 1);
+            return new CourseCodeChanged(payload.substring(0, colon), id.isEmpty() ? null : Integer.valueOf(id));
+        }
+    }
+
+    /**
+     * A student's enrollments changed (studentId set), or those of any number
+     * of students (studentId null).
+     */
+    public record StudentCoursesChanged(Integer studentId) {
+
+        String toPayload() {
+            return studentId != null ? studentId.toString() : "";
+        }
+
+        static StudentCoursesChanged fromPayload(String payload) {
+            return new StudentCoursesChanged(payload.isEmpty() ? null : Integer.valueOf(payload));
+        }
+    }
+
+    /**
+     * The listener reconnected and may have missed changes.
+     */
+    public record Resync() {}
+
+    private final DataSource dataSource;
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.replicas.notify:true}")
+    private boolean enabled = true;
+
+    private volatile boolean running;
+    private Thread listener;
+    private DataSource listenDataSource;
+
+    public ReplicaChannel(DataSource dataSource, DataSourceProperties dataSourceProperties,
+            JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher) {
+        this.dataSource = dataSource;
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                logger.info("Replica notifications disabled: database is not PostgreSQL");
+                enabled = false;
+                return;
+            }
+        } catch (SQLException e) {
+            logger.warn("Replica notifications disabled: {}", e.getMessage());
+            enabled = false;
+            return;
+        }
+        listenDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class)
+                .build();
+        running = true;
+        listener = new Thread(this::listen, "replica-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    /**
+     * Sends a change to all replicas. Must be called after the change is committed.
+     */
+    public void publish(CourseCodeChanged change) {
+        notify(COURSE_CODES_CHANNEL, change.toPayload(), change);
+    }
+
+    /**
+     * Tells all replicas to drop cached course lists. Must be called after the
+     * enrollment change is committed.
+     */
+    public void publish(StudentCoursesChanged change) {
+        notify(STUDENT_COURSES_CHANNEL, change.toPayload(), change);
+    }
+
+    private void notify(String channel, String payload, Object change) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> {}, channel, payload);
+        } catch (RuntimeException e) {
+            // Other replicas catch up on their next resync or cache expiry.
+            logger.warn("Failed to publish {}: {}", change, e.getMessage());
+        }
+    }
+
+    private void listen() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = listenDataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + COURSE_CODES_CHANNEL);
+                    statement.execute("LISTEN " + STUDENT_COURSES_CHANNEL);
+                }
+                if (reconnect) {
+                    eventPublisher.publishEvent(new Resync());
+                }
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        eventPublisher.publishEvent(STUDENT_COURSES_CHANNEL.equals(notification.getName())
+                                ? StudentCoursesChanged.fromPayload(notification.getParameter())
+                                : CourseCodeChanged.fromPayload(notification.getParameter()));
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Replica listener lost its connection, retrying: {}", e.getMessage());
+                reconnect = true;
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
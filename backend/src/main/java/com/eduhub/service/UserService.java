@@ -1,11 +1,14 @@
 package com.eduhub.service;
 
+import java.util.Objects;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.eduhub.config.CacheConfig;
 import com.eduhub.dto.RegisterRequest;
 import com.eduhub.model.Role;
 import com.eduhub.model.User;
@@ -89,6 +92,15 @@ public class UserService {
         return jwtUtil.generateToken(savedUser.getEmail(), savedUser.getRole().name(), savedUser.getId());
     }
 
+    /**
+     * Loads a user by id through a short-lived cache. Requests are authenticated
+     * from the token alone, so this is only for endpoints that need the full entity.
+     */
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id")
+    public Optional<User> findById(Integer id) {
+        return userRepository.findById(Objects.requireNonNull(id));
+    }
+
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
@@ -0,0 +1,27 @@
+package com.eduhub.service.impl;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.eduhub.service.NotificationTransport;
+
+/**
+ * Default transport: logs each notification. Registered by NotificationConfig
+ * only when no other NotificationTransport bean exists, so an email or push
+ * transport replaces it by being declared.
+ */
+public class LoggingNotificationTransport implements NotificationTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingNotificationTransport.class);
+
+    @Override
+    public void deliver(List<Delivery> batch) {
+        for (Delivery delivery : batch) {
+            for (String message : delivery.messages()) {
+                logger.info("Notification sent to user {} ({}): {}", delivery.email(), delivery.name(), message);
+            }
+        }
+    }
+}
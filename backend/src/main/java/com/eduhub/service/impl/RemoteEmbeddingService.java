@@ -0,0 +1,192 @@
+package com.eduhub.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+import com.eduhub.model.types.EmbeddingVector;
+import com.eduhub.service.EmbeddingService;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Embeddings from a hosted model behind an OpenAI-compatible /embeddings
+ * endpoint (app.ai.embedding.provider=remote).
+ *
+ * A list of texts is sent in requests of up to app.ai.embedding.remote.batch-size
+ * inputs, with at most app.ai.embedding.remote.max-concurrent-requests in
+ * flight. Blank texts get a zero vector without a request, since the API
+ * rejects empty input. A request answered with 429 or a 5xx status is retried
+ * up to app.ai.embedding.remote.max-retries times, waiting
+ * app.ai.embedding.remote.retry-backoff-ms and doubling after each attempt;
+ * other errors fail the batch at once. The cache namespace is derived from
+ * the provider, model and dimensions, so switching models does not serve
+ * vectors from the previous one.
+ */
+@Service
+@Qualifier("embeddingModel")
+@ConditionalOnProperty(name = "app.ai.embedding.provider", havingValue = "remote")
+public class RemoteEmbeddingService implements EmbeddingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteEmbeddingService.class);
+
+    private final RestClient restClient;
+    private final String model;
+    private final int dimensions;
+    private final int batchSize;
+    private final int maxRetries;
+    private final long retryBackoffMs;
+    private final ExecutorService requests;
+
+    public RemoteEmbeddingService(RestClient.Builder restClientBuilder,
+            @Value("${app.ai.embedding.remote.url:https://api.openai.com/v1/embeddings}") String url,
+            @Value("${app.ai.embedding.remote.api-key:}") String apiKey,
+            @Value("${app.ai.embedding.remote.model:text-embedding-3-small}") String model,
+            @Value("${app.ai.embedding.remote.dimensions:1536}") int dimensions,
+            @Value("${app.ai.embedding.remote.batch-size:256}") int batchSize,
+            @Value("${app.ai.embedding.remote.max-concurrent-requests:4}") int maxConcurrentRequests,
+            @Value("${app.ai.embedding.remote.timeout-ms:30000}") int timeoutMs,
+            @Value("${app.ai.embedding.remote.max-retries:3}") int maxRetries,
+            @Value("${app.ai.embedding.remote.retry-backoff-ms:500}") long retryBackoffMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        restClientBuilder.baseUrl(url).requestFactory(requestFactory);
+        if (!apiKey.isBlank()) {
+            restClientBuilder.defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey);
+        }
+        this.restClient = restClientBuilder.build();
+        this.model = model;
+        this.dimensions = dimensions;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryBackoffMs = Math.max(0, retryBackoffMs);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.requests = Executors.newFixedThreadPool(Math.max(1, maxConcurrentRequests), runnable -> {
+            Thread thread = new Thread(runnable, "embedding-request-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public EmbeddingVector generateEmbedding(String text) {
+        return generateEmbeddings(List.of(text == null ? "" : text)).get(0);
+    }
+
+    @Override
+    public List<EmbeddingVector> generateEmbeddings(List<String> texts) {
+        EmbeddingVector[] embeddings = new EmbeddingVector[texts.size()];
+        List<Integer> positions = new ArrayList<>(texts.size());
+        for (int i = 0; i < embeddings.length; i++) {
+            String text = texts.get(i);
+            if (text == null || text.isBlank()) {
+                embeddings[i] = EmbeddingVector.zeros(dimensions);
+            } else {
+                positions.add(i);
+            }
+        }
+
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int start = 0; start < positions.size(); start += batchSize) {
+            List<Integer> batch = positions.subList(start, Math.min(start + batchSize, positions.size()));
+            if (positions.size() <= batchSize) {
+                // A single request needs no hop to the request pool
+                request(texts, batch, embeddings);
+            } else {
+                batches.add(CompletableFuture.runAsync(() -> request(texts, batch, embeddings), requests));
+            }
+        }
+        try {
+            CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return List.of(embeddings);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        requests.shutdownNow();
+    }
+
+    /**
+     * Sends one request for the texts at the given positions and stores the
+     * results at the same positions.
+     */
+    private void request(List<String> texts, List<Integer> positions, EmbeddingVector[] embeddings) {
+        List<String> input = new ArrayList<>(positions.size());
+        for (int position : positions) {
+            input.add(texts.get(position));
+        }
+        long start = System.currentTimeMillis();
+        EmbeddingResponse response = send(new EmbeddingRequest(model, input, dimensions));
+        if (response == null || response.data() == null || response.data().size() != input.size()) {
+            throw new IllegalStateException(String.format("Embedding API returned %d embeddings for %d inputs",
+                    response == null || response.data() == null ? 0 : response.data().size(), input.size()));
+        }
+        for (EmbeddingItem item : response.data()) {
+            if (item.index() < 0 || item.index() >= input.size() || item.embedding() == null
+                    || item.embedding().length != dimensions) {
+                throw new IllegalStateException("Embedding API returned an unexpected item at index " + item.index());
+            }
+            embeddings[positions.get(item.index())] = EmbeddingVector.wrap(item.embedding());
+        }
+        logger.debug("Embedded {} texts with {} in {} ms", input.size(), model, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Posts a request, retrying rate limits and server errors with exponential backoff.
+     */
+    private EmbeddingResponse send(EmbeddingRequest request) {
+        long delay = retryBackoffMs;
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return restClient.post()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(request)
+                        .retrieve()
+                        .body(EmbeddingResponse.class);
+            } catch (RestClientResponseException e) {
+                boolean retryable = e.getStatusCode().value() == 429 || e.getStatusCode().is5xxServerError();
+                if (!retryable || attempt >= maxRetries) {
+                    throw e;
+                }
+                logger.warn("Embedding API answered {}, retrying in {} ms ({} of {})",
+                        e.getStatusCode().value(), delay, attempt + 1, maxRetries);
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                delay *= 2;
+            }
+        }
+    }
+
+    record EmbeddingRequest(String model, List<String> input, int dimensions) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record EmbeddingResponse(List<EmbeddingItem> data) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record EmbeddingItem(int index, float[] embedding) {}
+}
@@ -1,34 +1,55 @@
 package com.eduhub.service.impl;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import com.eduhub.model.types.EmbeddingVector;
 import com.eduhub.service.EmbeddingService;
 
+import jakarta.annotation.PreDestroy;
+
 /**
  * Word-hashing embedding service. Creates vectors where similar topics cluster
  * together.
  * For production, consider integrating OpenAI/Cohere APIs for true semantic
  * embeddings.
+ *
+ * A term is identified only by its character sum and length, and every
+ * occurrence adds a fixed weight to 16 dimensions derived from those two
+ * numbers. The text is therefore scanned once, character by character:
+ * tokens are lowercased into a reusable buffer, checked against a stopword
+ * trie, stemmed by walking a reversed suffix trie, and hashed straight into
+ * an accumulator together with the bigram they form with the previous token.
+ * No intermediate strings or maps are created.
+ *
+ * Embeddings are returned in sparse form unless the text touches more than a
+ * quarter of the dimensions (see EmbeddingVector.compact).
+ *
+ * Batches are split across a dedicated ForkJoinPool of
+ * app.ai.embedding.parallelism workers (0 = one per core). Embedding is pure
+ * CPU work with per-thread scratch buffers, so throughput grows with cores.
  */
 @Service
+@Qualifier("embeddingModel")
+@ConditionalOnProperty(name = "app.ai.embedding.provider", havingValue = "simple", matchIfMissing = true)
 public class SimpleEmbeddingService implements EmbeddingService {
 
     private static final Logger logger = LoggerFactory.getLogger(SimpleEmbeddingService.class);
     private static final int EMBEDDING_DIMENSION = 1536;
+    private static final int DIMENSIONS_PER_TERM = 16;
 
     // Stopwords - completely filtered out
-    private static final Set<String> STOPWORDS = new HashSet<>(Arrays.asList(
+    private static final String[] STOPWORDS = {
             "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "he",
             "in", "is", "it", "its", "of", "on", "that", "the", "to", "was", "will", "with",
             "can", "could", "should", "would", "what", "when", "where", "who", "why", "how",
@@ -47,9 +68,9 @@ public class SimpleEmbeddingService implements EmbeddingService {
             // Generic programming terms that cause false matches
             "java", "code", "coding", "program", "programming", "project", "example", "examples",
             "class", "classes", "method", "methods", "function", "functions", "object", "objects",
-            "real", "world", "basic", "basics", "tutorial", "guide", "sample"));
+            "real", "world", "basic", "basics", "tutorial", "guide", "sample" };
 
-    // Suffix rules for stemming
+    // Suffix rules for stemming; the first matching rule wins
     private static final String[][] SUFFIX_RULES = {
             { "ational", "ate" }, { "tional", "tion" }, { "ization", "ize" },
             { "ation", "" }, { "ition", "" }, { "ness", "" }, { "ment", "" },
@@ -58,121 +79,372 @@ public class SimpleEmbeddingService implements EmbeddingService {
             { "er", "" }, { "est", "" }, { "ly", "" }, { "ies", "y" }, { "es", "" }, { "s", "" }
     };
 
-    @Override
-    public List<Double> generateEmbedding(String text) {
-        if (text == null || text.trim().isEmpty()) {
-            return createZeroEmbedding();
-        }
+    /** Token alphabet: a-z map to 0-25, 0-9 to 26-35. */
+    private static final int ALPHABET = 36;
 
-        // Extract stemmed terms with counts
-        Map<String, Integer> termCounts = extractTermCounts(text.toLowerCase());
+    private static final Trie STOPWORD_TRIE = new Trie();
 
-        if (termCounts.isEmpty()) {
-            return createZeroEmbedding();
-        }
+    /** Suffix rules keyed by their reversed suffix. */
+    private static final Trie SUFFIX_TRIE = new Trie();
+    private static final int[] SUFFIX_LENGTH = new int[SUFFIX_RULES.length];
+    /** Character sum removed from a token minus the sum of the replacement added. */
+    private static final int[] SUFFIX_SUM_DELTA = new int[SUFFIX_RULES.length];
+    private static final int[] REPLACEMENT_LENGTH = new int[SUFFIX_RULES.length];
+    private static final int LONGEST_SUFFIX;
 
-        logger.debug("Extracted {} terms: {}", termCounts.size(),
-                termCounts.keySet().stream().limit(10).collect(Collectors.joining(", ")));
+    static {
+        for (String stopword : STOPWORDS) {
+            STOPWORD_TRIE.add(stopword, 0);
+        }
+        int longest = 0;
+        for (int rule = 0; rule < SUFFIX_RULES.length; rule++) {
+            String suffix = SUFFIX_RULES[rule][0];
+            String replacement = SUFFIX_RULES[rule][1];
+            SUFFIX_TRIE.add(new StringBuilder(suffix).reverse().toString(), rule);
+            SUFFIX_LENGTH[rule] = suffix.length();
+            SUFFIX_SUM_DELTA[rule] = charSum(suffix) - charSum(replacement);
+            REPLACEMENT_LENGTH[rule] = replacement.length();
+            longest = Math.max(longest, suffix.length());
+        }
+        LONGEST_SUFFIX = longest;
+    }
 
-        // Create embedding - use FEWER dimensions per term for HIGHER overlap
-        double[] embedding = new double[EMBEDDING_DIMENSION];
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
 
-        // Total term occurrences for normalization
-        int totalTerms = termCounts.values().stream().mapToInt(Integer::intValue).sum();
+    /** Texts per fork-join leaf task; smaller batches are embedded on the calling thread. */
+    private static final int BATCH_SLICE = 32;
 
-        for (Map.Entry<String, Integer> entry : termCounts.entrySet()) {
-            String term = entry.getKey();
-            int count = entry.getValue();
+    @Value("${app.ai.embedding.parallelism:0}")
+    private int parallelism = 0;
 
-            // Weight based on frequency and term specificity
-            double weight = (double) count / totalTerms;
+    private ForkJoinPool pool;
 
-            // Important terms (longer = more specific) get higher weight
-            double specificityBoost = 1.0 + (term.length() - 3) * 0.2;
-            weight *= specificityBoost;
+    @Override
+    public EmbeddingVector generateEmbedding(String text) {
+        if (text == null || text.isBlank()) {
+            return createZeroEmbedding();
+        }
 
-            // Use term's character sum for unique dimension mapping
-            // This ensures truly different terms map to different dimensions
-            int charSum = 0;
-            for (char c : term.toCharArray()) {
-                charSum += c;
-            }
+        Scratch scratch = SCRATCH.get();
+        int terms = accumulate(text, scratch);
+        long[] weights = scratch.weights;
 
-            // Each term activates MANY dimensions spread far apart
-            // Using prime multipliers ensures minimal collision
-            for (int i = 0; i < 16; i++) {
-                int dim = Math.abs((charSum * 7919 + term.length() * 6271 + i * 1009) % EMBEDDING_DIMENSION);
-                embedding[dim] += weight * 8.0;
-            }
+        if (terms == 0) {
+            return createZeroEmbedding();
         }
 
-        // L2 normalize to unit vector
+        // L2 normalize to unit vector. The integer weights are exact, so the
+        // result does not depend on the order terms were seen in.
         double magnitude = 0.0;
-        for (double v : embedding) {
-            magnitude += v * v;
+        for (long w : weights) {
+            magnitude += (double) w * w;
         }
         magnitude = Math.sqrt(magnitude);
 
-        List<Double> result = new ArrayList<>(EMBEDDING_DIMENSION);
-        if (magnitude > 0) {
-            for (int i = 0; i < EMBEDDING_DIMENSION; i++) {
-                result.add(embedding[i] / magnitude);
+        // Each term touches only 16 dimensions, so short texts leave most of
+        // them at zero and are returned in sparse form
+        int nonZero = 0;
+        for (long w : weights) {
+            if (w != 0) {
+                nonZero++;
+            }
+        }
+        int[] indices = new int[nonZero];
+        float[] values = new float[nonZero];
+        int n = 0;
+        for (int i = 0; i < EMBEDDING_DIMENSION; i++) {
+            if (weights[i] != 0) {
+                indices[n] = i;
+                values[n++] = (float) (weights[i] / magnitude);
+            }
+        }
+
+        logger.debug("Generated embedding from {} term occurrences, {} non-zero dimensions", terms, nonZero);
+        return EmbeddingVector.compact(EmbeddingVector.sparse(EMBEDDING_DIMENSION, indices, values));
+    }
+
+    /**
+     * Embeds the texts on the worker pool, splitting the list in halves down
+     * to slices of {@value #BATCH_SLICE}.
+     */
+    @Override
+    public List<EmbeddingVector> generateEmbeddings(List<String> texts) {
+        EmbeddingVector[] embeddings = new EmbeddingVector[texts.size()];
+        if (texts.size() <= BATCH_SLICE) {
+            for (int i = 0; i < embeddings.length; i++) {
+                embeddings[i] = generateEmbedding(texts.get(i));
             }
         } else {
-            return createZeroEmbedding();
+            pool().invoke(new EmbedSlice(texts, embeddings, 0, embeddings.length));
         }
+        return Arrays.asList(embeddings);
+    }
 
-        logger.info("Generated embedding from {} terms", termCounts.size());
-        return result;
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
     }
 
-    private Map<String, Integer> extractTermCounts(String text) {
-        Map<String, Integer> counts = new HashMap<>();
-        String normalized = text.replaceAll("[^a-z0-9\\s]", " ");
-        String[] tokens = normalized.split("\\s+");
+    private synchronized ForkJoinPool pool() {
+        if (pool == null) {
+            int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+            pool = new ForkJoinPool(threads, forkJoinPool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName("embedding-worker-" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+            logger.info("Embedding pool started with {} workers", threads);
+        }
+        return pool;
+    }
 
-        for (String token : tokens) {
-            if (token.length() < 3 || STOPWORDS.contains(token)) {
-                continue;
+    private final class EmbedSlice extends RecursiveAction {
+
+        private final List<String> texts;
+        private final EmbeddingVector[] embeddings;
+        private final int from;
+        private final int to;
+
+        EmbedSlice(List<String> texts, EmbeddingVector[] embeddings, int from, int to) {
+            this.texts = texts;
+            this.embeddings = embeddings;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_SLICE) {
+                for (int i = from; i < to; i++) {
+                    embeddings[i] = generateEmbedding(texts.get(i));
+                }
+                return;
             }
-            String stemmed = stem(token);
-            if (stemmed.length() >= 3) {
-                counts.merge(stemmed, 1, (a, b) -> a + b);
+            int middle = (from + to) >>> 1;
+            invokeAll(new EmbedSlice(texts, embeddings, from, middle),
+                    new EmbedSlice(texts, embeddings, middle, to));
+        }
+    }
+
+    /**
+     * Scans the text once and adds every term and bigram occurrence to
+     * {@code scratch.weights}. Returns the number of occurrences.
+     *
+     * A term occurring {@code count} times out of {@code total} contributes
+     * {@code count / total * (1 + (length - 3) * 0.2) * 8} to each of its
+     * dimensions. Everything but {@code count * (length + 2)} is a constant
+     * factor that normalization cancels, so only that integer is accumulated.
+     */
+    private int accumulate(String text, Scratch scratch) {
+        long[] weights = scratch.weights;
+        Arrays.fill(weights, 0L);
+
+        int occurrences = 0;
+        int previousSum = 0;
+        int previousLength = 0;
+        boolean hasPrevious = false;
+
+        int length = text.length();
+        int i = 0;
+        while (i <= length) {
+            int symbol;
+            int width = 1;
+            boolean breakAfter = false;
+            if (i == length) {
+                symbol = -1;
+            } else {
+                char c = text.charAt(i);
+                if (c < 128) {
+                    symbol = asciiSymbol(c);
+                } else {
+                    int codePoint = text.codePointAt(i);
+                    width = Character.charCount(codePoint);
+                    if (codePoint == '\u0130') {
+                        // Lowercases to 'i' followed by a combining dot, which ends the token
+                        symbol = 'i' - 'a';
+                        breakAfter = true;
+                    } else {
+                        int lower = Character.toLowerCase(codePoint);
+                        symbol = lower < 128 ? asciiSymbol((char) lower) : -1;
+                    }
+                }
             }
+
+            if (symbol >= 0) {
+                scratch.append(symbol);
+            }
+            if ((symbol < 0 || breakAfter) && scratch.length > 0) {
+                int tokenLength = scratch.length;
+                if (tokenLength >= 3 && !STOPWORD_TRIE.contains(scratch.symbols, tokenLength)) {
+                    int stemSum = scratch.sum;
+                    int stemLength = tokenLength;
+                    int rule = tokenLength < 4 ? -1 : matchSuffix(scratch.symbols, tokenLength);
+                    if (rule >= 0) {
+                        stemSum -= SUFFIX_SUM_DELTA[rule];
+                        stemLength += REPLACEMENT_LENGTH[rule] - SUFFIX_LENGTH[rule];
+                    }
+
+                    if (stemLength >= 3) {
+                        addTerm(weights, stemSum, stemLength);
+                        occurrences++;
+                    }
+                    // Bigrams join the stems with '_'
+                    if (hasPrevious) {
+                        addTerm(weights, previousSum + '_' + stemSum, previousLength + 1 + stemLength);
+                        occurrences++;
+                    }
+                    previousSum = stemSum;
+                    previousLength = stemLength;
+                    hasPrevious = true;
+                }
+                scratch.reset();
+            }
+            i += width;
         }
+        return occurrences;
+    }
 
-        // Add bigrams for phrases
-        List<String> stemmedTokens = new ArrayList<>();
-        for (String token : tokens) {
-            if (token.length() >= 3 && !STOPWORDS.contains(token)) {
-                stemmedTokens.add(stem(token));
+    /**
+     * Returns the first suffix rule, in rule order, that the token ends with
+     * and that leaves a stem of at least three characters, or -1.
+     */
+    private static int matchSuffix(byte[] symbols, int length) {
+        int best = -1;
+        int node = 0;
+        int depth = Math.min(LONGEST_SUFFIX, length);
+        for (int k = 1; k <= depth; k++) {
+            node = SUFFIX_TRIE.child(node, symbols[length - k]);
+            if (node < 0) {
+                break;
+            }
+            int rule = SUFFIX_TRIE.value(node);
+            if (rule >= 0 && (best < 0 || rule < best)
+                    && length - SUFFIX_LENGTH[rule] + REPLACEMENT_LENGTH[rule] >= 3) {
+                best = rule;
             }
         }
-        for (int i = 0; i < stemmedTokens.size() - 1; i++) {
-            String bigram = stemmedTokens.get(i) + "_" + stemmedTokens.get(i + 1);
-            counts.merge(bigram, 1, (a, b) -> a + b);
+        return best;
+    }
+
+    private static void addTerm(long[] weights, int charSum, int length) {
+        // Each term activates MANY dimensions spread far apart
+        // Using prime multipliers ensures minimal collision
+        int base = charSum * 7919 + length * 6271;
+        long weight = length + 2;
+        for (int i = 0; i < DIMENSIONS_PER_TERM; i++) {
+            int dim = Math.abs((base + i * 1009) % EMBEDDING_DIMENSION);
+            weights[dim] += weight;
         }
+    }
+
+    private static int asciiSymbol(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= '0' && c <= '9') {
+            return 26 + c - '0';
+        }
+        return -1;
+    }
+
+    private static char symbolChar(int symbol) {
+        return (char) (symbol < 26 ? 'a' + symbol : '0' + symbol - 26);
+    }
+
+    private static int charSum(String s) {
+        int sum = 0;
+        for (int i = 0; i < s.length(); i++) {
+            sum += s.charAt(i);
+        }
+        return sum;
+    }
 
-        return counts;
+    private EmbeddingVector createZeroEmbedding() {
+        return EmbeddingVector.zeros(EMBEDDING_DIMENSION);
     }
 
-    private String stem(String word) {
-        if (word.length() < 4)
-            return word;
+    /**
+     * Per-thread token buffer and dimension accumulator.
+     */
+    private static final class Scratch {
+        final long[] weights = new long[EMBEDDING_DIMENSION];
+        byte[] symbols = new byte[64];
+        int length;
+        int sum;
 
-        for (String[] rule : SUFFIX_RULES) {
-            if (word.endsWith(rule[0]) && word.length() - rule[0].length() + rule[1].length() >= 3) {
-                return word.substring(0, word.length() - rule[0].length()) + rule[1];
+        void append(int symbol) {
+            if (length == symbols.length) {
+                symbols = Arrays.copyOf(symbols, length * 2);
             }
+            symbols[length++] = (byte) symbol;
+            sum += symbolChar(symbol);
+        }
+
+        void reset() {
+            length = 0;
+            sum = 0;
         }
-        return word;
     }
 
-    private List<Double> createZeroEmbedding() {
-        List<Double> embedding = new ArrayList<>(EMBEDDING_DIMENSION);
-        for (int i = 0; i < EMBEDDING_DIMENSION; i++) {
-            embedding.add(0.0);
+    /**
+     * Array-backed trie over the token alphabet. Node 0 is the root; each
+     * node stores an int value, -1 when no word ends there.
+     */
+    private static final class Trie {
+        private int[] children = new int[ALPHABET * 64];
+        private int[] values = new int[64];
+        private int size = 1;
+
+        Trie() {
+            Arrays.fill(children, -1);
+            Arrays.fill(values, -1);
+        }
+
+        void add(String word, int value) {
+            int node = 0;
+            for (int i = 0; i < word.length(); i++) {
+                int symbol = asciiSymbol(word.charAt(i));
+                int next = children[node * ALPHABET + symbol];
+                if (next < 0) {
+                    next = newNode();
+                    children[node * ALPHABET + symbol] = next;
+                }
+                node = next;
+            }
+            if (values[node] < 0) {
+                values[node] = value;
+            }
+        }
+
+        boolean contains(byte[] symbols, int length) {
+            int node = 0;
+            for (int i = 0; i < length && node >= 0; i++) {
+                node = children[node * ALPHABET + symbols[i]];
+            }
+            return node >= 0 && values[node] >= 0;
+        }
+
+        int child(int node, int symbol) {
+            return children[node * ALPHABET + symbol];
+        }
+
+        int value(int node) {
+            return values[node];
+        }
+
+        private int newNode() {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+                Arrays.fill(values, size, values.length, -1);
+                children = Arrays.copyOf(children, size * 2 * ALPHABET);
+                Arrays.fill(children, size * ALPHABET, children.length, -1);
+            }
+            return size++;
         }
-        return embedding;
     }
 }
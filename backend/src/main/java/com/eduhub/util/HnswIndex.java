@@ -0,0 +1,448 @@
+package com.eduhub.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.eduhub.model.types.EmbeddingVector;
+
+/**
+ * In-memory Hierarchical Navigable Small World graph for approximate
+ * nearest-neighbour search by cosine similarity (Malkov & Yashunin, 2016).
+ *
+ * Vectors are normalized on insert so similarity is a plain dot product.
+ * They keep their dense or sparse form, and similarity goes through
+ * {@link VectorUtils#dot(EmbeddingVector, EmbeddingVector)}, so sparse
+ * embeddings are never expanded to full dimension.
+ * Removals are tombstones: removed nodes still route searches but are never
+ * returned, and replacing a vector tombstones the old node. The graph is never
+ * compacted, so owners should rebuild it once {@link #deletedFraction()} grows.
+ * Searches run concurrently under a read lock; writes are exclusive.
+ */
+public class HnswIndex {
+
+    /**
+     * Search result: external id and its cosine similarity to the query.
+     */
+    public record Neighbor(long id, double similarity) {}
+
+    private static final int DEFAULT_M = 16;
+    private static final int DEFAULT_EF_CONSTRUCTION = 100;
+    private static final int RANGE_SEARCH_INITIAL_K = 16;
+
+    private final int m;
+    private final int maxNeighborsLevel0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random;
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<Long, Integer> nodeById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private int liveCount;
+
+    public HnswIndex() {
+        this(DEFAULT_M, DEFAULT_EF_CONSTRUCTION, 42L);
+    }
+
+    /**
+     * @param m              Maximum neighbours per node on upper layers (2m on layer 0)
+     * @param efConstruction Candidate list size while inserting
+     * @param seed           Seed for level assignment, for reproducible graphs
+     */
+    public HnswIndex(int m, int efConstruction, long seed) {
+        if (m < 2) {
+            throw new IllegalArgumentException("m must be at least 2");
+        }
+        this.m = m;
+        this.maxNeighborsLevel0 = 2 * m;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.random = new SplittableRandom(seed);
+    }
+
+    private static final class Node {
+        final long id;
+        final EmbeddingVector vector;
+        final int[][] neighbors;
+        final int[] neighborCounts;
+        boolean deleted;
+
+        Node(long id, EmbeddingVector vector, int level, int m, int m0) {
+            this.id = id;
+            this.vector = vector;
+            this.neighbors = new int[level + 1][];
+            this.neighborCounts = new int[level + 1];
+            for (int l = 0; l <= level; l++) {
+                neighbors[l] = new int[(l == 0 ? m0 : m) + 1];
+            }
+        }
+
+        int level() {
+            return neighbors.length - 1;
+        }
+    }
+
+    private record Candidate(int node, double similarity) {}
+
+    private static final Comparator<Candidate> CLOSEST_FIRST =
+            Comparator.comparingDouble(Candidate::similarity).reversed();
+    private static final Comparator<Candidate> FARTHEST_FIRST =
+            Comparator.comparingDouble(Candidate::similarity);
+
+    /**
+     * Inserts a vector, replacing any previous vector with the same id.
+     * Zero vectors are ignored since they have no direction.
+     */
+    public void add(long id, float[] vector) {
+        add(id, EmbeddingVector.wrap(vector));
+    }
+
+    /**
+     * Inserts a dense or sparse vector, replacing any previous vector with the same id.
+     */
+    public void add(long id, EmbeddingVector vector) {
+        EmbeddingVector normalized = normalize(vector);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (normalized == null) {
+                return;
+            }
+            int level = randomLevel();
+            int index = nodes.size();
+            Node node = new Node(id, normalized, level, m, maxNeighborsLevel0);
+            nodes.add(node);
+            nodeById.put(id, index);
+            liveCount++;
+
+            if (entryPoint < 0) {
+                entryPoint = index;
+                maxLevel = level;
+                return;
+            }
+
+            int current = entryPoint;
+            double currentSimilarity = similarity(normalized, nodes.get(current).vector);
+            for (int l = maxLevel; l > level; l--) {
+                Candidate closest = greedyClosest(normalized, current, currentSimilarity, l);
+                current = closest.node();
+                currentSimilarity = closest.similarity();
+            }
+
+            List<Candidate> entryPoints = List.of(new Candidate(current, currentSimilarity));
+            for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+                List<Candidate> candidates = searchLayer(normalized, entryPoints, efConstruction, l);
+                List<Candidate> selected = selectNeighbors(candidates, m);
+                for (Candidate neighbor : selected) {
+                    link(index, neighbor.node(), l);
+                    link(neighbor.node(), index, l);
+                }
+                entryPoints = candidates;
+            }
+
+            if (level > maxLevel) {
+                maxLevel = level;
+                entryPoint = index;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the vector with the given id as removed.
+     *
+     * @return true if a live vector was removed
+     */
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to k nearest live neighbours, most similar first.
+     *
+     * @param ef Candidate list size; larger values trade speed for recall
+     */
+    public List<Neighbor> search(float[] query, int k, int ef) {
+        return search(EmbeddingVector.wrap(query), k, ef);
+    }
+
+    public List<Neighbor> search(EmbeddingVector query, int k, int ef) {
+        EmbeddingVector normalized = normalize(query);
+        if (normalized == null || k <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return searchLocked(normalized, k, ef);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns all live neighbours with similarity at or above the threshold,
+     * most similar first. Widens the kNN search until the farthest result
+     * drops below the threshold, so cost tracks the size of the result.
+     */
+    public List<Neighbor> searchRange(float[] query, double minSimilarity, int ef) {
+        return searchRange(EmbeddingVector.wrap(query), minSimilarity, ef);
+    }
+
+    public List<Neighbor> searchRange(EmbeddingVector query, double minSimilarity, int ef) {
+        EmbeddingVector normalized = normalize(query);
+        if (normalized == null) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int k = Math.min(RANGE_SEARCH_INITIAL_K, liveCount);
+            while (k > 0) {
+                List<Neighbor> results = searchLocked(normalized, k, Math.max(ef, k));
+                boolean exhausted = results.size() < k || k >= liveCount;
+                if (exhausted || results.get(results.size() - 1).similarity() < minSimilarity) {
+                    return results.stream()
+                            .filter(n -> n.similarity() >= minSimilarity)
+                            .toList();
+                }
+                k = Math.min(k * 2, liveCount);
+            }
+            return List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return nodeById.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of live (not removed) vectors.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Fraction of graph nodes that are tombstones. They still cost memory and
+     * are still walked by searches.
+     */
+    public double deletedFraction() {
+        lock.readLock().lock();
+        try {
+            return nodes.isEmpty() ? 0.0 : (double) (nodes.size() - liveCount) / nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean removeLocked(long id) {
+        Integer index = nodeById.remove(id);
+        if (index == null) {
+            return false;
+        }
+        nodes.get(index).deleted = true;
+        liveCount--;
+        return true;
+    }
+
+    private List<Neighbor> searchLocked(EmbeddingVector query, int k, int ef) {
+        if (entryPoint < 0 || liveCount == 0) {
+            return List.of();
+        }
+        int current = entryPoint;
+        double currentSimilarity = similarity(query, nodes.get(current).vector);
+        for (int l = maxLevel; l > 0; l--) {
+            Candidate closest = greedyClosest(query, current, currentSimilarity, l);
+            current = closest.node();
+            currentSimilarity = closest.similarity();
+        }
+
+        List<Candidate> candidates = searchLayer(query,
+                List.of(new Candidate(current, currentSimilarity)), Math.max(ef, k), 0);
+        List<Neighbor> results = new ArrayList<>(Math.min(k, candidates.size()));
+        for (Candidate candidate : candidates) {
+            Node node = nodes.get(candidate.node());
+            if (!node.deleted) {
+                results.add(new Neighbor(node.id, candidate.similarity()));
+                if (results.size() == k) {
+                    break;
+                }
+            }
+        }
+        return results;
+    }
+
+    private Candidate greedyClosest(EmbeddingVector query, int start, double startSimilarity, int level) {
+        int current = start;
+        double best = startSimilarity;
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            Node node = nodes.get(current);
+            int[] neighbors = node.neighbors[level];
+            for (int i = 0; i < node.neighborCounts[level]; i++) {
+                double similarity = similarity(query, nodes.get(neighbors[i]).vector);
+                if (similarity > best) {
+                    best = similarity;
+                    current = neighbors[i];
+                    improved = true;
+                }
+            }
+        }
+        return new Candidate(current, best);
+    }
+
+    /**
+     * Best-first search on one layer. Returns up to ef candidates, most similar first.
+     * Removed nodes are included so callers can still route through them.
+     */
+    private List<Candidate> searchLayer(EmbeddingVector query, List<Candidate> entryPoints, int ef, int level) {
+        boolean[] visited = new boolean[nodes.size()];
+        PriorityQueue<Candidate> frontier = new PriorityQueue<>(CLOSEST_FIRST);
+        PriorityQueue<Candidate> results = new PriorityQueue<>(FARTHEST_FIRST);
+        for (Candidate entry : entryPoints) {
+            if (!visited[entry.node()]) {
+                visited[entry.node()] = true;
+                frontier.add(entry);
+                results.add(entry);
+            }
+        }
+        while (results.size() > ef) {
+            results.poll();
+        }
+
+        while (!frontier.isEmpty()) {
+            Candidate closest = frontier.poll();
+            if (results.size() >= ef && closest.similarity() < results.peek().similarity()) {
+                break;
+            }
+            Node node = nodes.get(closest.node());
+            int[] neighbors = node.neighbors[level];
+            for (int i = 0; i < node.neighborCounts[level]; i++) {
+                int neighbor = neighbors[i];
+                if (visited[neighbor]) {
+                    continue;
+                }
+                visited[neighbor] = true;
+                double similarity = similarity(query, nodes.get(neighbor).vector);
+                if (results.size() < ef || similarity > results.peek().similarity()) {
+                    Candidate candidate = new Candidate(neighbor, similarity);
+                    frontier.add(candidate);
+                    results.add(candidate);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+
+        Candidate[] ordered = results.toArray(new Candidate[0]);
+        Arrays.sort(ordered, CLOSEST_FIRST);
+        return Arrays.asList(ordered);
+    }
+
+    /**
+     * Neighbour selection heuristic: keep a candidate only if it is closer to the
+     * new node than to any neighbour already selected. This keeps links spread
+     * across clusters and matters for recall on clustered data such as questions.
+     */
+    private List<Candidate> selectNeighbors(List<Candidate> candidates, int count) {
+        List<Candidate> selected = new ArrayList<>(count);
+        for (Candidate candidate : candidates) {
+            if (selected.size() >= count) {
+                break;
+            }
+            EmbeddingVector vector = nodes.get(candidate.node()).vector;
+            boolean keep = true;
+            for (Candidate chosen : selected) {
+                if (similarity(vector, nodes.get(chosen.node()).vector) > candidate.similarity()) {
+                    keep = false;
+                    break;
+                }
+            }
+            if (keep) {
+                selected.add(candidate);
+            }
+        }
+        return selected;
+    }
+
+    private void link(int from, int to, int level) {
+        Node node = nodes.get(from);
+        int[] neighbors = node.neighbors[level];
+        int count = node.neighborCounts[level];
+        for (int i = 0; i < count; i++) {
+            if (neighbors[i] == to) {
+                return;
+            }
+        }
+        neighbors[count] = to;
+        count++;
+        int max = level == 0 ? maxNeighborsLevel0 : m;
+        if (count > max) {
+            List<Candidate> candidates = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                candidates.add(new Candidate(neighbors[i], similarity(node.vector, nodes.get(neighbors[i]).vector)));
+            }
+            candidates.sort(CLOSEST_FIRST);
+            List<Candidate> kept = selectNeighbors(candidates, max);
+            count = kept.size();
+            for (int i = 0; i < count; i++) {
+                neighbors[i] = kept.get(i).node();
+            }
+        }
+        node.neighborCounts[level] = count;
+    }
+
+    private int randomLevel() {
+        double uniform = 1.0 - random.nextDouble();
+        return (int) Math.floor(-Math.log(uniform) * levelMultiplier);
+    }
+
+    private static double similarity(EmbeddingVector a, EmbeddingVector b) {
+        return VectorUtils.dot(a, b);
+    }
+
+    private static EmbeddingVector normalize(EmbeddingVector vector) {
+        double norm = Math.sqrt(VectorUtils.squaredNorm(vector));
+        if (norm == 0.0) {
+            return null;
+        }
+        float[] components = vector.isSparse() ? vector.sparseValues() : vector.values();
+        float[] normalized = new float[components.length];
+        for (int i = 0; i < components.length; i++) {
+            normalized[i] = (float) (components[i] / norm);
+        }
+        return vector.isSparse()
+                ? EmbeddingVector.sparse(vector.dimension(), vector.sparseIndices(), normalized)
+                : EmbeddingVector.wrap(normalized);
+    }
+}
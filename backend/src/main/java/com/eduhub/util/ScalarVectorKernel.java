@@ -0,0 +1,66 @@
+package com.eduhub.util;
+
+/**
+ * Portable scalar kernels with double accumulation.
+ * Used when the jdk.incubator.vector module is not available.
+ */
+final class ScalarVectorKernel implements VectorKernel {
+
+    @Override
+    public double dot(float[] a, float[] b) {
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            sum += (double) a[i] * b[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public double squaredL2(float[] a, float[] b) {
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            double diff = (double) a[i] - b[i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    @Override
+    public double cosine(float[] a, float[] b) {
+        double dotProduct = 0.0;
+        double normA = 0.0;
+        double normB = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            double x = a[i];
+            double y = b[i];
+            dotProduct += x * y;
+            normA += x * x;
+            normB += y * y;
+        }
+        return VectorUtils.cosineFromParts(dotProduct, normA, normB);
+    }
+
+    @Override
+    public void cosineMany(float[] query, float[][] candidates, double[] out) {
+        double queryNorm = 0.0;
+        for (float v : query) {
+            queryNorm += (double) v * v;
+        }
+        for (int c = 0; c < candidates.length; c++) {
+            float[] candidate = candidates[c];
+            double dotProduct = 0.0;
+            double norm = 0.0;
+            for (int i = 0; i < query.length; i++) {
+                double y = candidate[i];
+                dotProduct += query[i] * y;
+                norm += y * y;
+            }
+            out[c] = VectorUtils.cosineFromParts(dotProduct, queryNorm, norm);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
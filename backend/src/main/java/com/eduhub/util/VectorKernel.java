@@ -0,0 +1,25 @@
+package com.eduhub.util;
+
+/**
+ * Primitive-array kernels behind VectorUtils.
+ * Implementations must agree with ScalarVectorKernel within VectorUtils.KERNEL_EPSILON.
+ */
+interface VectorKernel {
+
+    double dot(float[] a, float[] b);
+
+    double squaredL2(float[] a, float[] b);
+
+    /**
+     * Cosine similarity computed in a single pass over both arrays.
+     * Returns 0.0 if either vector has zero magnitude.
+     */
+    double cosine(float[] a, float[] b);
+
+    /**
+     * One-vs-many cosine similarity. The query norm is computed once.
+     */
+    void cosineMany(float[] query, float[][] candidates, double[] out);
+
+    String name();
+}
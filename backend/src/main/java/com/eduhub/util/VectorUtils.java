@@ -1,79 +1,219 @@
 package com.eduhub.util;
 
-import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.eduhub.model.types.EmbeddingVector;
 
 /**
  * Utility class for vector operations, specifically for semantic similarity calculations.
+ *
+ * The primitive-array kernels use SIMD instructions through the incubating Vector API
+ * when the backend was built with the {@code simd} profile and the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}, and fall back to scalar loops otherwise.
+ * Both paths agree within {@link #KERNEL_EPSILON}. Set the system property
+ * {@code eduhub.vector.simd=false} to force the scalar path.
+ *
+ * The EmbeddingVector methods also accept sparse vectors: two sparse vectors are
+ * compared by merging their sorted indices, a sparse and a dense one by gathering
+ * the dense components at the sparse indices, so the cost follows the number of
+ * non-zero components rather than the dimension.
  */
 public class VectorUtils {
 
+    private static final Logger logger = LoggerFactory.getLogger(VectorUtils.class);
+
+    /**
+     * Maximum absolute difference between SIMD and scalar results for cosine similarity
+     * of unit-scale vectors (SIMD lanes accumulate in float, scalar code in double).
+     */
+    public static final double KERNEL_EPSILON = 1e-5;
+
+    private static final String SIMD_KERNEL_CLASS = "com.eduhub.util.SimdVectorKernel";
+
+    private static final VectorKernel KERNEL = loadKernel();
+
+    private static VectorKernel loadKernel() {
+        boolean simdEnabled = Boolean.parseBoolean(System.getProperty("eduhub.vector.simd", "true"));
+        VectorKernel kernel = simdEnabled ? simdKernel() : null;
+        if (kernel != null) {
+            logger.info("Using {} vector kernels", kernel.name());
+            return kernel;
+        }
+        return new ScalarVectorKernel();
+    }
+
+    /**
+     * Returns the SIMD kernel, or null if the build did not include it (simd
+     * profile) or the JVM was started without the incubator module.
+     */
+    static VectorKernel simdKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (VectorKernel) Class.forName(SIMD_KERNEL_CLASS)
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            logger.warn("SIMD vector kernels unavailable, falling back to scalar: {}", e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Name of the active kernel implementation, e.g. "simd-256bit" or "scalar".
+     */
+    public static String kernelName() {
+        return KERNEL.name();
+    }
+
     /**
      * Calculate cosine similarity between two vectors.
      * Cosine similarity = (A · B) / (||A|| * ||B||)
-     * 
+     *
      * @param vectorA First vector
      * @param vectorB Second vector
      * @return Cosine similarity score between -1 and 1 (typically 0 to 1 for normalized vectors)
      * @throws IllegalArgumentException if vectors have different dimensions or are null/empty
      */
-    public static double cosineSimilarity(List<Double> vectorA, List<Double> vectorB) {
+    public static double cosineSimilarity(EmbeddingVector vectorA, EmbeddingVector vectorB) {
         if (vectorA == null || vectorB == null) {
             throw new IllegalArgumentException("Vectors cannot be null");
         }
-        
+
         if (vectorA.isEmpty() || vectorB.isEmpty()) {
             throw new IllegalArgumentException("Vectors cannot be empty");
         }
-        
-        if (vectorA.size() != vectorB.size()) {
+
+        if (vectorA.dimension() != vectorB.dimension()) {
             throw new IllegalArgumentException(
-                String.format("Vectors must have the same dimension. Got %d and %d", 
-                    vectorA.size(), vectorB.size())
+                String.format("Vectors must have the same dimension. Got %d and %d",
+                    vectorA.dimension(), vectorB.dimension())
             );
         }
 
-        double dotProduct = 0.0;
-        double normA = 0.0;
-        double normB = 0.0;
+        if (!vectorA.isSparse() && !vectorB.isSparse()) {
+            return KERNEL.cosine(vectorA.values(), vectorB.values());
+        }
+        return cosineFromParts(dot(vectorA, vectorB), squaredNorm(vectorA), squaredNorm(vectorB));
+    }
 
-        for (int i = 0; i < vectorA.size(); i++) {
-            double a = vectorA.get(i);
-            double b = vectorB.get(i);
-            
-            dotProduct += a * b;
-            normA += a * a;
-            normB += b * b;
+    /**
+     * Dot product of two vectors of the same dimension, dense or sparse.
+     * Dimensions are not checked.
+     */
+    public static double dot(EmbeddingVector vectorA, EmbeddingVector vectorB) {
+        if (vectorA.isSparse() && vectorB.isSparse()) {
+            return sparseDot(vectorA.sparseIndices(), vectorA.sparseValues(),
+                    vectorB.sparseIndices(), vectorB.sparseValues());
+        }
+        if (vectorA.isSparse()) {
+            return sparseDenseDot(vectorA.sparseIndices(), vectorA.sparseValues(), vectorB.values());
         }
+        if (vectorB.isSparse()) {
+            return sparseDenseDot(vectorB.sparseIndices(), vectorB.sparseValues(), vectorA.values());
+        }
+        return KERNEL.dot(vectorA.values(), vectorB.values());
+    }
 
-        normA = Math.sqrt(normA);
-        normB = Math.sqrt(normB);
+    /**
+     * Sum of the squared components of a dense or sparse vector.
+     */
+    public static double squaredNorm(EmbeddingVector vector) {
+        if (!vector.isSparse()) {
+            return KERNEL.dot(vector.values(), vector.values());
+        }
+        double sum = 0.0;
+        for (float v : vector.sparseValues()) {
+            sum += (double) v * v;
+        }
+        return sum;
+    }
 
-        // Avoid division by zero
-        if (normA == 0.0 || normB == 0.0) {
-            return 0.0;
+    /**
+     * Dot product of two sparse vectors given as sorted indices and values.
+     * Walks both index arrays once, like a merge.
+     */
+    public static double sparseDot(int[] indicesA, float[] valuesA, int[] indicesB, float[] valuesB) {
+        double sum = 0.0;
+        int i = 0;
+        int j = 0;
+        while (i < indicesA.length && j < indicesB.length) {
+            int a = indicesA[i];
+            int b = indicesB[j];
+            if (a == b) {
+                sum += (double) valuesA[i++] * valuesB[j++];
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
         }
+        return sum;
+    }
 
-        return dotProduct / (normA * normB);
+    /**
+     * Dot product of a sparse vector, given as indices and values, with a dense array.
+     */
+    public static double sparseDenseDot(int[] indices, float[] values, float[] dense) {
+        double sum = 0.0;
+        for (int i = 0; i < indices.length; i++) {
+            sum += (double) values[i] * dense[indices[i]];
+        }
+        return sum;
+    }
+
+    /**
+     * Cosine similarity on primitive arrays. Arrays must have the same length;
+     * no further validation is done since this sits in the innermost grouping loop.
+     */
+    public static double cosineSimilarity(float[] vectorA, float[] vectorB) {
+        return KERNEL.cosine(vectorA, vectorB);
+    }
+
+    /**
+     * Dot product of two arrays of the same length.
+     */
+    public static double dot(float[] vectorA, float[] vectorB) {
+        return KERNEL.dot(vectorA, vectorB);
+    }
+
+    /**
+     * Squared Euclidean distance of two arrays of the same length.
+     */
+    public static double squaredL2Distance(float[] vectorA, float[] vectorB) {
+        return KERNEL.squaredL2(vectorA, vectorB);
+    }
+
+    /**
+     * Cosine similarity of one query against many candidates.
+     * Writes one score per candidate into {@code out}, which must be at least
+     * {@code candidates.length} long.
+     */
+    public static void cosineSimilarities(float[] query, float[][] candidates, double[] out) {
+        if (out.length < candidates.length) {
+            throw new IllegalArgumentException("Output array is shorter than the candidate list");
+        }
+        KERNEL.cosineMany(query, candidates, out);
     }
 
     /**
      * Check if a vector is normalized (has magnitude of 1).
      * Useful for verifying embedding vectors from the embedding service.
-     * 
+     *
      * @param vector The vector to check
      * @param tolerance Tolerance for floating-point comparison (e.g., 1e-6)
      * @return true if the vector is normalized within the tolerance
      */
-    public static boolean isNormalized(List<Double> vector, double tolerance) {
+    public static boolean isNormalized(EmbeddingVector vector, double tolerance) {
         if (vector == null || vector.isEmpty()) {
             return false;
         }
 
-        double magnitude = 0.0;
-        for (Double value : vector) {
-            magnitude += value * value;
-        }
-        magnitude = Math.sqrt(magnitude);
+        double magnitude = Math.sqrt(squaredNorm(vector));
 
         return Math.abs(magnitude - 1.0) < tolerance;
     }
@@ -81,26 +221,37 @@ public class VectorUtils {
     /**
      * Calculate the Euclidean distance between two vectors.
      * This can be used as an alternative similarity metric.
-     * 
+     *
      * @param vectorA First vector
      * @param vectorB Second vector
      * @return Euclidean distance
      */
-    public static double euclideanDistance(List<Double> vectorA, List<Double> vectorB) {
+    public static double euclideanDistance(EmbeddingVector vectorA, EmbeddingVector vectorB) {
         if (vectorA == null || vectorB == null) {
             throw new IllegalArgumentException("Vectors cannot be null");
         }
-        
-        if (vectorA.size() != vectorB.size()) {
+
+        if (vectorA.dimension() != vectorB.dimension()) {
             throw new IllegalArgumentException("Vectors must have the same dimension");
         }
 
-        double sum = 0.0;
-        for (int i = 0; i < vectorA.size(); i++) {
-            double diff = vectorA.get(i) - vectorB.get(i);
-            sum += diff * diff;
+        if (!vectorA.isSparse() && !vectorB.isSparse()) {
+            return Math.sqrt(KERNEL.squaredL2(vectorA.values(), vectorB.values()));
         }
+        // |a - b|^2 = |a|^2 + |b|^2 - 2 a.b
+        double squared = squaredNorm(vectorA) + squaredNorm(vectorB) - 2 * dot(vectorA, vectorB);
+        return Math.sqrt(Math.max(0.0, squared));
+    }
+
+    static double cosineFromParts(double dotProduct, double squaredNormA, double squaredNormB) {
+        double normA = Math.sqrt(squaredNormA);
+        double normB = Math.sqrt(squaredNormB);
 
-        return Math.sqrt(sum);
+        // Avoid division by zero
+        if (normA == 0.0 || normB == 0.0) {
+            return 0.0;
+        }
+
+        return dotProduct / (normA * normB);
     }
 }
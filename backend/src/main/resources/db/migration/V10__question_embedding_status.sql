@@ -0,0 +1,6 @@
+-- Embedding state of a question (QuestionEmbeddingQueue). Existing rows stay NULL;
+-- the backfill marks them READY as it embeds them.
+ALTER TABLE questions ADD COLUMN IF NOT EXISTS embedding_status varchar(16);
+
+CREATE INDEX IF NOT EXISTS idx_questions_embedding_pending
+ON questions (id) WHERE embedding_status = 'PENDING';
@@ -0,0 +1,8 @@
+-- Persistent tier of CachingEmbeddingService (app.ai.embedding-cache.persistent=true).
+-- content_hash is the hex SHA-256 of the cache namespace and the normalized text;
+-- embedding holds the vector in pgvector's binary form.
+CREATE TABLE IF NOT EXISTS embedding_cache (
+    content_hash varchar(64)  PRIMARY KEY,
+    embedding    bytea        NOT NULL,
+    created_at   timestamp(6) NOT NULL
+);
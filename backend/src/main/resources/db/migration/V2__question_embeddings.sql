@@ -0,0 +1,20 @@
+-- Move embeddings out of the questions table so listing questions no longer reads vectors.
+-- Run after the application has created question_embeddings (ddl-auto=update) or standalone.
+CREATE TABLE IF NOT EXISTS question_embeddings (
+    question_id BIGINT PRIMARY KEY REFERENCES questions(id) ON DELETE CASCADE,
+    embedding vector(1536) NOT NULL
+);
+
+INSERT INTO question_embeddings (question_id, embedding)
+SELECT id, embedding FROM questions WHERE embedding IS NOT NULL
+ON CONFLICT (question_id) DO NOTHING;
+
+-- IVFFlat index for fast cosine similarity searches (replaces questions_embedding_idx)
+-- Tune 'lists' based on dataset size: lists ≈ sqrt(total_rows), default 100 for <10k rows
+CREATE INDEX IF NOT EXISTS question_embeddings_embedding_idx
+ON question_embeddings
+USING ivfflat (embedding vector_cosine_ops)
+WITH (lists = 100);
+
+DROP INDEX IF EXISTS questions_embedding_idx;
+ALTER TABLE questions DROP COLUMN IF EXISTS embedding;
@@ -0,0 +1,16 @@
+-- Denormalized answer counters on questions, maintained by AnswerService.
+ALTER TABLE questions ADD COLUMN IF NOT EXISTS answer_count integer NOT NULL DEFAULT 0;
+ALTER TABLE questions ADD COLUMN IF NOT EXISTS verified_answer_count integer NOT NULL DEFAULT 0;
+
+UPDATE questions q SET
+    answer_count = c.total,
+    verified_answer_count = c.verified
+FROM (
+    SELECT question_id, COUNT(*) AS total, COUNT(*) FILTER (WHERE verified) AS verified
+    FROM answers
+    GROUP BY question_id
+) c
+WHERE q.id = c.question_id;
+
+CREATE INDEX IF NOT EXISTS idx_questions_course_answer_counts
+ON questions (course_id, answer_count, verified_answer_count);
@@ -0,0 +1,4 @@
+-- Composite index for keyset pagination of course question feeds,
+-- ordered by (created_at, id) descending.
+CREATE INDEX IF NOT EXISTS idx_questions_course_created
+ON questions (course_id, created_at, id);
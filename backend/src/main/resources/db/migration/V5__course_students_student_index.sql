@@ -0,0 +1,4 @@
+-- Student-side index on the enrollment join table, used to list a student's
+-- courses without scanning every enrollment.
+CREATE INDEX IF NOT EXISTS idx_course_students_student
+ON course_students (student_id, course_id);
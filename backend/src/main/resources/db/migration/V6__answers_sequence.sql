@@ -0,0 +1,6 @@
+-- Answer ids move from IDENTITY to a pooled sequence (allocation size 50) so
+-- batch answers can use JDBC batch inserts. The sequence starts past the
+-- highest existing id; Hibernate hands out ids (value - 49) .. value.
+CREATE SEQUENCE IF NOT EXISTS answers_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('answers_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM answers), 1));
@@ -0,0 +1,17 @@
+-- Transactional outbox for course notifications, dispatched by
+-- NotificationOutboxDispatcher with FOR UPDATE SKIP LOCKED.
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id              bigserial PRIMARY KEY,
+    event_type      varchar(50)   NOT NULL,
+    course_id       integer       NOT NULL,
+    message         varchar(2000) NOT NULL,
+    status          varchar(16)   NOT NULL,
+    attempts        integer       NOT NULL DEFAULT 0,
+    last_error      varchar(1000),
+    next_attempt_at timestamp(6)  NOT NULL,
+    created_at      timestamp(6)  NOT NULL,
+    processed_at    timestamp(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_pending
+ON notification_outbox (status, next_attempt_at, id);
@@ -0,0 +1,13 @@
+-- Per-course change log for delta sync (GET /api/courses/{id}/changes).
+-- The id is the client's cursor; deletes are kept as tombstones.
+CREATE TABLE IF NOT EXISTS course_changes (
+    id          bigserial PRIMARY KEY,
+    course_id   integer      NOT NULL,
+    entity_type varchar(16)  NOT NULL,
+    entity_id   bigint       NOT NULL,
+    operation   varchar(8)   NOT NULL,
+    changed_at  timestamp(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_course_changes_course
+ON course_changes (course_id, id);
@@ -0,0 +1,9 @@
+-- Checkpoints of resumable backfills (EmbeddingBackfillService).
+CREATE TABLE IF NOT EXISTS backfill_checkpoints (
+    name       varchar(64)  PRIMARY KEY,
+    last_id    bigint       NOT NULL DEFAULT 0,
+    processed  bigint       NOT NULL DEFAULT 0,
+    failed     bigint       NOT NULL DEFAULT 0,
+    updated_at timestamp(6),
+    version    bigint       NOT NULL DEFAULT 0
+);
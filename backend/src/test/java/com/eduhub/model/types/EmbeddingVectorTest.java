@@ -0,0 +1,160 @@
+package com.eduhub.model.types;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import org.junit.jupiter.api.Test;
+
+import com.eduhub.util.AllocationCounter;
+
+class EmbeddingVectorTest {
+
+    private static final int DIMENSION = 1536;
+    private static final int COURSE_SIZE = 5000;
+
+    @Test
+    void testEqualsAndHashCode() {
+        EmbeddingVector a = EmbeddingVector.of(1.0f, 2.0f, 3.0f);
+        EmbeddingVector b = EmbeddingVector.of(1.0f, 2.0f, 3.0f);
+        EmbeddingVector c = EmbeddingVector.of(1.0f, 2.0f, 4.0f);
+
+        assertEquals(a, b, "Vectors with the same components should be equal");
+        assertEquals(a.hashCode(), b.hashCode(), "Equal vectors should have the same hash code");
+        assertNotEquals(a, c, "Vectors with different components should not be equal");
+    }
+
+    @Test
+    void testToArrayReturnsCopy() {
+        EmbeddingVector vector = EmbeddingVector.of(1.0f, 2.0f);
+
+        float[] copy = vector.toArray();
+        copy[0] = 42.0f;
+
+        assertNotSame(vector.values(), copy, "toArray should not expose the backing array");
+        assertEquals(1.0f, vector.get(0), "Modifying the copy should not change the vector");
+    }
+
+    @Test
+    void testOfCopiesInput() {
+        float[] values = {1.0f, 2.0f};
+        EmbeddingVector vector = EmbeddingVector.of(values);
+
+        values[0] = 42.0f;
+
+        assertEquals(1.0f, vector.get(0), "Changing the source array should not change the vector");
+    }
+
+    @Test
+    void testZeros() {
+        EmbeddingVector vector = EmbeddingVector.zeros(DIMENSION);
+
+        assertEquals(DIMENSION, vector.dimension());
+        for (float v : vector.values()) {
+            assertEquals(0.0f, v);
+        }
+    }
+
+    @Test
+    void testCompact_SparseWhenMostlyZero() {
+        float[] values = new float[DIMENSION];
+        values[3] = 0.5f;
+        values[700] = -0.25f;
+        EmbeddingVector dense = EmbeddingVector.wrap(values);
+
+        EmbeddingVector sparse = EmbeddingVector.compact(dense);
+
+        assertTrue(sparse.isSparse());
+        assertEquals(DIMENSION, sparse.dimension());
+        assertEquals(2, sparse.nonZeroCount());
+        assertArrayEquals(new int[] { 3, 700 }, sparse.sparseIndices());
+        assertEquals(-0.25f, sparse.get(700));
+        assertEquals(0.0f, sparse.get(4));
+        assertArrayEquals(values, sparse.values());
+        assertEquals(dense, sparse);
+        assertEquals(dense.hashCode(), sparse.hashCode());
+        assertSame(sparse, EmbeddingVector.compact(sparse));
+    }
+
+    @Test
+    void testCompact_KeepsModelEmbeddingsDense() {
+        EmbeddingVector dense = EmbeddingVector.wrap(randomVectors(1)[0]);
+
+        assertSame(dense, EmbeddingVector.compact(dense));
+
+        EmbeddingVector crowded = EmbeddingVector.sparse(4, new int[] { 0, 1, 2 }, new float[] { 1f, 2f, 3f });
+        EmbeddingVector expanded = EmbeddingVector.compact(crowded);
+        assertFalse(expanded.isSparse());
+        assertArrayEquals(new float[] { 1f, 2f, 3f, 0f }, expanded.values());
+    }
+
+    @Test
+    void testSparse_RejectsUnsortedIndices() {
+        assertThrows(IllegalArgumentException.class,
+                () -> EmbeddingVector.sparse(10, new int[] { 4, 2 }, new float[] { 1f, 1f }));
+        assertThrows(IllegalArgumentException.class,
+                () -> EmbeddingVector.sparse(10, new int[] { 10 }, new float[] { 1f }));
+        assertThrows(IllegalStateException.class, () -> EmbeddingVector.of(1f).sparseIndices());
+    }
+
+    /**
+     * Per-vector representation check only: builds a 5k-question course worth
+     * of embeddings as List<Double> and as EmbeddingVector and compares the
+     * bytes allocated by the current thread. It does not measure the heap
+     * retained by an actual getGroupedQuestions load, which also holds
+     * questions, DTOs and the index.
+     */
+    @Test
+    void testPerVectorRepresentation_AllocatesFarLessThanBoxedList() {
+        com.sun.management.ThreadMXBean threadBean = AllocationCounter.threadBean();
+        assumeTrue(threadBean != null, "Thread allocation counting not supported on this JVM");
+
+        float[][] source = randomVectors(COURSE_SIZE);
+
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        List<List<Double>> boxed = new ArrayList<>(COURSE_SIZE);
+        for (float[] values : source) {
+            List<Double> list = new ArrayList<>(DIMENSION);
+            for (float v : values) {
+                list.add((double) v);
+            }
+            boxed.add(list);
+        }
+        long boxedBytes = threadBean.getCurrentThreadAllocatedBytes() - before;
+
+        before = threadBean.getCurrentThreadAllocatedBytes();
+        List<EmbeddingVector> compact = new ArrayList<>(COURSE_SIZE);
+        for (float[] values : source) {
+            compact.add(EmbeddingVector.wrap(values.clone()));
+        }
+        long compactBytes = threadBean.getCurrentThreadAllocatedBytes() - before;
+
+        assertEquals(boxed.size(), compact.size());
+        long perVector = compactBytes / COURSE_SIZE;
+        assertTrue(perVector <= DIMENSION * Float.BYTES + 128,
+                "Expected ~" + DIMENSION * Float.BYTES + " bytes per embedding, got " + perVector);
+        assertTrue(boxedBytes >= 4 * compactBytes,
+                "Expected at least 4x less heap than List<Double>: boxed=" + boxedBytes
+                        + " compact=" + compactBytes);
+    }
+
+    private static float[][] randomVectors(int count) {
+        Random random = new Random(42);
+        float[][] vectors = new float[count][DIMENSION];
+        for (float[] vector : vectors) {
+            for (int i = 0; i < DIMENSION; i++) {
+                vector[i] = random.nextFloat() * 2 - 1;
+            }
+        }
+        return vectors;
+    }
+}
@@ -0,0 +1,81 @@
+package com.eduhub.model.types;
+
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.postgresql.util.PGbytea;
+
+/**
+ * Per-row decode cost of a 1536-dimension embedding: the previous
+ * replace/split/parse text path, the single-pass text parser, and the
+ * binary form including the driver's bytea hex decoding. Excluded from
+ * the default build; run with {@code mvn test -Dtest.excludedGroups= -Dgroups=benchmark}.
+ */
+@Tag("benchmark")
+class VectorCodecBenchmarkTest {
+
+    private static final int DIMENSION = 1536;
+    private static final int ROWS = 2000;
+    private static final int ROUNDS = 5;
+
+    @Test
+    void benchmarkDecode() throws Exception {
+        Random random = new Random(1);
+        String[] text = new String[ROWS];
+        byte[][] hex = new byte[ROWS][];
+        for (int row = 0; row < ROWS; row++) {
+            float[] values = new float[DIMENSION];
+            for (int i = 0; i < DIMENSION; i++) {
+                values[i] = random.nextFloat() * 2 - 1;
+            }
+            EmbeddingVector vector = EmbeddingVector.of(values);
+            text[row] = VectorCodec.toText(vector);
+            hex[row] = PGbytea.toPGString(VectorCodec.encodeBinary(vector)).getBytes();
+        }
+
+        double split = measure(text, VectorCodecBenchmarkTest::splitParse);
+        double singlePass = measure(text, VectorCodec::parseText);
+        double binary = measure(hex, bytes -> {
+            try {
+                return VectorCodec.decode(PGbytea.toBytes(bytes));
+            } catch (java.sql.SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        System.out.printf("decode/%d dims: split %.0f ns/row, single-pass text %.0f ns/row, "
+                + "binary %.0f ns/row (%.1fx faster than split)%n",
+                DIMENSION, split, singlePass, binary, split / binary);
+    }
+
+    /**
+     * The text parsing VectorType used before reading the binary form.
+     */
+    private static EmbeddingVector splitParse(String vectorString) {
+        String cleaned = vectorString.replace("[", "").replace("]", "").trim();
+        String[] parts = cleaned.split(",");
+        float[] result = new float[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Float.parseFloat(parts[i].trim());
+        }
+        return EmbeddingVector.of(result);
+    }
+
+    private static <T> double measure(T[] rows, Function<T, EmbeddingVector> decoder) {
+        long sink = 0;
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (T row : rows) {
+                sink += decoder.apply(row).dimension();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (sink == 0) {
+            System.out.println(sink);
+        }
+        return (double) best / rows.length;
+    }
+}
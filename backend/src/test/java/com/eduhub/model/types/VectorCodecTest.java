@@ -0,0 +1,77 @@
+package com.eduhub.model.types;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+class VectorCodecTest {
+
+    private final EmbeddingVector vector = EmbeddingVector.of(1.0f, -2.5f, 0.125f, 3.4028235e38f);
+
+    @Test
+    void testBinaryRoundTrip() {
+        byte[] bytes = VectorCodec.encodeBinary(vector);
+
+        assertEquals(4 + 4 * Float.BYTES, bytes.length);
+        assertEquals(0, bytes[0]);
+        assertEquals(4, bytes[1], "Dimension is a big-endian int16");
+        assertEquals(vector, VectorCodec.decode(bytes));
+    }
+
+    @Test
+    void testBinaryLayoutMatchesPgvector() {
+        // vector_send('[1,2]') = \x0002 0000 3f800000 40000000
+        byte[] expected = {0, 2, 0, 0, 0x3f, (byte) 0x80, 0, 0, 0x40, 0, 0, 0};
+
+        assertArrayEquals(expected, VectorCodec.encodeBinary(EmbeddingVector.of(1.0f, 2.0f)));
+    }
+
+    @Test
+    void testTextFallback() {
+        byte[] text = "[1,-2.5, 0.125,3.4028235E38]".getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(vector, VectorCodec.decode(text));
+        assertEquals(vector, VectorCodec.parseText(VectorCodec.toText(vector)));
+    }
+
+    @Test
+    void testEmptyVector() {
+        assertEquals(0, VectorCodec.parseText("[]").dimension());
+        assertEquals(0, VectorCodec.decode(VectorCodec.encodeBinary(EmbeddingVector.zeros(0))).dimension());
+    }
+
+    @Test
+    void testTruncatedBinaryRejected() {
+        byte[] bytes = VectorCodec.encodeBinary(vector);
+        byte[] truncated = java.util.Arrays.copyOf(bytes, bytes.length - 1);
+
+        assertThrows(IllegalArgumentException.class, () -> VectorCodec.decode(truncated));
+    }
+
+    @Test
+    void testSparseBinaryRoundTrip() {
+        EmbeddingVector sparse = EmbeddingVector.sparse(1536, new int[] { 0, 17, 1535 }, new float[] { 0.5f, -1f, 2f });
+
+        byte[] bytes = VectorCodec.encodeBinary(sparse);
+        EmbeddingVector decoded = VectorCodec.decode(bytes);
+
+        // 12-byte header plus 8 bytes per non-zero component, against 6148 dense
+        assertEquals(12 + 3 * 8, bytes.length);
+        assertEquals(1536, decoded.dimension());
+        assertArrayEquals(sparse.sparseIndices(), decoded.sparseIndices());
+        assertArrayEquals(sparse.sparseValues(), decoded.sparseValues());
+    }
+
+    @Test
+    void testSparseBinaryLayoutMatchesPgvector() {
+        // sparsevec_send('{2:1}/3') = \x00000003 00000001 00000000 00000001 3f800000
+        byte[] bytes = VectorCodec.encodeBinary(EmbeddingVector.sparse(3, new int[] { 1 }, new float[] { 1f }));
+
+        assertArrayEquals(new byte[] { 0, 0, 0, 3, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 1, 0x3f, (byte) 0x80, 0, 0 }, bytes);
+        assertEquals(0, VectorCodec.decode(VectorCodec.encodeBinary(EmbeddingVector.sparse(1536, new int[0], new float[0])))
+                .nonZeroCount());
+    }
+}
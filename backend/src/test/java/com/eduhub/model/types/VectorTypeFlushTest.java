@@ -0,0 +1,148 @@
+package com.eduhub.model.types;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.eduhub.model.QuestionEmbedding;
+import com.eduhub.util.AllocationCounter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Flushes a session holding 1,000 loaded embeddings and counts what the
+ * flush allocates. With the immutable mapping Hibernate keeps the loaded
+ * vector as its snapshot and dirty-checks by reference, so the flush must
+ * cost far less than one copy of every embedding.
+ *
+ * H2 has no vector type, so the test creates question_embeddings itself and
+ * registers a vector_send function that returns pgvector's binary format,
+ * which keeps the read path the same as on PostgreSQL.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class VectorTypeFlushTest {
+
+    private static final int DIMENSION = 1536;
+    private static final int QUESTIONS = 1000;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = testEntityManager.getEntityManager();
+        entityManager.createNativeQuery("drop table if exists question_embeddings").executeUpdate();
+        entityManager.createNativeQuery(
+                "create table question_embeddings (question_id bigint primary key, embedding varchar(65536) not null)")
+                .executeUpdate();
+        entityManager.createNativeQuery("create alias if not exists vector_send for \""
+                + H2Functions.class.getName() + ".vectorSend\"").executeUpdate();
+
+        Random random = new Random(7);
+        for (long id = 1; id <= QUESTIONS; id++) {
+            float[] values = new float[DIMENSION];
+            for (int d = 0; d < DIMENSION; d++) {
+                values[d] = random.nextFloat() * 2 - 1;
+            }
+            entityManager.createNativeQuery("insert into question_embeddings (question_id, embedding) values (?, ?)")
+                    .setParameter(1, id)
+                    .setParameter(2, VectorCodec.toText(EmbeddingVector.wrap(values)))
+                    .executeUpdate();
+        }
+    }
+
+    /**
+     * Functions registered with H2; public so H2 can call them reflectively.
+     */
+    public static final class H2Functions {
+
+        /**
+         * Stands in for pgvector's vector_send.
+         */
+        public static byte[] vectorSend(String literal) {
+            return VectorCodec.encodeBinary(VectorCodec.parseText(literal));
+        }
+    }
+
+    @Test
+    void testFlushOfLoadedEmbeddings_AllocatesNoEmbeddingCopies() {
+        com.sun.management.ThreadMXBean threadBean = AllocationCounter.threadBean();
+        assumeTrue(threadBean != null, "Thread allocation counting not supported on this JVM");
+        Session session = entityManager.unwrap(Session.class);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Warm up so class loading and JIT do not count against the measurement
+        loadAll();
+        session.flush();
+        session.clear();
+
+        List<QuestionEmbedding> loaded = loadAll();
+        assertEquals(QUESTIONS, loaded.size());
+        assertFalse(loaded.get(0).getEmbedding().isSparse(), "Random embeddings stay dense");
+        for (QuestionEmbedding embedding : loaded) {
+            assertSame(embedding.getEmbedding(), loadedState(session, embedding),
+                    "The load-time snapshot should be the loaded vector itself, not a copy");
+        }
+        statistics.clear();
+
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        session.flush();
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - before;
+
+        assertEquals(0, statistics.getEntityUpdateCount(), "Unchanged embeddings should not be written");
+        long oneCopyOfEach = (long) QUESTIONS * DIMENSION * Float.BYTES;
+        assertTrue(allocated < oneCopyOfEach / 10,
+                "Expected the flush to allocate far less than a copy of every embedding ("
+                        + oneCopyOfEach + " bytes), got " + allocated + " bytes");
+    }
+
+    @Test
+    void testFlush_WritesOnlyReplacedEmbedding() {
+        Session session = entityManager.unwrap(Session.class);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<QuestionEmbedding> loaded = loadAll();
+        statistics.clear();
+
+        QuestionEmbedding changed = loaded.get(0);
+        changed.setEmbedding(EmbeddingVector.wrap(changed.getEmbedding().toArray()));
+        session.flush();
+
+        assertEquals(1, statistics.getEntityUpdateCount(),
+                "A newly set vector is written even with equal components");
+    }
+
+    private static Object loadedState(Session session, QuestionEmbedding embedding) {
+        EntityEntry entry = session.unwrap(SessionImplementor.class).getPersistenceContext().getEntry(embedding);
+        return entry.getLoadedState()[entry.getPersister().getEntityMetamodel().getPropertyIndex("embedding")];
+    }
+
+    private List<QuestionEmbedding> loadAll() {
+        return entityManager.createQuery("select e from QuestionEmbedding e", QuestionEmbedding.class)
+                .getResultList();
+    }
+}
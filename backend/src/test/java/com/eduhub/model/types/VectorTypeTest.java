@@ -0,0 +1,30 @@
+package com.eduhub.model.types;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class VectorTypeTest {
+
+    private final VectorType type = new VectorType();
+
+    @Test
+    void testImmutableMapping() {
+        EmbeddingVector vector = EmbeddingVector.of(1.0f, 2.0f);
+
+        assertFalse(type.isMutable());
+        assertSame(vector, type.deepCopy(vector));
+        assertSame(vector, type.assemble(type.disassemble(vector), null));
+    }
+
+    @Test
+    void testDirtyCheckIsByReference() {
+        EmbeddingVector loaded = EmbeddingVector.of(1.0f, 2.0f);
+
+        assertTrue(type.equals(loaded, loaded));
+        assertFalse(type.equals(loaded, EmbeddingVector.of(1.0f, 2.0f)),
+                "A newly set vector counts as a change even with equal components");
+        assertFalse(type.equals(loaded, null));
+    }
+}
@@ -0,0 +1,84 @@
+package com.eduhub.repository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.eduhub.dto.CourseSummaryDto;
+import com.eduhub.model.Course;
+import com.eduhub.model.Role;
+import com.eduhub.model.User;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class CourseRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Test
+    void testFindSummariesByStudentId_ReturnsOnlyEnrolledCourses() {
+        User professor = entityManager.persist(new User(null, "Prof", "Smith", "prof@example.com", "pass", Role.PROFESSOR));
+        User alice = entityManager.persist(new User(null, "Alice", "A", "alice@example.com", "pass", Role.STUDENT));
+        User bob = entityManager.persist(new User(null, "Bob", "B", "bob@example.com", "pass", Role.STUDENT));
+
+        Course databases = course("Databases", "DBS00001", professor);
+        databases.getStudents().add(alice);
+        databases.getStudents().add(bob);
+        Course algorithms = course("Algorithms", "ALG00001", professor);
+        algorithms.getStudents().add(alice);
+        Course networks = course("Networks", "NET00001", professor);
+        networks.getStudents().add(bob);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<CourseSummaryDto> courses = courseRepository.findSummariesByStudentId(alice.getId());
+
+        assertEquals(List.of("Algorithms", "Databases"), courses.stream().map(CourseSummaryDto::getName).toList());
+        assertEquals("ALG00001", courses.get(0).getCourseCode());
+        assertEquals(professor.getId(), courses.get(0).getProfessorId());
+        assertEquals("Prof Smith", courses.get(0).getProfessorName());
+    }
+
+    @Test
+    void testFindSummariesByStudentId_NoEnrollments() {
+        User student = entityManager.persist(new User(null, "Carol", "C", "carol@example.com", "pass", Role.STUDENT));
+        entityManager.flush();
+
+        assertTrue(courseRepository.findSummariesByStudentId(student.getId()).isEmpty());
+    }
+
+    @Test
+    void testIsMember_ProfessorAndEnrolledStudentsOnly() {
+        User professor = entityManager.persist(new User(null, "Prof", "Smith", "prof@example.com", "pass", Role.PROFESSOR));
+        User other = entityManager.persist(new User(null, "Prof", "Jones", "jones@example.com", "pass", Role.PROFESSOR));
+        User alice = entityManager.persist(new User(null, "Alice", "A", "alice@example.com", "pass", Role.STUDENT));
+        User bob = entityManager.persist(new User(null, "Bob", "B", "bob@example.com", "pass", Role.STUDENT));
+        Course databases = course("Databases", "DBS00001", professor);
+        databases.getStudents().add(alice);
+        entityManager.flush();
+
+        assertTrue(courseRepository.isMember(databases.getId(), professor.getId()));
+        assertTrue(courseRepository.isMember(databases.getId(), alice.getId()));
+        assertFalse(courseRepository.isMember(databases.getId(), bob.getId()));
+        assertFalse(courseRepository.isMember(databases.getId(), other.getId()));
+        assertFalse(courseRepository.isMember(-1, professor.getId()));
+    }
+
+    private Course course(String name, String code, User professor) {
+        Course course = new Course(name, name + " description", professor);
+        course.setCourseCode(code);
+        return entityManager.persist(course);
+    }
+}
@@ -0,0 +1,124 @@
+package com.eduhub.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.eduhub.model.Course;
+import com.eduhub.model.Role;
+import com.eduhub.model.User;
+
+/**
+ * Runs the enrollment statements against H2 in PostgreSQL mode, which
+ * understands ON CONFLICT DO NOTHING.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:enrollment;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EnrollmentRepository.class)
+class EnrollmentRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User professor;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        professor = entityManager.persist(new User(null, "Prof", "Smith", "prof@example.com", "pass", Role.PROFESSOR));
+        course = new Course("Databases", "Relational databases", professor);
+        course.setCourseCode("DBS00001");
+        course = entityManager.persist(course);
+        entityManager.flush();
+    }
+
+    @Test
+    void testEnroll_IsIdempotent() {
+        User student = persistStudent("alice@example.com");
+
+        assertTrue(enrollmentRepository.enroll(course.getId(), student.getId()));
+        assertFalse(enrollmentRepository.enroll(course.getId(), student.getId()));
+        assertEquals(1, enrollmentCount());
+    }
+
+    @Test
+    void testUnenroll() {
+        User student = persistStudent("alice@example.com");
+        enrollmentRepository.enroll(course.getId(), student.getId());
+
+        assertTrue(enrollmentRepository.unenroll(course.getId(), student.getId()));
+        assertFalse(enrollmentRepository.unenroll(course.getId(), student.getId()));
+        assertEquals(0, enrollmentCount());
+    }
+
+    @Test
+    void testEnrollByEmails_SkipsUnknownNonStudentsAndExisting() {
+        User alice = persistStudent("alice@example.com");
+        persistStudent("bob@example.com");
+        enrollmentRepository.enroll(course.getId(), alice.getId());
+
+        int inserted = enrollmentRepository.enrollByEmails(course.getId(), List.of(
+                "alice@example.com", "bob@example.com", "nobody@example.com", "prof@example.com"));
+
+        assertEquals(1, inserted);
+        assertEquals(2, enrollmentCount());
+    }
+
+    @Test
+    void testEnrollByEmails_LargeRoster() {
+        int size = 10_000;
+        List<Object[]> users = new ArrayList<>(size);
+        List<String> emails = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String email = "student" + i + "@example.com";
+            users.add(new Object[] {100_000 + i, email});
+            emails.add(email);
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, firstname, lastname, email, password, role) "
+                + "VALUES (?, 'S', 'T', ?, 'pass', 'STUDENT')", users);
+
+        int inserted = 0;
+        for (int from = 0; from < size; from += 500) {
+            inserted += enrollmentRepository.enrollByEmails(course.getId(), emails.subList(from, from + 500));
+        }
+
+        assertEquals(size, inserted);
+        assertEquals(size, enrollmentCount());
+    }
+
+    private User persistStudent(String email) {
+        User student = entityManager.persist(new User(null, "Student", "S", email, "pass", Role.STUDENT));
+        entityManager.flush();
+        return student;
+    }
+
+    private int enrollmentCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course_students WHERE course_id = ?",
+                Integer.class, course.getId());
+    }
+}
@@ -0,0 +1,64 @@
+package com.eduhub.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.eduhub.model.NotificationOutboxEvent;
+import com.eduhub.model.OutboxStatus;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class NotificationOutboxRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Test
+    void testClaimDue_ReturnsOnlyDuePendingEventsInOrder() {
+        LocalDateTime now = LocalDateTime.now();
+        NotificationOutboxEvent first = persist("first", OutboxStatus.PENDING, now.minusMinutes(1));
+        NotificationOutboxEvent second = persist("second", OutboxStatus.PENDING, now.minusSeconds(1));
+        persist("later", OutboxStatus.PENDING, now.plusMinutes(5));
+        persist("sent", OutboxStatus.SENT, now.minusMinutes(1));
+        persist("failed", OutboxStatus.FAILED, now.minusMinutes(1));
+        persist("third", OutboxStatus.PENDING, now.minusSeconds(1));
+
+        List<NotificationOutboxEvent> claimed = outboxRepository.claimDue(now, 2);
+
+        assertEquals(List.of(first.getId(), second.getId()),
+                claimed.stream().map(NotificationOutboxEvent::getId).toList());
+    }
+
+    @Test
+    void testMarkSentAndPurge() {
+        LocalDateTime now = LocalDateTime.now();
+        NotificationOutboxEvent old = persist("old", OutboxStatus.PENDING, now);
+        NotificationOutboxEvent fresh = persist("fresh", OutboxStatus.PENDING, now);
+
+        outboxRepository.markSent(List.of(old.getId()), now.minusDays(8));
+        outboxRepository.markSent(List.of(fresh.getId()), now);
+        entityManager.clear();
+
+        assertEquals(1, outboxRepository.deleteSentBefore(now.minusDays(7)));
+        assertEquals(List.of(fresh.getId()),
+                outboxRepository.findAll().stream().map(NotificationOutboxEvent::getId).toList());
+    }
+
+    private NotificationOutboxEvent persist(String message, OutboxStatus status, LocalDateTime nextAttemptAt) {
+        NotificationOutboxEvent event = new NotificationOutboxEvent("ANNOUNCEMENT_CREATED", 1, message);
+        event.setStatus(status);
+        event.setNextAttemptAt(nextAttemptAt);
+        return entityManager.persistAndFlush(event);
+    }
+}
@@ -0,0 +1,138 @@
+package com.eduhub.repository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.eduhub.dto.QuestionSummaryDto;
+import com.eduhub.model.Answer;
+import com.eduhub.model.Course;
+import com.eduhub.model.Question;
+import com.eduhub.model.Role;
+import com.eduhub.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the SQL statements needed to load and serialize a course's question
+ * list, which must not grow with the number of questions.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class QuestionRepositoryFetchPlanTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private Statistics statistics;
+    private int userCount;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testDetailList_StatementCountIndependentOfQuestionCount() throws Exception {
+        Integer smallCourse = seedCourse("SMALL001", 3);
+        Integer largeCourse = seedCourse("LARGE001", 40);
+
+        long small = statementsToLoadAndSerialize(smallCourse);
+        long large = statementsToLoadAndSerialize(largeCourse);
+
+        assertEquals(small, large, "Detail list should need the same number of statements for 3 and 40 questions");
+        assertTrue(large <= 3, "Expected at most 3 statements, got " + large);
+    }
+
+    @Test
+    void testSummaryList_SingleStatement() {
+        Integer courseId = seedCourse("SUMMARY1", 25);
+        questionRepository.repairAnswerCounts();
+        entityManager.clear();
+        statistics.clear();
+
+        List<QuestionSummaryDto> summaries = questionRepository.findSummariesByCourseId(courseId);
+
+        assertEquals(25, summaries.size());
+        assertEquals(2, summaries.get(0).getAnswerCount());
+        assertEquals(1, summaries.get(0).getVerifiedAnswerCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testRepairAnswerCounts_FixesOnlyDriftedQuestions() {
+        Integer courseId = seedCourse("REPAIR01", 4);
+        assertEquals(4, questionRepository.repairAnswerCounts(), "Seeded answers bypass the counters");
+        Long questionId = questionRepository.findByCourseIdOrderByCreatedAtDesc(courseId).get(0).getId();
+        questionRepository.adjustAnswerCounts(questionId, 3, 0);
+
+        assertEquals(1, questionRepository.repairAnswerCounts());
+        assertEquals(0, questionRepository.repairAnswerCounts());
+        entityManager.clear();
+        assertEquals(4, questionRepository.findAnsweredQuestionsByCourseId(courseId).size());
+        assertTrue(questionRepository.findUnansweredQuestionsByCourseId(courseId).isEmpty());
+    }
+
+    private long statementsToLoadAndSerialize(Integer courseId) throws Exception {
+        entityManager.clear();
+        statistics.clear();
+
+        List<Question> questions = questionRepository.findByCourseIdOrderByCreatedAtDesc(courseId);
+        String json = objectMapper.writeValueAsString(questions);
+
+        assertTrue(json.contains("\"answers\""));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Integer seedCourse(String code, int questionCount) {
+        User professor = persistUser(Role.PROFESSOR);
+        User first = persistUser(Role.STUDENT);
+        User second = persistUser(Role.STUDENT);
+
+        Course course = new Course("Course " + code, "Description", professor);
+        course.setCourseCode(code);
+        course.getStudents().add(first);
+        course.getStudents().add(second);
+        entityManager.persist(course);
+
+        for (int i = 0; i < questionCount; i++) {
+            Question question = new Question("Question " + i, "Content " + i, i % 2 == 0 ? first : second,
+                    course, false);
+            entityManager.persist(question);
+
+            Answer verified = new Answer("Answer A", professor, question);
+            verified.setVerified(true);
+            entityManager.persist(verified);
+            entityManager.persist(new Answer("Answer B", i % 2 == 0 ? second : first, question));
+        }
+        entityManager.flush();
+        return course.getId();
+    }
+
+    private User persistUser(Role role) {
+        userCount++;
+        User user = new User(null, "First" + userCount, "Last" + userCount,
+                "user" + userCount + "@example.com", "pass", role);
+        return entityManager.persist(user);
+    }
+}
@@ -0,0 +1,87 @@
+package com.eduhub.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.eduhub.exception.UnauthorizedActionException;
+import com.eduhub.model.Role;
+import com.eduhub.model.User;
+
+import io.jsonwebtoken.JwtException;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Spy
+    private JwtUtil jwtUtil = new JwtUtil();
+
+    @InjectMocks
+    private JwtAuthenticationFilter filter;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testValidToken_PrincipalBuiltFromClaimsWithOneParse() throws Exception {
+        String token = jwtUtil.generateToken("prof@example.com", "PROFESSOR", 7);
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        User principal = (User) authentication.getPrincipal();
+        assertEquals(7, principal.getId());
+        assertEquals("prof@example.com", principal.getEmail());
+        assertEquals(Role.PROFESSOR, principal.getRole());
+        assertTrue(authentication.getAuthorities().contains(new SimpleGrantedAuthority("PROFESSOR")));
+        verify(jwtUtil, times(1)).parseClaims(token);
+    }
+
+    @Test
+    void testTamperedToken_Rejected() {
+        String token = jwtUtil.generateToken("prof@example.com", "PROFESSOR", 7);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(UnauthorizedActionException.class, () ->
+                filter.doFilter(request(tampered), new MockHttpServletResponse(), new MockFilterChain()));
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void testNoHeader_Anonymous() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/courses"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void testToPrincipal_RejectsUnknownRole() {
+        String token = jwtUtil.generateToken("x@example.com", "JANITOR", 3);
+
+        assertThrows(JwtException.class, () -> jwtUtil.toPrincipal(jwtUtil.parseClaims(token)));
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/courses/student");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
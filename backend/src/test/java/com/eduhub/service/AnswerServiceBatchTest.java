@@ -0,0 +1,118 @@
+package com.eduhub.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.eduhub.model.Answer;
+import com.eduhub.model.Course;
+import com.eduhub.model.Question;
+import com.eduhub.model.Role;
+import com.eduhub.model.User;
+import com.eduhub.repository.AnswerRepository;
+import com.eduhub.repository.QuestionRepository;
+import com.eduhub.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Checks that answering a group of questions costs a fixed number of statements
+ * and JDBC batches rather than a few round trips per question.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class AnswerServiceBatchTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private AnswerService answerService;
+    private Statistics statistics;
+    private User professor;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        answerService = new AnswerService(answerRepository, questionRepository, userRepository,
+                mock(CourseSyncService.class));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        professor = entityManager.persist(new User(null, "Prof", "Smith", "prof@example.com", "pass", Role.PROFESSOR));
+        course = new Course("Programming 3", "Java course", professor);
+        course.setCourseCode("BATCH001");
+        course = entityManager.persist(course);
+    }
+
+    @Test
+    void testBatchAnswers_StatementCountIndependentOfBatchSize() {
+        long small = statementsToAnswer(seedQuestions(5));
+        long large = statementsToAnswer(seedQuestions(300));
+
+        // The sequence is hit once per 50 ids; everything else is constant
+        assertTrue(large - small <= 300 / 50, "small=" + small + ", large=" + large);
+    }
+
+    @Test
+    void testBatchAnswers_UsesJdbcBatches() {
+        List<Long> ids = seedQuestions(120);
+        statistics.clear();
+
+        List<Answer> answers = answerService.createBatchAnswers(ids, "Grouped answer", true, false, professor);
+        entityManager.flush();
+
+        assertEquals(120, answers.size());
+        // Hibernate batches 50 inserts per JDBC batch
+        assertTrue(statistics.getPrepareStatementCount() < 15,
+                "statements=" + statistics.getPrepareStatementCount());
+        entityManager.clear();
+        for (Long id : ids) {
+            Question question = questionRepository.findById(id).orElseThrow();
+            assertEquals(1, question.getAnswerCount());
+            assertEquals(1, question.getVerifiedAnswerCount());
+        }
+    }
+
+    private long statementsToAnswer(List<Long> ids) {
+        statistics.clear();
+        answerService.createBatchAnswers(ids, "Grouped answer", false, false, professor);
+        entityManager.flush();
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return statements;
+    }
+
+    private List<Long> seedQuestions(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(entityManager.persist(new Question("Question " + i, "Content", professor, course, false)).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return ids;
+    }
+}
@@ -0,0 +1,137 @@
+package com.eduhub.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.eduhub.exception.UnauthorizedActionException;
+import com.eduhub.model.Answer;
+import com.eduhub.model.Course;
+import com.eduhub.model.Question;
+import com.eduhub.model.Role;
+import com.eduhub.model.User;
+import com.eduhub.repository.AnswerRepository;
+import com.eduhub.repository.QuestionRepository;
+import com.eduhub.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+class AnswerServiceTest {
+
+    @Mock
+    private AnswerRepository answerRepository;
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CourseSyncService courseSyncService;
+
+    @InjectMocks
+    private AnswerService answerService;
+
+    private User professor;
+    private User student;
+    private Question question;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        professor = new User(1, "Prof", "Smith", "prof@example.com", "pass", Role.PROFESSOR);
+        student = new User(2, "John", "Doe", "student@example.com", "pass", Role.STUDENT);
+        Course course = new Course("Programming 3", "Learn Java and Spring Boot", professor);
+        course.setId(1);
+        question = new Question("Title", "Content", student, course, false);
+        question.setId(10L);
+    }
+
+    @Test
+    void testCreateAnswer_IncrementsAnswerCount() {
+        when(questionRepository.findById(10L)).thenReturn(Optional.of(question));
+        when(userRepository.findById(2)).thenReturn(Optional.of(student));
+        when(answerRepository.save(any(Answer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Answer answer = answerService.createAnswer(10L, "Answer", false, student);
+
+        assertEquals("Answer", answer.getContent());
+        verify(questionRepository).adjustAnswerCounts(10L, 1, 0);
+    }
+
+    @Test
+    void testCreateBatchAnswers_IncrementsOnlyAnsweredQuestions() {
+        Course otherCourse = new Course("Other", "Not taught by professor", student);
+        Question foreign = new Question("Foreign", "Content", student, otherCourse, false);
+        foreign.setId(11L);
+        when(userRepository.findById(1)).thenReturn(Optional.of(professor));
+        when(questionRepository.findWithCourseByIdIn(Set.of(10L, 11L, 12L))).thenReturn(List.of(question, foreign));
+        when(answerRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // 10 is listed twice and must still be answered and counted once
+        List<Answer> answers = answerService.createBatchAnswers(Arrays.asList(10L, 11L, null, 12L, 10L), "Answer",
+                true, false, professor);
+
+        assertEquals(1, answers.size());
+        assertTrue(answers.get(0).isVerified());
+        verify(questionRepository, never()).findById(anyLong());
+        verify(questionRepository).adjustAnswerCounts(List.of(10L), 1, 1);
+    }
+
+    @Test
+    void testToggleVerified_AdjustsVerifiedCount() {
+        Answer answer = new Answer("Answer", student, question);
+        when(answerRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(answer));
+        when(answerRepository.save(answer)).thenReturn(answer);
+
+        answerService.toggleVerified(5L, professor);
+        answerService.toggleVerified(5L, professor);
+
+        verify(questionRepository).adjustAnswerCounts(10L, 0, 1);
+        verify(questionRepository).adjustAnswerCounts(10L, 0, -1);
+        verify(answerRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testToggleVerified_NotCourseProfessor_Throws() {
+        Answer answer = new Answer("Answer", student, question);
+        when(answerRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(answer));
+
+        assertThrows(UnauthorizedActionException.class, () -> answerService.toggleVerified(5L, student));
+        verify(questionRepository, never()).adjustAnswerCounts(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testDeleteVerifiedAnswer_DecrementsBothCounts() {
+        Answer answer = new Answer("Answer", professor, question);
+        answer.setId(5L);
+        answer.setVerified(true);
+        question.getAnswers().add(answer);
+        when(answerRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(answer));
+
+        answerService.deleteAnswer(5L, professor);
+
+        assertTrue(question.getAnswers().isEmpty());
+        verify(answerRepository).delete(answer);
+        verify(questionRepository).adjustAnswerCounts(10L, -1, -1);
+    }
+}
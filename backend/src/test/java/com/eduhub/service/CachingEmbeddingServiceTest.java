@@ -0,0 +1,152 @@
+package com.eduhub.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.eduhub.dto.EmbeddingCacheStats;
+import com.eduhub.model.EmbeddingCacheEntry;
+import com.eduhub.model.types.EmbeddingVector;
+import com.eduhub.model.types.VectorCodec;
+import com.eduhub.repository.EmbeddingCacheRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CachingEmbeddingServiceTest {
+
+    private static final long MAX_BYTES = 1 << 20;
+
+    @Mock
+    private EmbeddingService delegate;
+
+    @Mock
+    private EmbeddingCacheRepository cacheRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testGenerateEmbedding_SameTextIsComputedOnce() {
+        CachingEmbeddingService service = newService(MAX_BYTES, false);
+        EmbeddingVector vector = EmbeddingVector.of(1f, 2f, 3f);
+        when(delegate.generateEmbedding("How do Java streams work?")).thenReturn(vector);
+
+        EmbeddingVector first = service.generateEmbedding("How do Java streams work?");
+        EmbeddingVector second = service.generateEmbedding("  How do  Java\nstreams work? ");
+
+        assertSame(vector, first);
+        assertSame(vector, second);
+        verify(delegate, times(1)).generateEmbedding(anyString());
+        EmbeddingCacheStats stats = service.getStats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.computed());
+        verifyNoInteractions(cacheRepository);
+    }
+
+    @Test
+    void testGenerateEmbedding_EvictsByVectorBytes() throws InterruptedException {
+        // Room for about two 1536-dimension vectors
+        CachingEmbeddingService service = newService(14_000, false);
+        when(delegate.generateEmbedding(anyString())).thenAnswer(invocation -> EmbeddingVector.zeros(1536));
+
+        for (int i = 0; i < 10; i++) {
+            service.generateEmbedding("question " + i);
+        }
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (service.getStats().evictions() < 8 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        EmbeddingCacheStats stats = service.getStats();
+        assertTrue(stats.evictions() >= 8, "Expected evictions, got " + stats.evictions());
+        assertTrue(stats.weightBytes() <= 14_000);
+    }
+
+    @Test
+    void testGenerateEmbedding_PersistentTierAnswersMisses() {
+        CachingEmbeddingService service = newService(MAX_BYTES, true);
+        EmbeddingVector stored = EmbeddingVector.of(0.5f, 0.25f);
+        when(cacheRepository.findById(anyString()))
+                .thenReturn(Optional.of(new EmbeddingCacheEntry("hash", VectorCodec.encodeBinary(stored))));
+
+        EmbeddingVector result = service.generateEmbedding("Recursion base case");
+
+        assertEquals(stored, result);
+        verify(delegate, never()).generateEmbedding(anyString());
+        assertEquals(1, service.getStats().persistentHits());
+    }
+
+    @Test
+    void testGenerateEmbedding_ComputedEmbeddingIsPersisted() {
+        CachingEmbeddingService service = newService(MAX_BYTES, true);
+        EmbeddingVector vector = EmbeddingVector.of(1f, 0f);
+        when(cacheRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(delegate.generateEmbedding("Recursion base case")).thenReturn(vector);
+
+        service.generateEmbedding("Recursion base case");
+
+        ArgumentCaptor<EmbeddingCacheEntry> saved = ArgumentCaptor.forClass(EmbeddingCacheEntry.class);
+        verify(cacheRepository).save(saved.capture());
+        assertEquals(64, saved.getValue().getContentHash().length());
+        assertEquals(vector, VectorCodec.decodeBinary(saved.getValue().getEmbedding()));
+    }
+
+    @Test
+    void testGenerateEmbedding_NamespaceSeparatesModels() {
+        CachingEmbeddingService service = newService(MAX_BYTES, true);
+        CachingEmbeddingService other = new CachingEmbeddingService(delegate, cacheRepository, transactionManager,
+                "remote-3072", MAX_BYTES, true);
+        when(cacheRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(delegate.generateEmbedding(anyString())).thenReturn(EmbeddingVector.of(1f));
+
+        service.generateEmbedding("Same text");
+        other.generateEmbedding("Same text");
+
+        ArgumentCaptor<EmbeddingCacheEntry> saved = ArgumentCaptor.forClass(EmbeddingCacheEntry.class);
+        verify(cacheRepository, times(2)).save(saved.capture());
+        assertNotEquals(saved.getAllValues().get(0).getContentHash(), saved.getAllValues().get(1).getContentHash());
+        verify(cacheRepository, times(2)).existsById(any());
+    }
+
+    @Test
+    void testGenerateEmbeddings_PassesOnlyDistinctMissesToModel() {
+        CachingEmbeddingService service = newService(MAX_BYTES, false);
+        EmbeddingVector cached = EmbeddingVector.of(1f, 0f);
+        EmbeddingVector recursion = EmbeddingVector.of(0f, 1f);
+        EmbeddingVector streams = EmbeddingVector.of(1f, 1f);
+        when(delegate.generateEmbedding("Cached question")).thenReturn(cached);
+        service.generateEmbedding("Cached question");
+        when(delegate.generateEmbeddings(List.of("Recursion base case", "Java streams")))
+                .thenReturn(List.of(recursion, streams));
+
+        List<EmbeddingVector> result = service.generateEmbeddings(
+                List.of("Recursion base case", "Cached question", " Recursion  base case", "Java streams"));
+
+        assertEquals(List.of(recursion, cached, recursion, streams), result);
+        verify(delegate, times(1)).generateEmbeddings(any());
+        assertEquals(3, service.getStats().computed());
+        assertSame(streams, service.generateEmbedding("Java streams"));
+    }
+
+    private CachingEmbeddingService newService(long maxBytes, boolean persistent) {
+        return new CachingEmbeddingService(delegate, cacheRepository, transactionManager, "simple-1536",
+                maxBytes, persistent);
+    }
+}
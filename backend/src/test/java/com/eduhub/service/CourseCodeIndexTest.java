@@ -0,0 +1,120 @@
+package com.eduhub.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.eduhub.repository.CourseRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CourseCodeIndexTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private ReplicaChannel channel;
+
+    private CourseCodeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CourseCodeIndex(courseRepository, channel);
+    }
+
+    @Test
+    void testReload_ResolvesWithoutQuery() {
+        when(courseRepository.findAllCourseCodes()).thenReturn(List.of(row(1, "AAAA1111"), row(2, "BBBB2222")));
+
+        index.reload();
+
+        assertEquals(Optional.of(2), index.resolve("BBBB2222"));
+        assertTrue(index.contains("AAAA1111"));
+        verify(courseRepository, never()).findIdByCourseCode(any());
+    }
+
+    @Test
+    void testResolve_MissFallsBackToDatabaseOnce() {
+        when(courseRepository.findIdByCourseCode("CCCC3333")).thenReturn(Optional.of(3));
+
+        assertEquals(Optional.of(3), index.resolve("CCCC3333"));
+        assertEquals(Optional.of(3), index.resolve("CCCC3333"));
+        verify(courseRepository, times(1)).findIdByCourseCode("CCCC3333");
+    }
+
+    @Test
+    void testResolve_UnknownCode() {
+        when(courseRepository.findIdByCourseCode("NOPE0000")).thenReturn(Optional.empty());
+
+        assertEquals(Optional.empty(), index.resolve("NOPE0000"));
+        assertFalse(index.contains("NOPE0000"));
+    }
+
+    @Test
+    void testRegisterAndUnregister_PublishChanges() {
+        index.register("DDDD4444", 4);
+        assertTrue(index.contains("DDDD4444"));
+        verify(channel).publish(new ReplicaChannel.CourseCodeChanged("DDDD4444", 4));
+
+        index.unregister("DDDD4444");
+        assertFalse(index.contains("DDDD4444"));
+        verify(channel).publish(new ReplicaChannel.CourseCodeChanged("DDDD4444", null));
+    }
+
+    @Test
+    void testOnChange_AppliesRemoteChanges() {
+        index.onChange(new ReplicaChannel.CourseCodeChanged("EEEE5555", 5));
+        assertEquals(Optional.of(5), index.resolve("EEEE5555"));
+
+        index.onChange(new ReplicaChannel.CourseCodeChanged("EEEE5555", null));
+        assertFalse(index.contains("EEEE5555"));
+    }
+
+    @Test
+    void testReload_DropsDeletedCodes() {
+        index.onChange(new ReplicaChannel.CourseCodeChanged("GONE0000", 9));
+        when(courseRepository.findAllCourseCodes()).thenReturn(List.of(row(1, "AAAA1111")));
+
+        index.reload();
+
+        assertFalse(index.contains("GONE0000"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testReload_KeepsCodeRegisteredDuringQuery() {
+        when(courseRepository.findAllCourseCodes()).thenAnswer(invocation -> {
+            // Committed after the snapshot was read
+            index.register("NEWW0001", 10);
+            return List.of(row(1, "AAAA1111"));
+        });
+
+        index.reload();
+
+        assertEquals(Optional.of(10), index.resolve("NEWW0001"));
+        assertEquals(2, index.size());
+    }
+
+    private static CourseRepository.CourseCodeRow row(Integer id, String code) {
+        return new CourseRepository.CourseCodeRow() {
+            @Override
+            public Integer getId() { return id; }
+
+            @Override
+            public String getCourseCode() { return code; }
+        };
+    }
+}
@@ -0,0 +1,265 @@
+package com.eduhub.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.eduhub.service.CourseEventStream.Activity;
+
+class CourseEventStreamTest {
+
+    private CourseEventStream stream;
+    private MockMvc mockMvc;
+
+    @RestController
+    static class StreamController {
+        private final CourseEventStream stream;
+
+        StreamController(CourseEventStream stream) {
+            this.stream = stream;
+        }
+
+        @GetMapping("/courses/{id}/events")
+        SseEmitter events(@PathVariable Integer id,
+                @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+            return stream.subscribe(id, lastEventId);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        stream = new CourseEventStream();
+        stream.start();
+        mockMvc = MockMvcBuilders.standaloneSetup(new StreamController(stream)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.stop();
+    }
+
+    @Test
+    void testActivity_ReachesSubscribersOfThatCourseOnly() throws Exception {
+        MockHttpServletResponse course1 = subscribe(1, null);
+        MockHttpServletResponse course2 = subscribe(2, null);
+
+        stream.onActivity(new Activity(1, CourseEventStream.QUESTION_CREATED, Map.of("questionId", 7)));
+
+        // The data line is written last, so waiting for it sees the whole event
+        String events = await(course1, "\"questionId\":7");
+        assertTrue(events.contains("event:question-created"), events);
+        stream.heartbeat();
+        await(course2, ":heartbeat");
+        assertFalse(course2.getContentAsString().contains("question-created"));
+    }
+
+    @Test
+    void testResume_ReplaysOnlyMissedEvents() throws Exception {
+        stream.onActivity(new Activity(1, CourseEventStream.QUESTION_CREATED, Map.of("questionId", 1)));
+        MockHttpServletResponse first = subscribe(1, null);
+        stream.onActivity(new Activity(1, CourseEventStream.QUESTION_CREATED, Map.of("questionId", 2)));
+        String seen = await(first, "\"questionId\":2");
+        String lastEventId = seen.substring(seen.indexOf("id:") + 3, seen.indexOf('\n', seen.indexOf("id:")));
+
+        stream.onActivity(new Activity(1, CourseEventStream.ANSWER_CREATED, Map.of("questionId", 2, "answerId", 5)));
+        stream.onActivity(new Activity(1, CourseEventStream.ANSWER_VERIFIED, Map.of("questionId", 2, "answerId", 5)));
+
+        MockHttpServletResponse resumed = subscribe(1, lastEventId);
+        String replayed = await(resumed, "answer-verified");
+        assertTrue(replayed.contains("answer-created"), replayed);
+        assertFalse(replayed.contains("\"questionId\":1"), replayed);
+        assertFalse(replayed.contains("id:" + lastEventId + "\n"), replayed);
+    }
+
+    @Test
+    void testResume_FromBeforeRestartAsksForResync() throws Exception {
+        MockHttpServletResponse resumed = subscribe(1, "42");
+
+        String events = await(resumed, "\"courseId\":1");
+        assertTrue(events.contains("event:resync"), events);
+    }
+
+    @Test
+    void testCompletedEmittersAreRemoved() throws Exception {
+        SseEmitter emitter = stream.subscribe(3, null);
+        assertEquals(1, stream.subscriberCount());
+
+        emitter.complete();
+        // Not initialized by a request, so completion callbacks never run; sending drops it
+        stream.onActivity(new Activity(3, CourseEventStream.ANNOUNCEMENT_CREATED, Map.of("announcementId", 1)));
+        long deadline = System.currentTimeMillis() + 2000;
+        while (stream.subscriberCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, stream.subscriberCount());
+    }
+
+    @Test
+    void testSlowSubscriber_DoesNotHoldUpOthersAndIsDropped() throws Exception {
+        CountDownLatch stuck = new CountDownLatch(1);
+        CountDownLatch otherReceived = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        stream.stop();
+        stream = new CourseEventStream() {
+            @Override
+            SseEmitter createEmitter(long timeout) {
+                boolean slow = created.getAndIncrement() == 0;
+                return new SseEmitter(timeout) {
+                    @Override
+                    public void send(SseEventBuilder builder) throws IOException {
+                        if (!slow) {
+                            otherReceived.countDown();
+                            return;
+                        }
+                        try {
+                            // A client that never reads: the write does not return
+                            stuck.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                };
+            }
+        };
+        stream.start();
+        try {
+            stream.subscribe(1, null);
+            stream.subscribe(2, null);
+            for (int i = 0; i < 70; i++) {
+                stream.onActivity(new Activity(1, CourseEventStream.QUESTION_CREATED, Map.of("questionId", i)));
+            }
+            stream.onActivity(new Activity(2, CourseEventStream.QUESTION_CREATED, Map.of("questionId", 1)));
+
+            assertTrue(otherReceived.await(2, TimeUnit.SECONDS), "other course is not held up");
+            // One event stuck in send plus a full buffer of 64: the slow subscriber is disconnected
+            assertEquals(1, stream.subscriberCount());
+        } finally {
+            stuck.countDown();
+        }
+    }
+
+    @Test
+    void testResumeWhilePublishing_DeliversEachEventOnce() throws Exception {
+        MockHttpServletResponse first = subscribe(1, null);
+        stream.onActivity(new Activity(1, CourseEventStream.QUESTION_CREATED, Map.of("questionId", 0)));
+        String seen = await(first, "\"questionId\":0");
+        String lastEventId = seen.substring(seen.indexOf("id:") + 3, seen.indexOf('\n', seen.indexOf("id:")));
+
+        Thread publisher = new Thread(() -> {
+            for (int i = 1; i <= 50; i++) {
+                stream.onActivity(new Activity(1, CourseEventStream.ANSWER_CREATED, Map.of("answerId", i)));
+            }
+        });
+        publisher.start();
+        MockHttpServletResponse resumed = subscribe(1, lastEventId);
+        publisher.join();
+
+        String events = await(resumed, "\"answerId\":50}");
+        Set<String> ids = new HashSet<>();
+        int count = 0;
+        for (String line : events.split("\n")) {
+            if (line.startsWith("id:")) {
+                ids.add(line);
+                count++;
+            }
+        }
+        assertEquals(50, count, events);
+        assertEquals(50, ids.size(), "no event both replayed and sent live");
+    }
+
+    @Test
+    void testConcurrentPublishers_ResumeFromAnyIdMissesNothing() throws Exception {
+        MockHttpServletResponse first = subscribe(1, null);
+        int publishers = 4;
+        // Fewer than the 64-event buffer, so a subscriber that has not drained yet is not dropped
+        int perPublisher = 12;
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < publishers; p++) {
+            int publisher = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perPublisher; i++) {
+                    stream.onActivity(new Activity(1, CourseEventStream.ANSWER_CREATED,
+                            Map.of("answerId", publisher * 1000 + i)));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        go.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        stream.onActivity(new Activity(1, CourseEventStream.QUESTION_CREATED, Map.of("questionId", 99)));
+
+        List<Long> received = eventIds(await(first, "\"questionId\":99"));
+        assertEquals(publishers * perPublisher + 1, received.size());
+        for (int i = 1; i < received.size(); i++) {
+            assertTrue(received.get(i) > received.get(i - 1), "ids out of order: " + received);
+        }
+
+        // A client that dropped after any event gets exactly the ones it had not seen
+        int cut = received.size() / 2;
+        MockHttpServletResponse resumed = subscribe(1, String.valueOf(received.get(cut)));
+        List<Long> replayed = eventIds(await(resumed, "\"questionId\":99"));
+        assertEquals(received.subList(cut + 1, received.size()), replayed);
+    }
+
+    private static List<Long> eventIds(String events) {
+        List<Long> ids = new ArrayList<>();
+        for (String line : events.split("\n")) {
+            if (line.startsWith("id:")) {
+                ids.add(Long.parseLong(line.substring(3).trim()));
+            }
+        }
+        return ids;
+    }
+
+    private MockHttpServletResponse subscribe(int courseId, String lastEventId) throws Exception {
+        var request = get("/courses/" + courseId + "/events");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn().getResponse();
+    }
+
+    private static String await(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (System.currentTimeMillis() < deadline) {
+            String content = response.getContentAsString();
+            if (content.contains(expected)) {
+                return content;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Expected '" + expected + "' in: " + response.getContentAsString());
+    }
+}
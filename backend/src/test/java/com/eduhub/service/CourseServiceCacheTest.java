@@ -0,0 +1,140 @@
+package com.eduhub.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import com.eduhub.config.CacheConfig;
+import com.eduhub.dto.CourseSummaryDto;
+import com.eduhub.model.Course;
+import com.eduhub.model.Role;
+import com.eduhub.model.User;
+import com.eduhub.repository.CourseRepository;
+import com.eduhub.repository.EnrollmentRepository;
+import com.eduhub.repository.UserRepository;
+
+/**
+ * Checks that the per-student course cache is filled by getCoursesByStudent
+ * and dropped by every call that changes the student's enrollments, on this
+ * replica directly and on the others through the channel.
+ */
+@SpringJUnitConfig({CacheConfig.class, CourseService.class})
+@SuppressWarnings("null")
+class CourseServiceCacheTest {
+
+    @MockBean
+    private CourseRepository courseRepository;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private EnrollmentRepository enrollmentRepository;
+
+    @MockBean
+    private QuestionIndexService questionIndexService;
+
+    @MockBean
+    private CourseCodeIndex courseCodeIndex;
+
+    @MockBean
+    private ReplicaChannel replicaChannel;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User professor;
+    private User student;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.STUDENT_COURSES).clear();
+        reset(courseRepository, userRepository, enrollmentRepository, replicaChannel);
+        professor = new User(1, "Prof", "Smith", "prof@example.com", "pass", Role.PROFESSOR);
+        student = new User(2, "John", "Doe", "student@example.com", "pass", Role.STUDENT);
+        course = new Course("Programming 3", "Learn Java and Spring Boot", professor);
+        course.setId(1);
+        course.setCourseCode("PROG0003");
+        when(courseRepository.findSummariesByStudentId(2)).thenReturn(List.of(
+                new CourseSummaryDto(1, "Programming 3", "PROG0003", "Learn Java and Spring Boot", 1, "Prof", "Smith")));
+    }
+
+    @Test
+    void testGetCoursesByStudent_SecondCallServedFromCache() {
+        courseService.getCoursesByStudent(2);
+        List<CourseSummaryDto> courses = courseService.getCoursesByStudent(2);
+
+        assertEquals(1, courses.size());
+        verify(courseRepository, times(1)).findSummariesByStudentId(2);
+    }
+
+    @Test
+    void testEnrollStudent_EvictsStudentEntry() {
+        when(courseRepository.existsById(1)).thenReturn(true);
+        when(userRepository.findById(2)).thenReturn(Optional.of(student));
+
+        courseService.getCoursesByStudent(2);
+        courseService.enrollStudent(1, 2);
+        courseService.getCoursesByStudent(2);
+
+        verify(courseRepository, times(2)).findSummariesByStudentId(2);
+        verify(replicaChannel).publish(new ReplicaChannel.StudentCoursesChanged(2));
+    }
+
+    @Test
+    void testEnrollStudentByCode_EvictsStudentEntry() {
+        when(courseCodeIndex.resolve("PROG0003")).thenReturn(Optional.of(1));
+
+        courseService.getCoursesByStudent(2);
+        courseService.enrollStudentByCode("PROG0003", student);
+        courseService.getCoursesByStudent(2);
+
+        verify(courseRepository, times(2)).findSummariesByStudentId(2);
+    }
+
+    @Test
+    void testUnenrollStudent_EvictsStudentEntry() {
+        when(courseRepository.existsById(1)).thenReturn(true);
+        when(enrollmentRepository.unenroll(1, 2)).thenReturn(true);
+
+        courseService.getCoursesByStudent(2);
+        courseService.unenrollStudent(1, 2);
+        courseService.getCoursesByStudent(2);
+
+        verify(courseRepository, times(2)).findSummariesByStudentId(2);
+        verify(replicaChannel).publish(new ReplicaChannel.StudentCoursesChanged(2));
+    }
+
+    @Test
+    void testChangeFromOtherReplica_EvictsStudentEntry() {
+        courseService.getCoursesByStudent(2);
+        courseService.onStudentCoursesChanged(new ReplicaChannel.StudentCoursesChanged(2));
+        courseService.getCoursesByStudent(2);
+
+        verify(courseRepository, times(2)).findSummariesByStudentId(2);
+    }
+
+    @Test
+    void testChannelResync_EvictsAllEntries() {
+        courseService.getCoursesByStudent(2);
+        courseService.onChannelResync();
+        courseService.getCoursesByStudent(2);
+
+        verify(courseRepository, times(2)).findSummariesByStudentId(2);
+    }
+}
@@ -1,28 +1,42 @@
 package com.eduhub.service;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import com.eduhub.dto.CourseSummaryDto;
+import com.eduhub.dto.RosterImportResult;
+import com.eduhub.exception.CourseNotFoundException;
+import com.eduhub.exception.UnauthorizedActionException;
 import com.eduhub.model.Course;
 import com.eduhub.model.Role;
 import com.eduhub.model.User;
 import com.eduhub.repository.CourseRepository;
+import com.eduhub.repository.EnrollmentRepository;
 import com.eduhub.repository.UserRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +49,15 @@ class CourseServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private CourseCodeIndex courseCodeIndex;
+
+    @Mock
+    private ReplicaChannel replicaChannel;
+
     @InjectMocks
     private CourseService courseService;
 
@@ -61,6 +84,43 @@ class CourseServiceTest {
         assertNotNull(created);
         assertEquals(1, created.getId());
         verify(courseRepository, times(1)).save(any(Course.class));
+        verify(courseRepository, never()).findByCourseCode(any());
+        verify(courseCodeIndex, times(1)).register(created.getCourseCode(), 1);
+    }
+
+    @Test
+    void testCreateCourse_CodeTakenOnAnotherReplicaRetriesWithNewCode() {
+        Course newCourse = new Course("Programming 3", "Learn Java and Spring Boot", professor);
+        List<String> tried = new ArrayList<>();
+        when(courseRepository.save(any(Course.class))).thenAnswer(invocation -> {
+            Course saving = invocation.getArgument(0);
+            tried.add(saving.getCourseCode());
+            if (tried.size() == 1) {
+                throw new DataIntegrityViolationException("duplicate key value violates unique constraint");
+            }
+            saving.setId(1);
+            return saving;
+        });
+        when(courseCodeIndex.resolve(any())).thenReturn(Optional.of(99));
+
+        Course created = courseService.createCourse(newCourse);
+
+        assertEquals(1, created.getId());
+        assertEquals(2, tried.size());
+        assertNotEquals(tried.get(0), tried.get(1));
+        verify(courseCodeIndex).resolve(tried.get(0));
+        verify(courseCodeIndex).register(tried.get(1), 1);
+    }
+
+    @Test
+    void testCreateCourse_OtherConstraintViolationIsNotRetried() {
+        Course newCourse = new Course("Programming 3", "Learn Java and Spring Boot", professor);
+        when(courseRepository.save(any(Course.class)))
+                .thenThrow(new DataIntegrityViolationException("null value in column"));
+        when(courseCodeIndex.resolve(any())).thenReturn(Optional.empty());
+
+        assertThrows(DataIntegrityViolationException.class, () -> courseService.createCourse(newCourse));
+        verify(courseRepository, times(1)).save(any(Course.class));
     }
 
     @Test
@@ -101,15 +161,113 @@ class CourseServiceTest {
     @Test
     void testEnrollStudent() {
         student.setId(2);
-        when(courseRepository.findById(1)).thenReturn(Optional.of(course));
+        when(courseRepository.existsById(1)).thenReturn(true);
         when(userRepository.findById(2)).thenReturn(Optional.of(student));
-        when(courseRepository.save(any(Course.class))).thenReturn(course);
 
         courseService.enrollStudent(1, 2);
 
-        assertTrue(course.getStudents().contains(student));
-        verify(courseRepository, times(1)).findById(1);
+        verify(courseRepository, times(1)).existsById(1);
         verify(userRepository, times(1)).findById(2);
-        verify(courseRepository, times(1)).save(course);
+        verify(enrollmentRepository, times(1)).enroll(1, 2);
+        verify(courseRepository, never()).save(any(Course.class));
+    }
+
+    @Test
+    void testEnrollStudent_ProfessorRejected() {
+        when(courseRepository.existsById(1)).thenReturn(true);
+        when(userRepository.findById(1)).thenReturn(Optional.of(professor));
+
+        assertThrows(UnauthorizedActionException.class, () -> courseService.enrollStudent(1, 1));
+        verify(enrollmentRepository, never()).enroll(any(), any());
+    }
+
+    @Test
+    void testEnrollStudentByCode() {
+        when(courseCodeIndex.resolve("PROG0003")).thenReturn(Optional.of(1));
+
+        courseService.enrollStudentByCode("PROG0003", student);
+
+        verify(enrollmentRepository, times(1)).enroll(1, 2);
+        verifyNoInteractions(courseRepository, userRepository);
+    }
+
+    @Test
+    void testEnrollStudentByCode_UnknownCode() {
+        when(courseCodeIndex.resolve("NOPE0000")).thenReturn(Optional.empty());
+
+        assertThrows(CourseNotFoundException.class, () -> courseService.enrollStudentByCode("NOPE0000", student));
+        verifyNoInteractions(enrollmentRepository);
+    }
+
+    @Test
+    void testEnrollStudentByCode_StaleCodeEvicted() {
+        when(courseCodeIndex.resolve("PROG0003")).thenReturn(Optional.of(1));
+        when(enrollmentRepository.enroll(1, 2)).thenThrow(new DataIntegrityViolationException("fk_course"));
+
+        assertThrows(CourseNotFoundException.class, () -> courseService.enrollStudentByCode("PROG0003", student));
+        verify(courseCodeIndex, times(1)).evict("PROG0003");
+    }
+
+    @Test
+    void testGetCoursesByStudent_UsesJoinQuery() {
+        List<CourseSummaryDto> summaries = List.of(
+                new CourseSummaryDto(1, "Programming 3", "PROG0003", "Learn Java and Spring Boot", 1, "Prof", "Smith"));
+        when(courseRepository.findSummariesByStudentId(2)).thenReturn(summaries);
+
+        List<CourseSummaryDto> result = courseService.getCoursesByStudent(2);
+
+        assertEquals(1, result.size());
+        assertEquals("Prof Smith", result.get(0).getProfessorName());
+        verify(courseRepository, never()).findAll();
+    }
+
+    @Test
+    void testUnenrollStudent() {
+        when(courseRepository.existsById(1)).thenReturn(true);
+        when(enrollmentRepository.unenroll(1, 2)).thenReturn(true);
+
+        courseService.unenrollStudent(1, 2);
+
+        verify(enrollmentRepository, times(1)).unenroll(1, 2);
+    }
+
+    @Test
+    void testUnenrollStudent_NotEnrolled() {
+        when(courseRepository.existsById(1)).thenReturn(true);
+        when(enrollmentRepository.unenroll(1, 2)).thenReturn(false);
+
+        assertThrows(UnauthorizedActionException.class, () -> courseService.unenrollStudent(1, 2));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportRoster_BatchesEmailsAndSkipsHeader() throws Exception {
+        StringBuilder csv = new StringBuilder("email,name\n");
+        for (int i = 0; i < 1200; i++) {
+            csv.append("student").append(i).append("@example.com,Student ").append(i).append('\n');
+        }
+        csv.append("\n\"quoted@example.com\"\nnot-an-email\n");
+        when(courseRepository.findById(1)).thenReturn(Optional.of(course));
+        when(enrollmentRepository.enrollByEmails(eq(1), any(List.class)))
+                .thenAnswer(invocation -> ((List<String>) invocation.getArgument(1)).size());
+
+        RosterImportResult result = courseService.importRoster(1,
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), professor);
+
+        assertEquals(1201, result.getEmails());
+        assertEquals(1201, result.getEnrolled());
+        assertEquals(0, result.getSkipped());
+        assertEquals(1, result.getInvalid());
+        verify(enrollmentRepository, times(3)).enrollByEmails(eq(1), any(List.class));
+    }
+
+    @Test
+    void testImportRoster_RequiresCourseOwner() {
+        User otherProfessor = new User(3, "Other", "Prof", "other@example.com", "pass", Role.PROFESSOR);
+        when(courseRepository.findById(1)).thenReturn(Optional.of(course));
+
+        assertThrows(UnauthorizedActionException.class, () -> courseService.importRoster(1,
+                new ByteArrayInputStream("a@example.com".getBytes(StandardCharsets.UTF_8)), otherProfessor));
+        verifyNoInteractions(enrollmentRepository);
     }
 }
@@ -0,0 +1,176 @@
+package com.eduhub.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.eduhub.dto.CourseChangesDto;
+import com.eduhub.dto.QuestionSummaryDto;
+import com.eduhub.model.Announcement;
+import com.eduhub.model.Answer;
+import com.eduhub.model.ChangeEntityType;
+import com.eduhub.model.Course;
+import com.eduhub.model.Question;
+import com.eduhub.model.Role;
+import com.eduhub.model.User;
+import com.eduhub.repository.CourseChangeRepository;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import({CourseChangeRepository.class, CourseSyncService.class})
+class CourseSyncServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CourseSyncService syncService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User professor;
+    private User student;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        // The service is a shared context bean; reset what individual tests change
+        ReflectionTestUtils.setField(syncService, "maxChanges", 500);
+        professor = entityManager.persist(new User(null, "Prof", "Smith", "prof@example.com", "pass", Role.PROFESSOR));
+        student = entityManager.persist(new User(null, "Alice", "A", "alice@example.com", "pass", Role.STUDENT));
+        course = new Course("Programming 3", "Java", professor);
+        course.setCourseCode("SYNC0001");
+        course = entityManager.persist(course);
+    }
+
+    @Test
+    void testNoCursor_ReturnsResetWithStartingCursor() {
+        Question question = question("Old question");
+        syncService.recordUpsert(course.getId(), ChangeEntityType.QUESTION, question.getId());
+
+        CourseChangesDto changes = syncService.getChanges(course.getId(), 0);
+
+        assertTrue(changes.isReset());
+        assertTrue(changes.getQuestions().isEmpty());
+        assertEquals(lastChangeId(), changes.getCursor());
+    }
+
+    @Test
+    void testChangesSinceCursor_CurrentStateAndTombstones() {
+        Question kept = question("Kept");
+        syncService.recordUpsert(course.getId(), ChangeEntityType.QUESTION, kept.getId());
+        long cursor = lastChangeId();
+
+        Question removed = question("Removed");
+        syncService.recordUpsert(course.getId(), ChangeEntityType.QUESTION, removed.getId());
+        Answer answer = entityManager.persist(new Answer("Use a record", professor, kept));
+        syncService.recordAnswerUpserts(List.of(answer));
+        Announcement announcement = entityManager.persist(new Announcement("Exam", "Friday", course, professor));
+        syncService.recordUpsert(course.getId(), ChangeEntityType.ANNOUNCEMENT, announcement.getId());
+        entityManager.remove(removed);
+        syncService.recordDelete(course.getId(), ChangeEntityType.QUESTION, removed.getId());
+        syncService.recordDelete(course.getId(), ChangeEntityType.ANSWER, 999L);
+        entityManager.flush();
+
+        CourseChangesDto changes = syncService.getChanges(course.getId(), cursor);
+
+        assertFalse(changes.isReset());
+        assertEquals(lastChangeId(), changes.getCursor());
+        assertEquals(List.of(kept.getId()), changes.getQuestions().stream().map(QuestionSummaryDto::getId).toList());
+        assertEquals(1, changes.getAnswers().size());
+        assertEquals(kept.getId(), changes.getAnswers().get(0).getQuestionId());
+        assertEquals("Prof Smith", changes.getAnnouncements().get(0).getProfessorName());
+        assertEquals(List.of(removed.getId()), changes.getDeleted().getQuestions());
+        assertEquals(List.of(999L), changes.getDeleted().getAnswers());
+    }
+
+    @Test
+    void testOtherCoursesAreNotReturned() {
+        Course other = new Course("Databases", "SQL", professor);
+        other.setCourseCode("SYNC0002");
+        other = entityManager.persist(other);
+        syncService.recordUpsert(course.getId(), ChangeEntityType.QUESTION, question("Start").getId());
+        long cursor = lastChangeId();
+        syncService.recordDelete(other.getId(), ChangeEntityType.QUESTION, 5L);
+
+        CourseChangesDto changes = syncService.getChanges(course.getId(), cursor);
+
+        assertTrue(changes.getDeleted().getQuestions().isEmpty());
+        assertEquals(cursor, changes.getCursor());
+    }
+
+    @Test
+    void testJustCommittedChangesAdvanceCursor() {
+        syncService.recordUpsert(course.getId(), ChangeEntityType.QUESTION, question("Start").getId());
+        long cursor = lastChangeId();
+        Question fresh = question("Fresh");
+        syncService.recordUpsert(course.getId(), ChangeEntityType.QUESTION, fresh.getId());
+
+        CourseChangesDto changes = syncService.getChanges(course.getId(), cursor);
+
+        // Ids commit in order per course, so nothing older can still appear
+        assertEquals(lastChangeId(), changes.getCursor());
+        assertEquals(fresh.getId(), changes.getQuestions().get(0).getId());
+        assertTrue(syncService.getChanges(course.getId(), changes.getCursor()).getQuestions().isEmpty());
+    }
+
+    @Test
+    void testLargeBacklogIsPaged() {
+        ReflectionTestUtils.setField(syncService, "maxChanges", 2);
+        syncService.recordUpsert(course.getId(), ChangeEntityType.QUESTION, question("Start").getId());
+        long cursor = lastChangeId();
+        for (int i = 0; i < 5; i++) {
+            syncService.recordUpsert(course.getId(), ChangeEntityType.QUESTION, question("Q" + i).getId());
+        }
+
+        int pages = 0;
+        int questions = 0;
+        CourseChangesDto page;
+        do {
+            page = syncService.getChanges(course.getId(), cursor);
+            cursor = page.getCursor();
+            questions += page.getQuestions().size();
+            pages++;
+        } while (page.isHasMore());
+
+        assertEquals(3, pages);
+        assertEquals(5, questions);
+        assertEquals(lastChangeId(), cursor);
+    }
+
+    @Test
+    void testCursorIntoPurgedRangeRequiresReset() {
+        for (int i = 0; i < 3; i++) {
+            syncService.recordUpsert(course.getId(), ChangeEntityType.QUESTION, question("Q" + i).getId());
+        }
+        long firstId = lastChangeId() - 2;
+        jdbcTemplate.update("UPDATE course_changes SET changed_at = ?", LocalDateTime.now().minusDays(60));
+
+        assertEquals(2, syncService.purgeChanges());
+
+        assertTrue(syncService.getChanges(course.getId(), firstId).isReset());
+        assertFalse(syncService.getChanges(course.getId(), lastChangeId()).isReset());
+    }
+
+    private Question question(String title) {
+        return entityManager.persistAndFlush(new Question(title, "Content", student, course, false));
+    }
+
+    private long lastChangeId() {
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM course_changes", Long.class);
+    }
+}
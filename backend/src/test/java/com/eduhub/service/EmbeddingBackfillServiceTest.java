@@ -0,0 +1,207 @@
+package com.eduhub.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.eduhub.dto.BackfillProgress;
+import com.eduhub.model.BackfillCheckpoint;
+import com.eduhub.model.Question;
+import com.eduhub.model.QuestionEmbedding;
+import com.eduhub.model.types.EmbeddingVector;
+import com.eduhub.repository.BackfillCheckpointRepository;
+import com.eduhub.repository.QuestionEmbeddingRepository;
+import com.eduhub.repository.QuestionRepository;
+import com.eduhub.repository.QuestionRepository.EmbeddingSourceRow;
+
+@ExtendWith(MockitoExtension.class)
+class EmbeddingBackfillServiceTest {
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private QuestionEmbeddingRepository questionEmbeddingRepository;
+
+    @Mock
+    private BackfillCheckpointRepository checkpointRepository;
+
+    @Mock
+    private EmbeddingService embeddingService;
+
+    @Mock
+    private QuestionIndexService questionIndexService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmbeddingBackfillService backfill;
+    private final List<EmbeddingSourceRow> questions = new ArrayList<>();
+    private final Set<Long> embedded = ConcurrentHashMap.newKeySet();
+    private final Set<Long> deleted = ConcurrentHashMap.newKeySet();
+    private final List<Integer> chunkSizes = new ArrayList<>();
+    private BackfillCheckpoint checkpoint;
+
+    @BeforeEach
+    void setUp() {
+        backfill = new EmbeddingBackfillService(questionRepository, questionEmbeddingRepository,
+                checkpointRepository, embeddingService, questionIndexService, transactionManager);
+        ReflectionTestUtils.setField(backfill, "chunkSize", 10);
+
+        for (long id = 1; id <= 25; id++) {
+            questions.add(row(id));
+        }
+        lenient().when(checkpointRepository.findById(EmbeddingBackfillService.CHECKPOINT))
+                .thenAnswer(invocation -> Optional.ofNullable(checkpoint));
+        lenient().when(checkpointRepository.save(any())).thenAnswer(invocation -> {
+            checkpoint = invocation.getArgument(0);
+            return checkpoint;
+        });
+        lenient().when(questionRepository.countWithoutEmbeddingAfter(anyLong())).thenAnswer(invocation ->
+                questions.stream().filter(q -> q.getId() > (long) invocation.getArgument(0)).count());
+        lenient().when(questionRepository.findWithoutEmbeddingAfter(anyLong(), any())).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            Limit limit = invocation.getArgument(1);
+            return questions.stream()
+                    .filter(q -> q.getId() > after && !embedded.contains(q.getId()))
+                    .limit(limit.max())
+                    .toList();
+        });
+        lenient().when(questionRepository.getReferenceById(anyLong())).thenAnswer(invocation -> {
+            Question question = new Question();
+            question.setId(invocation.getArgument(0));
+            return question;
+        });
+        lenient().when(questionRepository.lockExistingIds(any())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(id -> !deleted.contains(id)).toList();
+        });
+        lenient().when(questionEmbeddingRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<QuestionEmbedding> entities = invocation.getArgument(0);
+            chunkSizes.add(entities.size());
+            entities.forEach(e -> embedded.add(e.getQuestion().getId()));
+            return entities;
+        });
+        lenient().when(embeddingService.generateEmbedding(anyString())).thenReturn(EmbeddingVector.of(1f, 0f));
+        // The interface's one-by-one batch, so failures can be stubbed per text
+        lenient().when(embeddingService.generateEmbeddings(anyList())).thenCallRealMethod();
+    }
+
+    @Test
+    void testRun_EmbedsEveryQuestionInChunks() {
+        backfill.run();
+
+        assertEquals(25, embedded.size());
+        assertEquals(List.of(10, 10, 5), chunkSizes);
+        BackfillProgress progress = backfill.getProgress();
+        assertFalse(progress.running());
+        assertEquals(25, progress.remaining());
+        assertEquals(25, progress.processed());
+        assertEquals(3, progress.chunks());
+        // A finished pass starts over next time
+        assertEquals(0, checkpoint.getLastId());
+        assertEquals(25, checkpoint.getProcessed());
+    }
+
+    @Test
+    void testRun_ResumesAfterCheckpoint() {
+        checkpoint = new BackfillCheckpoint(EmbeddingBackfillService.CHECKPOINT);
+        checkpoint.setLastId(20);
+
+        backfill.run();
+
+        assertEquals(Set.of(21L, 22L, 23L, 24L, 25L), embedded);
+        verify(questionRepository, never()).findWithoutEmbeddingAfter(eq(0L), any());
+    }
+
+    @Test
+    void testRun_FailedEmbeddingsAreCountedAndSkipped() {
+        when(embeddingService.generateEmbedding("Question 7 Content")).thenThrow(new IllegalStateException("model down"));
+
+        backfill.run();
+
+        assertEquals(24, embedded.size());
+        assertFalse(embedded.contains(7L));
+        assertEquals(1, backfill.getProgress().failed());
+        assertEquals(1, checkpoint.getFailed());
+    }
+
+    @Test
+    void testRun_SkipsQuestionsEmbeddedMeanwhile() {
+        when(questionEmbeddingRepository.findExistingIds(any())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.contains(3L) ? List.of(3L) : List.of();
+        });
+
+        backfill.run();
+
+        assertEquals(24, backfill.getProgress().processed());
+        assertFalse(embedded.contains(3L));
+    }
+
+    @Test
+    void testRun_SkipsQuestionsDeletedWhileEmbedding() {
+        when(embeddingService.generateEmbedding("Question 4 Content")).thenAnswer(invocation -> {
+            // Deleted after the chunk was read, before it is stored
+            deleted.add(4L);
+            return EmbeddingVector.of(1f, 0f);
+        });
+
+        backfill.run();
+
+        assertEquals(24, embedded.size());
+        assertFalse(embedded.contains(4L));
+        assertEquals(List.of(9, 10, 5), chunkSizes, "the rest of the chunk is still stored");
+        assertEquals(0, backfill.getProgress().failed());
+    }
+
+    @Test
+    void testRun_EmbedsEachChunkAsOneBatch() {
+        backfill.run();
+
+        verify(embeddingService, times(3)).generateEmbeddings(anyList());
+    }
+
+    @Test
+    void testRun_NothingToDo() {
+        questions.clear();
+
+        backfill.run();
+
+        verify(embeddingService, never()).generateEmbedding(anyString());
+        assertTrue(chunkSizes.isEmpty());
+    }
+
+    private static EmbeddingSourceRow row(long id) {
+        return new EmbeddingSourceRow() {
+            public Long getId() { return id; }
+            public Integer getCourseId() { return 1; }
+            public String getTitle() { return "Question " + id; }
+            public String getContent() { return "Content"; }
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package com.eduhub.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.eduhub.model.Course;
+import com.eduhub.model.NotificationOutboxEvent;
+import com.eduhub.model.OutboxStatus;
+import com.eduhub.repository.CourseRepository;
+import com.eduhub.repository.NotificationOutboxRepository;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxDispatcherTest {
+
+    @Mock
+    private NotificationOutboxRepository outboxRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationOutboxDispatcher dispatcher;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new NotificationOutboxDispatcher(outboxRepository, courseRepository,
+                notificationService, transactionManager);
+        course = new Course("Programming 3", "Java", null);
+        course.setId(1);
+    }
+
+    @Test
+    void testDispatchBatch_DeliversAndMarksSent() {
+        NotificationOutboxEvent first = event(10L, 1, 0);
+        NotificationOutboxEvent second = event(11L, 1, 0);
+        when(outboxRepository.claimDue(any(), anyInt())).thenReturn(List.of(first, second));
+        when(courseRepository.findAllById(List.of(1))).thenReturn(List.of(course));
+
+        assertEquals(2, dispatcher.dispatchBatch());
+
+        verify(notificationService).deliverToStudentsInCourse(course, "New announcement: 10");
+        verify(notificationService).deliverToStudentsInCourse(course, "New announcement: 11");
+        verify(outboxRepository).markSent(eq(List.of(10L, 11L)), any());
+        assertEquals(1, first.getAttempts());
+    }
+
+    @Test
+    void testDispatchBatch_LeasesClaimedEvents() {
+        NotificationOutboxEvent event = event(10L, 1, 0);
+        when(outboxRepository.claimDue(any(), anyInt())).thenReturn(List.of(event));
+        when(courseRepository.findAllById(List.of(1))).thenReturn(List.of(course));
+
+        dispatcher.dispatchBatch();
+
+        // Another replica must not see the row as due while it is being delivered
+        assertTrue(event.getNextAttemptAt().isAfter(LocalDateTime.now().plusMinutes(1)));
+    }
+
+    @Test
+    void testDispatchBatch_FailureIsRetriedWithBackoff() {
+        NotificationOutboxEvent event = event(10L, 1, 0);
+        when(outboxRepository.claimDue(any(), anyInt())).thenReturn(List.of(event));
+        when(courseRepository.findAllById(List.of(1))).thenReturn(List.of(course));
+        doThrow(new IllegalStateException("transport down"))
+                .when(notificationService).deliverToStudentsInCourse(course, "New announcement: 10");
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatchBatch();
+
+        ArgumentCaptor<LocalDateTime> next = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository).markFailedAttempt(eq(10L), eq(OutboxStatus.PENDING), next.capture(),
+                eq("java.lang.IllegalStateException: transport down"));
+        assertTrue(!next.getValue().isBefore(before.plusSeconds(2)));
+        verify(outboxRepository, never()).markSent(any(), any());
+    }
+
+    @Test
+    void testDispatchBatch_GivesUpAfterMaxAttempts() {
+        NotificationOutboxEvent event = event(10L, 1, 4);
+        when(outboxRepository.claimDue(any(), anyInt())).thenReturn(List.of(event));
+        when(courseRepository.findAllById(List.of(1))).thenReturn(List.of(course));
+        doThrow(new IllegalStateException("transport down"))
+                .when(notificationService).deliverToStudentsInCourse(any(), anyString());
+
+        dispatcher.dispatchBatch();
+
+        verify(outboxRepository).markFailedAttempt(eq(10L), eq(OutboxStatus.FAILED), any(), anyString());
+    }
+
+    @Test
+    void testDispatchBatch_DeletedCourseIsMarkedSent() {
+        when(outboxRepository.claimDue(any(), anyInt())).thenReturn(List.of(event(10L, 99, 0)));
+        when(courseRepository.findAllById(List.of(99))).thenReturn(List.of());
+
+        dispatcher.dispatchBatch();
+
+        verify(notificationService, never()).deliverToStudentsInCourse(any(), anyString());
+        verify(outboxRepository).markSent(eq(List.of(10L)), any());
+    }
+
+    @Test
+    void testDispatchBatch_NothingDue() {
+        when(outboxRepository.claimDue(any(), anyInt())).thenReturn(List.of());
+
+        assertEquals(0, dispatcher.dispatchBatch());
+        verify(courseRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void testBackoff_GrowsAndIsCapped() {
+        assertEquals(Duration.ofSeconds(2), NotificationOutboxDispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(8), NotificationOutboxDispatcher.backoff(3));
+        assertEquals(Duration.ofMinutes(10), NotificationOutboxDispatcher.backoff(30));
+    }
+
+    private static NotificationOutboxEvent event(Long id, Integer courseId, int attempts) {
+        NotificationOutboxEvent event = new NotificationOutboxEvent(
+                AnnouncementService.ANNOUNCEMENT_CREATED, courseId, "New announcement: " + id);
+        event.setId(id);
+        event.setAttempts(attempts);
+        return event;
+    }
+}
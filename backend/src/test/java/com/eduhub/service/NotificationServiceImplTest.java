@@ -0,0 +1,174 @@
+package com.eduhub.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.eduhub.dto.NotificationMetrics;
+import com.eduhub.model.Course;
+import com.eduhub.model.Role;
+import com.eduhub.model.User;
+import com.eduhub.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final StubNotificationTransport transport = new StubNotificationTransport();
+    private NotificationServiceImpl service;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        transport.release();
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void testCourseFanOut_DeliversToEveryStudentInBatches() throws Exception {
+        service = start(10_000, 4, 50);
+        Course course = course();
+        when(userRepository.findRecipientsByCourseId(1)).thenReturn(recipients(600));
+
+        long begin = System.currentTimeMillis();
+        service.notifyStudentsInCourse(course, "New announcement: Exam");
+        awaitDelivered(600);
+
+        assertTrue(System.currentTimeMillis() - begin < 5000, "fan-out took too long");
+        Set<Integer> recipients = transport.deliveries().stream()
+                .map(NotificationTransport.Delivery::recipientId)
+                .collect(Collectors.toSet());
+        assertEquals(600, recipients.size());
+        assertTrue(transport.batches().stream().allMatch(batch -> batch.size() <= 50));
+        assertEquals("Course 'Programming 3': New announcement: Exam",
+                transport.deliveries().get(0).messages().get(0));
+    }
+
+    @Test
+    void testMessagesForSameRecipient_GroupedIntoOneDelivery() throws Exception {
+        service = start(100, 1, 50);
+        User student = new User(2, "John", "Doe", "john@example.com", "pass", Role.STUDENT);
+
+        // Hold the single worker so all three messages are queued before the next drain
+        transport.hold();
+        service.sendNotification(new User(9, "Warm", "Up", "warm@example.com", "pass", Role.STUDENT), "first");
+        Thread.sleep(100);
+        service.sendNotification(student, "one");
+        service.sendNotification(student, "two");
+        service.sendNotification(student, "three");
+        transport.release();
+        awaitDelivered(4);
+
+        NotificationTransport.Delivery john = transport.deliveries().stream()
+                .filter(delivery -> delivery.recipientId() == 2)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(List.of("one", "two", "three"), john.messages());
+        assertEquals("John Doe", john.name());
+    }
+
+    @Test
+    void testFullQueue_RejectsInsteadOfBlocking() throws Exception {
+        service = start(10, 1, 10);
+        transport.hold();
+        when(userRepository.findRecipientsByCourseId(1)).thenReturn(recipients(200));
+
+        long begin = System.currentTimeMillis();
+        int rejected = service.notifyStudentsInCourse(course(), "Flood");
+        long elapsed = System.currentTimeMillis() - begin;
+
+        NotificationMetrics metrics = service.getMetrics();
+        assertEquals(metrics.rejected(), rejected, "rejections are reported to the caller");
+        // One worker holds at most one batch, the queue holds 10; the rest are shed after one short wait
+        assertTrue(metrics.rejected() >= 200 - 10 - 10, "rejected=" + metrics.rejected());
+        assertEquals(200, metrics.queued() + metrics.rejected());
+        assertTrue(elapsed < 2000, "caller blocked for " + elapsed + " ms");
+    }
+
+    @Test
+    void testTransportFailure_CountedAsFailed() throws Exception {
+        service = start(100, 1, 10);
+        transport.setFailing(true);
+        service.sendNotification(new User(2, "John", "Doe", "john@example.com", "pass", Role.STUDENT), "hello");
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (service.getMetrics().failed() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(1, service.getMetrics().failed());
+        assertEquals(0, service.getMetrics().delivered());
+    }
+
+    @Test
+    void testDeliverToCourse_SynchronousAndThrowsOnTransportFailure() {
+        service = start(10, 1, 50);
+        when(userRepository.findRecipientsByCourseId(1)).thenReturn(recipients(120));
+
+        service.deliverToStudentsInCourse(course(), "Exam moved");
+
+        assertEquals(120, service.getMetrics().delivered(), "delivered before returning");
+        assertEquals(3, transport.batches().size());
+        assertEquals(0, service.getMetrics().queued());
+
+        transport.setFailing(true);
+        assertThrows(IllegalStateException.class, () -> service.deliverToStudentsInCourse(course(), "Exam moved"));
+        assertEquals(50, service.getMetrics().failed());
+    }
+
+    private NotificationServiceImpl start(int capacity, int workers, int batchSize) {
+        NotificationServiceImpl engine = new NotificationServiceImpl(userRepository, transport,
+                capacity, workers, batchSize, 50, true);
+        engine.start();
+        return engine;
+    }
+
+    private void awaitDelivered(long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (service.getMetrics().delivered() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, service.getMetrics().delivered());
+    }
+
+    private static Course course() {
+        Course course = new Course("Programming 3", "Java", null);
+        course.setId(1);
+        return course;
+    }
+
+    private static List<UserRepository.RecipientRow> recipients(int count) {
+        List<UserRepository.RecipientRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = 100 + i;
+            rows.add(new UserRepository.RecipientRow() {
+                @Override
+                public Integer getId() { return id; }
+
+                @Override
+                public String getEmail() { return "student" + id + "@example.com"; }
+
+                @Override
+                public String getFirstname() { return "Student"; }
+
+                @Override
+                public String getLastname() { return String.valueOf(id); }
+            });
+        }
+        return rows;
+    }
+}
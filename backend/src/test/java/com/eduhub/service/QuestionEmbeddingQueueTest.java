@@ -0,0 +1,209 @@
+package com.eduhub.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.eduhub.dto.EmbeddingQueueMetrics;
+import com.eduhub.model.EmbeddingStatus;
+import com.eduhub.model.Question;
+import com.eduhub.model.QuestionEmbedding;
+import com.eduhub.model.types.EmbeddingVector;
+import com.eduhub.repository.QuestionEmbeddingRepository;
+import com.eduhub.repository.QuestionRepository;
+import com.eduhub.repository.QuestionRepository.EmbeddingSourceRow;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionEmbeddingQueueTest {
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private QuestionEmbeddingRepository questionEmbeddingRepository;
+
+    @Mock
+    private EmbeddingService embeddingService;
+
+    @Mock
+    private QuestionIndexService questionIndexService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private QuestionEmbeddingQueue queue;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        queue.stop();
+    }
+
+    @Test
+    void testProcess_StoresBatchAndMarksReady() {
+        queue = newQueue(3, 5);
+        sourcesFor(1L, 2L, 3L);
+        when(embeddingService.generateEmbedding(anyString())).thenReturn(EmbeddingVector.of(1f, 0f));
+        List<Integer> saved = new ArrayList<>();
+        when(questionEmbeddingRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<QuestionEmbedding> entities = invocation.getArgument(0);
+            saved.add(entities.size());
+            return entities;
+        });
+
+        queue.process(tasks(1L, 2L, 3L));
+
+        assertEquals(List.of(3), saved);
+        verify(questionRepository).updateEmbeddingStatus(List.of(1L, 2L, 3L), EmbeddingStatus.READY);
+        verify(questionIndexService).onQuestionSaved(eq(1), eq(2L), any());
+        EmbeddingQueueMetrics metrics = queue.getMetrics();
+        assertEquals(3, metrics.embedded());
+        assertEquals(0, metrics.inFlight());
+    }
+
+    @Test
+    void testProcess_DropsDeletedQuestions() {
+        queue = newQueue(3, 5);
+        sourcesFor(1L);
+        when(embeddingService.generateEmbedding(anyString())).thenReturn(EmbeddingVector.of(1f, 0f));
+
+        queue.process(tasks(1L, 2L));
+
+        verify(questionRepository).updateEmbeddingStatus(List.of(1L), EmbeddingStatus.READY);
+        verify(embeddingService).generateEmbedding("Question 1 Content");
+        assertEquals(0, queue.getMetrics().inFlight());
+    }
+
+    @Test
+    void testProcess_FailedQuestionIsRetried() throws InterruptedException {
+        queue = newQueue(3, 5);
+        sourcesFor(1L, 2L);
+        when(embeddingService.generateEmbedding(anyString())).thenReturn(EmbeddingVector.of(1f, 0f));
+        when(embeddingService.generateEmbedding("Question 2 Content")).thenThrow(new IllegalStateException("timeout"));
+
+        queue.process(tasks(1L, 2L));
+
+        verify(questionRepository).updateEmbeddingStatus(List.of(1L), EmbeddingStatus.READY);
+        long deadline = System.currentTimeMillis() + 2000;
+        while (queue.getMetrics().queueDepth() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        EmbeddingQueueMetrics metrics = queue.getMetrics();
+        assertEquals(1, metrics.retried());
+        assertEquals(1, metrics.queueDepth(), "The failed question should be queued again");
+        assertEquals(0, metrics.deadLettered());
+    }
+
+    @Test
+    void testProcess_DeadLettersAfterMaxAttempts() {
+        queue = newQueue(3, 2);
+        sourcesFor(1L);
+        when(embeddingService.generateEmbedding(anyString())).thenThrow(new IllegalStateException("model down"));
+
+        queue.process(List.of(new QuestionEmbeddingQueue.Task(1L, 1)));
+
+        verify(questionRepository).updateEmbeddingStatus(List.of(1L), EmbeddingStatus.FAILED);
+        verify(questionEmbeddingRepository, never()).saveAll(any());
+        EmbeddingQueueMetrics metrics = queue.getMetrics();
+        assertEquals(1, metrics.deadLettered());
+        assertEquals(1L, metrics.deadLetters().get(0).questionId());
+        assertEquals("model down", metrics.deadLetters().get(0).error());
+        assertEquals(0, metrics.inFlight());
+    }
+
+    @Test
+    void testSubmit_DeduplicatesAndNeverBlocksWhenFull() {
+        queue = newQueue(2, 5);
+
+        assertTrue(queue.submit(1L));
+        assertFalse(queue.submit(1L), "A question already in flight is not queued twice");
+        assertTrue(queue.submit(2L));
+        assertFalse(queue.submit(3L));
+
+        EmbeddingQueueMetrics metrics = queue.getMetrics();
+        assertEquals(2, metrics.queued());
+        assertEquals(1, metrics.rejected());
+        assertEquals(2, metrics.inFlight());
+    }
+
+    @Test
+    void testSweep_QueuesPendingQuestions() {
+        queue = newQueue(10, 5);
+        when(questionRepository.findIdsByEmbeddingStatus(eq(EmbeddingStatus.PENDING), any(), any()))
+                .thenReturn(List.of(4L, 5L));
+        queue.submit(4L);
+
+        queue.sweep();
+
+        assertEquals(2, queue.getMetrics().queueDepth());
+    }
+
+    /**
+     * A queue without its worker thread, so tests drive batches themselves.
+     */
+    private QuestionEmbeddingQueue newQueue(int capacity, int maxAttempts) {
+        QuestionEmbeddingQueue created = new QuestionEmbeddingQueue(questionRepository, questionEmbeddingRepository,
+                embeddingService, questionIndexService, transactionManager, capacity, 32, maxAttempts, 1, 60000);
+        ReflectionTestUtils.setField(created, "running", true);
+        // The interface's one-by-one batch, so failures can be stubbed per text
+        lenient().when(embeddingService.generateEmbeddings(anyList())).thenCallRealMethod();
+        lenient().when(questionRepository.getReferenceById(anyLong())).thenAnswer(invocation -> {
+            Question question = new Question();
+            question.setId(invocation.getArgument(0));
+            return question;
+        });
+        lenient().when(questionRepository.lockExistingIds(any()))
+                .thenAnswer(invocation -> List.copyOf(invocation.<Collection<Long>>getArgument(0)));
+        return created;
+    }
+
+    private List<QuestionEmbeddingQueue.Task> tasks(Long... ids) {
+        List<QuestionEmbeddingQueue.Task> tasks = new ArrayList<>();
+        for (Long id : ids) {
+            queue.submit(id);
+            tasks.add(new QuestionEmbeddingQueue.Task(id, 0));
+        }
+        // Taken by the worker
+        ((BlockingQueue<?>) ReflectionTestUtils.getField(queue, "queue")).clear();
+        return tasks;
+    }
+
+    private void sourcesFor(Long... ids) {
+        List<EmbeddingSourceRow> rows = new ArrayList<>();
+        for (Long id : ids) {
+            rows.add(row(id));
+        }
+        when(questionRepository.findEmbeddingSourcesByIdIn(argThat((Collection<Long> c) -> c != null)))
+                .thenReturn(rows);
+    }
+
+    private static EmbeddingSourceRow row(long id) {
+        return new EmbeddingSourceRow() {
+            public Long getId() { return id; }
+            public Integer getCourseId() { return 1; }
+            public String getTitle() { return "Question " + id; }
+            public String getContent() { return "Content"; }
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.eduhub.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.eduhub.model.QuestionEmbedding;
+import com.eduhub.model.types.EmbeddingVector;
+import com.eduhub.repository.QuestionEmbeddingRepository;
+import com.eduhub.util.HnswIndex;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionIndexServiceTest {
+
+    private static final int DIMENSION = 16;
+
+    @Mock
+    private QuestionEmbeddingRepository questionEmbeddingRepository;
+
+    private final Random random = new Random(3);
+
+    @Test
+    void testGetIndex_BuildsOncePerCourse() {
+        when(questionEmbeddingRepository.findByCourseId(1)).thenReturn(embeddings(1, 5));
+        QuestionIndexService service = new QuestionIndexService(questionEmbeddingRepository);
+
+        HnswIndex index = service.getIndex(1);
+
+        assertSame(index, service.getIndex(1));
+        assertEquals(5, index.size());
+        verify(questionEmbeddingRepository, times(1)).findByCourseId(1);
+    }
+
+    @Test
+    void testGetIndex_SlowBuildDoesNotBlockOtherCourses() throws Exception {
+        CountDownLatch buildStarted = new CountDownLatch(1);
+        CountDownLatch releaseBuild = new CountDownLatch(1);
+        when(questionEmbeddingRepository.findByCourseId(1)).thenAnswer(invocation -> {
+            buildStarted.countDown();
+            releaseBuild.await();
+            return embeddings(1, 3);
+        });
+        when(questionEmbeddingRepository.findByCourseId(2)).thenReturn(embeddings(100, 2));
+        QuestionIndexService service = new QuestionIndexService(questionEmbeddingRepository);
+
+        CompletableFuture<HnswIndex> slow = CompletableFuture.supplyAsync(() -> service.getIndex(1));
+        assertTrue(buildStarted.await(5, TimeUnit.SECONDS));
+
+        assertEquals(2, service.getIndex(2).size(), "Other courses build while course 1 is still loading");
+        service.onQuestionSaved(1, 50L, EmbeddingVector.wrap(randomVector()));
+
+        releaseBuild.countDown();
+        HnswIndex index = slow.get(5, TimeUnit.SECONDS);
+        assertEquals(4, index.size(), "Update made during the build is applied once it completes");
+        assertTrue(index.contains(50L));
+    }
+
+    @Test
+    void testOnQuestionDeleted_RebuildsIndexWhenMostlyTombstones() {
+        when(questionEmbeddingRepository.findByCourseId(1))
+                .thenReturn(embeddings(1, 4))
+                .thenReturn(embeddings(3, 2));
+        QuestionIndexService service = new QuestionIndexService(questionEmbeddingRepository);
+        HnswIndex first = service.getIndex(1);
+
+        service.onQuestionDeleted(1, 1L);
+        assertSame(first, service.getIndex(1), "One removal in four stays under the threshold");
+        service.onQuestionDeleted(1, 2L);
+
+        HnswIndex rebuilt = service.getIndex(1);
+        assertNotSame(first, rebuilt);
+        assertEquals(2, rebuilt.size());
+        verify(questionEmbeddingRepository, times(2)).findByCourseId(1);
+    }
+
+    private List<QuestionEmbedding> embeddings(long firstId, int count) {
+        List<QuestionEmbedding> embeddings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            QuestionEmbedding embedding = new QuestionEmbedding();
+            embedding.setQuestionId(firstId + i);
+            embedding.setEmbedding(EmbeddingVector.wrap(randomVector()));
+            embeddings.add(embedding);
+        }
+        return embeddings;
+    }
+
+    private float[] randomVector() {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
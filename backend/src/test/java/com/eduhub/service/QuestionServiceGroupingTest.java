@@ -0,0 +1,230 @@
+package com.eduhub.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.eduhub.dto.QuestionGroupDto;
+import com.eduhub.model.Course;
+import com.eduhub.model.EmbeddingStatus;
+import com.eduhub.model.Question;
+import com.eduhub.model.QuestionEmbedding;
+import com.eduhub.model.Role;
+import com.eduhub.model.User;
+import com.eduhub.model.types.EmbeddingVector;
+import com.eduhub.repository.CourseRepository;
+import com.eduhub.repository.QuestionEmbeddingRepository;
+import com.eduhub.repository.QuestionEmbeddingRepository.SimilarPairRow;
+import com.eduhub.repository.QuestionRepository;
+import com.eduhub.repository.UserRepository;
+import com.eduhub.util.VectorUtils;
+
+/**
+ * Compares index- and database-backed grouping with the exact greedy all-pairs algorithm
+ * on a synthetic course with clustered embeddings.
+ */
+@ExtendWith(MockitoExtension.class)
+class QuestionServiceGroupingTest {
+
+    private static final int COURSE_ID = 1;
+    private static final int DIMENSION = 128;
+    private static final int CLUSTERS = 60;
+    private static final int QUESTIONS = 1200;
+    private static final double THRESHOLD = 0.75;
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private QuestionEmbeddingRepository questionEmbeddingRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EmbeddingService embeddingService;
+
+    @Mock
+    private PgVectorSearchService pgVectorSearchService;
+
+    private List<Question> questions;
+
+    private List<QuestionEmbedding> embeddings;
+
+    @BeforeEach
+    void setUp() {
+        embeddings = clusteredEmbeddings();
+        questions = embeddings.stream().map(QuestionEmbedding::getQuestion).toList();
+        when(questionRepository.findByCourseIdOrderByCreatedAtDesc(COURSE_ID)).thenReturn(questions);
+        when(questionEmbeddingRepository.findByCourseId(COURSE_ID)).thenReturn(embeddings);
+    }
+
+    @Test
+    void testIndexGrouping_RecallAgainstExactGreedy() {
+        List<QuestionGroupDto> exact = newService("exact").getGroupedQuestions(COURSE_ID, THRESHOLD);
+        List<QuestionGroupDto> indexed = newService("index").getGroupedQuestions(COURSE_ID, THRESHOLD);
+
+        Set<String> exactPairs = groupedPairs(exact);
+        Set<String> indexedPairs = groupedPairs(indexed);
+        Set<String> found = new HashSet<>(exactPairs);
+        found.retainAll(indexedPairs);
+
+        assertTrue(exactPairs.size() > QUESTIONS / 2, "Synthetic data should produce groups");
+        double recall = (double) found.size() / exactPairs.size();
+        assertTrue(recall >= 0.95, "Grouped-pair recall should be at least 0.95, got " + recall);
+        assertEquals(QUESTIONS, countQuestions(indexed), "Every question should appear exactly once");
+    }
+
+    @Test
+    void testDatabaseGrouping_MatchesExactWhenPairsAreComplete() {
+        when(questionEmbeddingRepository.findQuestionIdsByCourseId(COURSE_ID))
+                .thenReturn(questions.stream().map(Question::getId).toList());
+        when(pgVectorSearchService.findSimilarPairs(COURSE_ID, THRESHOLD)).thenReturn(allPairsAbove(THRESHOLD));
+
+        List<QuestionGroupDto> exact = newService("exact").getGroupedQuestions(COURSE_ID, THRESHOLD);
+        List<QuestionGroupDto> database = newService("database").getGroupedQuestions(COURSE_ID, THRESHOLD);
+
+        assertEquals(groupedPairs(exact), groupedPairs(database));
+        assertEquals(exact.size(), database.size());
+    }
+
+    @Test
+    void testExactGrouping_EveryQuestionAppearsOnce() {
+        List<QuestionGroupDto> groups = newService("exact").getGroupedQuestions(COURSE_ID, THRESHOLD);
+
+        assertEquals(QUESTIONS, countQuestions(groups));
+    }
+
+    @Test
+    void testGrouping_PendingQuestionsListedStandalone() {
+        Question pending = new Question("Just posted", "No embedding yet", null, questions.get(0).getCourse(), false);
+        pending.setId(99_999L);
+        pending.setEmbeddingStatus(EmbeddingStatus.PENDING);
+        List<Question> withPending = new ArrayList<>();
+        withPending.add(pending);
+        withPending.addAll(questions);
+        when(questionRepository.findByCourseIdOrderByCreatedAtDesc(COURSE_ID)).thenReturn(withPending);
+
+        List<QuestionGroupDto> groups = newService("exact").getGroupedQuestions(COURSE_ID, THRESHOLD);
+
+        assertEquals(pending, groups.get(0).getMainQuestion());
+        assertTrue(groups.get(0).getSimilarQuestions().isEmpty());
+        assertEquals(QUESTIONS + 1, countQuestions(groups));
+    }
+
+    private QuestionService newService(String mode) {
+        QuestionIndexService indexService = new QuestionIndexService(questionEmbeddingRepository);
+        QuestionService service = new QuestionService(questionRepository, questionEmbeddingRepository,
+                courseRepository, userRepository, embeddingService, indexService, pgVectorSearchService, null, null);
+        ReflectionTestUtils.setField(service, "aiEnabled", true);
+        ReflectionTestUtils.setField(service, "groupingMode", mode);
+        ReflectionTestUtils.setField(service, "indexMinQuestions", 0);
+        return service;
+    }
+
+    /**
+     * What the pgvector pairs query returns with an exact scan and no neighbour cap.
+     */
+    private List<SimilarPairRow> allPairsAbove(double threshold) {
+        List<SimilarPairRow> rows = new ArrayList<>();
+        for (QuestionEmbedding a : embeddings) {
+            for (QuestionEmbedding b : embeddings) {
+                if (a == b) {
+                    continue;
+                }
+                double similarity = VectorUtils.cosineSimilarity(a.getEmbedding(), b.getEmbedding());
+                if (similarity >= threshold) {
+                    rows.add(new PairRow(a.getQuestionId(), b.getQuestionId(), similarity));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private record PairRow(Long getQuestionId, Long getNeighbourId, Double getSimilarity)
+            implements SimilarPairRow {
+    }
+
+    /**
+     * Unordered question-id pairs that share a group.
+     */
+    private static Set<String> groupedPairs(List<QuestionGroupDto> groups) {
+        Set<String> pairs = new HashSet<>();
+        for (QuestionGroupDto group : groups) {
+            List<Long> ids = new ArrayList<>();
+            ids.add(group.getMainQuestion().getId());
+            group.getSimilarQuestions().forEach(s -> ids.add(s.getQuestion().getId()));
+            for (int i = 0; i < ids.size(); i++) {
+                for (int j = i + 1; j < ids.size(); j++) {
+                    long a = Math.min(ids.get(i), ids.get(j));
+                    long b = Math.max(ids.get(i), ids.get(j));
+                    pairs.add(a + ":" + b);
+                }
+            }
+        }
+        return pairs;
+    }
+
+    private static int countQuestions(List<QuestionGroupDto> groups) {
+        Set<Long> ids = new HashSet<>();
+        int total = 0;
+        for (QuestionGroupDto group : groups) {
+            ids.add(group.getMainQuestion().getId());
+            total++;
+            for (QuestionGroupDto.SimilarQuestionDto similar : group.getSimilarQuestions()) {
+                ids.add(similar.getQuestion().getId());
+                total++;
+            }
+        }
+        assertEquals(ids.size(), total, "No question should be in two groups");
+        return total;
+    }
+
+    private static List<QuestionEmbedding> clusteredEmbeddings() {
+        Random random = new Random(3);
+        User professor = new User(1, "Prof", "Smith", "prof@example.com", "pass", Role.PROFESSOR);
+        User student = new User(2, "John", "Doe", "student@example.com", "pass", Role.STUDENT);
+        Course course = new Course("Programming 3", "Java course", professor);
+        course.setId(COURSE_ID);
+
+        float[][] centers = new float[CLUSTERS][DIMENSION];
+        for (float[] center : centers) {
+            for (int d = 0; d < DIMENSION; d++) {
+                center[d] = (float) random.nextGaussian();
+            }
+        }
+
+        List<QuestionEmbedding> result = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < QUESTIONS; i++) {
+            float[] center = centers[random.nextInt(CLUSTERS)];
+            float[] vector = new float[DIMENSION];
+            for (int d = 0; d < DIMENSION; d++) {
+                vector[d] = center[d] + (float) (random.nextGaussian() * 0.45);
+            }
+            Question question = new Question("Question " + i, "Content " + i, student, course, false);
+            question.setId((long) i + 1);
+            question.setCreatedAt(now.minusMinutes(i));
+            QuestionEmbedding embedding = new QuestionEmbedding(question, EmbeddingVector.wrap(vector));
+            embedding.setQuestionId(question.getId());
+            result.add(embedding);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,197 @@
+package com.eduhub.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import com.eduhub.dto.QuestionCursor;
+import com.eduhub.dto.QuestionPageDto;
+import com.eduhub.dto.QuestionSummaryDto;
+import com.eduhub.model.Course;
+import com.eduhub.model.Question;
+import com.eduhub.model.Role;
+import com.eduhub.model.User;
+import com.eduhub.repository.QuestionRepository;
+
+/**
+ * Walks a course feed page by page and checks that every question is returned
+ * exactly once, in (createdAt, id) descending order, for each filter.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.eduhub.service.QuestionServicePaginationTest$SqlCapture"
+})
+class QuestionServicePaginationTest {
+
+    private static final int QUESTIONS = 23;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    /** Records the SQL Hibernate prepares, so a test can ask the database for its plan. */
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    private QuestionService questionService;
+    private Integer courseId;
+    private List<Long> expectedOrder;
+
+    @BeforeEach
+    void setUp() {
+        questionService = new QuestionService(questionRepository, null, null, null, null, null, null, null, null);
+
+        User professor = entityManager.persist(
+                new User(null, "Prof", "Smith", "prof@example.com", "pass", Role.PROFESSOR));
+        Course course = new Course("Programming 3", "Java course", professor);
+        course.setCourseCode("PAGE0001");
+        courseId = entityManager.persist(course).getId();
+
+        // Pairs of questions share a timestamp so the id tiebreak is exercised
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 12, 0);
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < QUESTIONS; i++) {
+            Question question = new Question("Question " + i, "Content", professor, course, false);
+            question.setCreatedAt(base.plusMinutes(i / 2));
+            question.setAnswerCount(i % 3 == 0 ? 1 : 0);
+            questions.add(entityManager.persist(question));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        expectedOrder = questions.stream()
+                .sorted((a, b) -> {
+                    int byTime = b.getCreatedAt().compareTo(a.getCreatedAt());
+                    return byTime != 0 ? byTime : Long.compare(b.getId(), a.getId());
+                })
+                .map(Question::getId)
+                .toList();
+    }
+
+    @Test
+    void testDetailPages_CoverFeedInOrder() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            QuestionPageDto<Question> page = questionService.getQuestionPage(courseId, null, cursor, 5);
+            page.getItems().forEach(q -> seen.add(q.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expectedOrder, seen);
+        assertEquals(5, pages);
+    }
+
+    @Test
+    void testSummaryPages_RespectFilters() {
+        List<Long> answered = walkSummaries("answered");
+        List<Long> unanswered = walkSummaries("unanswered");
+
+        assertEquals(8, answered.size());
+        assertEquals(QUESTIONS - 8, unanswered.size());
+        assertEquals(expectedOrder.stream().filter(answered::contains).toList(), answered);
+        assertEquals(expectedOrder.stream().filter(unanswered::contains).toList(), unanswered);
+    }
+
+    @Test
+    void testLastPage_HasNoCursor() {
+        QuestionPageDto<Question> page = questionService.getQuestionPage(courseId, null, null, QUESTIONS);
+
+        assertEquals(QUESTIONS, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testDeletedBetweenQueries_CursorFromKeyPage() {
+        QuestionRepository repository = mock(QuestionRepository.class);
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 12, 0);
+        List<QuestionCursor> keys = new ArrayList<>();
+        for (long id = 6; id >= 1; id--) {
+            keys.add(new QuestionCursor(createdAt, id));
+        }
+        when(repository.findPageKeys(eq(courseId), anyInt(), anyInt(), any(), any(), any())).thenReturn(keys);
+        when(repository.findDetailsByIdIn(anyList())).thenReturn(List.of());
+        QuestionService service = new QuestionService(repository, null, null, null, null, null, null, null, null);
+
+        QuestionPageDto<Question> page = service.getQuestionPage(courseId, null, null, 5);
+
+        assertTrue(page.getItems().isEmpty());
+        assertEquals(new QuestionCursor(createdAt, 2L).encode(), page.getNextCursor());
+    }
+
+    @Test
+    void testKeysetPage_SeeksIndexPastCourseId() throws Exception {
+        SqlCapture.statements.clear();
+        questionRepository.findPageKeys(courseId, 0, Integer.MAX_VALUE,
+                LocalDateTime.of(2026, 1, 1, 12, 5), Long.MAX_VALUE, Limit.of(5));
+        String sql = SqlCapture.statements.get(SqlCapture.statements.size() - 1);
+
+        String plan = entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql);
+                    ResultSet result = explain.executeQuery()) {
+                result.next();
+                return result.getString(1).toLowerCase();
+            }
+        });
+
+        // The index condition must bound created_at, not just course_id, so deep pages do not scan from the top
+        int index = plan.indexOf("idx_questions_course_created:");
+        assertTrue(index >= 0, plan);
+        String indexCondition = plan.substring(index, plan.indexOf("*/", index));
+        assertTrue(indexCondition.contains("course_id ="), plan);
+        assertTrue(indexCondition.contains("created_at <="), plan);
+    }
+
+    @Test
+    void testInvalidCursor_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> questionService.getQuestionPage(courseId, null, "not-a-cursor", 5));
+    }
+
+    private List<Long> walkSummaries(String filter) {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            QuestionPageDto<QuestionSummaryDto> page =
+                    questionService.getQuestionSummaryPage(courseId, filter, cursor, 3);
+            page.getItems().forEach(q -> seen.add(q.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+}
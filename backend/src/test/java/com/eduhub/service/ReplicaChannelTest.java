@@ -0,0 +1,25 @@
+package com.eduhub.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+class ReplicaChannelTest {
+
+    @Test
+    void testCourseCodePayloadRoundTrip() {
+        ReplicaChannel.CourseCodeChanged added = new ReplicaChannel.CourseCodeChanged("CS101DEM", 12);
+        ReplicaChannel.CourseCodeChanged removed = new ReplicaChannel.CourseCodeChanged("CS101DEM", null);
+
+        assertEquals(added, ReplicaChannel.CourseCodeChanged.fromPayload(added.toPayload()));
+        assertEquals(removed, ReplicaChannel.CourseCodeChanged.fromPayload(removed.toPayload()));
+    }
+
+    @Test
+    void testStudentCoursesPayloadRoundTrip() {
+        ReplicaChannel.StudentCoursesChanged student = new ReplicaChannel.StudentCoursesChanged(7);
+        ReplicaChannel.StudentCoursesChanged everyone = new ReplicaChannel.StudentCoursesChanged(null);
+
+        assertEquals(student, ReplicaChannel.StudentCoursesChanged.fromPayload(student.toPayload()));
+        assertEquals(everyone, ReplicaChannel.StudentCoursesChanged.fromPayload(everyone.toPayload()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.eduhub.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local transport for tests: records every batch, can be made to fail or to
+ * block until released.
+ */
+class StubNotificationTransport implements NotificationTransport {
+
+    private final List<List<Delivery>> batches = new ArrayList<>();
+    private volatile boolean failing;
+    private volatile CountDownLatch gate;
+
+    @Override
+    public void deliver(List<Delivery> batch) throws Exception {
+        CountDownLatch currentGate = gate;
+        if (currentGate != null) {
+            currentGate.await(10, TimeUnit.SECONDS);
+        }
+        if (failing) {
+            throw new IllegalStateException("transport down");
+        }
+        synchronized (batches) {
+            batches.add(List.copyOf(batch));
+        }
+    }
+
+    void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    /**
+     * Blocks deliveries until {@link #release()} is called.
+     */
+    void hold() {
+        gate = new CountDownLatch(1);
+    }
+
+    void release() {
+        CountDownLatch currentGate = gate;
+        gate = null;
+        if (currentGate != null) {
+            currentGate.countDown();
+        }
+    }
+
+    List<List<Delivery>> batches() {
+        synchronized (batches) {
+            return List.copyOf(batches);
+        }
+    }
+
+    List<Delivery> deliveries() {
+        return batches().stream().flatMap(List::stream).toList();
+    }
+}
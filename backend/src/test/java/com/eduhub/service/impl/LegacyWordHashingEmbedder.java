@@ -0,0 +1,126 @@
+package com.eduhub.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The string-based word-hashing embedder that SimpleEmbeddingService
+ * replaced with a single-pass scanner, kept as the reference the golden
+ * tests and the benchmark compare against.
+ */
+final class LegacyWordHashingEmbedder {
+
+    private static final int EMBEDDING_DIMENSION = 1536;
+
+    private static final Set<String> STOPWORDS = new HashSet<>(Arrays.asList(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "he",
+            "in", "is", "it", "its", "of", "on", "that", "the", "to", "was", "will", "with",
+            "can", "could", "should", "would", "what", "when", "where", "who", "why", "how",
+            "i", "you", "we", "they", "my", "your", "his", "her", "our", "their", "this",
+            "these", "those", "am", "been", "being", "have", "had", "do", "does", "did",
+            "or", "but", "if", "then", "so", "than", "such", "no", "not", "only", "same",
+            "just", "about", "into", "through", "during", "before", "after", "above", "below",
+            "between", "under", "again", "further", "once", "here", "there", "all", "any",
+            "both", "each", "few", "more", "most", "other", "some", "own", "get", "make",
+            "go", "know", "take", "see", "come", "think", "look", "want", "give", "use",
+            "find", "tell", "ask", "work", "seem", "feel", "try", "leave", "call",
+            "need", "also", "back", "because", "become", "well", "even", "new", "now",
+            "way", "may", "say", "still", "very", "much", "many", "must", "like", "using",
+            "please", "help", "thanks", "question", "problem", "error", "issue", "want",
+            "understand", "understanding", "explain", "need", "looking", "learn", "learning",
+            "java", "code", "coding", "program", "programming", "project", "example", "examples",
+            "class", "classes", "method", "methods", "function", "functions", "object", "objects",
+            "real", "world", "basic", "basics", "tutorial", "guide", "sample"));
+
+    private static final String[][] SUFFIX_RULES = {
+            { "ational", "ate" }, { "tional", "tion" }, { "ization", "ize" },
+            { "ation", "" }, { "ition", "" }, { "ness", "" }, { "ment", "" },
+            { "able", "" }, { "ible", "" }, { "ful", "" }, { "less", "" },
+            { "ous", "" }, { "ive", "" }, { "ing", "" }, { "ed", "" },
+            { "er", "" }, { "est", "" }, { "ly", "" }, { "ies", "y" }, { "es", "" }, { "s", "" }
+    };
+
+    float[] generateEmbedding(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return new float[EMBEDDING_DIMENSION];
+        }
+
+        Map<String, Integer> termCounts = extractTermCounts(text.toLowerCase());
+        if (termCounts.isEmpty()) {
+            return new float[EMBEDDING_DIMENSION];
+        }
+
+        double[] embedding = new double[EMBEDDING_DIMENSION];
+        int totalTerms = termCounts.values().stream().mapToInt(Integer::intValue).sum();
+
+        for (Map.Entry<String, Integer> entry : termCounts.entrySet()) {
+            String term = entry.getKey();
+            double weight = (double) entry.getValue() / totalTerms;
+            weight *= 1.0 + (term.length() - 3) * 0.2;
+
+            int charSum = 0;
+            for (char c : term.toCharArray()) {
+                charSum += c;
+            }
+            for (int i = 0; i < 16; i++) {
+                int dim = Math.abs((charSum * 7919 + term.length() * 6271 + i * 1009) % EMBEDDING_DIMENSION);
+                embedding[dim] += weight * 8.0;
+            }
+        }
+
+        double magnitude = 0.0;
+        for (double v : embedding) {
+            magnitude += v * v;
+        }
+        magnitude = Math.sqrt(magnitude);
+
+        float[] result = new float[EMBEDDING_DIMENSION];
+        for (int i = 0; i < EMBEDDING_DIMENSION; i++) {
+            result[i] = (float) (embedding[i] / magnitude);
+        }
+        return result;
+    }
+
+    private Map<String, Integer> extractTermCounts(String text) {
+        Map<String, Integer> counts = new HashMap<>();
+        String[] tokens = text.replaceAll("[^a-z0-9\\s]", " ").split("\\s+");
+
+        for (String token : tokens) {
+            if (token.length() < 3 || STOPWORDS.contains(token)) {
+                continue;
+            }
+            String stemmed = stem(token);
+            if (stemmed.length() >= 3) {
+                counts.merge(stemmed, 1, (a, b) -> a + b);
+            }
+        }
+
+        List<String> stemmedTokens = new ArrayList<>();
+        for (String token : tokens) {
+            if (token.length() >= 3 && !STOPWORDS.contains(token)) {
+                stemmedTokens.add(stem(token));
+            }
+        }
+        for (int i = 0; i < stemmedTokens.size() - 1; i++) {
+            counts.merge(stemmedTokens.get(i) + "_" + stemmedTokens.get(i + 1), 1, (a, b) -> a + b);
+        }
+        return counts;
+    }
+
+    private String stem(String word) {
+        if (word.length() < 4)
+            return word;
+
+        for (String[] rule : SUFFIX_RULES) {
+            if (word.endsWith(rule[0]) && word.length() - rule[0].length() + rule[1].length() >= 3) {
+                return word.substring(0, word.length() - rule[0].length()) + rule[1];
+            }
+        }
+        return word;
+    }
+}
@@ -0,0 +1,139 @@
+package com.eduhub.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+
+import com.eduhub.model.types.EmbeddingVector;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Runs RemoteEmbeddingService against a local fake of the /embeddings endpoint
+ * that answers each input with [input length, input position, 0]. Statuses
+ * queued in {@code statuses} are answered first, one per request.
+ */
+class RemoteEmbeddingServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<JsonNode> requests = new CopyOnWriteArrayList<>();
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+    private final Queue<Integer> statuses = new ConcurrentLinkedQueue<>();
+    private volatile int status = 200;
+
+    private HttpServer server;
+    private RemoteEmbeddingService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v1/embeddings", this::handle);
+        server.start();
+        service = new RemoteEmbeddingService(RestClient.builder(),
+                "http://localhost:" + server.getAddress().getPort() + "/v1/embeddings",
+                "test-key", "test-model", 3, 2, 2, 5000, 2, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void testGenerateEmbeddings_SendsBatchedRequestsAndKeepsOrder() {
+        List<EmbeddingVector> embeddings = service.generateEmbeddings(List.of("a", " ", "bb", "ccc", "dddd"));
+
+        assertEquals(5, embeddings.size());
+        assertArrayEquals(new float[] { 1, 0, 0 }, embeddings.get(0).values());
+        assertArrayEquals(new float[] { 0, 0, 0 }, embeddings.get(1).values(), "Blank text is not sent");
+        assertArrayEquals(new float[] { 2, 1, 0 }, embeddings.get(2).values());
+        assertArrayEquals(new float[] { 3, 0, 0 }, embeddings.get(3).values());
+        assertArrayEquals(new float[] { 4, 1, 0 }, embeddings.get(4).values());
+
+        assertEquals(2, requests.size(), "Four texts in batches of two");
+        for (JsonNode request : requests) {
+            assertEquals("test-model", request.get("model").asText());
+            assertEquals(3, request.get("dimensions").asInt());
+            assertEquals(2, request.get("input").size());
+        }
+        assertTrue(authorizations.stream().allMatch("Bearer test-key"::equals));
+    }
+
+    @Test
+    void testGenerateEmbedding_SingleText() {
+        assertArrayEquals(new float[] { 5, 0, 0 }, service.generateEmbedding("hello").values());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void testGenerateEmbeddings_ServerErrorFailsTheBatch() {
+        status = 500;
+
+        assertThrows(RestClientException.class, () -> service.generateEmbedding("a"));
+        assertEquals(3, requests.size(), "One attempt and two retries");
+    }
+
+    @Test
+    void testGenerateEmbeddings_RetriesRateLimit() {
+        statuses.add(429);
+
+        List<EmbeddingVector> embeddings = service.generateEmbeddings(List.of("a", "bb"));
+
+        assertArrayEquals(new float[] { 2, 1, 0 }, embeddings.get(1).values());
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void testGenerateEmbeddings_ClientErrorIsNotRetried() {
+        status = 400;
+
+        RestClientResponseException e = assertThrows(RestClientResponseException.class,
+                () -> service.generateEmbedding("a"));
+        assertEquals(400, e.getStatusCode().value());
+        assertEquals(1, requests.size());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        requests.add(request);
+        authorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+
+        List<Map<String, Object>> data = new ArrayList<>();
+        JsonNode input = request.get("input");
+        for (int i = 0; i < input.size(); i++) {
+            data.add(Map.of("object", "embedding", "index", i,
+                    "embedding", List.of(input.get(i).asText().length(), i, 0)));
+        }
+        Integer queued = statuses.poll();
+        int status = queued != null ? queued : this.status;
+        byte[] body = status == 200
+                ? objectMapper.writeValueAsBytes(Map.of("object", "list", "data", data, "model", "test-model"))
+                : "{\"error\":{\"message\":\"unavailable\"}}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
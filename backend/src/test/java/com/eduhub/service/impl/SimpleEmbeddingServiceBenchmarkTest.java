@@ -0,0 +1,58 @@
+package com.eduhub.service.impl;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Rough throughput comparison of the string-based and single-pass word
+ * hashing embedders on ~2 KB question bodies. Excluded from the default
+ * build; run with {@code mvn test -Dtest.excludedGroups= -Dgroups=benchmark}.
+ */
+@Tag("benchmark")
+class SimpleEmbeddingServiceBenchmarkTest {
+
+    private static final int TEXTS = 500;
+    private static final int TEXT_LENGTH = 2048;
+    private static final int ROUNDS = 5;
+
+    @Test
+    void benchmarkGenerateEmbedding() {
+        Random random = new Random(1);
+        String[] texts = new String[TEXTS];
+        for (int i = 0; i < TEXTS; i++) {
+            String text = SimpleEmbeddingServiceGoldenTest.randomText(random, 400);
+            texts[i] = text.substring(0, Math.min(TEXT_LENGTH, text.length()));
+        }
+
+        LegacyWordHashingEmbedder legacy = new LegacyWordHashingEmbedder();
+        SimpleEmbeddingService scanner = new SimpleEmbeddingService();
+
+        double before = measure(texts, text -> legacy.generateEmbedding(text)[0]);
+        double after = measure(texts, text -> scanner.generateEmbedding(text).get(0));
+
+        System.out.printf("embedding/2 KB text: string-based %.1f us/op, single-pass %.1f us/op, speedup %.2fx%n",
+                before / 1000, after / 1000, before / after);
+    }
+
+    private interface Embedder {
+        float firstComponent(String text);
+    }
+
+    private static double measure(String[] texts, Embedder embedder) {
+        double sink = 0;
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (String text : texts) {
+                sink += embedder.firstComponent(text);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (sink == Double.MIN_VALUE) {
+            System.out.println(sink);
+        }
+        return (double) best / texts.length;
+    }
+}
@@ -0,0 +1,80 @@
+package com.eduhub.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the single-pass scanner in SimpleEmbeddingService against the
+ * original string-based implementation over a fixed corpus and a seeded
+ * random corpus. Components may differ only by float rounding.
+ */
+class SimpleEmbeddingServiceGoldenTest {
+
+    private static final float TOLERANCE = 1e-6f;
+
+    private static final String[] VOCABULARY = {
+            "inheritance", "polymorphism", "relational", "conditional", "organization",
+            "creation", "definition", "happiness", "deployment", "readable", "visible",
+            "careful", "stateless", "dangerous", "recursive", "sorting", "sorted", "compiler",
+            "fastest", "quickly", "queries", "classes", "threads", "is", "the", "java", "code",
+            "understanding", "ies", "ness", "ers", "sing", "bed", "tree", "graph", "hash",
+            "map", "b2b", "utf8", "x86", "HTTP", "JVM", "Lambda", "Streams", "O(n)", "n^2",
+            "don't", "e-mail", "well-known", "café", "naïve", "İstanbul", "Kelvin", "日本語",
+            "😀", "a", "ab", "abc", "abcd", "mention", "national", "rational" };
+
+    private static final String[] SEPARATORS = { " ", "  ", "\n", "\t", ", ", ". ", "? ", "-", "_", "/", "" };
+
+    private final SimpleEmbeddingService embeddingService = new SimpleEmbeddingService();
+    private final LegacyWordHashingEmbedder reference = new LegacyWordHashingEmbedder();
+
+    @Test
+    void fixedCorpus_MatchesReference() {
+        String[] corpus = {
+                "How does Java inheritance work for classes?",
+                "Java inheritance explained - how does class inheritance work?",
+                "How to debug Java code effectively?",
+                "Best pizza toppings for parties?",
+                "What are the causes of climate change?",
+                "How to implement a singleton pattern in Java?",
+                "Relational databases: normalization, denormalization and organizational tradeoffs",
+                "   leading and trailing whitespace   ",
+                "!!!???",
+                "the and is of",
+                "abc",
+                "ALL CAPS QUESTION ABOUT RECURSION AND MEMOIZATION",
+                "Why is my HashMap iteration order nondeterministic across JVM versions?",
+                "Supercalifragilisticexpialidocious" + "x".repeat(3000),
+        };
+        for (String text : corpus) {
+            assertMatches(text);
+        }
+    }
+
+    @Test
+    void randomCorpus_MatchesReference() {
+        Random random = new Random(42);
+        for (int n = 0; n < 500; n++) {
+            assertMatches(randomText(random, 1 + random.nextInt(300)));
+        }
+    }
+
+    private void assertMatches(String text) {
+        assertArrayEquals(reference.generateEmbedding(text),
+                embeddingService.generateEmbedding(text).values(), TOLERANCE,
+                () -> "Embedding differs for: " + text);
+    }
+
+    static String randomText(Random random, int words) {
+        List<String> parts = new ArrayList<>();
+        for (int i = 0; i < words; i++) {
+            parts.add(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+            parts.add(SEPARATORS[random.nextInt(SEPARATORS.length)]);
+        }
+        return String.join("", parts);
+    }
+}
@@ -2,11 +2,13 @@ package com.eduhub.service.impl;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.eduhub.model.types.EmbeddingVector;
 import com.eduhub.util.VectorUtils;
 
 /**
@@ -29,8 +31,8 @@ class SimpleEmbeddingServiceTest {
         String question1 = "How does Java inheritance work for classes?";
         String question2 = "Java inheritance explained - how does class inheritance work?";
         
-        List<Double> embedding1 = embeddingService.generateEmbedding(question1);
-        List<Double> embedding2 = embeddingService.generateEmbedding(question2);
+        EmbeddingVector embedding1 = embeddingService.generateEmbedding(question1);
+        EmbeddingVector embedding2 = embeddingService.generateEmbedding(question2);
         
         double similarity = VectorUtils.cosineSimilarity(embedding1, embedding2);
         
@@ -44,8 +46,8 @@ class SimpleEmbeddingServiceTest {
         String question1 = "How to debug Java code effectively?";
         String question2 = "How to debug Java applications?";
         
-        List<Double> embedding1 = embeddingService.generateEmbedding(question1);
-        List<Double> embedding2 = embeddingService.generateEmbedding(question2);
+        EmbeddingVector embedding1 = embeddingService.generateEmbedding(question1);
+        EmbeddingVector embedding2 = embeddingService.generateEmbedding(question2);
         
         double similarity = VectorUtils.cosineSimilarity(embedding1, embedding2);
         
@@ -60,8 +62,8 @@ class SimpleEmbeddingServiceTest {
         String question1 = "How does Java OOP inheritance work?";
         String question2 = "Best pizza toppings for parties?";
         
-        List<Double> embedding1 = embeddingService.generateEmbedding(question1);
-        List<Double> embedding2 = embeddingService.generateEmbedding(question2);
+        EmbeddingVector embedding1 = embeddingService.generateEmbedding(question1);
+        EmbeddingVector embedding2 = embeddingService.generateEmbedding(question2);
         
         double similarity = VectorUtils.cosineSimilarity(embedding1, embedding2);
         
@@ -73,8 +75,8 @@ class SimpleEmbeddingServiceTest {
     void testIdenticalQuestions_ShouldHaveSimilarityOne() {
         String question = "How to implement polymorphism in Java?";
         
-        List<Double> embedding1 = embeddingService.generateEmbedding(question);
-        List<Double> embedding2 = embeddingService.generateEmbedding(question);
+        EmbeddingVector embedding1 = embeddingService.generateEmbedding(question);
+        EmbeddingVector embedding2 = embeddingService.generateEmbedding(question);
         
         double similarity = VectorUtils.cosineSimilarity(embedding1, embedding2);
         
@@ -84,22 +86,25 @@ class SimpleEmbeddingServiceTest {
 
     @Test
     void testEmptyText_ShouldReturnZeroEmbedding() {
-        List<Double> embedding = embeddingService.generateEmbedding("");
+        EmbeddingVector embedding = embeddingService.generateEmbedding("");
         
         assertNotNull(embedding);
-        assertEquals(1536, embedding.size());
+        assertEquals(1536, embedding.dimension());
         
         // All values should be zero for empty text
-        boolean allZeros = embedding.stream().allMatch(v -> v == 0.0);
+        boolean allZeros = true;
+        for (float v : embedding.values()) {
+            allZeros &= v == 0.0f;
+        }
         assertTrue(allZeros, "Empty text should produce zero embedding");
     }
 
     @Test
     void testNullText_ShouldReturnZeroEmbedding() {
-        List<Double> embedding = embeddingService.generateEmbedding(null);
+        EmbeddingVector embedding = embeddingService.generateEmbedding(null);
         
         assertNotNull(embedding);
-        assertEquals(1536, embedding.size());
+        assertEquals(1536, embedding.dimension());
     }
 
     @Test
@@ -109,9 +114,9 @@ class SimpleEmbeddingServiceTest {
         String question2 = "How to debug Java code?";
         String unrelatedQuestion = "Pizza recipes for beginners";
         
-        List<Double> embedding1 = embeddingService.generateEmbedding(question1);
-        List<Double> embedding2 = embeddingService.generateEmbedding(question2);
-        List<Double> unrelatedEmbedding = embeddingService.generateEmbedding(unrelatedQuestion);
+        EmbeddingVector embedding1 = embeddingService.generateEmbedding(question1);
+        EmbeddingVector embedding2 = embeddingService.generateEmbedding(question2);
+        EmbeddingVector unrelatedEmbedding = embeddingService.generateEmbedding(unrelatedQuestion);
         
         double similaritySame = VectorUtils.cosineSimilarity(embedding1, embedding2);
         double similarityUnrelated = VectorUtils.cosineSimilarity(embedding1, unrelatedEmbedding);
@@ -127,8 +132,8 @@ class SimpleEmbeddingServiceTest {
         String question1 = "What are the causes of climate change?";
         String question2 = "How does climate change affect weather?";
         
-        List<Double> embedding1 = embeddingService.generateEmbedding(question1);
-        List<Double> embedding2 = embeddingService.generateEmbedding(question2);
+        EmbeddingVector embedding1 = embeddingService.generateEmbedding(question1);
+        EmbeddingVector embedding2 = embeddingService.generateEmbedding(question2);
         
         double similarity = VectorUtils.cosineSimilarity(embedding1, embedding2);
         
@@ -141,9 +146,9 @@ class SimpleEmbeddingServiceTest {
     void testEmbeddingDimension() {
         String question = "How does inheritance work?";
         
-        List<Double> embedding = embeddingService.generateEmbedding(question);
+        EmbeddingVector embedding = embeddingService.generateEmbedding(question);
         
-        assertEquals(1536, embedding.size(), 
+        assertEquals(1536, embedding.dimension(), 
             "Embedding should have 1536 dimensions");
     }
 
@@ -151,11 +156,11 @@ class SimpleEmbeddingServiceTest {
     void testNormalizedEmbedding_ShouldHaveUnitLength() {
         String question = "How to implement a singleton pattern in Java?";
         
-        List<Double> embedding = embeddingService.generateEmbedding(question);
+        EmbeddingVector embedding = embeddingService.generateEmbedding(question);
         
         // Calculate magnitude
         double sumSquares = 0.0;
-        for (Double v : embedding) {
+        for (float v : embedding.values()) {
             sumSquares += v * v;
         }
         double magnitude = Math.sqrt(sumSquares);
@@ -163,4 +168,36 @@ class SimpleEmbeddingServiceTest {
         assertEquals(1.0, magnitude, 0.001, 
             "Normalized embedding should have magnitude of 1.0");
     }
+
+    @Test
+    void testShortQuestion_ShouldBeSparse() {
+        EmbeddingVector embedding = embeddingService.generateEmbedding("How does Java inheritance work for classes?");
+
+        assertTrue(embedding.isSparse(), "A short question should touch few dimensions");
+        assertEquals(1536, embedding.dimension());
+        assertTrue(embedding.nonZeroCount() <= 1536 / 4,
+                "Expected at most a quarter of the dimensions set, got " + embedding.nonZeroCount());
+        assertTrue(VectorUtils.isNormalized(embedding, 0.001));
+    }
+
+    @Test
+    void testBatch_MatchesOneByOne() {
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            texts.add("Question " + i + " about recursion, inheritance and sorting algorithms " + (i % 7));
+        }
+        texts.add("");
+        texts.add(null);
+
+        try {
+            List<EmbeddingVector> batch = embeddingService.generateEmbeddings(texts);
+
+            assertEquals(texts.size(), batch.size());
+            for (int i = 0; i < texts.size(); i++) {
+                assertEquals(embeddingService.generateEmbedding(texts.get(i)), batch.get(i), "Mismatch at " + i);
+            }
+        } finally {
+            embeddingService.shutdown();
+        }
+    }
 }
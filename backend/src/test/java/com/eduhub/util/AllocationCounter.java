@@ -0,0 +1,24 @@
+package com.eduhub.util;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Access to per-thread allocation counting for tests that assert on heap use.
+ */
+public final class AllocationCounter {
+
+    private AllocationCounter() {}
+
+    /**
+     * Returns the thread bean with allocation counting enabled, or null if the
+     * JVM does not support it; callers skip their test in that case.
+     */
+    public static com.sun.management.ThreadMXBean threadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+}
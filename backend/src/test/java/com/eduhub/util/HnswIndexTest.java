@@ -0,0 +1,160 @@
+package com.eduhub.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.eduhub.model.types.EmbeddingVector;
+
+class HnswIndexTest {
+
+    private static final int DIMENSION = 64;
+
+    private final Random random = new Random(11);
+
+    @Test
+    void testSearch_RecallAgainstBruteForce() {
+        float[][] vectors = new float[2000][];
+        HnswIndex index = new HnswIndex();
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = randomVector();
+            index.add(i, vectors[i]);
+        }
+
+        int k = 10;
+        int hits = 0;
+        int queries = 100;
+        for (int q = 0; q < queries; q++) {
+            float[] query = randomVector();
+            Set<Long> expected = bruteForce(vectors, query, k);
+            Set<Long> actual = index.search(query, k, 64).stream()
+                    .map(HnswIndex.Neighbor::id)
+                    .collect(Collectors.toSet());
+            actual.retainAll(expected);
+            hits += actual.size();
+        }
+
+        double recall = (double) hits / (queries * k);
+        assertTrue(recall >= 0.95, "Recall@10 should be at least 0.95, got " + recall);
+    }
+
+    @Test
+    void testSearchRange_ReturnsOnlyNeighboursAboveThreshold() {
+        HnswIndex index = new HnswIndex();
+        float[] base = randomVector();
+        index.add(1, base);
+        index.add(2, base.clone());
+        index.add(3, negate(base));
+
+        List<HnswIndex.Neighbor> results = index.searchRange(base, 0.99, 16);
+
+        assertEquals(2, results.size());
+        assertTrue(results.stream().allMatch(n -> n.similarity() >= 0.99));
+    }
+
+    @Test
+    void testRemove_ExcludesFromResults() {
+        HnswIndex index = new HnswIndex();
+        float[] base = randomVector();
+        index.add(1, base);
+        index.add(2, randomVector());
+
+        assertTrue(index.remove(1));
+
+        assertFalse(index.contains(1));
+        assertEquals(1, index.size());
+        assertTrue(index.search(base, 5, 16).stream().noneMatch(n -> n.id() == 1));
+    }
+
+    @Test
+    void testAdd_SameIdReplacesVector() {
+        HnswIndex index = new HnswIndex();
+        float[] first = randomVector();
+        float[] second = negate(first);
+        index.add(1, first);
+        index.add(1, second);
+
+        assertEquals(1, index.size());
+        assertTrue(index.searchRange(first, 0.5, 16).isEmpty());
+        assertEquals(1, index.searchRange(second, 0.5, 16).size());
+    }
+
+    @Test
+    void testDeletedFraction_CountsRemovedAndReplacedNodes() {
+        HnswIndex index = new HnswIndex();
+        for (int i = 0; i < 4; i++) {
+            index.add(i, randomVector());
+        }
+        assertEquals(0.0, index.deletedFraction());
+
+        index.remove(0);
+        index.add(1, randomVector());
+
+        assertEquals(3, index.size());
+        assertEquals(2.0 / 5, index.deletedFraction(), 1e-9);
+    }
+
+    @Test
+    void testSparseVectors_MatchDenseSimilarities() {
+        HnswIndex index = new HnswIndex();
+        EmbeddingVector first = EmbeddingVector.sparse(DIMENSION, new int[] {1, 5, 9}, new float[] {3f, 4f, 0f});
+        EmbeddingVector second = EmbeddingVector.sparse(DIMENSION, new int[] {5, 9}, new float[] {2f, 2f});
+        index.add(1, first);
+        index.add(2, second);
+        index.add(3, EmbeddingVector.sparse(DIMENSION, new int[] {40}, new float[] {1f}));
+
+        List<HnswIndex.Neighbor> results = index.searchRange(first.values(), 0.5, 16);
+
+        assertEquals(2, results.size());
+        assertEquals(1L, results.get(0).id());
+        assertEquals(1.0, results.get(0).similarity(), 1e-6);
+        assertEquals(VectorUtils.cosineSimilarity(first.values(), second.values()),
+                results.get(1).similarity(), 1e-6);
+        assertEquals(results, index.searchRange(first, 0.5, 16));
+    }
+
+    @Test
+    void testAdd_ZeroVectorIgnored() {
+        HnswIndex index = new HnswIndex();
+        index.add(1, new float[DIMENSION]);
+
+        assertEquals(0, index.size());
+        assertTrue(index.search(randomVector(), 5, 16).isEmpty());
+    }
+
+    private Set<Long> bruteForce(float[][] vectors, float[] query, int k) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < vectors.length; i++) {
+            ids.add(i);
+        }
+        return ids.stream()
+                .sorted(Comparator.comparingDouble((Integer i) -> VectorUtils.cosineSimilarity(query, vectors[i])).reversed())
+                .limit(k)
+                .map(Integer::longValue)
+                .collect(Collectors.toSet());
+    }
+
+    private float[] randomVector() {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static float[] negate(float[] vector) {
+        float[] negated = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            negated[i] = -vector[i];
+        }
+        return negated;
+    }
+}
@@ -0,0 +1,56 @@
+package com.eduhub.util;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Rough throughput comparison of the scalar and SIMD cosine kernels on
+ * 1536-dimension vectors. Excluded from the default build; run with
+ * {@code mvn test -Psimd -Dtest.excludedGroups= -Dgroups=benchmark}.
+ */
+@Tag("benchmark")
+class VectorKernelBenchmarkTest {
+
+    private static final int DIMENSION = 1536;
+    private static final int VECTORS = 2000;
+    private static final int ROUNDS = 5;
+
+    @Test
+    void benchmarkCosine() {
+        VectorKernel simdKernel = VectorUtils.simdKernel();
+        assumeTrue(simdKernel != null, "SIMD kernel not built or jdk.incubator.vector not present");
+
+        float[][] vectors = new float[VECTORS][DIMENSION];
+        Random random = new Random(1);
+        for (float[] vector : vectors) {
+            for (int i = 0; i < DIMENSION; i++) {
+                vector[i] = random.nextFloat() * 2 - 1;
+            }
+        }
+
+        double scalar = measure(new ScalarVectorKernel(), vectors);
+        double simd = measure(simdKernel, vectors);
+
+        System.out.printf("cosine/%d dims: scalar %.1f ns/op, %s %.1f ns/op, speedup %.2fx%n",
+                DIMENSION, scalar, simdKernel.name(), simd, scalar / simd);
+    }
+
+    private static double measure(VectorKernel kernel, float[][] vectors) {
+        double sink = 0;
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 1; i < vectors.length; i++) {
+                sink += kernel.cosine(vectors[0], vectors[i]);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (sink == Double.MIN_VALUE) {
+            System.out.println(sink);
+        }
+        return (double) best / (vectors.length - 1);
+    }
+}
@@ -0,0 +1,113 @@
+package com.eduhub.util;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the scalar and SIMD kernels against a straightforward double-precision
+ * reference, including lengths that are not a multiple of the SIMD lane count.
+ */
+class VectorKernelTest {
+
+    private static final int[] LENGTHS = { 1, 3, 7, 8, 17, 64, 257, 1536, 1537 };
+
+    private final Random random = new Random(7);
+
+    @Test
+    void testScalarKernel_MatchesReference() {
+        assertMatchesReference(new ScalarVectorKernel());
+    }
+
+    @Test
+    void testSimdKernel_MatchesReference() {
+        VectorKernel simd = VectorUtils.simdKernel();
+        assumeTrue(simd != null, "SIMD kernel not built or jdk.incubator.vector not present");
+        assertMatchesReference(simd);
+    }
+
+    @Test
+    void testActiveKernelIsLoaded() {
+        assertNotNull(VectorUtils.kernelName());
+    }
+
+    @Test
+    void testCosineSimilarities_MatchesPairwise() {
+        float[] query = randomVector(1536);
+        float[][] candidates = new float[20][];
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = randomVector(1536);
+        }
+        double[] scores = new double[candidates.length];
+
+        VectorUtils.cosineSimilarities(query, candidates, scores);
+
+        for (int i = 0; i < candidates.length; i++) {
+            assertEquals(VectorUtils.cosineSimilarity(query, candidates[i]), scores[i], VectorUtils.KERNEL_EPSILON);
+        }
+    }
+
+    @Test
+    void testCosine_ZeroVector() {
+        float[] zero = new float[16];
+        float[] other = randomVector(16);
+
+        assertEquals(0.0, new ScalarVectorKernel().cosine(zero, other));
+        assertEquals(0.0, VectorUtils.cosineSimilarity(zero, other));
+    }
+
+    private void assertMatchesReference(VectorKernel kernel) {
+        for (int length : LENGTHS) {
+            float[] a = randomVector(length);
+            float[] b = randomVector(length);
+            double scale = length;
+
+            assertEquals(referenceDot(a, b), kernel.dot(a, b), VectorUtils.KERNEL_EPSILON * scale,
+                    kernel.name() + " dot, length " + length);
+            assertEquals(referenceSquaredL2(a, b), kernel.squaredL2(a, b), VectorUtils.KERNEL_EPSILON * scale,
+                    kernel.name() + " squaredL2, length " + length);
+            assertEquals(referenceCosine(a, b), kernel.cosine(a, b), VectorUtils.KERNEL_EPSILON,
+                    kernel.name() + " cosine, length " + length);
+
+            float[][] candidates = { b, a, randomVector(length) };
+            double[] out = new double[candidates.length];
+            kernel.cosineMany(a, candidates, out);
+            for (int i = 0; i < candidates.length; i++) {
+                assertEquals(referenceCosine(a, candidates[i]), out[i], VectorUtils.KERNEL_EPSILON,
+                        kernel.name() + " cosineMany, length " + length);
+            }
+        }
+    }
+
+    private float[] randomVector(int length) {
+        float[] vector = new float[length];
+        for (int i = 0; i < length; i++) {
+            vector[i] = random.nextFloat() * 2 - 1;
+        }
+        return vector;
+    }
+
+    private static double referenceDot(float[] a, float[] b) {
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            sum += (double) a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private static double referenceSquaredL2(float[] a, float[] b) {
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            double diff = (double) a[i] - b[i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    private static double referenceCosine(float[] a, float[] b) {
+        return referenceDot(a, b) / (Math.sqrt(referenceDot(a, a)) * Math.sqrt(referenceDot(b, b)));
+    }
+}
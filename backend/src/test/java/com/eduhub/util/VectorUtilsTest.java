@@ -1,20 +1,21 @@
 package com.eduhub.util;
 
-import java.util.Arrays;
-import java.util.List;
-
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
+import com.eduhub.model.types.EmbeddingVector;
+
 class VectorUtilsTest {
 
     @Test
     void testCosineSimilarity_IdenticalVectors() {
-        List<Double> vectorA = Arrays.asList(1.0, 2.0, 3.0);
-        List<Double> vectorB = Arrays.asList(1.0, 2.0, 3.0);
+        EmbeddingVector vectorA = EmbeddingVector.of(1.0f, 2.0f, 3.0f);
+        EmbeddingVector vectorB = EmbeddingVector.of(1.0f, 2.0f, 3.0f);
         
         double similarity = VectorUtils.cosineSimilarity(vectorA, vectorB);
         
@@ -23,8 +24,8 @@ class VectorUtilsTest {
 
     @Test
     void testCosineSimilarity_OrthogonalVectors() {
-        List<Double> vectorA = Arrays.asList(1.0, 0.0, 0.0);
-        List<Double> vectorB = Arrays.asList(0.0, 1.0, 0.0);
+        EmbeddingVector vectorA = EmbeddingVector.of(1.0f, 0.0f, 0.0f);
+        EmbeddingVector vectorB = EmbeddingVector.of(0.0f, 1.0f, 0.0f);
         
         double similarity = VectorUtils.cosineSimilarity(vectorA, vectorB);
         
@@ -33,8 +34,8 @@ class VectorUtilsTest {
 
     @Test
     void testCosineSimilarity_OppositeVectors() {
-        List<Double> vectorA = Arrays.asList(1.0, 2.0, 3.0);
-        List<Double> vectorB = Arrays.asList(-1.0, -2.0, -3.0);
+        EmbeddingVector vectorA = EmbeddingVector.of(1.0f, 2.0f, 3.0f);
+        EmbeddingVector vectorB = EmbeddingVector.of(-1.0f, -2.0f, -3.0f);
         
         double similarity = VectorUtils.cosineSimilarity(vectorA, vectorB);
         
@@ -43,8 +44,8 @@ class VectorUtilsTest {
 
     @Test
     void testCosineSimilarity_SimilarVectors() {
-        List<Double> vectorA = Arrays.asList(1.0, 2.0, 3.0);
-        List<Double> vectorB = Arrays.asList(1.1, 2.1, 2.9);
+        EmbeddingVector vectorA = EmbeddingVector.of(1.0f, 2.0f, 3.0f);
+        EmbeddingVector vectorB = EmbeddingVector.of(1.1f, 2.1f, 2.9f);
         
         double similarity = VectorUtils.cosineSimilarity(vectorA, vectorB);
         
@@ -53,8 +54,8 @@ class VectorUtilsTest {
 
     @Test
     void testCosineSimilarity_DifferentDimensions() {
-        List<Double> vectorA = Arrays.asList(1.0, 2.0, 3.0);
-        List<Double> vectorB = Arrays.asList(1.0, 2.0);
+        EmbeddingVector vectorA = EmbeddingVector.of(1.0f, 2.0f, 3.0f);
+        EmbeddingVector vectorB = EmbeddingVector.of(1.0f, 2.0f);
         
         assertThrows(IllegalArgumentException.class, () -> {
             VectorUtils.cosineSimilarity(vectorA, vectorB);
@@ -63,8 +64,8 @@ class VectorUtilsTest {
 
     @Test
     void testCosineSimilarity_NullVectors() {
-        List<Double> vectorA = null;
-        List<Double> vectorB = Arrays.asList(1.0, 2.0, 3.0);
+        EmbeddingVector vectorA = null;
+        EmbeddingVector vectorB = EmbeddingVector.of(1.0f, 2.0f, 3.0f);
         
         assertThrows(IllegalArgumentException.class, () -> {
             VectorUtils.cosineSimilarity(vectorA, vectorB);
@@ -73,8 +74,8 @@ class VectorUtilsTest {
 
     @Test
     void testCosineSimilarity_ZeroVector() {
-        List<Double> vectorA = Arrays.asList(0.0, 0.0, 0.0);
-        List<Double> vectorB = Arrays.asList(1.0, 2.0, 3.0);
+        EmbeddingVector vectorA = EmbeddingVector.of(0.0f, 0.0f, 0.0f);
+        EmbeddingVector vectorB = EmbeddingVector.of(1.0f, 2.0f, 3.0f);
         
         double similarity = VectorUtils.cosineSimilarity(vectorA, vectorB);
         
@@ -84,7 +85,7 @@ class VectorUtilsTest {
     @Test
     void testIsNormalized_UnitVector() {
         // Unit vector in 3D space
-        List<Double> vector = Arrays.asList(1.0, 0.0, 0.0);
+        EmbeddingVector vector = EmbeddingVector.of(1.0f, 0.0f, 0.0f);
         
         assertTrue(VectorUtils.isNormalized(vector, 1e-6), "Unit vector should be normalized");
     }
@@ -92,22 +93,22 @@ class VectorUtilsTest {
     @Test
     void testIsNormalized_NormalizedVector() {
         // Normalized vector: sqrt(0.6^2 + 0.8^2) = 1.0
-        List<Double> vector = Arrays.asList(0.6, 0.8, 0.0);
+        EmbeddingVector vector = EmbeddingVector.of(0.6f, 0.8f, 0.0f);
         
         assertTrue(VectorUtils.isNormalized(vector, 1e-6), "Vector with magnitude 1 should be normalized");
     }
 
     @Test
     void testIsNormalized_NotNormalizedVector() {
-        List<Double> vector = Arrays.asList(1.0, 2.0, 3.0);
+        EmbeddingVector vector = EmbeddingVector.of(1.0f, 2.0f, 3.0f);
         
         assertFalse(VectorUtils.isNormalized(vector, 1e-6), "Vector with magnitude != 1 should not be normalized");
     }
 
     @Test
     void testEuclideanDistance_IdenticalVectors() {
-        List<Double> vectorA = Arrays.asList(1.0, 2.0, 3.0);
-        List<Double> vectorB = Arrays.asList(1.0, 2.0, 3.0);
+        EmbeddingVector vectorA = EmbeddingVector.of(1.0f, 2.0f, 3.0f);
+        EmbeddingVector vectorB = EmbeddingVector.of(1.0f, 2.0f, 3.0f);
         
         double distance = VectorUtils.euclideanDistance(vectorA, vectorB);
         
@@ -117,8 +118,8 @@ class VectorUtilsTest {
     @Test
     void testEuclideanDistance_KnownDistance() {
         // Distance between (0,0,0) and (3,4,0) = 5
-        List<Double> vectorA = Arrays.asList(0.0, 0.0, 0.0);
-        List<Double> vectorB = Arrays.asList(3.0, 4.0, 0.0);
+        EmbeddingVector vectorA = EmbeddingVector.of(0.0f, 0.0f, 0.0f);
+        EmbeddingVector vectorB = EmbeddingVector.of(3.0f, 4.0f, 0.0f);
         
         double distance = VectorUtils.euclideanDistance(vectorA, vectorB);
         
@@ -127,11 +128,48 @@ class VectorUtilsTest {
 
     @Test
     void testEuclideanDistance_DifferentDimensions() {
-        List<Double> vectorA = Arrays.asList(1.0, 2.0, 3.0);
-        List<Double> vectorB = Arrays.asList(1.0, 2.0);
+        EmbeddingVector vectorA = EmbeddingVector.of(1.0f, 2.0f, 3.0f);
+        EmbeddingVector vectorB = EmbeddingVector.of(1.0f, 2.0f);
         
         assertThrows(IllegalArgumentException.class, () -> {
             VectorUtils.euclideanDistance(vectorA, vectorB);
         }, "Should throw exception for different dimensions");
     }
+
+    @Test
+    void testSparseKernels_MatchDense() {
+        Random random = new Random(3);
+        for (int round = 0; round < 50; round++) {
+            float[] a = sparseRandom(random, 1536, 100);
+            float[] b = sparseRandom(random, 1536, 100);
+            EmbeddingVector denseA = EmbeddingVector.wrap(a);
+            EmbeddingVector denseB = EmbeddingVector.wrap(b);
+            EmbeddingVector sparseA = EmbeddingVector.compact(denseA);
+            EmbeddingVector sparseB = EmbeddingVector.compact(denseB);
+            assertTrue(sparseA.isSparse() && sparseB.isSparse());
+
+            double expected = VectorUtils.cosineSimilarity(denseA, denseB);
+            assertEquals(expected, VectorUtils.cosineSimilarity(sparseA, sparseB), VectorUtils.KERNEL_EPSILON);
+            assertEquals(expected, VectorUtils.cosineSimilarity(sparseA, denseB), VectorUtils.KERNEL_EPSILON);
+            assertEquals(expected, VectorUtils.cosineSimilarity(denseA, sparseB), VectorUtils.KERNEL_EPSILON);
+            assertEquals(VectorUtils.euclideanDistance(denseA, denseB),
+                    VectorUtils.euclideanDistance(sparseA, sparseB), VectorUtils.KERNEL_EPSILON);
+        }
+    }
+
+    @Test
+    void testSparseDot_DisjointIndicesIsZero() {
+        assertEquals(0.0, VectorUtils.sparseDot(new int[] { 1, 5 }, new float[] { 1f, 1f },
+                new int[] { 2, 6 }, new float[] { 1f, 1f }));
+        assertEquals(6.0, VectorUtils.sparseDenseDot(new int[] { 0, 2 }, new float[] { 2f, 1f },
+                new float[] { 1f, 9f, 4f }));
+    }
+
+    private static float[] sparseRandom(Random random, int dimension, int nonZero) {
+        float[] values = new float[dimension];
+        for (int i = 0; i < nonZero; i++) {
+            values[random.nextInt(dimension)] = random.nextFloat() * 2 - 1;
+        }
+        return values;
+    }
 }
@@ -4,7 +4,7 @@ import { useTheme } from '../context/ThemeContext';
 import { announcementService } from '../services/services';
 import { Plus, Bell, User, Calendar, Trash2 } from 'lucide-react';
 
-const AnnouncementsTab = ({ courseId }) => {
+const AnnouncementsTab = ({ courseId, refreshKey }) => {
   const { user } = useAuth();
   const { darkMode } = useTheme();
   const [announcements, setAnnouncements] = useState([]);
@@ -15,7 +15,7 @@ const AnnouncementsTab = ({ courseId }) => {
   useEffect(() => {
     fetchAnnouncements();
     // eslint-disable-next-line
-  }, [courseId]);
+  }, [courseId, refreshKey]);
 
   const fetchAnnouncements = async () => {
     try {
@@ -4,7 +4,7 @@ import { useAuth } from '../context/AuthContext';
 import { useTheme } from '../context/ThemeContext';
 import { MessageCircle, CheckCircle, AlertCircle, ChevronRight, Plus, Send, User, Clock, Trash2 } from 'lucide-react';
 
-const QuestionsTab = ({ courseId }) => {
+const QuestionsTab = ({ courseId, refreshKey }) => {
   const [questions, setQuestions] = useState([]);
   const [groupedQuestions, setGroupedQuestions] = useState([]);
   const [loading, setLoading] = useState(true);
@@ -30,7 +30,7 @@ const QuestionsTab = ({ courseId }) => {
   useEffect(() => {
     fetchQuestions();
     // eslint-disable-next-line
-  }, [courseId, smartGrouping]);
+  }, [courseId, smartGrouping, refreshKey]);
 
   const fetchQuestions = async () => {
     try {
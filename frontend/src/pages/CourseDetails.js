@@ -1,12 +1,13 @@
 import React, { useState, useEffect } from 'react';
 import { useParams, useNavigate, useSearchParams } from 'react-router-dom';
-import { courseService } from '../services/services';
+import { courseService, courseEventService } from '../services/services';
 import { useAuth } from '../context/AuthContext';
 import { useTheme } from '../context/ThemeContext';
 import AnnouncementsTab from '../components/AnnouncementsTab';
 import QuestionsTab from '../components/QuestionsTab';
 import GuideTab from '../components/GuideTab';
-import { ArrowLeft, Bell, MessageCircle, BookOpen, Users } from 'lucide-react';
+import { parseErrorMessage } from '../utils/errorMessages';
+import { ArrowLeft, Bell, MessageCircle, BookOpen, Users, Upload } from 'lucide-react';
 
 const CourseDetails = () => {
   const { id } = useParams();
@@ -18,6 +19,10 @@ const CourseDetails = () => {
   const [loading, setLoading] = useState(true);
   const [activeTab, setActiveTab] = useState('questions');
   const [error, setError] = useState('');
+  const [questionsVersion, setQuestionsVersion] = useState(0);
+  const [announcementsVersion, setAnnouncementsVersion] = useState(0);
+  const [rosterResult, setRosterResult] = useState(null);
+  const [importingRoster, setImportingRoster] = useState(false);
   
   const isProfessor = user?.role === 'PROFESSOR';
 
@@ -26,6 +31,22 @@ const CourseDetails = () => {
     // eslint-disable-next-line
   }, [id]);
 
+  useEffect(() => {
+    // Live activity from other users refreshes the tab it affects
+    return courseEventService.subscribe(id, (event) => {
+      if (event.type === 'announcement-created') {
+        setAnnouncementsVersion((version) => version + 1);
+      } else if (event.type === 'resync') {
+        fetchCourseDetails();
+        setQuestionsVersion((version) => version + 1);
+        setAnnouncementsVersion((version) => version + 1);
+      } else {
+        setQuestionsVersion((version) => version + 1);
+      }
+    });
+    // eslint-disable-next-line
+  }, [id]);
+
   useEffect(() => {
     // Set active tab from URL query parameter
     const tab = searchParams.get('tab');
@@ -46,6 +67,23 @@ const CourseDetails = () => {
     }
   };
 
+  const handleRosterImport = async (e) => {
+    const file = e.target.files?.[0];
+    // Clear the input so choosing the same file again triggers another import
+    e.target.value = '';
+    if (!file) return;
+    setImportingRoster(true);
+    try {
+      const response = await courseService.importRoster(id, file);
+      setRosterResult(response.data);
+      fetchCourseDetails();
+    } catch (error) {
+      setRosterResult({ error: parseErrorMessage(error) });
+    } finally {
+      setImportingRoster(false);
+    }
+  };
+
   if (loading) {
     return (
       <div className={`min-h-screen flex items-center justify-center ${darkMode ? 'bg-slate-900' : 'bg-white'}`}>
@@ -156,14 +194,46 @@ const CourseDetails = () => {
                   </div>
                 </div>
               )}
+
+              {/* Roster Import Card - Only visible to professor */}
+              {isProfessor && (
+                <div className={`mt-4 rounded-xl p-6 border-4 shadow-[4px_4px_0px_0px_rgba(15,23,42,1)] ${darkMode ? 'bg-slate-800 border-white' : 'bg-white border-slate-900'}`}>
+                  <p className={`text-xs font-black uppercase tracking-wider mb-3 border-b-2 pb-2 ${darkMode ? 'text-white border-white' : 'text-slate-900 border-slate-900'}`}>
+                    Import Roster
+                  </p>
+                  <label className={`flex items-center justify-center gap-2 px-4 py-3 rounded-lg border-2 font-black cursor-pointer transition-colors ${importingRoster ? 'opacity-50 pointer-events-none' : ''} ${darkMode ? 'bg-slate-700 border-cyan-400 text-cyan-400 hover:bg-slate-600' : 'bg-cyan-50 border-cyan-400 text-slate-900 hover:bg-cyan-100'}`}>
+                    <Upload className="w-5 h-5" />
+                    <span className="text-sm">{importingRoster ? 'Importing...' : 'Upload CSV'}</span>
+                    <input
+                      type="file"
+                      accept=".csv,text/csv"
+                      className="hidden"
+                      onChange={handleRosterImport}
+                      disabled={importingRoster}
+                    />
+                  </label>
+                  <p className={`mt-2 text-xs font-bold ${darkMode ? 'text-slate-300' : 'text-slate-600'}`}>
+                    One student email per line.
+                  </p>
+                  {rosterResult && (
+                    rosterResult.error ? (
+                      <p className={`mt-3 text-sm font-bold ${darkMode ? 'text-rose-400' : 'text-rose-600'}`}>{rosterResult.error}</p>
+                    ) : (
+                      <p className={`mt-3 text-sm font-bold ${darkMode ? 'text-emerald-400' : 'text-emerald-700'}`}>
+                        {rosterResult.enrolled} enrolled, {rosterResult.skipped} skipped, {rosterResult.invalid} invalid
+                      </p>
+                    )
+                  )}
+                </div>
+              )}
             </div>
           </aside>
 
           {/* Content Area */}
           <main className="lg:col-span-9">
             <div className={`rounded-2xl border-4 shadow-[8px_8px_0px_0px_rgba(15,23,42,1)] min-h-[600px] overflow-hidden ${darkMode ? 'bg-slate-800 border-white' : 'bg-white border-slate-900'}`}>
-              {activeTab === 'questions' && <QuestionsTab courseId={parseInt(id)} />}
-              {activeTab === 'announcements' && <AnnouncementsTab courseId={parseInt(id)} />}
+              {activeTab === 'questions' && <QuestionsTab courseId={parseInt(id)} refreshKey={questionsVersion} />}
+              {activeTab === 'announcements' && <AnnouncementsTab courseId={parseInt(id)} refreshKey={announcementsVersion} />}
               {activeTab === 'guide' && <GuideTab courseId={parseInt(id)} course={course} />}
             </div>
           </main>
@@ -12,6 +12,10 @@ export const courseService = {
   getStudentCourses: () => api.get('/courses/student'),
   createCourse: (courseData) => api.post('/courses', courseData),
   enrollInCourse: (courseId) => api.post(`/courses/${courseId}/enroll`),
+  unenrollFromCourse: (courseId) => api.delete(`/courses/${courseId}/enroll`),
+  importRoster: (courseId, csvFile) => api.post(`/courses/${courseId}/roster`, csvFile, {
+    headers: { 'Content-Type': 'text/csv' }
+  }),
   enrollByCourseCode: (courseCode) => api.post('/courses/enroll-by-code', courseCode, {
     headers: { 'Content-Type': 'text/plain' }
   }),
@@ -54,4 +58,68 @@ export const answerService = {
     api.post('/answers/batch', { questionIds, content, autoVerify, anonymous }),
   verifyAnswer: (answerId) => api.put(`/answers/${answerId}/verify`),
   deleteAnswer: (answerId) => api.delete(`/answers/${answerId}`),
-};
\ No newline at end of file
+};
+
+// Live course activity over Server-Sent Events. EventSource cannot send the
+// Authorization header, so the stream is read with fetch. Reconnects resume
+// from the last event id; a 'resync' event means the course should be reloaded.
+export const courseEventService = {
+  subscribe: (courseId, onEvent) => {
+    const controller = new AbortController();
+    let lastEventId = null;
+
+    const dispatch = (block) => {
+      let id = null;
+      let type = 'message';
+      const data = [];
+      block.split('\n').forEach((line) => {
+        if (line.startsWith(':')) return; // heartbeat
+        const colon = line.indexOf(':');
+        const field = colon < 0 ? line : line.slice(0, colon);
+        const value = colon < 0 ? '' : line.slice(colon + 1).replace(/^ /, '');
+        if (field === 'id') id = value;
+        else if (field === 'event') type = value;
+        else if (field === 'data') data.push(value);
+      });
+      if (data.length === 0) return;
+      if (id !== null) {
+        // Replayed and live events can overlap after a reconnect
+        if (lastEventId !== null && Number(id) <= Number(lastEventId)) return;
+        lastEventId = id;
+      }
+      onEvent({ type, data: JSON.parse(data.join('\n')) });
+    };
+
+    const connect = async () => {
+      while (!controller.signal.aborted) {
+        try {
+          const headers = { Authorization: `Bearer ${sessionStorage.getItem('token')}` };
+          if (lastEventId !== null) headers['Last-Event-ID'] = lastEventId;
+          const response = await fetch(`${api.defaults.baseURL}/courses/${courseId}/events`, {
+            headers,
+            signal: controller.signal,
+          });
+          if (response.status === 401 || response.status === 403) return;
+          const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+          let buffer = '';
+          for (;;) {
+            const { value, done } = await reader.read();
+            if (done) break;
+            buffer += value.replace(/\r\n?/g, '\n');
+            let end;
+            while ((end = buffer.indexOf('\n\n')) >= 0) {
+              dispatch(buffer.slice(0, end));
+              buffer = buffer.slice(end + 2);
+            }
+          }
+        } catch (error) {
+          if (controller.signal.aborted) return;
+        }
+        await new Promise((resolve) => setTimeout(resolve, 3000));
+      }
+    };
+
+    connect();
+    return () => controller.abort();
+  },
+};